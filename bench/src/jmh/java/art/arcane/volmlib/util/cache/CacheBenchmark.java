@@ -0,0 +1,73 @@
+package art.arcane.volmlib.util.cache;
+
+import art.arcane.volmlib.util.function.IntIntFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hit and miss paths of the chunk-local and world-level 2D caches. Hits re-read a warmed chunk; misses resolve a
+ * fresh chunk, and for the world cache also walk past its capacity so every lookup evicts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CacheBenchmark {
+    private static final IntIntFunction<Integer> RESOLVER = (x, z) -> (x * 31) ^ z;
+    private static final int WORLD_CHUNKS = 64;
+
+    private final Object[] target = new Object[256];
+    private ChunkCache2D<Integer> warmChunk;
+    private WorldCache2D<Integer> warmWorld;
+    private WorldCache2D<Integer> coldWorld;
+    private int coldChunk;
+
+    @Setup
+    public void setup() {
+        warmChunk = new ChunkCache2D<>("bench");
+        warmChunk.fillInts(0, 0, target, RESOLVER);
+        warmWorld = WorldCache2D.ofInts(RESOLVER, WORLD_CHUNKS, () -> new ChunkCache2D<>("bench"));
+        coldWorld = WorldCache2D.ofInts(RESOLVER, WORLD_CHUNKS, () -> new ChunkCache2D<>("bench"));
+        for (int chunk = 0; chunk < WORLD_CHUNKS; chunk++) {
+            warmWorld.fillChunk(chunk & 7, chunk >> 3, target);
+        }
+    }
+
+    @Benchmark
+    public void chunkHit(Blackhole blackhole) {
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                blackhole.consume(warmChunk.getInts(x, z, RESOLVER));
+            }
+        }
+    }
+
+    @Benchmark
+    public Object[] chunkMiss() {
+        new ChunkCache2D<Integer>("bench").fillInts(0, 0, target, RESOLVER);
+        return target;
+    }
+
+    @Benchmark
+    public void worldHit(Blackhole blackhole) {
+        for (int z = 0; z < 128; z += 3) {
+            for (int x = 0; x < 128; x += 3) {
+                blackhole.consume(warmWorld.get(x, z));
+            }
+        }
+    }
+
+    @Benchmark
+    public Object[] worldMiss() {
+        int chunk = coldChunk++;
+        coldWorld.fillChunk(chunk, chunk >> 8, target);
+        return target;
+    }
+}
@@ -0,0 +1,48 @@
+package art.arcane.volmlib.util.hunk.bits;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repacking a full section into a wider bit width, as happens every time a palette outgrows its bits.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataBitsBenchmark {
+    private static final int LENGTH = 4096;
+
+    @Param({"1", "4", "8"})
+    public int bits;
+
+    private DataBits source;
+
+    @Setup
+    public void setup() {
+        source = new DataBits(bits, LENGTH);
+        int mask = (1 << bits) - 1;
+        for (int i = 0; i < LENGTH; i++) {
+            source.set(i, (i * 7) & mask);
+        }
+    }
+
+    @Benchmark
+    public DataBits repack() {
+        return source.setBits(bits + 1);
+    }
+
+    @Benchmark
+    public int[] getRange() {
+        int[] out = new int[LENGTH];
+        source.getRange(0, out, 0, LENGTH);
+        return out;
+    }
+}
@@ -0,0 +1,76 @@
+package art.arcane.volmlib.util.hunk.bits;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-section {@code set}/{@code get} sweeps at palette sizes on both sides of the linear/hash palette switch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataContainerBenchmark {
+    private static final int LENGTH = 4096;
+    private static final Writable<Integer> INTS = new Writable<>() {
+        @Override
+        public Integer readNodeData(DataInputStream din) throws IOException {
+            return din.readInt();
+        }
+
+        @Override
+        public void writeNodeData(DataOutputStream dos, Integer value) throws IOException {
+            dos.writeInt(value);
+        }
+    };
+
+    @Param({"2", "16", "256", "4096"})
+    public int paletteSize;
+
+    @Param({"false", "true"})
+    public boolean lockFree;
+
+    private Integer[] values;
+    private DataContainer<Integer> filled;
+
+    @Setup
+    public void setup() {
+        values = new Integer[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            values[i] = (i * 31) % paletteSize;
+        }
+
+        filled = fill(new DataContainer<>(INTS, LENGTH, lockFree));
+    }
+
+    @Benchmark
+    public DataContainer<Integer> set() {
+        return fill(new DataContainer<>(INTS, LENGTH, lockFree));
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (int i = 0; i < LENGTH; i++) {
+            blackhole.consume(filled.get(i));
+        }
+    }
+
+    private DataContainer<Integer> fill(DataContainer<Integer> container) {
+        for (int i = 0; i < LENGTH; i++) {
+            container.set(i, values[i]);
+        }
+
+        return container;
+    }
+}
@@ -0,0 +1,54 @@
+package art.arcane.volmlib.util.json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and printing a pack-style document: nested objects, arrays of numbers and escaped strings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JSONBenchmark {
+    private String source;
+    private JSONObject parsed;
+
+    @Setup
+    public void setup() {
+        JSONObject root = new JSONObject();
+        JSONArray biomes = new JSONArray();
+        for (int i = 0; i < 200; i++) {
+            JSONObject biome = new JSONObject();
+            biome.put("name", "Biome \"" + i + "\"");
+            biome.put("rarity", i % 7);
+            biome.put("temperature", i * 0.013D);
+            JSONArray layers = new JSONArray();
+            for (int l = 0; l < 12; l++) {
+                layers.put(new JSONObject().put("block", "minecraft:stone_" + l).put("height", l * 1.5D));
+            }
+            biome.put("layers", layers);
+            biomes.put(biome);
+        }
+
+        root.put("biomes", biomes);
+        source = root.toString(2);
+        parsed = new JSONObject(source);
+    }
+
+    @Benchmark
+    public JSONObject parse() {
+        return new JSONObject(source);
+    }
+
+    @Benchmark
+    public String print() {
+        return parsed.toString();
+    }
+}
@@ -0,0 +1,161 @@
+package art.arcane.volmlib.util.mantle;
+
+import art.arcane.volmlib.util.function.Consumer4;
+import art.arcane.volmlib.util.io.CountingDataInputStream;
+import art.arcane.volmlib.util.mantle.io.Lz4IOWorkerCodecSupport;
+import art.arcane.volmlib.util.mantle.runtime.MantleDataAdapter;
+import art.arcane.volmlib.util.mantle.runtime.TectonicPlate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A fully populated plate written and read back through the LZ4 worker codec. {@code readAndDecode} touches every
+ * chunk, so it includes the lazy decode that {@code read} defers; {@code readAndDecodeParallel} does the same decode
+ * across the common pool.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TectonicPlateBenchmark {
+    private static final int WORLD_HEIGHT = 256;
+    private static final MantleDataAdapter<long[]> ADAPTER = new LongSectionAdapter();
+    private static final Lz4IOWorkerCodecSupport CODEC = new Lz4IOWorkerCodecSupport();
+
+    private TectonicPlate<long[]> plate;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws IOException, InterruptedException {
+        plate = new TectonicPlate<>(WORLD_HEIGHT, 0, 0, ADAPTER, null);
+        for (int chunk = 0; chunk < 1024; chunk++) {
+            for (int section = 0; section < WORLD_HEIGHT >> 4; section += 2) {
+                long[] values = plate.getOrCreate(chunk & 31, chunk >> 5).getOrCreate(section);
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = (chunk * 31L + section) * (i % 7);
+                }
+            }
+        }
+
+        plate.close();
+        encoded = write();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 20);
+        try (OutputStream encoded = CODEC.encode(bytes); DataOutputStream out = new DataOutputStream(encoded)) {
+            plate.write(out);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public TectonicPlate<long[]> read() throws IOException {
+        return decode();
+    }
+
+    @Benchmark
+    public TectonicPlate<long[]> readAndDecode() throws IOException {
+        TectonicPlate<long[]> read = decode();
+        for (int chunk = 0; chunk < 1024; chunk++) {
+            read.get(chunk & 31, chunk >> 5);
+        }
+
+        return read;
+    }
+
+    @Benchmark
+    public TectonicPlate<long[]> readAndDecodeParallel() throws IOException {
+        TectonicPlate<long[]> read = decode();
+        read.decodeAll(ForkJoinPool.commonPool());
+        return read;
+    }
+
+    private TectonicPlate<long[]> decode() throws IOException {
+        try (CountingDataInputStream in = CountingDataInputStream.wrap(new BufferedInputStream(
+                CODEC.decode(new ByteArrayInputStream(encoded))))) {
+            return TectonicPlate.read(WORLD_HEIGHT, in, true, ADAPTER, null);
+        }
+    }
+
+    private static final class LongSectionAdapter implements MantleDataAdapter<long[]> {
+        @Override
+        public long[] createSection() {
+            return new long[64];
+        }
+
+        @Override
+        public long[] readSection(CountingDataInputStream input) throws IOException {
+            long[] section = new long[64];
+            for (int i = 0; i < section.length; i++) {
+                section[i] = input.readLong();
+            }
+
+            return section;
+        }
+
+        @Override
+        public void writeSection(long[] section, DataOutputStream output) throws IOException {
+            for (long value : section) {
+                output.writeLong(value);
+            }
+        }
+
+        @Override
+        public void trimSection(long[] section) {
+        }
+
+        @Override
+        public boolean isSectionEmpty(long[] section) {
+            return false;
+        }
+
+        @Override
+        public Class<?> classifyValue(Object value) {
+            return Long.class;
+        }
+
+        @Override
+        public <T> void set(long[] section, int x, int y, int z, Class<?> type, T value) {
+            section[(y << 2) | (x & 3)] = (Long) value;
+        }
+
+        @Override
+        public <T> void remove(long[] section, int x, int y, int z, Class<T> type) {
+            section[(y << 2) | (x & 3)] = 0L;
+        }
+
+        @Override
+        public <T> T get(long[] section, int x, int y, int z, Class<T> type) {
+            return type.cast(section[(y << 2) | (x & 3)]);
+        }
+
+        @Override
+        public <T> void iterate(long[] section, Class<T> type, Consumer4<Integer, Integer, Integer, T> iterator) {
+        }
+
+        @Override
+        public boolean hasSlice(long[] section, Class<?> type) {
+            return true;
+        }
+
+        @Override
+        public void deleteSlice(long[] section, Class<?> type) {
+        }
+    }
+}
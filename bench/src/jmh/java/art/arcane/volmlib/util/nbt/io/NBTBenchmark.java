@@ -0,0 +1,90 @@
+package art.arcane.volmlib.util.nbt.io;
+
+import art.arcane.volmlib.util.nbt.tag.CompoundTag;
+import art.arcane.volmlib.util.nbt.tag.ListTag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a chunk-shaped compound: paletted sections with packed block states, raw and gzipped.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NBTBenchmark {
+    @Param({"false", "true"})
+    public boolean compressed;
+
+    private NamedTag tag;
+    private byte[] encoded;
+
+    /**
+     * Roughly the shape of a vanilla chunk: 24 sections, each with a small block palette and a packed state array.
+     */
+    public static CompoundTag chunk(int seed) {
+        CompoundTag chunk = new CompoundTag();
+        chunk.putInt("DataVersion", 3465);
+        chunk.putInt("xPos", seed & 31);
+        chunk.putInt("zPos", seed >> 5);
+        chunk.putString("Status", "minecraft:full");
+        ListTag<CompoundTag> sections = new ListTag<>(CompoundTag.class);
+        for (int y = -4; y < 20; y++) {
+            CompoundTag section = new CompoundTag();
+            section.putByte("Y", (byte) y);
+            ListTag<CompoundTag> palette = new ListTag<>(CompoundTag.class);
+            for (int p = 0; p < 6; p++) {
+                CompoundTag state = new CompoundTag();
+                state.putString("Name", "minecraft:block_" + ((seed + y + p) % 40));
+                if (p % 2 == 0) {
+                    CompoundTag properties = new CompoundTag();
+                    properties.putString("axis", "y");
+                    state.put("Properties", properties);
+                }
+                palette.add(state);
+            }
+
+            long[] data = new long[256];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = ((long) seed * 0x9E3779B97F4A7C15L) ^ ((long) (y + 4) * i);
+            }
+
+            CompoundTag blockStates = new CompoundTag();
+            blockStates.put("palette", palette);
+            blockStates.putLongArray("data", data);
+            section.put("block_states", blockStates);
+            sections.add(section);
+        }
+
+        chunk.put("sections", sections);
+        return chunk;
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        tag = new NamedTag(null, chunk(17));
+        encoded = write();
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 16);
+        new NBTSerializer(compressed).toStream(tag, bytes);
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public NamedTag read() throws IOException {
+        return new NBTDeserializer(compressed).fromStream(new ByteArrayInputStream(encoded));
+    }
+}
@@ -0,0 +1,168 @@
+package art.arcane.volmlib.util.nbt.mca;
+
+import art.arcane.volmlib.util.nbt.io.NBTBenchmark;
+import art.arcane.volmlib.util.nbt.io.NBTDeserializer;
+import art.arcane.volmlib.util.nbt.io.NBTSerializer;
+import art.arcane.volmlib.util.nbt.io.NamedTag;
+import art.arcane.volmlib.util.nbt.tag.CompoundTag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding a full region of zlib-compressed chunk NBT from disk, sequentially through {@link RandomAccessFile} and
+ * through the channel reader with and without a decode pool.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MCABenchmark {
+    @Param({"0", "4"})
+    public int decodeThreads;
+
+    private File file;
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() throws IOException {
+        file = File.createTempFile("r.0.0", ".mca");
+        MCAFileSupport<NBTChunk> region = new MCAFileSupport<>(0, 0, NBTChunk::new, null);
+        for (int i = 0; i < 1024; i++) {
+            NBTChunk chunk = new NBTChunk();
+            chunk.data = NBTBenchmark.chunk(i);
+            region.setChunk(i, chunk);
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            region.serialize(raf, false);
+        }
+
+        executor = decodeThreads > 0 ? Executors.newFixedThreadPool(decodeThreads) : null;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Benchmark
+    public MCAFileSupport<NBTChunk> channel() throws IOException {
+        MCAFileSupport<NBTChunk> region = new MCAFileSupport<>(0, 0, NBTChunk::new, null);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            region.deserialize(channel, LoadFlags.ALL_DATA, index -> new NBTChunk(), executor);
+        }
+
+        return region;
+    }
+
+    @Benchmark
+    public MCAFileSupport<NBTChunk> randomAccess() throws IOException {
+        MCAFileSupport<NBTChunk> region = new MCAFileSupport<>(0, 0, NBTChunk::new, null);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            region.deserialize(raf, LoadFlags.ALL_DATA, index -> new NBTChunk());
+        }
+
+        return region;
+    }
+
+    /**
+     * Keeps the decoded compound and nothing else, so the numbers measure region IO and NBT decode only.
+     */
+    public static final class NBTChunk implements MCAChunkLike {
+        private CompoundTag data;
+
+        @Override
+        public void deserialize(RandomAccessFile raf, long loadFlags) throws IOException {
+            read(raf.readByte(), new FileInputStream(raf.getFD()));
+        }
+
+        @Override
+        public void deserialize(InputStream input, long loadFlags) throws IOException {
+            int compression = input.read();
+            read((byte) compression, input);
+        }
+
+        private void read(byte compression, InputStream input) throws IOException {
+            CompressionType type = CompressionType.getFromID(compression);
+            if (type == null) {
+                throw new IOException("invalid compression type " + compression);
+            }
+
+            NamedTag tag = new NBTDeserializer(false).fromStream(new BufferedInputStream(type.decompress(input)));
+            data = (CompoundTag) tag.getTag();
+        }
+
+        @Override
+        public int serialize(RandomAccessFile raf, int xPos, int zPos) throws IOException {
+            byte[] record = serialize(xPos, zPos);
+            raf.write(record);
+            return record.length;
+        }
+
+        @Override
+        public byte[] serialize(int xPos, int zPos) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+            bytes.write(new byte[5]);
+            try (BufferedOutputStream out = new BufferedOutputStream(CompressionType.ZLIB.compress(bytes))) {
+                new NBTSerializer(false).toStream(new NamedTag(null, data), out);
+            }
+
+            byte[] record = bytes.toByteArray();
+            int length = record.length - 4;
+            record[0] = (byte) (length >>> 24);
+            record[1] = (byte) (length >>> 16);
+            record[2] = (byte) (length >>> 8);
+            record[3] = (byte) length;
+            record[4] = CompressionType.ZLIB.getID();
+            return record;
+        }
+
+        @Override
+        public int getLastMCAUpdate() {
+            return 0;
+        }
+
+        @Override
+        public void setBiomeAt(int blockX, int blockY, int blockZ, int biomeID) {
+        }
+
+        @Override
+        public int getBiomeAt(int blockX, int blockY, int blockZ) {
+            return 0;
+        }
+
+        @Override
+        public void setBlockStateAt(int blockX, int blockY, int blockZ, CompoundTag state, boolean cleanup) {
+        }
+
+        @Override
+        public CompoundTag getBlockStateAt(int blockX, int blockY, int blockZ) {
+            return null;
+        }
+    }
+}
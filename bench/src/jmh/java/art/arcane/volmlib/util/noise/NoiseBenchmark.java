@@ -0,0 +1,74 @@
+package art.arcane.volmlib.util.noise;
+
+import art.arcane.volmlib.util.math.RNG;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One 16x16 chunk column of samples through {@link FastNoise} and a generated {@link CNG} tree, point by point and
+ * through the bulk paths.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NoiseBenchmark {
+    private static final int LENGTH = 256;
+
+    private final float[] fxs = new float[LENGTH];
+    private final float[] fzs = new float[LENGTH];
+    private final float[] fout = new float[LENGTH];
+    private final double[] xs = new double[LENGTH];
+    private final double[] zs = new double[LENGTH];
+    private final double[] out = new double[LENGTH];
+    private FastNoise fastNoise;
+    private CNG cng;
+    private CNGPlan plan;
+
+    @Setup
+    public void setup() {
+        fastNoise = new FastNoise(1337);
+        cng = CNG.signature(new RNG(1337L)).scale(0.01D);
+        plan = cng.compile();
+        for (int i = 0; i < LENGTH; i++) {
+            fxs[i] = (float) (xs[i] = 1024 + (i & 15));
+            fzs[i] = (float) (zs[i] = -2048 + (i >> 4));
+        }
+    }
+
+    @Benchmark
+    public float[] fastNoisePoints() {
+        for (int i = 0; i < LENGTH; i++) {
+            fout[i] = fastNoise.GetSimplex(fxs[i], fzs[i]);
+        }
+
+        return fout;
+    }
+
+    @Benchmark
+    public float[] fastNoiseBulk() {
+        fastNoise.GetSimplex(fxs, fzs, fout, LENGTH);
+        return fout;
+    }
+
+    @Benchmark
+    public double[] cngPoints() {
+        for (int i = 0; i < LENGTH; i++) {
+            out[i] = cng.noise(xs[i], zs[i]);
+        }
+
+        return out;
+    }
+
+    @Benchmark
+    public double[] cngPlanBulk() {
+        plan.noise(xs, zs, out, LENGTH);
+        return out;
+    }
+}
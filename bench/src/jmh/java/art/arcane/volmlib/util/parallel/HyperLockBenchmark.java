@@ -0,0 +1,62 @@
+package art.arcane.volmlib.util.parallel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Four threads taking coordinate locks, either all on a handful of hot regions or spread over many.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class HyperLockBenchmark {
+    @Param({"4", "4096"})
+    public int regions;
+
+    private HyperLockSupport hyper;
+    private StripedHyperLockSupport striped;
+
+    @Setup
+    public void setup() {
+        hyper = new HyperLockSupport();
+        striped = new StripedHyperLockSupport();
+    }
+
+    @Benchmark
+    public void hyper(Cursor cursor) {
+        int k = cursor.next(regions);
+        hyper.with(k & 63, k >> 6, cursor);
+    }
+
+    @Benchmark
+    public void striped(Cursor cursor) {
+        int k = cursor.next(regions);
+        striped.with(k & 63, k >> 6, cursor);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor implements Runnable {
+        private int position;
+        private long work;
+
+        int next(int regions) {
+            position = (position * 1103515245) + 12345;
+            return (position >>> 8) % regions;
+        }
+
+        @Override
+        public void run() {
+            work++;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package art.arcane.volmlib.util.stream;
+
+import art.arcane.volmlib.util.interpolation.InterpolationMethod;
+import art.arcane.volmlib.util.math.RNG;
+import art.arcane.volmlib.util.noise.CNG;
+import art.arcane.volmlib.util.stream.interpolation.BicubicStream;
+import art.arcane.volmlib.util.stream.interpolation.BilinearStream;
+import art.arcane.volmlib.util.stream.interpolation.Interpolated;
+import art.arcane.volmlib.util.stream.interpolation.InterpolatingStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A chunk of samples through interpolated stream chains over CNG noise, point by point and through
+ * {@link ProceduralStream#fill2D(double[], double, double, int, int, double)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StreamBenchmark {
+    @Param({"BILINEAR", "BILINEAR_CACHED", "BICUBIC", "BILINEAR_STARCAST_12", "STARCAST_6"})
+    public String chain;
+
+    private final double[] out = new double[256];
+    private ProceduralStream<Double> stream;
+    private int chunk;
+
+    @Setup
+    public void setup() {
+        CNG cng = CNG.signature(new RNG(42L)).scale(0.02D);
+        ProceduralStream<Double> source = ProceduralStream.of((x, z) -> cng.noise(x, z), (x, y, z) -> cng.noise(x, y, z),
+                Interpolated.DOUBLE);
+        stream = switch (chain) {
+            case "BILINEAR" -> new BilinearStream<>(source, 4, 4);
+            case "BILINEAR_CACHED" -> new BilinearStream<>(source, 4, 4, true);
+            case "BICUBIC" -> new BicubicStream<>(new BilinearStream<>(source, 8, 8), 4, 4);
+            default -> new InterpolatingStream<>(source, 8, InterpolationMethod.valueOf(chain));
+        };
+    }
+
+    @Benchmark
+    public double[] points() {
+        int x0 = (chunk++ & 63) << 4;
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                out[(z << 4) + x] = stream.getDouble(x0 + x, z);
+            }
+        }
+
+        return out;
+    }
+
+    @Benchmark
+    public double[] fill() {
+        int x0 = (chunk++ & 63) << 4;
+        stream.fill2D(out, x0, 0, 16, 16, 1D);
+        return out;
+    }
+}
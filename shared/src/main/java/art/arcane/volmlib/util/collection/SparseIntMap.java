@@ -0,0 +1,349 @@
+package art.arcane.volmlib.util.collection;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Open-addressing map from non-negative int keys to objects, for sparse storage indexed by position. Keys are kept
+ * unboxed in one flat table, so a put or get allocates nothing.
+ * <p>
+ * Writers synchronize on the map; reads never lock. A new key publishes its value before the key itself, removals
+ * leave a tombstone in place instead of shifting later entries, and a resized table is swapped in whole, so a
+ * concurrent reader always probes a consistent table. Iteration walks a snapshot in ascending key order.
+ * <p>
+ * The views write through: removing from {@link #keySet()}, {@link #entrySet()} or their iterators removes the key,
+ * and {@link Map.Entry#setValue} stores into the map. The compound operations ({@code compute}, {@code merge},
+ * {@code putIfAbsent} and friends) hold the writer lock for their whole duration, so they are atomic against other
+ * writers; keep their functions short.
+ */
+public class SparseIntMap<T> extends AbstractMap<Integer, T> {
+    private static final VarHandle KEYS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final int EMPTY = -1;
+    private static final int MIN_CAPACITY = 8;
+
+    private volatile Table table;
+    private volatile int size;
+    private int used;
+
+    public SparseIntMap() {
+        this.table = new Table(MIN_CAPACITY);
+    }
+
+    public T get(int key) {
+        Table t = table;
+        int slot = slot(key, t.mask);
+        int k;
+        while ((k = (int) KEYS.getAcquire(t.keys, slot)) != EMPTY) {
+            if (k == key) {
+                return value(t, slot);
+            }
+
+            slot = (slot + 1) & t.mask;
+        }
+
+        return null;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Stores {@code value} under {@code key}; a {@code null} value removes the key.
+     *
+     * @return the previous value, or {@code null} if there was none
+     */
+    public synchronized T put(int key, T value) {
+        if (value == null) {
+            return remove(key);
+        }
+
+        if (key < 0) {
+            throw new IllegalArgumentException("Keys must not be negative, got " + key);
+        }
+
+        Table t = table;
+        int slot = slot(key, t.mask);
+        int k;
+        while ((k = t.keys[slot]) != EMPTY) {
+            if (k == key) {
+                T previous = value(t, slot);
+                VALUES.setRelease(t.values, slot, value);
+                if (previous == null) {
+                    size++;
+                }
+                return previous;
+            }
+
+            slot = (slot + 1) & t.mask;
+        }
+
+        if ((used + 1) * 4 > t.keys.length * 3) {
+            resize(size + 1);
+            return put(key, value);
+        }
+
+        VALUES.setRelease(t.values, slot, value);
+        KEYS.setRelease(t.keys, slot, key);
+        used++;
+        size++;
+        return null;
+    }
+
+    public synchronized T remove(int key) {
+        Table t = table;
+        int slot = slot(key, t.mask);
+        int k;
+        while ((k = t.keys[slot]) != EMPTY) {
+            if (k == key) {
+                T previous = value(t, slot);
+                if (previous != null) {
+                    VALUES.setRelease(t.values, slot, null);
+                    size--;
+                }
+                return previous;
+            }
+
+            slot = (slot + 1) & t.mask;
+        }
+
+        return null;
+    }
+
+    /**
+     * Visits a snapshot of the entries in ascending key order. Entries removed after the snapshot was taken are
+     * skipped; the consumer may modify the map.
+     */
+    public <E extends Exception> void forEachOrdered(EntryConsumer<T, E> consumer) throws E {
+        Table t = table;
+        long[] order = new long[size];
+        int count = 0;
+        for (int slot = 0; slot < t.keys.length; slot++) {
+            int key = (int) KEYS.getAcquire(t.keys, slot);
+            if (key != EMPTY && value(t, slot) != null) {
+                if (count == order.length) {
+                    order = Arrays.copyOf(order, Math.max(4, count * 2));
+                }
+                order[count++] = ((long) key << 32) | slot;
+            }
+        }
+
+        Arrays.sort(order, 0, count);
+        for (int i = 0; i < count; i++) {
+            T value = value(t, (int) order[i]);
+            if (value != null) {
+                consumer.accept((int) (order[i] >>> 32), value);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public T get(Object key) {
+        return key instanceof Integer i ? get(i.intValue()) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public T put(Integer key, T value) {
+        return put(key.intValue(), value);
+    }
+
+    @Override
+    public T remove(Object key) {
+        return key instanceof Integer i ? remove(i.intValue()) : null;
+    }
+
+    @Override
+    public synchronized void clear() {
+        table = new Table(MIN_CAPACITY);
+        size = 0;
+        used = 0;
+    }
+
+    /**
+     * @return an ordered snapshot of the entries; removals and {@link Map.Entry#setValue} write through to the map
+     */
+    @Override
+    public Set<Map.Entry<Integer, T>> entrySet() {
+        List<Map.Entry<Integer, T>> entries = new ArrayList<>(size);
+        forEachOrdered((key, value) -> entries.add(new WriteThroughEntry(key, value)));
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<Integer, T>> iterator() {
+                Iterator<Map.Entry<Integer, T>> snapshot = entries.iterator();
+                return new Iterator<>() {
+                    private Map.Entry<Integer, T> last;
+
+                    @Override
+                    public boolean hasNext() {
+                        return snapshot.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<Integer, T> next() {
+                        return last = snapshot.next();
+                    }
+
+                    @Override
+                    public void remove() {
+                        if (last == null) {
+                            throw new IllegalStateException();
+                        }
+
+                        snapshot.remove();
+                        SparseIntMap.this.remove(last.getKey().intValue());
+                        last = null;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return entries.size();
+            }
+        };
+    }
+
+    @Override
+    public synchronized T putIfAbsent(Integer key, T value) {
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value) {
+        return super.remove(key, value);
+    }
+
+    @Override
+    public synchronized boolean replace(Integer key, T oldValue, T newValue) {
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public synchronized T replace(Integer key, T value) {
+        return super.replace(key, value);
+    }
+
+    @Override
+    public synchronized T computeIfAbsent(Integer key, Function<? super Integer, ? extends T> mappingFunction) {
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public synchronized T computeIfPresent(Integer key, BiFunction<? super Integer, ? super T, ? extends T> remappingFunction) {
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public synchronized T compute(Integer key, BiFunction<? super Integer, ? super T, ? extends T> remappingFunction) {
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public synchronized T merge(Integer key, T value, BiFunction<? super T, ? super T, ? extends T> remappingFunction) {
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public synchronized void replaceAll(BiFunction<? super Integer, ? super T, ? extends T> function) {
+        super.replaceAll(function);
+    }
+
+    /**
+     * Rebuilds the table without tombstones, sized for {@code live} entries.
+     */
+    private void resize(int live) {
+        Table old = table;
+        Table next = new Table(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, live * 2) - 1) << 1));
+        for (int slot = 0; slot < old.keys.length; slot++) {
+            int key = old.keys[slot];
+            Object value = old.values[slot];
+            if (key != EMPTY && value != null) {
+                int target = slot(key, next.mask);
+                while (next.keys[target] != EMPTY) {
+                    target = (target + 1) & next.mask;
+                }
+
+                next.keys[target] = key;
+                next.values[target] = value;
+            }
+        }
+
+        used = size;
+        table = next;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T value(Table t, int slot) {
+        return (T) VALUES.getAcquire(t.values, slot);
+    }
+
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Snapshot entry whose {@link #setValue} stores into the map as well.
+     */
+    private final class WriteThroughEntry extends SimpleEntry<Integer, T> {
+        private static final long serialVersionUID = 1L;
+
+        private WriteThroughEntry(int key, T value) {
+            super(key, value);
+        }
+
+        @Override
+        public T setValue(T value) {
+            if (value == null) {
+                throw new NullPointerException();
+            }
+
+            put(getKey().intValue(), value);
+            return super.setValue(value);
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<T, E extends Exception> {
+        void accept(int key, T value) throws E;
+    }
+
+    private static final class Table {
+        private final int[] keys;
+        private final Object[] values;
+        private final int mask;
+
+        private Table(int capacity) {
+            this.keys = new int[capacity];
+            this.values = new Object[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(keys, EMPTY);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package art.arcane.volmlib.util.function;
+
+/**
+ * A {@link NoiseInjector} that combines without allocating. The combined source is returned directly; the updated
+ * value is written into {@code second} when the caller asks for it, and {@code second} may be null when it does not.
+ */
+@FunctionalInterface
+public interface PrimitiveNoiseInjector extends NoiseInjector {
+    static PrimitiveNoiseInjector of(NoiseInjector injector) {
+        if (injector instanceof PrimitiveNoiseInjector primitive) {
+            return primitive;
+        }
+
+        return (src, value, second) -> {
+            double[] combined = injector.combine(src, value);
+            if (second != null) {
+                second.value = combined[1];
+            }
+
+            return combined[0];
+        };
+    }
+
+    double combine(double src, double value, Second second);
+
+    @Override
+    default double[] combine(double src, double value) {
+        Second second = new Second();
+        second.value = value;
+        double combined = combine(src, value, second);
+        return new double[]{combined, second.value};
+    }
+
+    /**
+     * Reusable holder for the second result of a combine. Injectors that leave the value unchanged never touch it.
+     */
+    final class Second {
+        public double value;
+    }
+}
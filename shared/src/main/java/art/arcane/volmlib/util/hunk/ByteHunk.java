@@ -0,0 +1,36 @@
+package art.arcane.volmlib.util.hunk;
+
+/**
+ * Primitive byte hunk. {@link #getByte}/{@link #setByte} never box; the {@link HunkLike} accessors are
+ * bridges for code that only knows the generic view.
+ */
+public interface ByteHunk extends HunkLike<Byte> {
+    byte getByte(int x, int y, int z);
+
+    void setByte(int x, int y, int z, byte value);
+
+    default void fillByte(byte value) {
+        for (int z = 0; z < getDepth(); z++) {
+            for (int y = 0; y < getHeight(); y++) {
+                for (int x = 0; x < getWidth(); x++) {
+                    setByte(x, y, z, value);
+                }
+            }
+        }
+    }
+
+    @Override
+    default void setRaw(int x, int y, int z, Byte t) {
+        setByte(x, y, z, t);
+    }
+
+    @Override
+    default Byte getRaw(int x, int y, int z) {
+        return getByte(x, y, z);
+    }
+
+    @FunctionalInterface
+    interface Operator {
+        byte apply(int x, int y, int z, byte value);
+    }
+}
@@ -0,0 +1,36 @@
+package art.arcane.volmlib.util.hunk;
+
+/**
+ * Primitive double hunk. {@link #getDouble}/{@link #setDouble} never box; the {@link HunkLike}
+ * accessors are bridges for code that only knows the generic view.
+ */
+public interface DoubleHunk extends HunkLike<Double> {
+    double getDouble(int x, int y, int z);
+
+    void setDouble(int x, int y, int z, double value);
+
+    default void fillDouble(double value) {
+        for (int z = 0; z < getDepth(); z++) {
+            for (int y = 0; y < getHeight(); y++) {
+                for (int x = 0; x < getWidth(); x++) {
+                    setDouble(x, y, z, value);
+                }
+            }
+        }
+    }
+
+    @Override
+    default void setRaw(int x, int y, int z, Double t) {
+        setDouble(x, y, z, t);
+    }
+
+    @Override
+    default Double getRaw(int x, int y, int z) {
+        return getDouble(x, y, z);
+    }
+
+    @FunctionalInterface
+    interface Operator {
+        double apply(int x, int y, int z, double value);
+    }
+}
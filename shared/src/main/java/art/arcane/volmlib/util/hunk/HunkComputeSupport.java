@@ -50,4 +50,46 @@ public final class HunkComputeSupport {
         e.complete();
         rq.forEach(Runnable::run);
     }
+
+    public static void computeInt(int parallelism, Function<Integer, ? extends BurstExecutorSupport> burstFactory, IntHunk hunk, IntHunk.Operator operator) {
+        BurstExecutorSupport e = burstFactory.apply(parallelism);
+        HunkSectionSupport.forEach2DSectionBounds(hunk, parallelism, (x1, y1, z1, x2, y2, z2) -> e.queue(() -> {
+            for (int z = z1; z < z2; z++) {
+                for (int y = y1; y < y2; y++) {
+                    for (int x = x1; x < x2; x++) {
+                        hunk.setInt(x, y, z, operator.apply(x, y, z, hunk.getInt(x, y, z)));
+                    }
+                }
+            }
+        }));
+        e.complete();
+    }
+
+    public static void computeDouble(int parallelism, Function<Integer, ? extends BurstExecutorSupport> burstFactory, DoubleHunk hunk, DoubleHunk.Operator operator) {
+        BurstExecutorSupport e = burstFactory.apply(parallelism);
+        HunkSectionSupport.forEach2DSectionBounds(hunk, parallelism, (x1, y1, z1, x2, y2, z2) -> e.queue(() -> {
+            for (int z = z1; z < z2; z++) {
+                for (int y = y1; y < y2; y++) {
+                    for (int x = x1; x < x2; x++) {
+                        hunk.setDouble(x, y, z, operator.apply(x, y, z, hunk.getDouble(x, y, z)));
+                    }
+                }
+            }
+        }));
+        e.complete();
+    }
+
+    public static void computeByte(int parallelism, Function<Integer, ? extends BurstExecutorSupport> burstFactory, ByteHunk hunk, ByteHunk.Operator operator) {
+        BurstExecutorSupport e = burstFactory.apply(parallelism);
+        HunkSectionSupport.forEach2DSectionBounds(hunk, parallelism, (x1, y1, z1, x2, y2, z2) -> e.queue(() -> {
+            for (int z = z1; z < z2; z++) {
+                for (int y = y1; y < y2; y++) {
+                    for (int x = x1; x < x2; x++) {
+                        hunk.setByte(x, y, z, operator.apply(x, y, z, hunk.getByte(x, y, z)));
+                    }
+                }
+            }
+        }));
+        e.complete();
+    }
 }
@@ -0,0 +1,36 @@
+package art.arcane.volmlib.util.hunk;
+
+/**
+ * Primitive int hunk. {@link #getInt}/{@link #setInt} never box; the {@link HunkLike} accessors are
+ * bridges for code that only knows the generic view.
+ */
+public interface IntHunk extends HunkLike<Integer> {
+    int getInt(int x, int y, int z);
+
+    void setInt(int x, int y, int z, int value);
+
+    default void fillInt(int value) {
+        for (int z = 0; z < getDepth(); z++) {
+            for (int y = 0; y < getHeight(); y++) {
+                for (int x = 0; x < getWidth(); x++) {
+                    setInt(x, y, z, value);
+                }
+            }
+        }
+    }
+
+    @Override
+    default void setRaw(int x, int y, int z, Integer t) {
+        setInt(x, y, z, t);
+    }
+
+    @Override
+    default Integer getRaw(int x, int y, int z) {
+        return getInt(x, y, z);
+    }
+
+    @FunctionalInterface
+    interface Operator {
+        int apply(int x, int y, int z, int value);
+    }
+}
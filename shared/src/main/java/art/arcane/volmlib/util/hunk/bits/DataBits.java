@@ -161,18 +161,154 @@ public class DataBits {
         return data;
     }
 
+    /**
+     * Returns an independent copy at the same bit width.
+     */
+    public DataBits copy() {
+        AtomicLongArray words = new AtomicLongArray(data.length());
+        for (int i = 0; i < words.length(); i++) {
+            words.set(i, data.get(i));
+        }
+
+        return new DataBits(bits, size, words);
+    }
+
+    /**
+     * Repacks into a new bit width in a single pass over the source words. Values wider than the
+     * new width are rejected, as they would be by {@link #set(int, int)}.
+     */
     public DataBits setBits(int newBits) {
-        if (bits != newBits) {
-            DataBits newData = new DataBits(newBits, size);
+        if (bits == newBits) {
+            return this;
+        }
+
+        DataBits newData = new DataBits(newBits, size);
+        long newMask = newData.mask;
+        int newPerLong = newData.valuesPerLong;
+        long word = 0L;
+        int slot = 0;
+        int target = 0;
+        int position = 0;
+
+        for (int i = 0; i < data.length() && position < size; i++) {
+            long source = data.get(i);
+            for (int k = 0; k < valuesPerLong && position < size; k++, position++) {
+                long value = source >>> (k * bits) & mask;
+                Validate.inclusiveBetween(0L, newMask, value);
+                word |= value << (slot * newBits);
+                if (++slot == newPerLong) {
+                    newData.data.set(target++, word);
+                    word = 0L;
+                    slot = 0;
+                }
+            }
+        }
+
+        if (slot > 0) {
+            newData.data.set(target, word);
+        }
+
+        return newData;
+    }
+
+    /**
+     * Sets every position in {@code [from, to)} to {@code value}. Whole words are written at once;
+     * only the partially covered words at either end need a compare-and-set.
+     */
+    public void fill(int from, int to, int value) {
+        checkRange(from, to);
+        Validate.inclusiveBetween(0L, mask, value);
+        long pattern = 0L;
+        for (int k = 0; k < valuesPerLong; k++) {
+            pattern |= (value & mask) << (k * bits);
+        }
+
+        int position = from;
+        while (position < to) {
+            int word = cellIndex(position);
+            int first = word * valuesPerLong;
+            int start = position - first;
+            int end = Math.min(valuesPerLong, to - first);
+            long covered = span(start, end);
+            if (start == 0 && end == valuesPerLong) {
+                data.set(word, pattern);
+            } else {
+                merge(word, covered, pattern & covered);
+            }
+            position = first + end;
+        }
+    }
+
+    /**
+     * Decodes {@code length} values starting at {@code from} into {@code out}, one word at a time.
+     */
+    public void getRange(int from, int[] out, int offset, int length) {
+        checkRange(from, from + length);
+        int position = from;
+        int to = from + length;
+        while (position < to) {
+            int word = cellIndex(position);
+            int first = word * valuesPerLong;
+            int end = Math.min(valuesPerLong, to - first);
+            long value = data.get(word);
+            for (int k = position - first; k < end; k++) {
+                out[offset++] = (int) (value >>> (k * bits) & mask);
+            }
+            position = first + end;
+        }
+    }
+
+    public void setRange(int from, int[] values, int offset, int length) {
+        setRange(from, values, offset, length, null);
+    }
 
-            for (int i = 0; i < size; i++) {
-                newData.set(i, get(i));
+    /**
+     * Writes {@code length} values starting at {@code from}, translating each through
+     * {@code remap} when it is non-null. Words are assembled locally and written once each.
+     */
+    public void setRange(int from, int[] values, int offset, int length, int[] remap) {
+        checkRange(from, from + length);
+        int position = from;
+        int to = from + length;
+        int index = offset;
+        while (position < to) {
+            int word = cellIndex(position);
+            int first = word * valuesPerLong;
+            int start = position - first;
+            int end = Math.min(valuesPerLong, to - first);
+            long packed = 0L;
+            for (int k = start; k < end; k++) {
+                int value = remap == null ? values[index++] : remap[values[index++]];
+                Validate.inclusiveBetween(0L, mask, value);
+                packed |= (long) value << (k * bits);
             }
 
-            return newData;
+            if (start == 0 && end == valuesPerLong) {
+                data.set(word, packed);
+            } else {
+                merge(word, span(start, end), packed);
+            }
+            position = first + end;
         }
+    }
+
+    private long span(int start, int end) {
+        int width = (end - start) * bits;
+        long ones = width == 64 ? -1L : (1L << width) - 1L;
+        return ones << (start * bits);
+    }
 
-        return this;
+    private void merge(int word, long covered, long value) {
+        long current;
+        do {
+            current = data.get(word);
+        } while (!data.compareAndSet(word, current, current & ~covered | value));
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") outside of " + size);
+        }
     }
 
     public void getAll(IntConsumer var0) {
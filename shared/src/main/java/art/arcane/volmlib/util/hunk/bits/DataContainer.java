@@ -27,42 +27,61 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
+/**
+ * Palette-compressed storage. By default writers coordinate through a read/write lock; in
+ * lock-free mode the palette and bits form an immutable pairing that is replaced wholesale when the
+ * bit width grows or the palette is trimmed, so set and get never block unless a resize is in flight.
+ */
 public class DataContainer<T> {
     private static final boolean TRIM = Boolean.getBoolean("iris.trim-palette");
+    private static final boolean LOCK_FREE = Boolean.getBoolean("iris.lockfree-palette");
     private static final int PRESENT = -1;
     protected static final int INITIAL_BITS = 3;
     protected static final int LINEAR_BITS_LIMIT = 4;
     protected static final int LINEAR_INITIAL_LENGTH = (int) Math.pow(2, LINEAR_BITS_LIMIT) + 2;
     protected static final int[] BIT = computeBitLimits();
     private final Lock read, write;
+    private final Object resizeLock = new Object();
+    private final boolean lockFree;
 
-    private volatile Palette<T> palette;
-    private volatile DataBits data;
+    private volatile Snapshot<T> snapshot;
     private final int length;
     private final Writable<T> writer;
 
     public DataContainer(Writable<T> writer, int length) {
+        this(writer, length, LOCK_FREE);
+    }
+
+    public DataContainer(Writable<T> writer, int length, boolean lockFree) {
         ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
         this.read = lock.readLock();
         this.write = lock.writeLock();
+        this.lockFree = lockFree;
 
         this.writer = writer;
         this.length = length;
-        this.data = new DataBits(INITIAL_BITS, length);
-        this.palette = newPalette(INITIAL_BITS);
+        this.snapshot = new Snapshot<>(newPalette(INITIAL_BITS), new DataBits(INITIAL_BITS, length));
     }
 
     public DataContainer(DataInputStream din, Writable<T> writer) throws IOException {
+        this(din, writer, LOCK_FREE);
+    }
+
+    public DataContainer(DataInputStream din, Writable<T> writer, boolean lockFree) throws IOException {
         ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
         this.read = lock.readLock();
         this.write = lock.writeLock();
+        this.lockFree = lockFree;
 
         this.writer = writer;
         this.length = Varint.readUnsignedVarInt(din);
-        this.palette = newPalette(din);
-        this.data = new DataBits(palette.bits(), length, din);
+        Palette<T> palette = newPalette(din);
+        this.snapshot = new Snapshot<>(palette, new DataBits(palette.bits(), length, din));
 
         // writeDos() always trims before serializing, so anything we read back is already minimal.
         // Re-scanning every entry on load is pure overhead; -Diris.trim-palette=true restores it.
@@ -95,7 +114,14 @@ public class DataContainer<T> {
         return DataContainer.BIT.length - 1;
     }
 
+    public boolean isLockFree() {
+        return lockFree;
+    }
+
     public String toString() {
+        Snapshot<T> s = snapshot;
+        Palette<T> palette = s.palette;
+        DataBits data = s.data;
         return "DataContainer <" + length + " x " + data.getBits() + " bits> -> Palette<" + palette.getClass().getSimpleName().replaceAll("\\QPalette\\E", "") + ">: " + palette.size() +
                 " " + data.toString() + " PalBit: " + palette.bits();
     }
@@ -110,20 +136,42 @@ public class DataContainer<T> {
         writeDos(new DataOutputStream(out));
     }
 
+    /**
+     * In lock-free mode the live snapshot is sealed only while it is trimmed and copied; the
+     * trimmed form is serialized after its copy has been published, so concurrent writers never
+     * wait on the output stream.
+     */
     public void writeDos(DataOutputStream dos) throws IOException {
+        if (lockFree) {
+            Snapshot<T> frozen;
+            synchronized (resizeLock) {
+                Snapshot<T> s = snapshot;
+                s.sealed = true;
+                frozen = trimmed(s, true);
+                snapshot = new Snapshot<>(newPalette(frozen.data.getBits()).from(frozen.palette), frozen.data.copy());
+            }
+
+            write(frozen, dos);
+            return;
+        }
+
         write.lock();
         try {
             trim();
-            Varint.writeUnsignedVarInt(length, dos);
-            Varint.writeUnsignedVarInt(palette.size(), dos);
-            palette.iterateIO((data, __) -> writer.writeNodeData(dos, data));
-            data.write(dos);
-            dos.flush();
+            write(snapshot, dos);
         } finally {
             write.unlock();
         }
     }
 
+    private void write(Snapshot<T> s, DataOutputStream dos) throws IOException {
+        Varint.writeUnsignedVarInt(length, dos);
+        Varint.writeUnsignedVarInt(s.palette.size(), dos);
+        s.palette.iterateIO((data, __) -> writer.writeNodeData(dos, data));
+        s.data.write(dos);
+        dos.flush();
+    }
+
     private Palette<T> newPalette(DataInputStream din) throws IOException {
         int paletteSize = Varint.readUnsignedVarInt(din);
         Palette<T> d = newPalette(bits(paletteSize + 1));
@@ -140,15 +188,21 @@ public class DataContainer<T> {
     }
 
     public void set(int position, T t) {
+        if (lockFree) {
+            setLockFree(position, t);
+            return;
+        }
+
         int id;
 
         read.lock();
         try {
-            id = palette.id(t);
+            Snapshot<T> s = snapshot;
+            id = s.palette.id(t);
             if (id == -1) {
-                id = palette.add(t);
-                if (palette.bits() == data.getBits()) {
-                    data.set(position, id);
+                id = s.palette.add(t);
+                if (s.palette.bits() == s.data.getBits()) {
+                    s.data.set(position, id);
                     return;
                 }
             }
@@ -158,35 +212,198 @@ public class DataContainer<T> {
 
         write.lock();
         try {
-            updateBits();
-            data.set(position, id);
+            Snapshot<T> s = snapshot;
+            if (s.palette.bits() != s.data.getBits()) {
+                s = resized(s);
+                snapshot = s;
+            }
+            s.data.set(position, id);
         } finally {
             write.unlock();
         }
     }
 
-    @SuppressWarnings("NonAtomicOperationOnVolatileField")
-    private void updateBits() {
-        int bits = palette.bits();
-        if (bits == data.getBits())
-            return;
+    /**
+     * Writes into the current snapshot, then checks its seal. A resize seals the snapshot before
+     * copying it, so a write that still saw it unsealed is guaranteed to be in the copy; one that
+     * saw the seal waits for the replacement and repeats the write there.
+     */
+    private void setLockFree(int position, T t) {
+        while (true) {
+            Snapshot<T> s = snapshot;
+            int id = s.palette.id(t);
+            if (id == -1) {
+                id = s.palette.add(t);
+            }
+
+            if (s.palette.bits() != s.data.getBits()) {
+                grow(s);
+                continue;
+            }
+
+            s.data.set(position, id);
+            if (!s.sealed) {
+                return;
+            }
+
+            awaitReplacement(s);
+        }
+    }
+
+    /**
+     * Waits for a sealed snapshot to be replaced. Resizes and trims publish within a single pass
+     * over the data, so a short spin usually suffices; longer waits yield and then park.
+     */
+    private void awaitReplacement(Snapshot<T> s) {
+        for (int spins = 0; snapshot == s; spins++) {
+            if (spins < 64) {
+                Thread.onSpinWait();
+            } else if (spins < 256) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(50_000L);
+            }
+        }
+    }
 
-        if (data.getBits() <= LINEAR_BITS_LIMIT != bits <= LINEAR_BITS_LIMIT) {
+    private void grow(Snapshot<T> s) {
+        synchronized (resizeLock) {
+            if (snapshot != s) {
+                return;
+            }
+
+            s.sealed = true;
+            snapshot = resized(s);
+        }
+    }
+
+    private Snapshot<T> resized(Snapshot<T> s) {
+        int bits = s.palette.bits();
+        Palette<T> palette = s.palette;
+        if (s.data.getBits() <= LINEAR_BITS_LIMIT != bits <= LINEAR_BITS_LIMIT) {
             palette = newPalette(bits).from(palette);
         }
 
-        data = data.setBits(bits);
+        return new Snapshot<>(palette, s.data.setBits(bits));
+    }
+
+    /**
+     * Sets every position in {@code [from, to)} to {@code t}, resolving the palette id once and
+     * writing whole words where the range allows it.
+     */
+    public void fill(int from, int to, T t) {
+        bulk(palette -> new int[]{resolve(palette, t)}, (data, ids) -> data.fill(from, to, ids[0]));
+    }
+
+    /**
+     * Copies {@code length} positions from {@code source} into this container. Each distinct
+     * source id is translated into this palette once, not once per position. The source range is
+     * read up front, so overlapping copies within one container are safe.
+     */
+    public void copyFrom(DataContainer<T> source, int sourcePosition, int position, int length) {
+        int[] ids = new int[length];
+        Palette<T> sourcePalette = source.readRange(sourcePosition, ids, length);
+        int maxId = 0;
+        for (int id : ids) {
+            maxId = Math.max(maxId, id);
+        }
+
+        int[] present = new int[maxId + 1];
+        for (int id : ids) {
+            present[id] = 1;
+        }
+
+        bulk(palette -> {
+            int[] remap = new int[present.length];
+            for (int id = 1; id < present.length; id++) {
+                if (present[id] != 0) {
+                    remap[id] = resolve(palette, sourcePalette.get(id));
+                }
+            }
+            return remap;
+        }, (data, remap) -> data.setRange(position, ids, 0, length, remap));
+    }
+
+    private Palette<T> readRange(int from, int[] out, int length) {
+        if (lockFree) {
+            Snapshot<T> s = snapshot;
+            s.data.getRange(from, out, 0, length);
+            return s.palette;
+        }
+
+        read.lock();
+        try {
+            Snapshot<T> s = snapshot;
+            s.data.getRange(from, out, 0, length);
+            return s.palette;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    private int resolve(Palette<T> palette, T t) {
+        int id = palette.id(t);
+        return id == -1 ? palette.add(t) : id;
+    }
+
+    /**
+     * Shared coordination for bulk writes, mirroring {@link #set}: ids are resolved against the
+     * current palette first, then written once the bit width is known to fit them.
+     */
+    private void bulk(Function<Palette<T>, int[]> resolver, BiConsumer<DataBits, int[]> apply) {
+        if (lockFree) {
+            while (true) {
+                Snapshot<T> s = snapshot;
+                int[] ids = resolver.apply(s.palette);
+                if (s.palette.bits() != s.data.getBits()) {
+                    grow(s);
+                    continue;
+                }
+
+                apply.accept(s.data, ids);
+                if (!s.sealed) {
+                    return;
+                }
+
+                awaitReplacement(s);
+            }
+        }
+
+        int[] ids;
+        read.lock();
+        try {
+            Snapshot<T> s = snapshot;
+            ids = resolver.apply(s.palette);
+            if (s.palette.bits() == s.data.getBits()) {
+                apply.accept(s.data, ids);
+                return;
+            }
+        } finally {
+            read.unlock();
+        }
+
+        write.lock();
+        try {
+            Snapshot<T> s = snapshot;
+            if (s.palette.bits() != s.data.getBits()) {
+                s = resized(s);
+                snapshot = s;
+            }
+            apply.accept(s.data, ids);
+        } finally {
+            write.unlock();
+        }
     }
 
     public T get(int position) {
-        DataBits localData = data;
-        int id = localData.getUnchecked(position);
+        Snapshot<T> s = snapshot;
+        int id = s.data.getUnchecked(position);
 
         if (id <= 0) {
             return null;
         }
 
-        return palette.get(id);
+        return s.palette.get(id);
     }
 
     /**
@@ -194,50 +411,83 @@ public class DataContainer<T> {
      * costs at most one full bit-scan — the same class of work writeDos' trim already does.
      */
     public boolean isEmptyData() {
+        if (lockFree) {
+            return isEmptyData(snapshot.data);
+        }
+
         read.lock();
         try {
-            DataBits bits = data;
-            for (int position = 0; position < length; position++) {
-                if (bits.getUnchecked(position) > 0) {
-                    return false;
-                }
-            }
-            return true;
+            return isEmptyData(snapshot.data);
         } finally {
             read.unlock();
         }
     }
 
+    private boolean isEmptyData(DataBits bits) {
+        for (int position = 0; position < length; position++) {
+            if (bits.getUnchecked(position) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * In lock-free mode this scans whichever snapshot was current when it started; writes landing
+     * during the scan may or may not be observed.
+     */
     public void iteratePresent(IndexedConsumer<T> consumer) {
+        if (lockFree) {
+            iteratePresent(snapshot, consumer);
+            return;
+        }
+
         read.lock();
         try {
-            for (int position = 0; position < length; position++) {
-                int id = data.getUnchecked(position);
-                if (id > 0) {
-                    consumer.accept(position, palette.get(id));
-                }
-            }
+            iteratePresent(snapshot, consumer);
         } finally {
             read.unlock();
         }
     }
 
+    private void iteratePresent(Snapshot<T> s, IndexedConsumer<T> consumer) {
+        DataBits data = s.data;
+        Palette<T> palette = s.palette;
+        for (int position = 0; position < length; position++) {
+            int id = data.getUnchecked(position);
+            if (id > 0) {
+                consumer.accept(position, palette.get(id));
+            }
+        }
+    }
+
     public void iteratePresentIO(IndexedIOConsumer<T> consumer) throws IOException {
+        if (lockFree) {
+            iteratePresentIO(snapshot, consumer);
+            return;
+        }
+
         read.lock();
         try {
-            for (int position = 0; position < length; position++) {
-                int id = data.getUnchecked(position);
-                if (id > 0) {
-                    consumer.accept(position, palette.get(id));
-                }
-            }
+            iteratePresentIO(snapshot, consumer);
         } finally {
             read.unlock();
         }
     }
 
+    private void iteratePresentIO(Snapshot<T> s, IndexedIOConsumer<T> consumer) throws IOException {
+        DataBits data = s.data;
+        Palette<T> palette = s.palette;
+        for (int position = 0; position < length; position++) {
+            int id = data.getUnchecked(position);
+            if (id > 0) {
+                consumer.accept(position, palette.get(id));
+            }
+        }
+    }
+
     public int size() {
-        return data.getSize();
+        return snapshot.data.getSize();
     }
 
     /**
@@ -248,7 +498,17 @@ public class DataContainer<T> {
      * hands out exactly the same new ids, and absent/zero ids still map to 0.
      */
     private void trim() {
-        DataBits localData = data;
+        snapshot = trimmed(snapshot, false);
+    }
+
+    /**
+     * Returns the trimmed form of the snapshot, or the snapshot itself when nothing can be dropped
+     * and {@code copy} is false. Lock-free callers pass {@code copy} so the result never shares
+     * storage with the sealed snapshot that late writers may still touch.
+     */
+    private Snapshot<T> trimmed(Snapshot<T> s, boolean copy) {
+        DataBits localData = s.data;
+        Palette<T> palette = s.palette;
         int[] remap = new int[Math.max(palette.size() + 1, 16)];
         int distinct = 0;
         int maxId = 0;
@@ -268,8 +528,8 @@ public class DataContainer<T> {
             }
         }
 
-        if (distinct == palette.size())
-            return;
+        if (distinct == palette.size() && !copy)
+            return s;
 
         int bits = bits(distinct + 1);
         Palette<T> trimmed = newPalette(bits);
@@ -285,8 +545,18 @@ public class DataContainer<T> {
             tBits.set(i, x <= 0 ? 0 : remap[x]);
         }
 
-        data = tBits;
-        palette = trimmed;
+        return new Snapshot<>(trimmed, tBits);
+    }
+
+    private static final class Snapshot<T> {
+        private final Palette<T> palette;
+        private final DataBits data;
+        private volatile boolean sealed;
+
+        private Snapshot(Palette<T> palette, DataBits data) {
+            this.palette = palette;
+            this.data = data;
+        }
     }
 
     @FunctionalInterface
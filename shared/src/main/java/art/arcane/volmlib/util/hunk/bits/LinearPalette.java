@@ -43,12 +43,17 @@ public class LinearPalette<T> implements Palette<T> {
         return palette.get(id);
     }
 
+    /**
+     * Publishes the value before the id becomes visible through {@link #size()}, so readers and
+     * palette copies never observe an allocated but still empty slot.
+     */
     @Override
-    public int add(T t) {
-        int index = size.getAndIncrement();
+    public synchronized int add(T t) {
+        int index = size.get();
         if (palette.length() <= index)
             grow(index);
         palette.set(index, t);
+        size.set(index + 1);
         return index;
     }
 
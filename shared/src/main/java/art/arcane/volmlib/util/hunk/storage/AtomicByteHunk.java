@@ -0,0 +1,46 @@
+package art.arcane.volmlib.util.hunk.storage;
+
+import art.arcane.volmlib.util.hunk.ByteHunk;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Atomic byte hunk. The JDK has no atomic byte array, so four cells are packed into each int and
+ * writes CAS the containing word.
+ */
+public class AtomicByteHunk extends StorageHunk<Byte> implements ByteHunk {
+    private final AtomicIntegerArray data;
+
+    public AtomicByteHunk(int w, int h, int d) {
+        super(w, h, d);
+        data = new AtomicIntegerArray((w * h * d + 3) >>> 2);
+    }
+
+    @Override
+    public boolean isAtomic() {
+        return true;
+    }
+
+    @Override
+    public byte getByte(int x, int y, int z) {
+        int index = index(x, y, z);
+        return (byte) (data.get(index >>> 2) >>> ((index & 3) << 3));
+    }
+
+    @Override
+    public void setByte(int x, int y, int z, byte value) {
+        int index = index(x, y, z);
+        int shift = (index & 3) << 3;
+        int mask = 0xFF << shift;
+        int bits = (value & 0xFF) << shift;
+        int word = index >>> 2;
+        int current;
+        do {
+            current = data.get(word);
+        } while (!data.compareAndSet(word, current, (current & ~mask) | bits));
+    }
+
+    protected int index(int x, int y, int z) {
+        return (z * getWidth() * getHeight()) + (y * getWidth()) + x;
+    }
+}
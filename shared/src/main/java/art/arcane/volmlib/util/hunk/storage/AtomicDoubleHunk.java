@@ -1,8 +1,10 @@
 package art.arcane.volmlib.util.hunk.storage;
 
+import art.arcane.volmlib.util.hunk.DoubleHunk;
+
 import com.google.common.util.concurrent.AtomicDoubleArray;
 
-public class AtomicDoubleHunk extends StorageHunk<Double> {
+public class AtomicDoubleHunk extends StorageHunk<Double> implements DoubleHunk {
     private final AtomicDoubleArray data;
 
     public AtomicDoubleHunk(int w, int h, int d) {
@@ -19,6 +21,16 @@ public class AtomicDoubleHunk extends StorageHunk<Double> {
         return true;
     }
 
+    @Override
+    public double getDouble(int x, int y, int z) {
+        return data.get(index(x, y, z));
+    }
+
+    @Override
+    public void setDouble(int x, int y, int z, double value) {
+        data.set(index(x, y, z), value);
+    }
+
     @Override
     public void setRaw(int x, int y, int z, Double t) {
         data.set(index(x, y, z), t);
@@ -1,8 +1,10 @@
 package art.arcane.volmlib.util.hunk.storage;
 
+import art.arcane.volmlib.util.hunk.IntHunk;
+
 import java.util.concurrent.atomic.AtomicIntegerArray;
 
-public class AtomicIntegerHunk extends StorageHunk<Integer> {
+public class AtomicIntegerHunk extends StorageHunk<Integer> implements IntHunk {
     private final AtomicIntegerArray data;
 
     public AtomicIntegerHunk(int w, int h, int d) {
@@ -19,6 +21,16 @@ public class AtomicIntegerHunk extends StorageHunk<Integer> {
         return true;
     }
 
+    @Override
+    public int getInt(int x, int y, int z) {
+        return data.get(index(x, y, z));
+    }
+
+    @Override
+    public void setInt(int x, int y, int z, int value) {
+        data.set(index(x, y, z), value);
+    }
+
     @Override
     public void setRaw(int x, int y, int z, Integer t) {
         data.set(index(x, y, z), t);
@@ -0,0 +1,43 @@
+package art.arcane.volmlib.util.hunk.storage;
+
+import art.arcane.volmlib.util.cache.CacheKey;
+import art.arcane.volmlib.util.hunk.ByteHunk;
+
+import java.util.Arrays;
+
+public class ByteArrayHunk extends StorageHunk<Byte> implements ByteHunk {
+    private final byte[] data;
+
+    public ByteArrayHunk(int w, int h, int d) {
+        super(w, h, d);
+        data = new byte[w * h * d];
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    @Override
+    public byte getByte(int x, int y, int z) {
+        return data[index(x, y, z)];
+    }
+
+    @Override
+    public void setByte(int x, int y, int z, byte value) {
+        data[index(x, y, z)] = value;
+    }
+
+    @Override
+    public void fillByte(byte value) {
+        Arrays.fill(data, value);
+    }
+
+    @Override
+    public void fill(Byte t) {
+        fillByte(t);
+    }
+
+    protected int index(int x, int y, int z) {
+        return CacheKey.to1D(x, y, z, getWidth(), getHeight());
+    }
+}
@@ -0,0 +1,43 @@
+package art.arcane.volmlib.util.hunk.storage;
+
+import art.arcane.volmlib.util.cache.CacheKey;
+import art.arcane.volmlib.util.hunk.DoubleHunk;
+
+import java.util.Arrays;
+
+public class DoubleArrayHunk extends StorageHunk<Double> implements DoubleHunk {
+    private final double[] data;
+
+    public DoubleArrayHunk(int w, int h, int d) {
+        super(w, h, d);
+        data = new double[w * h * d];
+    }
+
+    public double[] getData() {
+        return data;
+    }
+
+    @Override
+    public double getDouble(int x, int y, int z) {
+        return data[index(x, y, z)];
+    }
+
+    @Override
+    public void setDouble(int x, int y, int z, double value) {
+        data[index(x, y, z)] = value;
+    }
+
+    @Override
+    public void fillDouble(double value) {
+        Arrays.fill(data, value);
+    }
+
+    @Override
+    public void fill(Double t) {
+        fillDouble(t);
+    }
+
+    protected int index(int x, int y, int z) {
+        return CacheKey.to1D(x, y, z, getWidth(), getHeight());
+    }
+}
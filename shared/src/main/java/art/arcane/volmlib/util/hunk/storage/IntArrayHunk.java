@@ -0,0 +1,43 @@
+package art.arcane.volmlib.util.hunk.storage;
+
+import art.arcane.volmlib.util.cache.CacheKey;
+import art.arcane.volmlib.util.hunk.IntHunk;
+
+import java.util.Arrays;
+
+public class IntArrayHunk extends StorageHunk<Integer> implements IntHunk {
+    private final int[] data;
+
+    public IntArrayHunk(int w, int h, int d) {
+        super(w, h, d);
+        data = new int[w * h * d];
+    }
+
+    public int[] getData() {
+        return data;
+    }
+
+    @Override
+    public int getInt(int x, int y, int z) {
+        return data[index(x, y, z)];
+    }
+
+    @Override
+    public void setInt(int x, int y, int z, int value) {
+        data[index(x, y, z)] = value;
+    }
+
+    @Override
+    public void fillInt(int value) {
+        Arrays.fill(data, value);
+    }
+
+    @Override
+    public void fill(Integer t) {
+        fillInt(t);
+    }
+
+    protected int index(int x, int y, int z) {
+        return CacheKey.to1D(x, y, z, getWidth(), getHeight());
+    }
+}
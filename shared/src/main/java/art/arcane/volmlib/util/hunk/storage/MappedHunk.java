@@ -1,24 +1,35 @@
 package art.arcane.volmlib.util.hunk.storage;
 
-import art.arcane.volmlib.util.collection.KMap;
+import art.arcane.volmlib.util.collection.SparseIntMap;
 import art.arcane.volmlib.util.function.Consumer4;
 import art.arcane.volmlib.util.function.Consumer4IO;
 
 import java.io.IOException;
 import java.util.Map;
 
+/**
+ * Sparse hunk keyed by the 1D index of each set cell, without boxing the index. Iteration runs in index order, so
+ * serialized output is deterministic.
+ */
 public class MappedHunk<T> extends StorageHunk<T> {
-    private final Map<Integer, T> data;
+    private final SparseIntMap<T> data;
 
     public MappedHunk(int w, int h, int d) {
         super(w, h, d);
-        data = new KMap<>();
+        data = new SparseIntMap<>();
     }
 
     public Map<Integer, T> getData() {
         return data;
     }
 
+    /**
+     * @return the backing map with its unboxed accessors
+     */
+    public SparseIntMap<T> getSparseData() {
+        return data;
+    }
+
     public int getEntryCount() {
         return data.size();
     }
@@ -33,11 +44,6 @@ public class MappedHunk<T> extends StorageHunk<T> {
 
     @Override
     public void setRaw(int x, int y, int z, T t) {
-        if (t == null) {
-            data.remove(index(x, y, z));
-            return;
-        }
-
         data.put(index(x, y, z), t);
     }
 
@@ -47,29 +53,25 @@ public class MappedHunk<T> extends StorageHunk<T> {
     }
 
     public MappedHunk<T> iterateSync(Consumer4<Integer, Integer, Integer, T> c) {
-        int idx;
-        int z;
-
-        for (Map.Entry<Integer, T> g : data.entrySet()) {
-            idx = g.getKey();
-            z = idx / (getWidth() * getHeight());
-            idx -= (z * getWidth() * getHeight());
-            c.accept(idx % getWidth(), idx / getWidth(), z, g.getValue());
-        }
+        int w = getWidth();
+        int wh = w * getHeight();
+        data.forEachOrdered((idx, value) -> {
+            int z = idx / wh;
+            int rest = idx - (z * wh);
+            c.accept(rest % w, rest / w, z, value);
+        });
 
         return this;
     }
 
     public MappedHunk<T> iterateSyncIO(Consumer4IO<Integer, Integer, Integer, T> c) throws IOException {
-        int idx;
-        int z;
-
-        for (Map.Entry<Integer, T> g : data.entrySet()) {
-            idx = g.getKey();
-            z = idx / (getWidth() * getHeight());
-            idx -= (z * getWidth() * getHeight());
-            c.accept(idx % getWidth(), idx / getWidth(), z, g.getValue());
-        }
+        int w = getWidth();
+        int wh = w * getHeight();
+        data.<IOException>forEachOrdered((idx, value) -> {
+            int z = idx / wh;
+            int rest = idx - (z * wh);
+            c.accept(rest % w, rest / w, z, value);
+        });
 
         return this;
     }
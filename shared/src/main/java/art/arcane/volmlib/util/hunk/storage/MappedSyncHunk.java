@@ -1,28 +1,37 @@
 package art.arcane.volmlib.util.hunk.storage;
 
+import art.arcane.volmlib.util.collection.SparseIntMap;
 import art.arcane.volmlib.util.function.Consumer4;
 import art.arcane.volmlib.util.function.Consumer4IO;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Sparse hunk keyed by the 1D index of each set cell. Reads never lock; writes synchronize on the backing map,
+ * which callers can also hold to exclude writers. Iteration runs in index order.
+ */
 public class MappedSyncHunk<T> extends StorageHunk<T> {
-    private final Map<Integer, T> data;
+    private final SparseIntMap<T> data;
 
     public MappedSyncHunk(int w, int h, int d) {
         super(w, h, d);
-        data = new HashMap<>();
+        data = new SparseIntMap<>();
     }
 
     public Map<Integer, T> getData() {
         return data;
     }
 
+    /**
+     * @return the backing map with its unboxed accessors
+     */
+    public SparseIntMap<T> getSparseData() {
+        return data;
+    }
+
     public int getEntryCount() {
-        synchronized (data) {
-            return data.size();
-        }
+        return data.size();
     }
 
     public boolean isMapped() {
@@ -30,66 +39,45 @@ public class MappedSyncHunk<T> extends StorageHunk<T> {
     }
 
     public boolean isEmpty() {
-        synchronized (data) {
-            return data.isEmpty();
-        }
+        return data.isEmpty();
     }
 
     @Override
     public void setRaw(int x, int y, int z, T t) {
-        synchronized (data) {
-            if (t == null) {
-                data.remove(index(x, y, z));
-                return;
-            }
-
-            data.put(index(x, y, z), t);
-        }
+        data.put(index(x, y, z), t);
     }
 
     @Override
     public T getRaw(int x, int y, int z) {
-        synchronized (data) {
-            return data.get(index(x, y, z));
-        }
+        return data.get(index(x, y, z));
     }
 
     public MappedSyncHunk<T> iterateSync(Consumer4<Integer, Integer, Integer, T> c) {
-        synchronized (data) {
-            int idx;
-            int z;
-
-            for (Map.Entry<Integer, T> g : data.entrySet()) {
-                idx = g.getKey();
-                z = idx / (getWidth() * getHeight());
-                idx -= (z * getWidth() * getHeight());
-                c.accept(idx % getWidth(), idx / getWidth(), z, g.getValue());
-            }
-        }
+        int w = getWidth();
+        int wh = w * getHeight();
+        data.forEachOrdered((idx, value) -> {
+            int z = idx / wh;
+            int rest = idx - (z * wh);
+            c.accept(rest % w, rest / w, z, value);
+        });
 
         return this;
     }
 
     public MappedSyncHunk<T> iterateSyncIO(Consumer4IO<Integer, Integer, Integer, T> c) throws IOException {
-        synchronized (data) {
-            int idx;
-            int z;
-
-            for (Map.Entry<Integer, T> g : data.entrySet()) {
-                idx = g.getKey();
-                z = idx / (getWidth() * getHeight());
-                idx -= (z * getWidth() * getHeight());
-                c.accept(idx % getWidth(), idx / getWidth(), z, g.getValue());
-            }
-        }
+        int w = getWidth();
+        int wh = w * getHeight();
+        data.<IOException>forEachOrdered((idx, value) -> {
+            int z = idx / wh;
+            int rest = idx - (z * wh);
+            c.accept(rest % w, rest / w, z, value);
+        });
 
         return this;
     }
 
     public void empty(T b) {
-        synchronized (data) {
-            data.clear();
-        }
+        data.clear();
     }
 
     protected int index(int x, int y, int z) {
@@ -71,6 +71,40 @@ public class PaletteHunk<T> extends StorageHunk<T> {
         fill(b);
     }
 
+    @Override
+    public void fill(T t) {
+        data.fill(0, getWidth() * getHeight() * getDepth(), t);
+    }
+
+    /**
+     * Fills the box {@code [x1, x2) x [y1, y2) x [z1, z2)}, one contiguous x-run per row.
+     */
+    public void fill(int x1, int y1, int z1, int x2, int y2, int z2, T t) {
+        if (x1 >= x2) {
+            return;
+        }
+
+        for (int z = z1; z < z2; z++) {
+            for (int y = y1; y < y2; y++) {
+                int start = index(x1, y, z);
+                data.fill(start, start + (x2 - x1), t);
+            }
+        }
+    }
+
+    /**
+     * Copies every cell of a same-sized palette hunk, translating palette ids once per distinct
+     * value instead of once per cell.
+     */
+    public void copyFrom(PaletteHunk<T> source) {
+        if (source.getWidth() != getWidth() || source.getHeight() != getHeight() || source.getDepth() != getDepth()) {
+            throw new IllegalArgumentException("Cannot copy a " + source.getWidth() + "x" + source.getHeight() + "x" + source.getDepth()
+                    + " palette hunk into a " + getWidth() + "x" + getHeight() + "x" + getDepth() + " one");
+        }
+
+        data.copyFrom(source.data, 0, 0, getWidth() * getHeight() * getDepth());
+    }
+
     protected int index(int x, int y, int z) {
         return (z * getWidth() * getHeight()) + (y * getWidth()) + x;
     }
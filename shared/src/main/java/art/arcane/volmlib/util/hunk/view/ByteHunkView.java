@@ -0,0 +1,55 @@
+package art.arcane.volmlib.util.hunk.view;
+
+import art.arcane.volmlib.util.hunk.ByteHunk;
+
+/**
+ * Offset window over a {@link ByteHunk} that keeps reads and writes primitive.
+ */
+public class ByteHunkView implements ByteHunk {
+    private final int ox;
+    private final int oy;
+    private final int oz;
+    private final int w;
+    private final int h;
+    private final int d;
+    private final ByteHunk src;
+
+    public ByteHunkView(ByteHunk src, int w, int h, int d, int ox, int oy, int oz) {
+        this.src = src;
+        this.w = w;
+        this.h = h;
+        this.d = d;
+        this.ox = ox;
+        this.oy = oy;
+        this.oz = oz;
+    }
+
+    @Override
+    public byte getByte(int x, int y, int z) {
+        return src.getByte(x + ox, y + oy, z + oz);
+    }
+
+    @Override
+    public void setByte(int x, int y, int z, byte value) {
+        src.setByte(x + ox, y + oy, z + oz, value);
+    }
+
+    @Override
+    public int getWidth() {
+        return w;
+    }
+
+    @Override
+    public int getDepth() {
+        return d;
+    }
+
+    @Override
+    public int getHeight() {
+        return h;
+    }
+
+    protected ByteHunk source() {
+        return src;
+    }
+}
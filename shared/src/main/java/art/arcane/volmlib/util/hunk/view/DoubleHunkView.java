@@ -0,0 +1,55 @@
+package art.arcane.volmlib.util.hunk.view;
+
+import art.arcane.volmlib.util.hunk.DoubleHunk;
+
+/**
+ * Offset window over a {@link DoubleHunk} that keeps reads and writes primitive.
+ */
+public class DoubleHunkView implements DoubleHunk {
+    private final int ox;
+    private final int oy;
+    private final int oz;
+    private final int w;
+    private final int h;
+    private final int d;
+    private final DoubleHunk src;
+
+    public DoubleHunkView(DoubleHunk src, int w, int h, int d, int ox, int oy, int oz) {
+        this.src = src;
+        this.w = w;
+        this.h = h;
+        this.d = d;
+        this.ox = ox;
+        this.oy = oy;
+        this.oz = oz;
+    }
+
+    @Override
+    public double getDouble(int x, int y, int z) {
+        return src.getDouble(x + ox, y + oy, z + oz);
+    }
+
+    @Override
+    public void setDouble(int x, int y, int z, double value) {
+        src.setDouble(x + ox, y + oy, z + oz, value);
+    }
+
+    @Override
+    public int getWidth() {
+        return w;
+    }
+
+    @Override
+    public int getDepth() {
+        return d;
+    }
+
+    @Override
+    public int getHeight() {
+        return h;
+    }
+
+    protected DoubleHunk source() {
+        return src;
+    }
+}
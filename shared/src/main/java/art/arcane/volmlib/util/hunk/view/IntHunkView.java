@@ -0,0 +1,55 @@
+package art.arcane.volmlib.util.hunk.view;
+
+import art.arcane.volmlib.util.hunk.IntHunk;
+
+/**
+ * Offset window over a {@link IntHunk} that keeps reads and writes primitive.
+ */
+public class IntHunkView implements IntHunk {
+    private final int ox;
+    private final int oy;
+    private final int oz;
+    private final int w;
+    private final int h;
+    private final int d;
+    private final IntHunk src;
+
+    public IntHunkView(IntHunk src, int w, int h, int d, int ox, int oy, int oz) {
+        this.src = src;
+        this.w = w;
+        this.h = h;
+        this.d = d;
+        this.ox = ox;
+        this.oy = oy;
+        this.oz = oz;
+    }
+
+    @Override
+    public int getInt(int x, int y, int z) {
+        return src.getInt(x + ox, y + oy, z + oz);
+    }
+
+    @Override
+    public void setInt(int x, int y, int z, int value) {
+        src.setInt(x + ox, y + oy, z + oz, value);
+    }
+
+    @Override
+    public int getWidth() {
+        return w;
+    }
+
+    @Override
+    public int getDepth() {
+        return d;
+    }
+
+    @Override
+    public int getHeight() {
+        return h;
+    }
+
+    protected IntHunk source() {
+        return src;
+    }
+}
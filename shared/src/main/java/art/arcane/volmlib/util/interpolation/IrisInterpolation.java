@@ -180,6 +180,57 @@ public class IrisInterpolation {
         }
     }
 
+    /**
+     * Fills {@code out[zi * width + xi]} with {@code getNoise(method, x + xi, z + zi, radius, provider)}. Lattice
+     * samples shared between outputs are evaluated once per call, and starcast methods reduce a precomputed ray table
+     * instead of walking the unrolled casts point by point. Results are identical to the per-point calls.
+     */
+    public static void getNoise(InterpolationMethod method, int x, int z, int width, int depth, double radius, NoiseProvider provider, double[] out) {
+        switch (method) {
+            case STARCAST_3:
+                Starcast.starcast(x, z, width, depth, radius, 3, provider, out);
+                return;
+            case STARCAST_6:
+                Starcast.starcast(x, z, width, depth, radius, 6, provider, out);
+                return;
+            case STARCAST_9:
+                Starcast.starcast(x, z, width, depth, radius, 9, provider, out);
+                return;
+            case STARCAST_12:
+                Starcast.starcast(x, z, width, depth, radius, 12, provider, out);
+                return;
+            case BILINEAR_STARCAST_3:
+                bilinearStarcast(x, z, width, depth, radius, 3, PointCache.of(provider, width * depth), out);
+                return;
+            case BILINEAR_STARCAST_6:
+                bilinearStarcast(x, z, width, depth, radius, 6, PointCache.of(provider, width * depth), out);
+                return;
+            case BILINEAR_STARCAST_9:
+                bilinearStarcast(x, z, width, depth, radius, 9, PointCache.of(provider, width * depth), out);
+                return;
+            case BILINEAR_STARCAST_12:
+                bilinearStarcast(x, z, width, depth, radius, 12, PointCache.of(provider, width * depth), out);
+                return;
+            default:
+                PointCache cache = PointCache.of(provider, width * depth);
+                for (int zi = 0; zi < depth; zi++) {
+                    for (int xi = 0; xi < width; xi++) {
+                        out[(zi * width) + xi] = getNoise(method, x + xi, z + zi, radius, cache);
+                    }
+                }
+        }
+    }
+
+    private static void bilinearStarcast(int x, int z, int width, int depth, double radius, int checks, NoiseProvider provider, double[] out) {
+        Starcast.starcast(x, z, width, depth, radius, checks, provider, out);
+        for (int zi = 0; zi < depth; zi++) {
+            for (int xi = 0; xi < width; xi++) {
+                int i = (zi * width) + xi;
+                out[i] = (blerpNoise(x + xi, z + zi, radius, provider) + out[i]) / 2D;
+            }
+        }
+    }
+
     private static double blerpNoise(int x, int z, double radius, NoiseProvider provider) {
         double scaledX = x / radius;
         double scaledZ = z / radius;
@@ -0,0 +1,95 @@
+package art.arcane.volmlib.util.interpolation;
+
+import art.arcane.volmlib.util.function.NoiseProvider;
+
+import java.util.Arrays;
+
+/**
+ * Call-local memo of provider samples keyed by the exact coordinate bits, so every distinct point asked for while
+ * filling one block of outputs is evaluated once. Not thread safe; create one per bulk call.
+ */
+final class PointCache implements NoiseProvider {
+    /**
+     * A non-canonical NaN, which {@link Double#doubleToLongBits(double)} never returns.
+     */
+    private static final long EMPTY = -1L;
+
+    private final NoiseProvider provider;
+    private long[] keys;
+    private double[] values;
+    private int mask;
+    private int size;
+
+    PointCache(NoiseProvider provider, int expected) {
+        this.provider = provider;
+        allocate(Integer.highestOneBit(Math.max(16, expected * 2) - 1) << 1);
+    }
+
+    static PointCache of(NoiseProvider provider, int expected) {
+        return provider instanceof PointCache cache ? cache : new PointCache(provider, expected);
+    }
+
+    NoiseProvider getProvider() {
+        return provider;
+    }
+
+    @Override
+    public double noise(double x, double z) {
+        long bx = Double.doubleToLongBits(x);
+        long bz = Double.doubleToLongBits(z);
+        int slot = slot(bx, bz);
+        long key;
+        while ((key = keys[slot << 1]) != EMPTY) {
+            if (key == bx && keys[(slot << 1) + 1] == bz) {
+                return values[slot];
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        double value = provider.noise(x, z);
+        keys[slot << 1] = bx;
+        keys[(slot << 1) + 1] = bz;
+        values[slot] = value;
+        if (++size * 2 > mask) {
+            grow();
+        }
+
+        return value;
+    }
+
+    private int slot(long bx, long bz) {
+        long h = (bx * 0x9E3779B97F4A7C15L) + bz;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity << 1];
+        values = new double[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(oldValues.length * 2);
+        for (int i = 0; i < oldValues.length; i++) {
+            long bx = oldKeys[i << 1];
+            if (bx != EMPTY) {
+                long bz = oldKeys[(i << 1) + 1];
+                int slot = slot(bx, bz);
+                while (keys[slot << 1] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+
+                keys[slot << 1] = bx;
+                keys[(slot << 1) + 1] = bz;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -478,6 +478,53 @@ public class Starcast {
         return starcast(x, z, r, checks, true, n);
     }
 
+    /**
+     * Fills {@code out[zi * width + xi]} with {@code starcast(x + xi, z + zi, r, checks, n)}. The ray offsets are
+     * resolved once for the whole block. Rays that can land on another output's sample point go through a
+     * block-local cache so each such point is evaluated once; the rest are sampled directly.
+     */
+    public static void starcast(int x, int z, int width, int depth, double r, double checks, NoiseProvider n, double[] out) {
+        StarcastRays rays = StarcastRays.of((float) r, (float) checks);
+        if (rays == null) {
+            PointCache cache = PointCache.of(n, width * depth);
+            for (int zi = 0; zi < depth; zi++) {
+                for (int xi = 0; xi < width; xi++) {
+                    out[(zi * width) + xi] = starcast(x + xi, z + zi, r, checks, cache);
+                }
+            }
+
+            return;
+        }
+
+        float[] dx = rays.dx;
+        float[] dz = rays.dz;
+        int count = rays.size();
+        boolean[] shared = rays.shared(width, depth);
+        NoiseProvider direct = n instanceof PointCache points ? points.getProvider() : n;
+        PointCache cache = null;
+        NoiseProvider[] via = new NoiseProvider[count];
+        for (int k = 0; k < count; k++) {
+            if (shared[k] && cache == null) {
+                cache = PointCache.of(n, width * depth * count);
+            }
+
+            via[k] = shared[k] ? cache : direct;
+        }
+
+        for (int zi = 0; zi < depth; zi++) {
+            float fz = z + zi;
+            for (int xi = 0; xi < width; xi++) {
+                float fx = x + xi;
+                float v = (float) via[0].noise(fx + dx[0], fz + dz[0]);
+                for (int k = 1; k < count; k++) {
+                    v += (float) via[k].noise(fx + dx[k], fz + dz[k]);
+                }
+
+                out[(zi * width) + xi] = v * rays.scale;
+            }
+        }
+    }
+
     private static double sc3(int x, int z, double r, NoiseProvider n) {
         return (n.noise(x + ((r * F3C0) - (r * F3S0)), z + ((r * F3S0) + (r * F3C0)))
                 + n.noise(x + ((r * F3C1) - (r * F3S1)), z + ((r * F3S1) + (r * F3C1)))
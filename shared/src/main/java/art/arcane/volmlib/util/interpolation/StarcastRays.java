@@ -0,0 +1,91 @@
+package art.arcane.volmlib.util.interpolation;
+
+import art.arcane.volmlib.util.function.NoiseProvider;
+
+import java.util.Arrays;
+
+/**
+ * Ray offsets and reduction scale of one {@link CompiledStarcast} case, read back by running the compiled cast once
+ * at the origin. A point {@code x + dx[k]} is then bit-identical to what the unrolled {@code scN} method computes
+ * for an output at {@code x}, without keeping a second copy of its angle table.
+ */
+final class StarcastRays {
+    final float[] dx;
+    final float[] dz;
+    final float scale;
+
+    private StarcastRays(float[] dx, float[] dz, float scale) {
+        this.dx = dx;
+        this.dz = dz;
+        this.scale = scale;
+    }
+
+    /**
+     * Returns null outside the compiled range of 1..128 checks, where {@link CompiledStarcast} reduces differently.
+     */
+    static StarcastRays of(float r, float checks) {
+        if (!(checks >= 1 && checks <= 128)) {
+            return null;
+        }
+
+        Recorder recorder = new Recorder((int) checks + 1);
+        float scale = CompiledStarcast.getStarcast(0F, 0F, r, checks, recorder);
+        return new StarcastRays(Arrays.copyOf(recorder.dx, recorder.count), Arrays.copyOf(recorder.dz, recorder.count), scale);
+    }
+
+    int size() {
+        return dx.length;
+    }
+
+    /**
+     * Marks the rays whose points can coincide with another ray's points inside a {@code width x depth} block of
+     * outputs, which needs both offsets to differ by whole numbers. The offsets are rounded floats, so the test is
+     * loose: a false positive only routes a ray through the cache, while every other ray samples points no other
+     * output in the block will ask for.
+     */
+    boolean[] shared(int width, int depth) {
+        boolean[] shared = new boolean[dx.length];
+        for (int k = 0; k < dx.length; k++) {
+            for (int j = 0; j < dx.length && !shared[k]; j++) {
+                double ox = (double) dx[k] - dx[j];
+                double oz = (double) dz[k] - dz[j];
+                shared[k] = j != k && whole(ox) && whole(oz) && Math.abs(ox) < width && Math.abs(oz) < depth;
+            }
+        }
+
+        return shared;
+    }
+
+    private static boolean whole(double offset) {
+        return Math.abs(offset - Math.rint(offset)) < 1E-3;
+    }
+
+    /**
+     * Sized generously: the compiled casts step angles in whole degrees, so some counts cast one extra ray.
+     */
+    private static final class Recorder implements NoiseProvider {
+        private float[] dx;
+        private float[] dz;
+        private int count;
+
+        private Recorder(int rays) {
+            this.dx = new float[rays];
+            this.dz = new float[rays];
+        }
+
+        /**
+         * Only the first ray reports 1, so the compiled cast returns its reduction scale.
+         */
+        @Override
+        public double noise(double x, double z) {
+            if (count == dx.length) {
+                dx = Arrays.copyOf(dx, count * 2);
+                dz = Arrays.copyOf(dz, count * 2);
+            }
+
+            dx[count] = (float) x;
+            dz[count] = (float) z;
+            return count++ == 0 ? 1D : 0D;
+        }
+    }
+}
@@ -53,7 +53,9 @@ public abstract class FlaggedChunk {
         if (isClosed()) {
             throw new IllegalStateException("Chunk is closed!");
         }
-        flags.set(flag.ordinal(), value);
+        if (flags.getAndSet(flag.ordinal(), value) != value) {
+            onFlagChanged(flag);
+        }
     }
 
     public void raiseFlagSuspend(MantleFlag flag, Runnable task) {
@@ -76,6 +78,7 @@ public abstract class FlaggedChunk {
             if (flags.getAndSet(index, true)) {
                 throw new IllegalStateException("Flag " + flag.name() + " was already set after task ran!");
             }
+            onFlagChanged(flag);
         } finally {
             lock.unlock();
         }
@@ -87,6 +90,7 @@ public abstract class FlaggedChunk {
         }
         int index = flag.ordinal();
         if (flags.compareAndSet(index, false, true)) {
+            onFlagChanged(flag);
             try {
                 task.run();
             } catch (Throwable throwable) {
@@ -96,6 +100,12 @@ public abstract class FlaggedChunk {
         }
     }
 
+    /**
+     * Called after a flag actually changed value.
+     */
+    protected void onFlagChanged(MantleFlag flag) {
+    }
+
     protected void readFlags(int version, DataInput din) throws IOException {
         int length = version < 0 ? 16 : Varint.readUnsignedVarInt(din);
 
@@ -9,12 +9,17 @@ import art.arcane.volmlib.util.documentation.RegionCoordinates;
 import art.arcane.volmlib.util.function.Consumer3;
 import art.arcane.volmlib.util.function.Consumer4;
 import art.arcane.volmlib.util.mantle.flag.MantleFlag;
+import art.arcane.volmlib.util.math.Spiraler;
 import art.arcane.volmlib.util.parallel.HyperLockSupport;
 import art.arcane.volmlib.util.parallel.MultiBurstSupport;
 import org.bukkit.Chunk;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -32,6 +37,9 @@ import java.util.concurrent.atomic.AtomicReference;
  */
 public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?>> extends MantleAccessSupport<P> {
     public static final int DEFAULT_LOCK_SIZE = Short.MAX_VALUE;
+    public static final int WRITE_BEHIND_BATCH_SIZE = 32;
+    public static final int DEFAULT_PREFETCH_BUDGET = 8;
+    public static final long DEFAULT_CHUNK_SIZE_ESTIMATE = 32L * 1024L;
 
     private final File dataFolder;
     private final int lockSize;
@@ -39,13 +47,26 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
     private final KMap<Long, Long> lastUse;
     private final KMap<Long, P> loadedRegions;
     private final ConcurrentMap<Long, CompletableFuture<P>> loadingRegions;
+    private final ConcurrentMap<Long, CompletableFuture<Void>> writingRegions;
     private final HyperLockSupport hyperLock;
     private final AtomicBoolean closed;
     private final MultiBurstSupport ioBurst;
     private final RegionIO<P> regionIO;
     private final KSet<Long> toUnload;
+    private final AtomicLong writtenPlates;
+    private final AtomicLong skippedPlates;
+    private final Set<Long> prefetchedRegions;
+    private final AtomicInteger prefetchInFlight;
+    private final AtomicLong prefetchRequests;
+    private final AtomicLong prefetchHits;
+    private final AtomicLong prefetchLateHits;
+    private final AtomicLong prefetchMisses;
+    private final AtomicLong prefetchWasted;
+    private final AtomicLong pressureUnloads;
 
     private volatile double adjustedIdleDuration;
+    private volatile int prefetchBudget;
+    private volatile MantleHeapController heapController;
 
     protected Mantle(File dataFolder,
                      int worldHeight,
@@ -70,10 +91,22 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
         this.regionIO = regionIO;
         this.loadedRegions = new KMap<>();
         this.loadingRegions = new ConcurrentHashMap<>();
+        this.writingRegions = new ConcurrentHashMap<>();
         this.lastUse = new KMap<>();
         this.toUnload = new KSet<>();
         this.closed = new AtomicBoolean(false);
+        this.writtenPlates = new AtomicLong();
+        this.skippedPlates = new AtomicLong();
+        this.prefetchedRegions = ConcurrentHashMap.newKeySet();
+        this.prefetchInFlight = new AtomicInteger();
+        this.prefetchRequests = new AtomicLong();
+        this.prefetchHits = new AtomicLong();
+        this.prefetchLateHits = new AtomicLong();
+        this.prefetchMisses = new AtomicLong();
+        this.prefetchWasted = new AtomicLong();
+        this.pressureUnloads = new AtomicLong();
         this.adjustedIdleDuration = 0;
+        this.prefetchBudget = DEFAULT_PREFETCH_BUDGET;
 
         onDebug("Opened The Mantle " + dataFolder.getAbsolutePath());
     }
@@ -108,6 +141,7 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
         loadingRegions.clear();
         lastUse.clear();
         toUnload.clear();
+        prefetchedRegions.clear();
     }
 
     @ChunkCoordinates
@@ -299,6 +333,117 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
         return loadedRegions.containsKey(k) || fileForRegion(dataFolder, k, true).exists();
     }
 
+    /**
+     * Starts loading a plate on the IO burst without waiting for it, so a later access finds it resident.
+     * Does nothing when the plate is already loaded or loading, or when {@link #getPrefetchBudget()} prefetches
+     * are already in flight.
+     *
+     * @return whether a load was started
+     */
+    @RegionCoordinates
+    public boolean prefetch(int x, int z) {
+        if (closed.get()) {
+            return false;
+        }
+
+        Long k = key(x, z);
+        P loaded = loadedRegions.get(k);
+        if ((loaded != null && !loaded.isClosed()) || loadingRegions.containsKey(k)) {
+            return false;
+        }
+
+        if (prefetchInFlight.incrementAndGet() > prefetchBudget) {
+            prefetchInFlight.decrementAndGet();
+            return false;
+        }
+
+        prefetchedRegions.add(k);
+        prefetchRequests.incrementAndGet();
+        try {
+            getSafe(x, z).whenComplete((region, failure) -> prefetchInFlight.decrementAndGet());
+        } catch (Throwable e) {
+            prefetchInFlight.decrementAndGet();
+            prefetchedRegions.remove(k);
+            onError(e);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Prefetches the square of plates within {@code radius} of the given plate, nearest first.
+     *
+     * @return the number of loads started
+     */
+    @RegionCoordinates
+    public int prefetchRadius(int x, int z, int radius) {
+        int size = (Math.max(radius, 0) * 2) + 1;
+        AtomicInteger started = new AtomicInteger();
+        Spiraler spiraler = new Spiraler(size, size, (rx, rz) -> {
+            if (prefetch(rx, rz)) {
+                started.incrementAndGet();
+            }
+        }).setOffset(x, z);
+        while (spiraler.hasNext() && prefetchInFlight.get() < prefetchBudget) {
+            spiraler.next();
+        }
+
+        return started.get();
+    }
+
+    /**
+     * Prefetches the plates a mover at the given plate will cross next, {@code distance} plates along the
+     * direction {@code (directionX, directionZ)}, with one plate either side of the path.
+     *
+     * @return the number of loads started
+     */
+    @RegionCoordinates
+    public int prefetchAhead(int x, int z, double directionX, double directionZ, int distance) {
+        double length = Math.sqrt((directionX * directionX) + (directionZ * directionZ));
+        if (length == 0D || Double.isNaN(length)) {
+            return prefetchRadius(x, z, 1);
+        }
+
+        double dx = directionX / length;
+        double dz = directionZ / length;
+        int sideX = (int) Math.round(-dz);
+        int sideZ = (int) Math.round(dx);
+        int started = 0;
+        for (int step = 1; step <= distance; step++) {
+            int tx = x + (int) Math.round(dx * step);
+            int tz = z + (int) Math.round(dz * step);
+            started += prefetch(tx, tz) ? 1 : 0;
+            started += prefetch(tx + sideX, tz + sideZ) ? 1 : 0;
+            started += prefetch(tx - sideX, tz - sideZ) ? 1 : 0;
+        }
+
+        return started;
+    }
+
+    /**
+     * Prefetches upcoming plates of a pregen that visits plates in {@link Spiraler} order around
+     * {@code (centerX, centerZ)}: the first {@code done} positions are skipped and the next {@code count} are
+     * prefetched.
+     *
+     * @return the number of loads started
+     */
+    @RegionCoordinates
+    public int prefetchSpiral(int centerX, int centerZ, int sizeX, int sizeZ, int done, int count) {
+        AtomicInteger visited = new AtomicInteger();
+        AtomicInteger started = new AtomicInteger();
+        Spiraler spiraler = new Spiraler(sizeX, sizeZ, (rx, rz) -> {
+            if (visited.getAndIncrement() >= done && prefetch(rx, rz)) {
+                started.incrementAndGet();
+            }
+        }).setOffset(centerX, centerZ);
+        while (spiraler.hasNext() && visited.get() < done + count) {
+            spiraler.next();
+        }
+
+        return started.get();
+    }
+
     @ChunkCoordinates
     public <T> void iterateChunk(int x, int z, Class<T> type, Consumer4<Integer, Integer, Integer, T> iterator) {
         iterateChunkValues(get(x >> 5, z >> 5).getOrCreate(x & 31, z & 31), type, iterator);
@@ -322,6 +467,7 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
 
         C chunk = get((x >> 4) >> 5, (z >> 4) >> 5).getOrCreate((x >> 4) & 31, (z >> 4) & 31);
         setChunkValue(chunk, x & 15, y, z & 15, t);
+        chunk.markModified(y >> 4);
     }
 
     @BlockCoordinates
@@ -333,6 +479,7 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
 
         C chunk = get((x >> 4) >> 5, (z >> 4) >> 5).getOrCreate((x >> 4) & 31, (z >> 4) & 31);
         removeChunkValue(chunk, x & 15, y, z & 15, type);
+        chunk.markModified(y >> 4);
     }
 
     @BlockCoordinates
@@ -361,6 +508,7 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
             return;
         }
 
+        awaitPendingWrites();
         unloadSemaphore().acquireUninterruptibly(lockSize);
         try {
             // Per-plate locked flush evicts with identity checks; no bulk loadedRegions.clear()
@@ -400,6 +548,14 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
         trimSemaphore().acquireUninterruptibly(lockSize);
         try {
             onDebug("Trimming Tectonic Plates older than " + formatDuration(adjustedIdleDuration));
+            prefetchedRegions.removeIf(id -> {
+                if (loadedRegions.containsKey(id) || loadingRegions.containsKey(id)) {
+                    return false;
+                }
+
+                prefetchWasted.incrementAndGet();
+                return true;
+            });
             if (lastUse.isEmpty()) {
                 return;
             }
@@ -414,6 +570,11 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
                     this::onDebug,
                     this::onError
             );
+
+            MantleHeapController controller = heapController;
+            if (controller != null) {
+                reclaimForHeap(controller);
+            }
         } catch (Throwable e) {
             onError(e);
         } finally {
@@ -421,6 +582,48 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
         }
     }
 
+    /**
+     * Marks the least recently used plates for unloading until their estimated size covers what the heap controller
+     * asks for, and shortens the idle cutoff so {@link #unloadTectonicPlate(int)} lets them go. The controller is
+     * only credited once a plate is actually unloaded; marked plates stay oldest-first, so later trims select them
+     * again instead of marking more while they are pending.
+     */
+    private void reclaimForHeap(MantleHeapController controller) {
+        long bytes = controller.getReclaimBytes();
+        if (bytes <= 0L) {
+            return;
+        }
+
+        List<Map.Entry<Long, Long>> byAge = new ArrayList<>(lastUse.entrySet());
+        byAge.sort(Map.Entry.comparingByValue());
+        long selected = 0L;
+        long newest = 0L;
+        int plates = 0;
+        for (Map.Entry<Long, Long> entry : byAge) {
+            if (selected >= bytes) {
+                break;
+            }
+
+            P plate = loadedRegions.get(entry.getKey());
+            if (plate == null) {
+                continue;
+            }
+
+            selected += estimateRetainedSize(plate);
+            newest = Math.max(newest, entry.getValue());
+            toUnload.add(entry.getKey());
+            plates++;
+        }
+
+        if (plates == 0) {
+            return;
+        }
+
+        adjustedIdleDuration = Math.min(adjustedIdleDuration, Math.max(0D, nowMillis() - newest - 1D));
+        pressureUnloads.addAndGet(plates);
+        onDebug("Heap above target, marked " + plates + " Tectonic Plates (~" + (selected >> 10) + " KiB) to unload");
+    }
+
     public synchronized int unloadTectonicPlate(int tectonicLimit) {
         ensureOpen();
 
@@ -437,10 +640,10 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
                     loadedRegions::get,
                     lastUse::get,
                     toUnload::contains,
-                    TectonicPlate::inUse,
+                    plate -> plate.inUse() || plate.isClosed() || writingRegions.containsKey(key(plate.getX(), plate.getZ())),
                     this::use,
                     this::persistRegion,
-                    (id, m) -> loadedRegions.remove(id, m),
+                    this::unloaded,
                     lastUse::remove,
                     toUnload::remove,
                     (id, m) -> "Unloaded Tectonic Plate " + CacheKey.keyX(id) + " " + CacheKey.keyZ(id),
@@ -458,6 +661,20 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
         return 0;
     }
 
+    /**
+     * Drops a plate the unload path has persisted and credits its estimated size to the heap controller.
+     */
+    private void unloaded(long id, P plate) {
+        if (!loadedRegions.remove(id, plate)) {
+            return;
+        }
+
+        MantleHeapController controller = heapController;
+        if (controller != null) {
+            controller.released(estimateRetainedSize(plate));
+        }
+    }
+
     @RegionCoordinates
     private P get(int x, int z) {
         ensureOpen();
@@ -471,6 +688,7 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
 
     public synchronized void saveAll() {
         ensureOpen();
+        awaitPendingWrites();
         unloadSemaphore().acquireUninterruptibly(lockSize);
         try {
             // Eviction happens per plate inside the locked flush (identity-checked), so a
@@ -482,6 +700,40 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
         } finally {
             unloadSemaphore().release(lockSize);
         }
+        awaitPendingWrites();
+    }
+
+    /**
+     * Write-behind variant of {@link #saveAll()} that never takes the mantle monitor and keeps every
+     * plate resident. Loaded plates are split into batches of {@link #WRITE_BEHIND_BATCH_SIZE}; each
+     * batch runs on the IO burst, where unmodified plates are skipped untouched. A modified plate is
+     * snapshotted under its region lock, sealed only while its chunks are encoded, and reopened at
+     * once; the snapshots are then written through {@link RegionIO#writeBatch(Map)} without any
+     * lock held. Until its batch lands a region is tracked as pending: access to the resident plate
+     * carries on, while unload, flush and targeted saves wait for or pass over it so they never race
+     * the older snapshot to the file. A written plate is marked saved as of its snapshot, so changes
+     * made during the write still count.
+     *
+     * @return a future completing with the number of plates written
+     */
+    public CompletableFuture<Integer> saveAllAsync() {
+        ensureOpen();
+        List<Long> ids = new ArrayList<>(loadedRegions.keySet());
+        List<CompletableFuture<Integer>> batches = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += WRITE_BEHIND_BATCH_SIZE) {
+            List<Long> batch = ids.subList(i, Math.min(i + WRITE_BEHIND_BATCH_SIZE, ids.size()));
+            batches.add(ioBurst.completableFuture(() -> writeBehind(batch)));
+        }
+
+        return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> batches.stream().mapToInt(CompletableFuture::join).sum());
+    }
+
+    /**
+     * @return the number of plates snapshotted by {@link #saveAllAsync()} that are not yet written
+     */
+    public int getPendingWriteCount() {
+        return writingRegions.size();
     }
 
     /**
@@ -495,6 +747,7 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
      */
     public synchronized void resetStorage() throws Exception {
         ensureOpen();
+        awaitPendingWrites();
         unloadSemaphore().acquireUninterruptibly(lockSize);
         try {
             flushLoadedRegions();
@@ -542,7 +795,9 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
             return;
         }
 
-        deleteChunkSlice(getChunk(x, z), type);
+        C chunk = getChunk(x, z);
+        deleteChunkSlice(chunk, type);
+        chunk.markModified();
     }
 
     public int getLoadedRegionCount() {
@@ -553,10 +808,110 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
         return toUnload.size();
     }
 
+    /**
+     * @return the number of plates written by save and unload paths since the mantle opened
+     */
+    public long getWrittenPlateCount() {
+        return writtenPlates.get();
+    }
+
+    /**
+     * @return the number of unmodified plates that save and unload paths evicted without writing
+     */
+    public long getSkippedPlateCount() {
+        return skippedPlates.get();
+    }
+
     public double getAdjustedIdleDuration() {
         return adjustedIdleDuration;
     }
 
+    public MantleHeapController getHeapController() {
+        return heapController;
+    }
+
+    /**
+     * Lets {@link #trim(long, int)} also unload least recently used plates while the controller reports heap
+     * pressure. Pass {@code null} to trim by idle time only.
+     */
+    public void setHeapController(MantleHeapController heapController) {
+        this.heapController = heapController;
+    }
+
+    /**
+     * @return the number of plates marked for unloading because of heap pressure
+     */
+    public long getPressureUnloadCount() {
+        return pressureUnloads.get();
+    }
+
+    /**
+     * @return the estimated heap held by all resident plates
+     */
+    public long getEstimatedRetainedSize() {
+        long size = 0L;
+        for (P plate : loadedRegions.values()) {
+            size += estimateRetainedSize(plate);
+        }
+        return size;
+    }
+
+    public int getPrefetchBudget() {
+        return prefetchBudget;
+    }
+
+    /**
+     * @param budget the most prefetch loads allowed in flight at once
+     */
+    public void setPrefetchBudget(int budget) {
+        this.prefetchBudget = Math.max(budget, 0);
+    }
+
+    public int getPrefetchInFlight() {
+        return prefetchInFlight.get();
+    }
+
+    public long getPrefetchRequestCount() {
+        return prefetchRequests.get();
+    }
+
+    /**
+     * @return the number of prefetched plates that were resident when first accessed
+     */
+    public long getPrefetchHitCount() {
+        return prefetchHits.get();
+    }
+
+    /**
+     * @return the number of prefetched plates that were still loading when first accessed
+     */
+    public long getPrefetchLateCount() {
+        return prefetchLateHits.get();
+    }
+
+    /**
+     * @return the number of accesses that had to start a plate load themselves
+     */
+    public long getPrefetchMissCount() {
+        return prefetchMisses.get();
+    }
+
+    /**
+     * @return the number of prefetched plates that were unloaded before anything accessed them
+     */
+    public long getPrefetchWastedCount() {
+        return prefetchWasted.get();
+    }
+
+    /**
+     * @return the share of cold plate accesses that prefetching had already started, 0 when there were none
+     */
+    public double getPrefetchHitRate() {
+        long hits = prefetchHits.get() + prefetchLateHits.get();
+        long total = hits + prefetchMisses.get();
+        return total == 0 ? 0D : (double) hits / total;
+    }
+
     public boolean isLoaded(Chunk chunk) {
         return loadedRegions.containsKey(key(chunk.getX() >> 5, chunk.getZ() >> 5));
     }
@@ -581,11 +936,13 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
 
     @Override
     protected CompletableFuture<P> loadRegionSafe(int x, int z) {
+        recordColdAccess(key(x, z));
         return getSafe(x, z);
     }
 
     @Override
     protected P loadRegionBlocking(int x, int z) {
+        recordColdAccess(key(x, z));
         return loadRegionNow(x, z);
     }
 
@@ -600,6 +957,9 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
             P region = getLoadedRegion(x, z);
             if (region != null && !isRegionClosed(region)) {
                 markRegionUsed(x, z, region);
+                if (!prefetchedRegions.isEmpty() && prefetchedRegions.remove(key(x, z))) {
+                    prefetchHits.incrementAndGet();
+                }
                 return region;
             }
 
@@ -656,6 +1016,23 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
         return published;
     }
 
+    /**
+     * Counts an access that found its plate not resident, as a late prefetch hit when a prefetch is still loading
+     * it and as a miss otherwise.
+     */
+    private void recordColdAccess(long key) {
+        if (prefetchedRegions.remove(key)) {
+            if (loadingRegions.containsKey(key)) {
+                prefetchLateHits.incrementAndGet();
+                return;
+            }
+
+            prefetchWasted.incrementAndGet();
+        }
+
+        prefetchMisses.incrementAndGet();
+    }
+
     private void completeRegionLoad(long key, CompletableFuture<P> published, P region, Throwable failure) {
         loadingRegions.remove(key, published);
         if (failure == null) {
@@ -667,57 +1044,70 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
 
     private P loadRegionNow(int x, int z) {
         ensureOpen();
-        return hyperLock.withResult(x, z, () -> {
-            Long k = key(x, z);
-            use(k);
-
-            P loaded = loadedRegions.get(k);
-            if (loaded != null && !loaded.isClosed()) {
-                return loaded;
+        Long k = key(x, z);
+        while (true) {
+            // A resident plate stays usable while its write-behind snapshot is written; only a
+            // read from disk has to wait for that write to land.
+            P region = hyperLock.withResult(x, z, () -> !loadedRegions.containsKey(k) && writingRegions.containsKey(k)
+                    ? null
+                    : loadRegionLocked(x, z));
+            if (region != null) {
+                return region;
             }
+            awaitPendingWrite(k);
+        }
+    }
 
-            File file = fileForRegion(dataFolder, x, z);
-            if (file.exists()) {
-                if (file.length() == 0L) {
-                    if (!file.delete()) {
-                        file.deleteOnExit();
-                    }
+    private P loadRegionLocked(int x, int z) {
+        Long k = key(x, z);
+        use(k);
 
-                    P fallback = createRegion(x, z);
-                    loadedRegions.put(k, fallback);
-                    onDebug("Created new Tectonic Plate (Due to Empty File) " + x + " " + z);
-                    use(k);
-                    return fallback;
-                }
+        P loaded = loadedRegions.get(k);
+        if (loaded != null && !loaded.isClosed()) {
+            return loaded;
+        }
 
-                try {
-                    P region = regionIO.read(file.getName());
-                    if (region.getX() != x || region.getZ() != z) {
-                        onWarn("Loaded Tectonic Plate " + x + "," + z + " but read it as " + region.getX() + "," + region.getZ() + ". Assuming " + x + "," + z);
-                    }
+        File file = fileForRegion(dataFolder, x, z);
+        if (file.exists()) {
+            if (file.length() == 0L) {
+                if (!file.delete()) {
+                    file.deleteOnExit();
+                }
 
-                    loadedRegions.put(k, region);
-                    onDebug("Loaded Tectonic Plate " + x + " " + z + " " + file.getName());
-                    use(k);
-                    return region;
-                } catch (Throwable e) {
-                    onWarn("Failed to read Tectonic Plate " + file.getAbsolutePath() + ", creating a new one.");
-                    onError(e);
+                P fallback = createRegion(x, z);
+                loadedRegions.put(k, fallback);
+                onDebug("Created new Tectonic Plate (Due to Empty File) " + x + " " + z);
+                use(k);
+                return fallback;
+            }
 
-                    P fallback = createRegion(x, z);
-                    loadedRegions.put(k, fallback);
-                    onDebug("Created new Tectonic Plate (Due to Load Failure) " + x + " " + z);
-                    use(k);
-                    return fallback;
+            try {
+                P region = regionIO.read(file.getName());
+                if (region.getX() != x || region.getZ() != z) {
+                    onWarn("Loaded Tectonic Plate " + x + "," + z + " but read it as " + region.getX() + "," + region.getZ() + ". Assuming " + x + "," + z);
                 }
+
+                loadedRegions.put(k, region);
+                onDebug("Loaded Tectonic Plate " + x + " " + z + " " + file.getName());
+                use(k);
+                return region;
+            } catch (Throwable e) {
+                onWarn("Failed to read Tectonic Plate " + file.getAbsolutePath() + ", creating a new one.");
+                onError(e);
+
+                P fallback = createRegion(x, z);
+                loadedRegions.put(k, fallback);
+                onDebug("Created new Tectonic Plate (Due to Load Failure) " + x + " " + z);
+                use(k);
+                return fallback;
             }
+        }
 
-            P region = createRegion(x, z);
-            loadedRegions.put(k, region);
-            onDebug("Created new Tectonic Plate " + x + " " + z);
-            use(k);
-            return region;
-        });
+        P region = createRegion(x, z);
+        loadedRegions.put(k, region);
+        onDebug("Created new Tectonic Plate " + x + " " + z);
+        use(k);
+        return region;
     }
 
     protected void use(long key) {
@@ -725,6 +1115,10 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
         toUnload.remove(key);
     }
 
+    protected long estimateRetainedSize(P plate) {
+        return plate.estimateRetainedSize(DEFAULT_CHUNK_SIZE_ESTIMATE);
+    }
+
     protected long nowMillis() {
         return System.currentTimeMillis();
     }
@@ -753,6 +1147,8 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
     }
 
     private void flushLoadedRegions() {
+        long written = writtenPlates.get();
+        long skipped = skippedPlates.get();
         MantleLifecycleSupport.flushLoadedRegions(
                 loadedRegions.size(),
                 consumer -> loadedRegions.forEach((id, plate) -> consumer.accept(id, plate)),
@@ -764,10 +1160,18 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
                 },
                 this::onError
         );
+        onDebug("Flushed Tectonic Plates: " + (writtenPlates.get() - written) + " written, "
+                + (skippedPlates.get() - skipped) + " unmodified skipped");
     }
 
     private void persistRegion(long id, P plate) throws Exception {
         plate.close();
+        if (!plate.isModified()) {
+            skippedPlates.incrementAndGet();
+            return;
+        }
+
+        TectonicPlateSupport.SaveMark mark = plate.markModifications();
         try {
             regionIO.write(fileForRegion(dataFolder, id, false).getName(), plate);
         } catch (Exception error) {
@@ -777,6 +1181,8 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
             reopenAfterTargetedSaveFailure(plate, error);
             throw error;
         }
+        plate.markSaved(mark);
+        writtenPlates.incrementAndGet();
         oldFileForRegion(dataFolder, id).delete();
     }
 
@@ -787,12 +1193,25 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
      */
     private void persistRegionLocked(long id, P plate) throws Exception {
         try {
-            hyperLock.withNasty(CacheKey.keyX(id), CacheKey.keyZ(id), () -> {
-                persistRegion(id, plate);
-                loadedRegions.remove(id, plate);
-                lastUse.remove(id);
-                toUnload.remove(id);
-            });
+            while (true) {
+                awaitPendingWrite(id);
+                boolean persisted = hyperLock.withNastyResult(CacheKey.keyX(id), CacheKey.keyZ(id), () -> {
+                    // A write-behind snapshot registered since the wait must land first, or it
+                    // would overwrite this newer write.
+                    if (writingRegions.containsKey(id)) {
+                        return false;
+                    }
+
+                    persistRegion(id, plate);
+                    loadedRegions.remove(id, plate);
+                    lastUse.remove(id);
+                    toUnload.remove(id);
+                    return true;
+                });
+                if (persisted) {
+                    return;
+                }
+            }
         } catch (Exception e) {
             throw e;
         } catch (Throwable t) {
@@ -819,6 +1238,10 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
             return true;
         }
 
+        if (writingRegions.containsKey(id)) {
+            return false;
+        }
+
         try {
             if (!plate.sealUntil(deadlineNanos)) {
                 return false;
@@ -841,6 +1264,12 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
     }
 
     private void persistTargetedRegion(long id, P plate) throws Exception {
+        if (!plate.isModified()) {
+            skippedPlates.incrementAndGet();
+            return;
+        }
+
+        TectonicPlateSupport.SaveMark mark = plate.markModifications();
         try {
             regionIO.write(fileForRegion(dataFolder, id, false).getName(), plate);
         } catch (Exception error) {
@@ -850,9 +1279,98 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
             reopenAfterTargetedSaveFailure(plate, error);
             throw error;
         }
+        plate.markSaved(mark);
+        writtenPlates.incrementAndGet();
         oldFileForRegion(dataFolder, id).delete();
     }
 
+    private int writeBehind(List<Long> ids) throws Exception {
+        Map<Long, P> plates = new LinkedHashMap<>();
+        Map<String, P> snapshots = new LinkedHashMap<>();
+        Map<Long, TectonicPlateSupport.SaveMark> marks = new LinkedHashMap<>();
+        Map<Long, CompletableFuture<Void>> pending = new LinkedHashMap<>();
+        try {
+            for (Long id : ids) {
+                hyperLock.withNasty(CacheKey.keyX(id), CacheKey.keyZ(id), () -> {
+                    P plate = loadedRegions.get(id);
+                    if (plate == null || plate.isClosed() || isClosed() || writingRegions.containsKey(id)) {
+                        return;
+                    }
+
+                    if (!plate.isModified()) {
+                        skippedPlates.incrementAndGet();
+                        return;
+                    }
+
+                    // Sealed only while the chunks are encoded; the codec, the file write and the
+                    // sync all run on the snapshot after the plate is back in use.
+                    P snapshot = createRegion(plate.getX(), plate.getZ());
+                    TectonicPlateSupport.SaveMark mark;
+                    try {
+                        plate.close();
+                        mark = plate.markModifications();
+                        plate.snapshotInto(snapshot);
+                    } finally {
+                        plate.reopen();
+                    }
+
+                    CompletableFuture<Void> future = new CompletableFuture<>();
+                    writingRegions.put(id, future);
+                    pending.put(id, future);
+                    plates.put(id, plate);
+                    marks.put(id, mark);
+                    snapshots.put(fileForRegion(dataFolder, id, false).getName(), snapshot);
+                });
+            }
+
+            if (pending.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                regionIO.writeBatch(snapshots);
+            } catch (Throwable e) {
+                onWarn("Failed to write " + pending.size() + " Tectonic Plates behind");
+                throw e;
+            }
+
+            writtenPlates.addAndGet(pending.size());
+            for (Map.Entry<Long, P> entry : plates.entrySet()) {
+                entry.getValue().markSaved(marks.get(entry.getKey()));
+                oldFileForRegion(dataFolder, entry.getKey()).delete();
+            }
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        } finally {
+            completePendingWrites(pending);
+        }
+
+        onDebug("Wrote " + pending.size() + " Tectonic Plates behind");
+        return pending.size();
+    }
+
+    private void completePendingWrites(Map<Long, CompletableFuture<Void>> pending) {
+        for (Map.Entry<Long, CompletableFuture<Void>> entry : pending.entrySet()) {
+            writingRegions.remove(entry.getKey(), entry.getValue());
+            entry.getValue().complete(null);
+        }
+    }
+
+    private void awaitPendingWrite(long id) {
+        CompletableFuture<Void> pending = writingRegions.get(id);
+        if (pending != null) {
+            pending.join();
+        }
+    }
+
+    private void awaitPendingWrites() {
+        for (CompletableFuture<Void> pending : new ArrayList<>(writingRegions.values())) {
+            pending.join();
+        }
+    }
+
     private void reopenAfterTargetedSaveFailure(P plate, Throwable failure) {
         try {
             plate.reopen();
@@ -891,6 +1409,16 @@ public abstract class Mantle<P extends TectonicPlate<C>, C extends MantleChunk<?
 
         void write(String name, P region) throws Exception;
 
+        /**
+         * Writes a batch of plates keyed by file name. Implementations backed by an IOWorker can
+         * route this to its batched write so the batch is synced together.
+         */
+        default void writeBatch(Map<String, P> regions) throws Exception {
+            for (Map.Entry<String, P> entry : regions.entrySet()) {
+                write(entry.getKey(), entry.getValue());
+            }
+        }
+
         void close() throws Exception;
     }
 
@@ -1,6 +1,7 @@
 package art.arcane.volmlib.util.mantle;
 
 import art.arcane.volmlib.util.io.CountingDataInputStream;
+import art.arcane.volmlib.util.mantle.flag.MantleFlag;
 
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
@@ -8,10 +9,23 @@ import java.io.IOException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * Chunk of mantle sections. Modifications are counted per section and per chunk: flag changes,
+ * deletes, copies and writes that go through {@link #getOrCreateSection(int)} followed by
+ * {@link #markModified(int)} bump the counters. A section handed out by {@link #get(int)} or
+ * {@link #getOrCreate(int)} is mutable and can be written through at any later time, so its chunk
+ * counts as modified on every save from then on.
+ */
 public abstract class MantleChunkSupport<M> extends FlaggedChunk {
     private final AtomicReferenceArray<M> sections;
+    private final AtomicIntegerArray sectionModifications;
+    private final AtomicLong modifications;
+    private volatile long savedModifications;
+    private volatile boolean handedOut;
     private final Semaphore ref;
     private final AtomicBoolean closed;
     private final int x;
@@ -20,6 +34,8 @@ public abstract class MantleChunkSupport<M> extends FlaggedChunk {
     protected MantleChunkSupport(int sectionHeight, int x, int z) {
         super();
         this.sections = new AtomicReferenceArray<>(sectionHeight);
+        this.sectionModifications = new AtomicIntegerArray(sectionHeight);
+        this.modifications = new AtomicLong();
         this.ref = new Semaphore(Integer.MAX_VALUE, true);
         this.closed = new AtomicBoolean(false);
         this.x = x;
@@ -136,20 +152,59 @@ public abstract class MantleChunkSupport<M> extends FlaggedChunk {
         try {
             super.copyFrom(chunk, () -> {
                 for (int i = 0; i < sections.length(); i++) {
-                    sections.set(i, chunk.get(i));
+                    sections.set(i, chunk.peek(i));
+                    sectionModifications.incrementAndGet(i);
                 }
             });
+            markModified();
         } finally {
             release();
         }
     }
 
+    public void markModified() {
+        modifications.incrementAndGet();
+    }
+
+    public void markModified(int section) {
+        sectionModifications.incrementAndGet(section);
+        modifications.incrementAndGet();
+    }
+
+    public long getModificationCount() {
+        return modifications.get();
+    }
+
+    public int getSectionModificationCount(int section) {
+        return sectionModifications.get(section);
+    }
+
+    /**
+     * @return true if anything changed since the chunk was read or last marked saved, or if one of
+     * its sections was ever handed out mutable
+     */
+    public boolean isModified() {
+        return handedOut || modifications.get() != savedModifications;
+    }
+
+    /**
+     * Marks the chunk saved as of {@code modifications}, which the caller read through
+     * {@link #getModificationCount()} before encoding the chunk. Anything counted after that stays
+     * modified.
+     */
+    public void markSaved(long modifications) {
+        savedModifications = modifications;
+    }
+
     public boolean exists(int section) {
-        return get(section) != null;
+        return peek(section) != null;
     }
 
+    /**
+     * @return the section, which the caller may modify; the chunk is rewritten on every later save
+     */
     public M get(int section) {
-        return sections.get(section);
+        return handOut(section, peek(section));
     }
 
     public void clear() {
@@ -162,18 +217,15 @@ public abstract class MantleChunkSupport<M> extends FlaggedChunk {
     public void delete(int section) {
         requireOpen();
         sections.set(section, null);
+        markModified(section);
     }
 
+    /**
+     * @return the section, created if missing, which the caller may modify; the chunk is rewritten
+     * on every later save
+     */
     public M getOrCreate(int section) {
-        requireOpen();
-        M sectionData = get(section);
-        if (sectionData != null) {
-            return sectionData;
-        }
-
-        M instance = createSection();
-        M value = sections.compareAndExchange(section, null, instance);
-        return value == null ? instance : value;
+        return handOut(section, getOrCreateSection(section));
     }
 
     public void write(DataOutputStream dos) throws IOException {
@@ -192,7 +244,7 @@ public abstract class MantleChunkSupport<M> extends FlaggedChunk {
             trimIndex(i);
             if (exists(i)) {
                 try {
-                    M section = get(i);
+                    M section = peek(i);
                     if (section == null) {
                         dos.writeInt(0);
                         continue;
@@ -222,12 +274,17 @@ public abstract class MantleChunkSupport<M> extends FlaggedChunk {
         return closed.get();
     }
 
+    @Override
+    protected void onFlagChanged(MantleFlag flag) {
+        markModified();
+    }
+
     protected void trimIndex(int index) {
         if (!exists(index)) {
             return;
         }
 
-        M section = get(index);
+        M section = peek(index);
         if (section == null) {
             return;
         }
@@ -243,6 +300,30 @@ public abstract class MantleChunkSupport<M> extends FlaggedChunk {
         }
     }
 
+    /**
+     * Reads a section without handing it out. Callers must not modify it.
+     */
+    protected M peek(int section) {
+        return sections.get(section);
+    }
+
+    /**
+     * The section to write to, created if missing, without handing it out. The caller counts the
+     * write with {@link #markModified(int)} once it has landed, so a save that reads the count
+     * while the write is in flight still sees the chunk as modified afterwards.
+     */
+    protected M getOrCreateSection(int section) {
+        requireOpen();
+        M sectionData = peek(section);
+        if (sectionData != null) {
+            return sectionData;
+        }
+
+        M instance = createSection();
+        M value = sections.compareAndExchange(section, null, instance);
+        return value == null ? instance : value;
+    }
+
     protected void onBeforeReadSection(int index) {
     }
 
@@ -259,6 +340,14 @@ public abstract class MantleChunkSupport<M> extends FlaggedChunk {
 
     protected abstract boolean isSectionEmpty(M section);
 
+    private M handOut(int section, M sectionData) {
+        if (sectionData != null) {
+            handedOut = true;
+            markModified(section);
+        }
+        return sectionData;
+    }
+
     private void requireOpen() {
         if (closed.get()) {
             throw new IllegalStateException("Chunk is closed!");
@@ -0,0 +1,196 @@
+package art.arcane.volmlib.util.mantle;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Decides how much mantle data should be released to keep the heap under a target. Heap occupancy is taken from
+ * the live size reported after each garbage collection, falling back to {@code MemoryMXBean} usage until the first
+ * collection is seen.
+ * <p>
+ * Reclaiming starts once occupancy reaches the high watermark and keeps going until it drops below the low
+ * watermark. Bytes handed back through {@link #released(long)} are subtracted from the estimate until the next
+ * collection shows their real effect, so one pressure spike is not answered by every trim in between. One
+ * controller can be shared by every mantle in the process.
+ */
+public final class MantleHeapController implements AutoCloseable {
+    public static final double DEFAULT_HIGH_WATERMARK = 0.85D;
+    public static final double DEFAULT_LOW_WATERMARK = 0.70D;
+
+    private final Supplier<MemoryUsage> heap;
+    private final List<Runnable> unregister;
+    private volatile double highWatermark;
+    private volatile double lowWatermark;
+    private long liveBytes;
+    private long pendingRelease;
+    private boolean collected;
+    private boolean reclaiming;
+    private double usage;
+
+    public MantleHeapController() {
+        this(DEFAULT_HIGH_WATERMARK, DEFAULT_LOW_WATERMARK);
+    }
+
+    public MantleHeapController(double highWatermark, double lowWatermark) {
+        this(highWatermark, lowWatermark, ManagementFactory.getMemoryMXBean()::getHeapMemoryUsage);
+        listen();
+    }
+
+    MantleHeapController(double highWatermark, double lowWatermark, Supplier<MemoryUsage> heap) {
+        this.heap = heap;
+        this.unregister = new ArrayList<>();
+        setWatermarks(highWatermark, lowWatermark);
+    }
+
+    /**
+     * @param highWatermark heap occupancy, as a fraction of the maximum heap, at which reclaiming starts
+     * @param lowWatermark  heap occupancy at which reclaiming stops again
+     */
+    public void setWatermarks(double highWatermark, double lowWatermark) {
+        if (!(lowWatermark > 0D && lowWatermark < highWatermark && highWatermark <= 1D)) {
+            throw new IllegalArgumentException("Heap watermarks must satisfy 0 < low < high <= 1, got low="
+                    + lowWatermark + " high=" + highWatermark);
+        }
+
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
+    }
+
+    public double getHighWatermark() {
+        return highWatermark;
+    }
+
+    public double getLowWatermark() {
+        return lowWatermark;
+    }
+
+    /**
+     * @return the estimated live heap as a fraction of the maximum heap, see
+     * {@link art.arcane.volmlib.integration.IntegrationMetricSchema#IRIS_MANTLE_HEAP_USAGE}
+     */
+    public synchronized double getHeapUsage() {
+        update();
+        return usage;
+    }
+
+    /**
+     * @return 0 while not reclaiming, rising to 1 as occupancy climbs from the low watermark to a full heap, see
+     * {@link art.arcane.volmlib.integration.IntegrationMetricSchema#IRIS_MANTLE_RECLAIM_URGENCY}
+     */
+    public synchronized double getReclaimUrgency() {
+        update();
+        return reclaiming ? Math.min(1D, Math.max(0D, (usage - lowWatermark) / (1D - lowWatermark))) : 0D;
+    }
+
+    public synchronized boolean isReclaiming() {
+        update();
+        return reclaiming;
+    }
+
+    /**
+     * @return the bytes that have to be released to bring occupancy back to the low watermark, or 0 while the
+     * heap is not under pressure
+     */
+    public synchronized long getReclaimBytes() {
+        update();
+        if (!reclaiming) {
+            return 0L;
+        }
+
+        return Math.max(0L, (long) ((usage - lowWatermark) * maxBytes(heap.get())));
+    }
+
+    /**
+     * Credits bytes that were just released by unloading plates. The credit lasts until the next garbage collection.
+     */
+    public synchronized void released(long bytes) {
+        if (bytes > 0L) {
+            pendingRelease += bytes;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Runnable r : unregister) {
+            r.run();
+        }
+
+        unregister.clear();
+    }
+
+    synchronized void onCollection(long liveBytes) {
+        this.liveBytes = liveBytes;
+        this.pendingRelease = 0L;
+        this.collected = true;
+    }
+
+    private void update() {
+        MemoryUsage current = heap.get();
+        long max = maxBytes(current);
+        long live = collected ? Math.min(liveBytes, current.getUsed()) : current.getUsed();
+        usage = max <= 0L ? 0D : Math.max(0L, live - pendingRelease) / (double) max;
+        if (!reclaiming && usage >= highWatermark) {
+            reclaiming = true;
+        } else if (reclaiming && usage <= lowWatermark) {
+            reclaiming = false;
+        }
+    }
+
+    private static long maxBytes(MemoryUsage usage) {
+        return usage.getMax() > 0L ? usage.getMax() : usage.getCommitted();
+    }
+
+    private void listen() {
+        Set<String> heapPools = new HashSet<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                heapPools.add(pool.getName());
+            }
+        }
+
+        NotificationListener listener = (notification, handback) -> onNotification(notification, heapPools);
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(listener, null, null);
+                unregister.add(() -> {
+                    try {
+                        emitter.removeNotificationListener(listener);
+                    } catch (ListenerNotFoundException ignored) {
+                    }
+                });
+            }
+        }
+    }
+
+    private void onNotification(Notification notification, Set<String> heapPools) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+
+        GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long live = 0L;
+        for (Map.Entry<String, MemoryUsage> entry : info.getGcInfo().getMemoryUsageAfterGc().entrySet()) {
+            if (heapPools.contains(entry.getKey())) {
+                live += entry.getValue().getUsed();
+            }
+        }
+
+        onCollection(live);
+    }
+}
@@ -9,6 +9,8 @@ import java.io.IOException;
  */
 public abstract class TectonicPlate<C extends MantleChunk<?>> extends TectonicPlateSupport<C> {
     public static final int MISSING = TectonicPlateSupport.MISSING;
+    public static final int SEQUENTIAL = TectonicPlateSupport.SEQUENTIAL;
+    public static final int INDEXED = TectonicPlateSupport.INDEXED;
     public static final int CURRENT = TectonicPlateSupport.CURRENT;
 
     protected TectonicPlate(int worldHeight, int x, int z) {
@@ -19,6 +21,21 @@ public abstract class TectonicPlate<C extends MantleChunk<?>> extends TectonicPl
         super(worldHeight, din, versioned);
     }
 
+    @Override
+    protected boolean isChunkModified(C chunk) {
+        return chunk.isModified();
+    }
+
+    @Override
+    protected long getChunkModificationCount(C chunk) {
+        return chunk.getModificationCount();
+    }
+
+    @Override
+    protected void markChunkSaved(C chunk, long modifications) {
+        chunk.markSaved(modifications);
+    }
+
     public static void addError() {
         TectonicPlateSupport.addError();
     }
@@ -22,39 +22,75 @@ import art.arcane.volmlib.util.cache.CacheKey;
 import art.arcane.volmlib.util.data.Varint;
 import art.arcane.volmlib.util.io.CountingDataInputStream;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 
 public abstract class TectonicPlateSupport<C> {
     private static final ThreadLocal<Boolean> ERRORS = ThreadLocal.withInitial(() -> false);
+    private static final int DECODE_BATCH = 32;
+    private static final boolean RETAIN_PAYLOADS = Boolean.getBoolean("iris.mantle-retain-payloads");
 
     public static final int MISSING = -1;
-    public static final int CURRENT = 1;
+    public static final int SEQUENTIAL = 1;
+    public static final int INDEXED = 2;
+    public static final int CURRENT = INDEXED;
 
     private final int sectionHeight;
     private final AtomicReferenceArray<C> chunks;
+    private final AtomicReferenceArray<byte[]> encoded;
+    private final AtomicReferenceArray<byte[]> retained;
+    private final AtomicLong modifications;
+    private final AtomicInteger failedChunks;
     private final AtomicBoolean closed;
     private final int x;
     private final int z;
+    private int version;
+    private volatile long savedModifications;
+    private volatile boolean retainPayloads;
 
     protected TectonicPlateSupport(int worldHeight, int x, int z) {
         this.sectionHeight = worldHeight >> 4;
         this.chunks = new AtomicReferenceArray<>(1024);
+        this.encoded = new AtomicReferenceArray<>(1024);
+        this.retained = new AtomicReferenceArray<>(1024);
+        this.modifications = new AtomicLong();
+        this.failedChunks = new AtomicInteger();
         this.closed = new AtomicBoolean(false);
         this.x = x;
         this.z = z;
+        this.version = CURRENT;
+        this.retainPayloads = RETAIN_PAYLOADS;
     }
 
+    /**
+     * Reads a plate. {@link #INDEXED} plates carry a table of chunk payload sizes ahead of the
+     * payloads, so each payload is only sliced out here and decoded on first access; payloads that
+     * are never accessed are written back verbatim. Older layouts are decoded eagerly. A lazily
+     * decoded chunk that turns out to be corrupt is only counted in {@link #getFailedChunkCount()}.
+     */
     protected TectonicPlateSupport(int worldHeight, CountingDataInputStream din, boolean versioned) throws IOException {
         this(worldHeight, din.readInt(), din.readInt());
         if (!din.markSupported()) {
             throw new IOException("Mark not supported!");
         }
 
-        int version = versioned ? Varint.readUnsignedVarInt(din) : MISSING;
+        version = versioned ? Varint.readUnsignedVarInt(din) : MISSING;
+        if (version >= INDEXED) {
+            readIndexed(din);
+            return;
+        }
+
         for (int i = 0; i < chunks.length(); i++) {
             long size = din.readInt();
             if (size == 0) {
@@ -77,6 +113,7 @@ public abstract class TectonicPlateSupport<C> {
             } catch (Throwable e) {
                 onReadChunkFailure(i, start, end, din, e);
                 din.skipTo(end);
+                failedChunks.incrementAndGet();
                 addError();
             }
         }
@@ -149,61 +186,270 @@ public abstract class TectonicPlateSupport<C> {
     }
 
     public boolean exists(int x, int z) {
-        return get(x, z) != null;
+        int index = index(x, z);
+        return chunks.get(index) != null || encoded.get(index) != null;
     }
 
     public C get(int x, int z) {
-        return chunks.get(index(x, z));
+        return resolve(index(x, z));
+    }
+
+    /**
+     * @return the number of chunk payloads still held in their encoded form
+     */
+    public int getEncodedChunkCount() {
+        int count = 0;
+        for (int i = 0; i < encoded.length(); i++) {
+            if (encoded.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of chunks of this plate that failed to decode, whether eagerly on read or lazily on first
+     * access. A lazily decoded chunk fails on whichever thread first touches it, long after the plate was read, so
+     * this count rather than {@link #hasError()} is where such failures show up.
+     */
+    public int getFailedChunkCount() {
+        return failedChunks.get();
+    }
+
+    /**
+     * Decodes every payload still held in encoded form, in batches spread over {@code executor}, and waits for all
+     * of them. A chunk that fails to decode is contained exactly as on first access; since the caller waits for
+     * the whole plate, a failure is also flagged through {@link #addError()} on the calling thread. Decode hooks may
+     * run concurrently in this mode.
+     *
+     * @return the number of chunks decoded
+     */
+    public int decodeAll(Executor executor) {
+        int failedBefore = failedChunks.get();
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < encoded.length(); i++) {
+            if (encoded.get(i) != null) {
+                pending.add(i);
+            }
+        }
+
+        AtomicInteger decoded = new AtomicInteger();
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < pending.size(); from += DECODE_BATCH) {
+            List<Integer> batch = pending.subList(from, Math.min(from + DECODE_BATCH, pending.size()));
+            Runnable task = () -> {
+                for (int index : batch) {
+                    if (resolve(index) != null) {
+                        decoded.incrementAndGet();
+                    }
+                }
+            };
+
+            if (executor == null || pending.size() <= DECODE_BATCH) {
+                task.run();
+                continue;
+            }
+
+            try {
+                batches.add(CompletableFuture.runAsync(task, executor));
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }
+
+        CompletableFuture.allOf(batches.toArray(new CompletableFuture[0])).join();
+        if (failedChunks.get() != failedBefore) {
+            addError();
+        }
+
+        return decoded.get();
+    }
+
+    public boolean isRetainingPayloads() {
+        return retainPayloads;
+    }
+
+    /**
+     * Keeps the encoded payload of every decoded chunk next to the chunk, so a chunk that is
+     * decoded but left unmodified is copied through on write instead of being encoded again. This
+     * roughly doubles the heap held by decoded chunks, so it is off unless the
+     * {@code iris.mantle-retain-payloads} property is set. Turning it off drops the copies.
+     */
+    public void setRetainPayloads(boolean retainPayloads) {
+        this.retainPayloads = retainPayloads;
+        if (!retainPayloads) {
+            for (int i = 0; i < retained.length(); i++) {
+                retained.set(i, null);
+            }
+        }
+    }
+
+    /**
+     * Rough heap footprint of this plate: its slot tables, every payload it still holds and
+     * {@link #estimateChunkSize} for each decoded chunk.
+     */
+    public long estimateRetainedSize(long chunkBytes) {
+        long size = chunks.length() * 12L;
+        for (int i = 0; i < chunks.length(); i++) {
+            byte[] raw = encoded.get(i);
+            if (raw != null) {
+                size += raw.length + 16L;
+            }
+
+            raw = retained.get(i);
+            if (raw != null) {
+                size += raw.length + 16L;
+            }
+
+            C chunk = chunks.get(i);
+            if (chunk != null) {
+                size += estimateChunkSize(chunk, chunkBytes);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Heap held by one decoded chunk. Subclasses that can size their chunks override this; the
+     * default is the flat {@code chunkBytes} estimate.
+     */
+    protected long estimateChunkSize(C chunk, long chunkBytes) {
+        return chunkBytes;
     }
 
     public void clear() {
         requireOpen();
         for (int i = 0; i < chunks.length(); i++) {
             chunks.set(i, null);
+            encoded.set(i, null);
+            retained.set(i, null);
         }
+        markModified();
     }
 
     public void delete(int x, int z) {
         requireOpen();
-        chunks.set(index(x, z), null);
+        int index = index(x, z);
+        chunks.set(index, null);
+        encoded.set(index, null);
+        retained.set(index, null);
+        markModified();
+    }
+
+    public void markModified() {
+        modifications.incrementAndGet();
+    }
+
+    /**
+     * @return true if a chunk was deleted, or any decoded chunk was modified, since the plate was
+     * read or last marked saved. Chunks that were never decoded cannot have changed.
+     */
+    public boolean isModified() {
+        if (modifications.get() != savedModifications) {
+            return true;
+        }
+
+        for (int i = 0; i < chunks.length(); i++) {
+            C chunk = chunks.get(i);
+            if (chunk != null && isChunkModified(chunk)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the modification counts of the plate and its decoded chunks. Take the mark before the
+     * plate is encoded and hand it to {@link #markSaved(SaveMark)} once the write succeeded, so a
+     * change that lands while the plate is being written is not cleared with it.
+     */
+    public SaveMark markModifications() {
+        long plate = modifications.get();
+        Object[] marked = new Object[chunks.length()];
+        long[] chunkModifications = new long[chunks.length()];
+        for (int i = 0; i < chunks.length(); i++) {
+            C chunk = chunks.get(i);
+            if (chunk != null) {
+                marked[i] = chunk;
+                chunkModifications[i] = getChunkModificationCount(chunk);
+            }
+        }
+        return new SaveMark(plate, marked, chunkModifications);
+    }
+
+    /**
+     * Marks the plate saved as of {@code mark}. Chunks decoded or replaced after the mark was taken
+     * keep their state.
+     */
+    public void markSaved(SaveMark mark) {
+        savedModifications = mark.plate;
+        for (int i = 0; i < chunks.length(); i++) {
+            C chunk = chunks.get(i);
+            if (chunk != null && chunk == mark.chunks[i]) {
+                markChunkSaved(chunk, mark.chunkModifications[i]);
+            }
+        }
     }
 
     public C getOrCreate(int x, int z) {
         requireOpen();
         final int index = index(x, z);
-        final C chunk = chunks.get(index);
+        final C chunk = resolve(index);
         if (chunk != null) {
             return chunk;
         }
 
         final C instance = createChunk(sectionHeight, x & 31, z & 31);
         final C value = chunks.compareAndExchange(index, null, instance);
-        return value == null ? instance : value;
+        if (value == null) {
+            retained.set(index, null);
+            return instance;
+        }
+        return value;
     }
 
+    /**
+     * Writes the plate in the {@link #INDEXED} layout. Payloads of chunks that were never decoded
+     * are copied through as-is, as are those of decoded but unmodified chunks while payloads are
+     * retained; every other chunk is encoded again, and the fresh payload replaces the retained one.
+     */
     public void write(DataOutputStream dos) throws IOException {
         dos.writeInt(x);
         dos.writeInt(z);
         Varint.writeUnsignedVarInt(CURRENT, dos);
 
-        var bytes = new ByteArrayOutputStream(8192);
-        var sub = new DataOutputStream(bytes);
-        for (int i = 0; i < chunks.length(); i++) {
-            C chunk = chunks.get(i);
-            if (chunk != null) {
-                try {
-                    writeChunk(chunk, sub);
-                    dos.writeInt(bytes.size());
-                    bytes.writeTo(dos);
-                } finally {
-                    bytes.reset();
-                }
-            } else {
-                dos.writeInt(0);
+        byte[][] payloads = payloads();
+        for (byte[] payload : payloads) {
+            dos.writeInt(payload == null ? 0 : payload.length);
+        }
+
+        for (byte[] payload : payloads) {
+            if (payload != null) {
+                dos.write(payload);
             }
         }
     }
 
+    /**
+     * Copies the current contents of this plate into {@code target} as encoded payloads, the same
+     * ones {@link #write} would produce, replacing whatever {@code target} held. Encoding seals the
+     * decoded chunks just as {@link #write} does, so reopen this plate as soon as this returns;
+     * {@code target} no longer shares anything with it and can be written at leisure.
+     */
+    public void snapshotInto(TectonicPlateSupport<C> target) throws IOException {
+        byte[][] payloads = payloads();
+        for (int i = 0; i < payloads.length; i++) {
+            target.chunks.set(i, null);
+            target.retained.set(i, null);
+            target.encoded.set(i, payloads[i]);
+        }
+        target.version = CURRENT;
+    }
+
+    protected int getVersion() {
+        return version;
+    }
+
     protected int index(int x, int z) {
         return CacheKey.to1D(x, z, 0, 32, 32);
     }
@@ -211,6 +457,21 @@ public abstract class TectonicPlateSupport<C> {
     protected void beforeReadChunk(int index) {
     }
 
+    /**
+     * Whether a decoded chunk has to be encoded again on write. Without modification tracking every
+     * decoded chunk is treated as modified.
+     */
+    protected boolean isChunkModified(C chunk) {
+        return true;
+    }
+
+    protected long getChunkModificationCount(C chunk) {
+        return 0L;
+    }
+
+    protected void markChunkSaved(C chunk, long modifications) {
+    }
+
     protected void afterReadChunk(int index) {
     }
 
@@ -243,9 +504,142 @@ public abstract class TectonicPlateSupport<C> {
         }
     }
 
+    private byte[][] payloads() throws IOException {
+        byte[][] payloads = new byte[chunks.length()][];
+        var bytes = new ByteArrayOutputStream(8192);
+        var sub = new DataOutputStream(bytes);
+        for (int i = 0; i < chunks.length(); i++) {
+            C chunk = chunks.get(i);
+            if (chunk == null) {
+                byte[] raw = encoded.get(i);
+                if (raw != null) {
+                    payloads[i] = raw;
+                    continue;
+                }
+
+                // A concurrent decode publishes the chunk before dropping its payload.
+                chunk = chunks.get(i);
+                if (chunk == null) {
+                    continue;
+                }
+            }
+
+            byte[] raw = retained.get(i);
+            if (raw != null && !isChunkModified(chunk)) {
+                payloads[i] = raw;
+                continue;
+            }
+
+            try {
+                writeChunk(chunk, sub);
+                sub.flush();
+                payloads[i] = bytes.toByteArray();
+            } finally {
+                bytes.reset();
+            }
+
+            if (retainPayloads && chunks.get(i) == chunk) {
+                retained.set(i, payloads[i]);
+            }
+        }
+        return payloads;
+    }
+
+    private void readIndexed(CountingDataInputStream din) throws IOException {
+        int[] sizes = new int[chunks.length()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = din.readInt();
+            if (sizes[i] < 0) {
+                throw new IOException("Mantle chunk " + i + " has a negative payload size " + sizes[i]);
+            }
+        }
+
+        for (int i = 0; i < sizes.length; i++) {
+            if (sizes[i] == 0) {
+                continue;
+            }
+
+            byte[] payload = din.readNBytes(sizes[i]);
+            if (payload.length != sizes[i]) {
+                throw new IOException("Mantle chunk " + i + " payload truncated at "
+                        + payload.length + " of " + sizes[i] + " bytes");
+            }
+            encoded.set(i, payload);
+        }
+    }
+
+    private C resolve(int index) {
+        C chunk = chunks.get(index);
+        if (chunk != null) {
+            return chunk;
+        }
+
+        byte[] raw = encoded.get(index);
+        if (raw == null) {
+            return chunks.get(index);
+        }
+
+        C decoded = decode(index, raw);
+        if (decoded == null) {
+            encoded.compareAndSet(index, raw, null);
+            return chunks.get(index);
+        }
+
+        C value = chunks.compareAndExchange(index, null, decoded);
+        if (value == null && retainPayloads) {
+            retained.set(index, raw);
+        }
+        encoded.compareAndSet(index, raw, null);
+        if (value != null) {
+            return value;
+        }
+
+        if (closed.get()) {
+            try {
+                closeChunk(decoded);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return decoded;
+    }
+
+    private C decode(int index, byte[] raw) {
+        CountingDataInputStream din = CountingDataInputStream.wrap(new ByteArrayInputStream(raw));
+        beforeReadChunk(index);
+        try {
+            C chunk = readChunk(version, sectionHeight, din);
+            afterReadChunk(index);
+            if (din.count() != raw.length) {
+                throw new IOException("Mantle chunk " + index + " consumed " + din.count()
+                        + " of " + raw.length + " bytes");
+            }
+            return chunk;
+        } catch (Throwable e) {
+            onReadChunkFailure(index, 0, raw.length, din, e);
+            failedChunks.incrementAndGet();
+            return null;
+        }
+    }
+
     private void requireOpen() {
         if (closed.get()) {
             throw new IllegalStateException("Tectonic Plate is closed!");
         }
     }
+
+    /**
+     * Modification counts of a plate taken by {@link #markModifications()}.
+     */
+    public static final class SaveMark {
+        private final long plate;
+        private final Object[] chunks;
+        private final long[] chunkModifications;
+
+        private SaveMark(long plate, Object[] chunks, long[] chunkModifications) {
+            this.plate = plate;
+            this.chunks = chunks;
+            this.chunkModifications = chunkModifications;
+        }
+    }
 }
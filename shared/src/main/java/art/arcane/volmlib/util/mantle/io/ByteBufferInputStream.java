@@ -0,0 +1,121 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package art.arcane.volmlib.util.mantle.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Input stream over a {@link ByteBuffer}. Reads are bulk gets straight out of the buffer, so a
+ * mapped region file reaches the codec without passing through intermediate heap buffers. Once
+ * closed the stream drops the buffer and every further read fails, so a subclass can release
+ * the memory behind it in {@link #close()}.
+ */
+public class ByteBufferInputStream extends InputStream {
+    private ByteBuffer buffer;
+    private int mark;
+
+    public ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.mark = buffer.position();
+    }
+
+    @Override
+    public int available() throws IOException {
+        return buffer().remaining();
+    }
+
+    @Override
+    public int read() throws IOException {
+        ByteBuffer buffer = buffer();
+        return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte @NotNull [] b, int off, int len) throws IOException {
+        ByteBuffer buffer = buffer();
+        if (len == 0) {
+            return 0;
+        }
+
+        int count = Math.min(len, buffer.remaining());
+        if (count == 0) {
+            return -1;
+        }
+
+        buffer.get(b, off, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        ByteBuffer buffer = buffer();
+        int count = (int) Math.max(0L, Math.min(n, buffer.remaining()));
+        buffer.position(buffer.position() + count);
+        return count;
+    }
+
+    @Override
+    public long transferTo(OutputStream out) throws IOException {
+        ByteBuffer buffer = buffer();
+        long transferred = buffer.remaining();
+        if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+            return transferred;
+        }
+
+        return super.transferTo(out);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        if (buffer != null) {
+            mark = buffer.position();
+        }
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        buffer().position(mark);
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+    }
+
+    private ByteBuffer buffer() throws IOException {
+        ByteBuffer local = buffer;
+        if (local == null) {
+            throw new IOException("Stream closed");
+        }
+
+        return local;
+    }
+}
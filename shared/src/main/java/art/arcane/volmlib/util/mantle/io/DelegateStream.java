@@ -23,19 +23,101 @@ import org.jetbrains.annotations.NotNull;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 
 public class DelegateStream {
+    private static final MethodHandle UNMAP = unmapper();
 
     public static InputStream read(FileChannel channel) throws IOException {
         channel.position(0);
         return new Input(channel);
     }
 
+    /**
+     * Maps the whole channel read-only. Closing the returned stream unmaps the file right away
+     * instead of leaving the mapping to the garbage collector, so it must be closed before the
+     * channel lease is given up: a later write truncates the file, which fails on Windows while a
+     * mapping is alive and faults any reader still using it elsewhere. Only available where
+     * {@link #canUnmap()} holds.
+     */
+    public static InputStream map(FileChannel channel) throws IOException {
+        if (!canUnmap()) {
+            throw new IOException("Mapped reads need a runtime that can unmap buffers");
+        }
+
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Cannot map " + size + " bytes into a single buffer");
+        }
+
+        return new Mapped(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+    }
+
+    /**
+     * @return whether mappings can be released deterministically, which {@link #map(FileChannel)}
+     * requires
+     */
+    public static boolean canUnmap() {
+        return UNMAP != null;
+    }
+
     public static OutputStream write(FileChannel channel) throws IOException {
         channel.position(0);
-        return new Output(channel);
+        return new Output(channel, true);
+    }
+
+    /**
+     * Like {@link #write(FileChannel)}, but closing the stream does not force the channel. Used by
+     * batched writes, which force every touched channel once the whole batch is on disk.
+     */
+    public static OutputStream writeDeferred(FileChannel channel) throws IOException {
+        channel.position(0);
+        return new Output(channel, false);
+    }
+
+    private static MethodHandle unmapper() {
+        try {
+            Class<?> type = Class.forName("sun.misc.Unsafe");
+            Field field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(type, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static class Mapped extends ByteBufferInputStream {
+        private MappedByteBuffer mapping;
+
+        private Mapped(MappedByteBuffer mapping) {
+            super(mapping);
+            this.mapping = mapping;
+        }
+
+        @Override
+        public void close() throws IOException {
+            super.close();
+            MappedByteBuffer local = mapping;
+            mapping = null;
+            if (local == null) {
+                return;
+            }
+
+            try {
+                UNMAP.invokeExact((ByteBuffer) local);
+            } catch (Throwable e) {
+                throw new IOException("Failed to unmap region file", e);
+            }
+        }
     }
 
     private static class Input extends InputStream {
@@ -94,10 +176,12 @@ public class DelegateStream {
     private static class Output extends OutputStream {
         private final FileChannel channel;
         private final OutputStream delegate;
+        private final boolean force;
 
-        private Output(FileChannel channel) {
+        private Output(FileChannel channel, boolean force) {
             this.channel = channel;
             this.delegate = Channels.newOutputStream(channel);
+            this.force = force;
         }
 
         @Override
@@ -117,7 +201,9 @@ public class DelegateStream {
 
         @Override
         public void close() throws IOException {
-            channel.force(true);
+            if (force) {
+                channel.force(true);
+            }
         }
     }
 }
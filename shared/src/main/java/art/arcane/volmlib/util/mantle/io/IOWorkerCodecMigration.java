@@ -0,0 +1,152 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package art.arcane.volmlib.util.mantle.io;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Offline re-encoding of a mantle region folder. Must only run while no mantle holds the folder
+ * open: each file is decoded with the source codec, re-encoded with the target into a sibling temp
+ * file and atomically moved over the original, so an interrupted run leaves every file readable.
+ */
+public final class IOWorkerCodecMigration {
+    public static final FileFilter REGION_FILES = f -> f.isFile() && f.getName().endsWith(".ttp.lz4b");
+
+    private IOWorkerCodecMigration() {
+    }
+
+    public static Result migrate(File folder, IOWorkerCodecSupport source, IOWorkerCodecSupport target,
+                                 ExecutorService executor) throws InterruptedException {
+        File[] files = folder.listFiles(REGION_FILES);
+        Result result = new Result();
+        if (files == null) {
+            return result;
+        }
+
+        List<Future<?>> futures = new ArrayList<>(files.length);
+        for (File file : files) {
+            futures.add(executor.submit(() -> {
+                try {
+                    long before = file.length();
+                    long after = migrate(file, source, target);
+                    result.migrated.incrementAndGet();
+                    result.bytesBefore.addAndGet(before);
+                    result.bytesAfter.addAndGet(after);
+                } catch (IOException | RuntimeException e) {
+                    result.failures.put(file, e);
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Codec migration task failed", e.getCause());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Re-encodes one file in place and returns its new size.
+     */
+    public static long migrate(File file, IOWorkerCodecSupport source, IOWorkerCodecSupport target) throws IOException {
+        Path path = file.toPath();
+        Path temp = Files.createTempFile(path.getParent(), file.getName(), ".migrate");
+        try {
+            try (InputStream in = source.decode(Files.newInputStream(path));
+                 OutputStream out = target.encode(Files.newOutputStream(temp))) {
+                in.transferTo(out);
+            }
+
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return file.length();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Decodes up to {@code limit} region files from the folder, for feeding
+     * {@link IOWorkerDictionaryTrainer}.
+     */
+    public static List<byte[]> sample(File folder, IOWorkerCodecSupport codec, int limit) throws IOException {
+        File[] files = folder.listFiles(REGION_FILES);
+        List<byte[]> samples = new ArrayList<>();
+        if (files == null) {
+            return samples;
+        }
+
+        for (File file : files) {
+            if (samples.size() >= limit) {
+                break;
+            }
+
+            try (InputStream in = codec.decode(Files.newInputStream(file.toPath()))) {
+                samples.add(in.readAllBytes());
+            }
+        }
+
+        return samples;
+    }
+
+    public static final class Result {
+        private final AtomicLong migrated = new AtomicLong();
+        private final AtomicLong bytesBefore = new AtomicLong();
+        private final AtomicLong bytesAfter = new AtomicLong();
+        private final Map<File, Exception> failures = new ConcurrentHashMap<>();
+
+        public long getMigrated() {
+            return migrated.get();
+        }
+
+        public long getBytesBefore() {
+            return bytesBefore.get();
+        }
+
+        public long getBytesAfter() {
+            return bytesAfter.get();
+        }
+
+        public Map<File, Exception> getFailures() {
+            return failures;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package art.arcane.volmlib.util.mantle.io;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a preset dictionary for {@link DeflateIOWorkerCodecSupport} from decoded plate samples.
+ * Fixed-size segments are counted across all samples and the most common ones are packed into the
+ * dictionary, most frequent last, since deflate reaches the tail of the window most cheaply.
+ */
+public final class IOWorkerDictionaryTrainer {
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+    public static final int DEFAULT_SEGMENT_SIZE = 32;
+
+    private IOWorkerDictionaryTrainer() {
+    }
+
+    public static byte[] train(List<byte[]> samples) {
+        return train(samples, MAX_DICTIONARY_SIZE, DEFAULT_SEGMENT_SIZE);
+    }
+
+    public static byte[] train(List<byte[]> samples, int size, int segmentSize) {
+        if (size <= 0 || size > MAX_DICTIONARY_SIZE) {
+            throw new IllegalArgumentException("Dictionary size must be between 1 and " + MAX_DICTIONARY_SIZE + ", got " + size);
+        }
+        if (segmentSize < 4 || segmentSize > size) {
+            throw new IllegalArgumentException("Segment size must be between 4 and " + size + ", got " + segmentSize);
+        }
+
+        Map<Segment, int[]> counts = new HashMap<>();
+        int step = Math.max(1, segmentSize / 2);
+        for (byte[] sample : samples) {
+            if (sample == null) {
+                continue;
+            }
+
+            for (int i = 0; i + segmentSize <= sample.length; i += step) {
+                counts.computeIfAbsent(new Segment(sample, i, segmentSize), k -> new int[1])[0]++;
+            }
+        }
+
+        List<Map.Entry<Segment, int[]>> ranked = new ArrayList<>(counts.entrySet());
+        ranked.removeIf(e -> e.getValue()[0] < 2);
+        ranked.sort((a, b) -> Integer.compare(b.getValue()[0], a.getValue()[0]));
+
+        int keep = Math.min(ranked.size(), size / segmentSize);
+        ByteArrayOutputStream dictionary = new ByteArrayOutputStream(keep * segmentSize);
+        for (int i = keep - 1; i >= 0; i--) {
+            Segment segment = ranked.get(i).getKey();
+            dictionary.write(segment.data, segment.offset, segment.length);
+        }
+
+        return dictionary.toByteArray();
+    }
+
+    private static final class Segment {
+        private final byte[] data;
+        private final int offset;
+        private final int length;
+        private final int hash;
+
+        private Segment(byte[] data, int offset, int length) {
+            this.data = data;
+            this.offset = offset;
+            this.length = length;
+            int h = 1;
+            for (int i = offset; i < offset + length; i++) {
+                h = 31 * h + data[i];
+            }
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Segment other) || other.hash != hash || other.length != length) {
+                return false;
+            }
+
+            return Arrays.equals(data, offset, offset + length, other.data, other.offset, other.offset + length);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
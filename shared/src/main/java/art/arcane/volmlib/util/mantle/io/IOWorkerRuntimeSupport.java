@@ -32,22 +32,46 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 public final class IOWorkerRuntimeSupport {
     private static final int STAGING_HEAP_LIMIT = 4 * 1024 * 1024;
 
     private final IOWorkerSupport ioWorkerSupport;
     private final IOWorkerCodecSupport codecSupport;
+    private final ReadMode readMode;
 
     public IOWorkerRuntimeSupport(IOWorkerSupport ioWorkerSupport, IOWorkerCodecSupport codecSupport) {
+        this(ioWorkerSupport, codecSupport, ReadMode.STREAM);
+    }
+
+    public IOWorkerRuntimeSupport(IOWorkerSupport ioWorkerSupport, IOWorkerCodecSupport codecSupport, ReadMode readMode) {
         this.ioWorkerSupport = ioWorkerSupport;
         this.codecSupport = codecSupport == null ? IOWorkerCodecSupport.identity() : codecSupport;
+        this.readMode = readMode == ReadMode.MAPPED && DelegateStream.canUnmap() ? ReadMode.MAPPED : ReadMode.STREAM;
     }
 
+    /**
+     * @return the read mode in effect, which is {@link ReadMode#STREAM} when mapping was asked for but the runtime
+     * cannot release mappings
+     */
+    public ReadMode getReadMode() {
+        return readMode;
+    }
+
+    /**
+     * Decodes a plate under the channel lease. In {@link ReadMode#MAPPED} the codec reads straight
+     * from the mapped file, and the mark buffer is only added when the decoded stream lacks one.
+     * The mapping is released before the lease is, so the reader must not retain the stream past
+     * its return.
+     */
     public <T> T read(String name, PlateReader<T> reader) throws IOException {
         return ioWorkerSupport.withChannel(name, channel -> {
-            try (InputStream decoded = codecSupport.decode(channel.read());
-                 CountingDataInputStream in = CountingDataInputStream.wrap(new BufferedInputStream(decoded))) {
+            try (InputStream raw = open(channel);
+                 InputStream decoded = codecSupport.decode(raw);
+                 CountingDataInputStream in = CountingDataInputStream.wrap(markable(decoded))) {
                 return reader.read(name, in);
             }
         });
@@ -90,14 +114,79 @@ public final class IOWorkerRuntimeSupport {
         }
     }
 
+    /**
+     * Batched form of {@link #writeAtomically}. Every plate is encoded before any channel is
+     * touched, so one failing writer leaves the whole batch unwritten. The payloads are then
+     * written without forcing, and each touched channel is forced once at the end, which keeps
+     * the fsyncs of a batch back to back instead of interleaved with encoding.
+     */
+    public <T> void writeBatchAtomically(Map<String, T> values, String tempPrefix, String tempSuffix, PlateWriter<T> writer) throws IOException {
+        List<StagedPlate> staged = new ArrayList<>(values.size());
+        try {
+            for (T value : values.values()) {
+                StagedPlate plate = new StagedPlate(tempPrefix, tempSuffix);
+                staged.add(plate);
+                try (OutputStream encoded = codecSupport.encode(plate);
+                     DataOutputStream out = new DataOutputStream(new BufferedOutputStream(encoded))) {
+                    writer.write(value, out);
+                    out.flush();
+                }
+            }
+
+            int index = 0;
+            for (String name : values.keySet()) {
+                StagedPlate plate = staged.get(index++);
+                ioWorkerSupport.withChannel(name, channel -> {
+                    try (OutputStream out = channel.writeDeferred()) {
+                        plate.transferTo(out);
+                        out.flush();
+                    }
+                });
+            }
+
+            for (String name : values.keySet()) {
+                ioWorkerSupport.withChannel(name, SynchronizedChannel::force);
+            }
+        } finally {
+            IOException failure = null;
+            for (StagedPlate plate : staged) {
+                try {
+                    plate.discard();
+                } catch (IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
     public void dumpDecoded(String name, Path target) throws IOException {
         ioWorkerSupport.withChannel(name, channel -> {
-            try (InputStream decoded = codecSupport.decode(channel.read())) {
+            try (InputStream raw = open(channel);
+                 InputStream decoded = codecSupport.decode(raw)) {
                 Files.copy(decoded, target, StandardCopyOption.REPLACE_EXISTING);
             }
         });
     }
 
+    private InputStream open(SynchronizedChannel channel) throws IOException {
+        return readMode == ReadMode.MAPPED ? channel.map() : channel.read();
+    }
+
+    private InputStream markable(InputStream decoded) {
+        if (readMode == ReadMode.MAPPED && decoded.markSupported()) {
+            return decoded;
+        }
+
+        return new BufferedInputStream(decoded);
+    }
+
     /**
      * Staging sink for an encoded plate. Buffers on the heap and spills to a temp file once the
      * plate grows past {@link #STAGING_HEAP_LIMIT}. {@link #close()} is called by the codec chain
@@ -174,6 +263,19 @@ public final class IOWorkerRuntimeSupport {
         }
     }
 
+    public enum ReadMode {
+        /**
+         * Reads the region file through a buffered channel stream.
+         */
+        STREAM,
+        /**
+         * Maps the region file read-only and decodes directly from the mapping, which is unmapped
+         * as soon as the plate is read. Falls back to {@link #STREAM} on runtimes that cannot
+         * unmap a buffer deterministically.
+         */
+        MAPPED
+    }
+
     @FunctionalInterface
     public interface PlateReader<T> {
         T read(String name, CountingDataInputStream input) throws IOException;
@@ -0,0 +1,137 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package art.arcane.volmlib.util.mantle.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Codec chain that prefixes every stream with a small header naming the codec that wrote it, so
+ * regions written with different codecs can live side by side and be read without configuration.
+ * Headerless streams from before the chain existed fall back to LZ4 when they carry the LZ4 block
+ * magic and to the configured legacy codec otherwise.
+ */
+public final class SelfDescribingIOWorkerCodecSupport implements IOWorkerCodecSupport {
+    public static final int IDENTITY = 0;
+    public static final int LZ4 = 1;
+    public static final int DEFLATE = 2;
+    public static final int DEFLATE_DICTIONARY = 3;
+
+    private static final byte[] MAGIC = {'V', 'M', 'C', 1};
+    private static final byte[] LZ4_MAGIC = "LZ4Block".getBytes(StandardCharsets.US_ASCII);
+    private static final int PEEK = Math.max(MAGIC.length + 1, LZ4_MAGIC.length);
+
+    private final IOWorkerCodecSupport[] codecs = new IOWorkerCodecSupport[256];
+    private final IOWorkerCodecSupport legacy;
+    private final int writeCodec;
+
+    public SelfDescribingIOWorkerCodecSupport(int writeCodec) {
+        this(writeCodec, new Lz4IOWorkerCodecSupport(), null);
+    }
+
+    public SelfDescribingIOWorkerCodecSupport(int writeCodec, IOWorkerCodecSupport legacy, byte[] dictionary) {
+        this.legacy = legacy == null ? IOWorkerCodecSupport.identity() : legacy;
+        codecs[IDENTITY] = IOWorkerCodecSupport.identity();
+        codecs[LZ4] = new Lz4IOWorkerCodecSupport();
+        codecs[DEFLATE] = new DeflateIOWorkerCodecSupport();
+        if (dictionary != null && dictionary.length > 0) {
+            codecs[DEFLATE_DICTIONARY] = new DeflateIOWorkerCodecSupport(6, dictionary);
+        }
+
+        this.writeCodec = checkId(writeCodec);
+        if (codecs[writeCodec] == null) {
+            throw new IllegalArgumentException("No codec registered for id " + writeCodec);
+        }
+    }
+
+    /**
+     * Registers an additional codec. Ids are written to disk, so they must never be reused for a
+     * different format once data has been written with them.
+     */
+    public SelfDescribingIOWorkerCodecSupport register(int id, IOWorkerCodecSupport codec) {
+        checkId(id);
+        if (codec == null) {
+            throw new IllegalArgumentException("Codec must not be null");
+        }
+
+        codecs[id] = codec;
+        return this;
+    }
+
+    public int getWriteCodec() {
+        return writeCodec;
+    }
+
+    public IOWorkerCodecSupport getCodec(int id) {
+        return codecs[checkId(id)];
+    }
+
+    /**
+     * Returns the codec id recorded in the header, or -1 for a headerless legacy stream.
+     */
+    public static int detect(byte[] head, int length) {
+        if (length > MAGIC.length && Arrays.equals(head, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+            return head[MAGIC.length] & 0xFF;
+        }
+
+        return -1;
+    }
+
+    @Override
+    public InputStream decode(InputStream input) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(input, PEEK);
+        byte[] head = new byte[PEEK];
+        int read = in.readNBytes(head, 0, PEEK);
+        int id = detect(head, read);
+
+        if (id < 0) {
+            in.unread(head, 0, read);
+            boolean lz4 = read >= LZ4_MAGIC.length && Arrays.equals(head, 0, LZ4_MAGIC.length, LZ4_MAGIC, 0, LZ4_MAGIC.length);
+            return (lz4 ? codecs[LZ4] : legacy).decode(in);
+        }
+
+        int header = MAGIC.length + 1;
+        in.unread(head, header, read - header);
+        IOWorkerCodecSupport codec = codecs[id];
+        if (codec == null) {
+            throw new IOException("Unknown codec id " + id + " in region header");
+        }
+
+        return codec.decode(in);
+    }
+
+    @Override
+    public OutputStream encode(OutputStream output) throws IOException {
+        output.write(MAGIC);
+        output.write(writeCodec);
+        return codecs[writeCodec].encode(output);
+    }
+
+    private static int checkId(int id) {
+        if (id < 0 || id > 255) {
+            throw new IllegalArgumentException("Codec id must be between 0 and 255, got " + id);
+        }
+
+        return id;
+    }
+}
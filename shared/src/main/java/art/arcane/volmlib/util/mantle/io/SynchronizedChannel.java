@@ -42,6 +42,13 @@ public class SynchronizedChannel implements Closeable {
         return DelegateStream.read(channel);
     }
 
+    public InputStream map() throws IOException {
+        if (closed) {
+            throw new IOException("Channel is closed!");
+        }
+        return DelegateStream.map(channel);
+    }
+
     public OutputStream write() throws IOException {
         if (closed) {
             throw new IOException("Channel is closed!");
@@ -49,6 +56,20 @@ public class SynchronizedChannel implements Closeable {
         return DelegateStream.write(channel);
     }
 
+    public OutputStream writeDeferred() throws IOException {
+        if (closed) {
+            throw new IOException("Channel is closed!");
+        }
+        return DelegateStream.writeDeferred(channel);
+    }
+
+    public void force() throws IOException {
+        if (closed) {
+            throw new IOException("Channel is closed!");
+        }
+        channel.force(true);
+    }
+
     @Override
     public void close() {
         if (closed) {
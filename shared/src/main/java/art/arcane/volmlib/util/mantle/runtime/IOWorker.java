@@ -10,6 +10,7 @@ import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Map;
 
 public class IOWorker<P> implements Closeable {
     private final IOWorkerSupport support;
@@ -27,8 +28,16 @@ public class IOWorker<P> implements Closeable {
                     IOWorkerCodecSupport codec,
                     int maxCacheSize,
                     IOWorkerSupport.AcquireListener acquireListener) {
+        this(root, codec, maxCacheSize, acquireListener, IOWorkerRuntimeSupport.ReadMode.STREAM);
+    }
+
+    public IOWorker(File root,
+                    IOWorkerCodecSupport codec,
+                    int maxCacheSize,
+                    IOWorkerSupport.AcquireListener acquireListener,
+                    IOWorkerRuntimeSupport.ReadMode readMode) {
         this.support = new IOWorkerSupport(root, maxCacheSize, acquireListener);
-        this.runtime = new IOWorkerRuntimeSupport(support, codec);
+        this.runtime = new IOWorkerRuntimeSupport(support, codec, readMode);
     }
 
     public P read(String name, RegionReader<P> reader) throws IOException {
@@ -43,6 +52,13 @@ public class IOWorker<P> implements Closeable {
         runtime.writeAtomically(name, tempPrefix, tempSuffix, region, writer::write);
     }
 
+    public void writeBatch(String tempPrefix,
+                           String tempSuffix,
+                           Map<String, P> regions,
+                           RegionWriter<P> writer) throws IOException {
+        runtime.writeBatchAtomically(regions, tempPrefix, tempSuffix, writer::write);
+    }
+
     public void dumpDecoded(String name, Path output) throws IOException {
         runtime.dumpDecoded(name, output);
     }
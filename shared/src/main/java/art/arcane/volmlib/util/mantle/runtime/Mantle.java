@@ -40,21 +40,17 @@ public class Mantle<M> extends art.arcane.volmlib.util.mantle.Mantle<TectonicPla
 
     @Override
     protected <T> void setChunkValue(MantleChunk<M> chunk, int x, int y, int z, T value) {
-        M section = chunk.getOrCreate(y >> 4);
-        Class<?> type = adapter().classifyValue(value);
-        adapter().set(section, x & 15, y & 15, z & 15, type, value);
+        chunk.set(x, y, z, value);
     }
 
     @Override
     protected <T> void removeChunkValue(MantleChunk<M> chunk, int x, int y, int z, Class<T> type) {
-        M section = chunk.getOrCreate(y >> 4);
-        adapter().remove(section, x & 15, y & 15, z & 15, type);
+        chunk.remove(x, y, z, type);
     }
 
     @Override
     protected <T> T getChunkValue(MantleChunk<M> chunk, int x, int y, int z, Class<T> type) {
-        M section = chunk.getOrCreate(y >> 4);
-        return adapter().get(section, x & 15, y & 15, z & 15, type);
+        return chunk.get(x, y, z, type);
     }
 
     @Override
@@ -84,15 +84,32 @@ public class MantleChunk<M> extends art.arcane.volmlib.util.mantle.MantleChunk<M
         super.copyFrom(chunk);
     }
 
+    public <T> void set(int x, int y, int z, T value) {
+        int index = y >> 4;
+        M section = getOrCreateSection(index);
+        adapter().set(section, x & 15, y & 15, z & 15, adapter().classifyValue(value), value);
+        markModified(index);
+    }
+
+    public <T> void remove(int x, int y, int z, Class<T> type) {
+        int index = y >> 4;
+        M section = getOrCreateSection(index);
+        adapter().remove(section, x & 15, y & 15, z & 15, type);
+        markModified(index);
+    }
+
     public <T> T get(int x, int y, int z, Class<T> type) {
-        M section = getOrCreate(y >> 4);
+        M section = peek(y >> 4);
+        if (section == null) {
+            return null;
+        }
         return adapter().get(section, x & 15, y & 15, z & 15, type);
     }
 
     public <T> void iterate(Class<T> type, Consumer4<Integer, Integer, Integer, T> iterator) {
         for (int index = 0; index < sectionCount(); index++) {
             int baseY = index << 4;
-            M section = get(index);
+            M section = peek(index);
             if (section == null) {
                 continue;
             }
@@ -103,9 +120,10 @@ public class MantleChunk<M> extends art.arcane.volmlib.util.mantle.MantleChunk<M
 
     public void deleteSlices(Class<?> type) {
         for (int index = 0; index < sectionCount(); index++) {
-            M section = get(index);
+            M section = peek(index);
             if (section != null && adapter().hasSlice(section, type)) {
                 adapter().deleteSlice(section, type);
+                markModified(index);
             }
         }
     }
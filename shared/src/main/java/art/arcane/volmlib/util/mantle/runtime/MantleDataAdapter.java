@@ -30,4 +30,13 @@ public interface MantleDataAdapter<M> {
     boolean hasSlice(M section, Class<?> type);
 
     void deleteSlice(M section, Class<?> type);
+
+    /**
+     * Approximate heap held by a decoded chunk, used to size plates for heap-pressure unloading.
+     * Adapters that can size their sections should sum them here; the default keeps the mantle's
+     * flat per-chunk estimate.
+     */
+    default long estimateChunkSize(MantleChunk<M> chunk, long flatEstimate) {
+        return flatEstimate;
+    }
 }
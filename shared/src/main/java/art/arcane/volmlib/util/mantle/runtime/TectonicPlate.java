@@ -4,9 +4,12 @@ import art.arcane.volmlib.util.io.CountingDataInputStream;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.concurrent.Executor;
 
 public class TectonicPlate<M> extends art.arcane.volmlib.util.mantle.TectonicPlate<MantleChunk<M>> {
     public static final int MISSING = art.arcane.volmlib.util.mantle.TectonicPlate.MISSING;
+    public static final int SEQUENTIAL = art.arcane.volmlib.util.mantle.TectonicPlate.SEQUENTIAL;
+    public static final int INDEXED = art.arcane.volmlib.util.mantle.TectonicPlate.INDEXED;
     public static final int CURRENT = art.arcane.volmlib.util.mantle.TectonicPlate.CURRENT;
 
     private static final ThreadLocal<ConstructionContext<?>> CONSTRUCTION_CONTEXT = new ThreadLocal<>();
@@ -41,6 +44,21 @@ public class TectonicPlate<M> extends art.arcane.volmlib.util.mantle.TectonicPla
         }
     }
 
+    /**
+     * Reads a plate and decodes all of its chunks on {@code decoder} before returning it, instead of leaving each
+     * chunk to decode on first access.
+     */
+    public static <M> TectonicPlate<M> read(int worldHeight,
+                                            CountingDataInputStream din,
+                                            boolean versioned,
+                                            MantleDataAdapter<M> adapter,
+                                            MantleHooks hooks,
+                                            Executor decoder) throws IOException {
+        TectonicPlate<M> plate = read(worldHeight, din, versioned, adapter, hooks);
+        plate.decodeAll(decoder);
+        return plate;
+    }
+
     @Override
     protected void beforeReadChunk(int index) {
         hooks().onBeforeReadChunk(index);
@@ -91,6 +109,11 @@ public class TectonicPlate<M> extends art.arcane.volmlib.util.mantle.TectonicPla
         chunk.write(dos);
     }
 
+    @Override
+    protected long estimateChunkSize(MantleChunk<M> chunk, long chunkBytes) {
+        return adapter().estimateChunkSize(chunk, chunkBytes);
+    }
+
     public static void addError() {
         art.arcane.volmlib.util.mantle.TectonicPlate.addError();
     }
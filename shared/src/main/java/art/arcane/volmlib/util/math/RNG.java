@@ -23,16 +23,41 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Random;
 import java.util.UUID;
-
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Convenience random source used throughout generation. Draws never touch {@link Random}'s atomic seed:
+ * <ul>
+ *     <li>Seeded instances ({@link #RNG(long)}) step the same 48-bit LCG as {@link Random} in a plain field, so
+ *     existing seeds keep producing exactly the same sequences.</li>
+ *     <li>Fast instances ({@link #fast(long)}, {@link #split()}, {@link #jump()}) run xoroshiro128++ seeded through
+ *     SplitMix64, so neighbouring seeds give unrelated streams.</li>
+ *     <li>Unseeded instances, including {@link #r}, draw from {@link ThreadLocalRandom} and can be shared between
+ *     threads without contention.</li>
+ * </ul>
+ * Seeded and fast instances are not thread safe; give each worker its own via {@link #split()} or {@link #jump()}.
+ */
 public class RNG extends Random {
     public static final RNG r = new RNG();
     private static final char[] CHARGEN = "1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ-=!@#$%^&*()_+`~[];',./<>?:\\\"{}|\\\\".toCharArray();
     private static final long serialVersionUID = 5222938581174415179L;
+    private static final int LEGACY = 0;
+    private static final int FAST = 1;
+    private static final int SHARED = 2;
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long[] JUMP = {0x2BD7A6A6E99C2DDCL, 0x0992CCAF6A6FCA05L};
     private final long sx;
+    private int mode;
+    private long s0;
+    private long s1;
 
     public RNG() {
-        super();
+        super(0);
         sx = 0;
+        mode = SHARED;
     }
 
     public RNG(long seed) {
@@ -49,12 +74,141 @@ public class RNG extends Random {
         this(UUID.nameUUIDFromBytes(seed.getBytes(StandardCharsets.UTF_8)).getLeastSignificantBits() + UUID.nameUUIDFromBytes(seed.getBytes(StandardCharsets.UTF_8)).getMostSignificantBits() + (seed.length() * 32564L));
     }
 
+    private RNG(long seed, long s0, long s1) {
+        super(0);
+        this.sx = seed;
+        this.mode = FAST;
+        this.s0 = s0;
+        this.s1 = s1;
+    }
+
+    /**
+     * Creates a xoroshiro128++ generator. Sequences differ from {@link #RNG(long)} for the same seed.
+     *
+     * @param seed the seed
+     */
+    public static RNG fast(long seed) {
+        long a = mix(seed + GOLDEN_GAMMA);
+        long b = mix(seed + (2 * GOLDEN_GAMMA));
+        return new RNG(seed, a, (a | b) == 0 ? GOLDEN_GAMMA : b);
+    }
+
+    /**
+     * Children of seeded instances keep the historic {@code seed + signature} derivation so existing worlds are
+     * unchanged. Children of fast instances are fast generators over the same sum, which SplitMix64 decorrelates.
+     */
     public RNG nextParallelRNG(int signature) {
-        return new RNG(sx + signature);
+        return nextParallelRNG((long) signature);
     }
 
     public RNG nextParallelRNG(long signature) {
-        return new RNG(sx + signature);
+        return mode == FAST ? fast(sx + signature) : new RNG(sx + signature);
+    }
+
+    /**
+     * Returns a fast generator seeded from the next two draws of this one, for handing to another worker.
+     */
+    public RNG split() {
+        return fast(nextLong() ^ mix(nextLong()));
+    }
+
+    /**
+     * Returns a generator continuing this one's current sequence and advances this one by 2<sup>64</sup> draws, so
+     * repeated calls hand out non-overlapping streams. Only fast generators can jump; others {@link #split()}.
+     */
+    public RNG jump() {
+        if (mode != FAST) {
+            return split();
+        }
+
+        RNG copy = new RNG(sx, s0, s1);
+        long j0 = 0;
+        long j1 = 0;
+        for (long jump : JUMP) {
+            for (int b = 0; b < 64; b++) {
+                if ((jump & (1L << b)) != 0) {
+                    j0 ^= s0;
+                    j1 ^= s1;
+                }
+
+                nextFast();
+            }
+        }
+
+        s0 = j0;
+        s1 = j1;
+        return copy;
+    }
+
+    public boolean isFast() {
+        return mode == FAST;
+    }
+
+    /**
+     * Reseeds in place. Fast generators stay fast; unseeded ones switch to the {@link Random} sequence for the seed.
+     * {@link #getSeed()} keeps reporting the construction seed.
+     */
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        if (mode == FAST) {
+            RNG seeded = fast(seed);
+            s0 = seeded.s0;
+            s1 = seeded.s1;
+        } else {
+            mode = LEGACY;
+            s0 = (seed ^ MULTIPLIER) & MASK;
+        }
+    }
+
+    @Override
+    protected int next(int bits) {
+        switch (mode) {
+            case LEGACY -> {
+                s0 = (s0 * MULTIPLIER + ADDEND) & MASK;
+                return (int) (s0 >>> (48 - bits));
+            }
+            case FAST -> {
+                return (int) (nextFast() >>> (64 - bits));
+            }
+            default -> {
+                return ThreadLocalRandom.current().nextInt() >>> (32 - bits);
+            }
+        }
+    }
+
+    @Override
+    public long nextLong() {
+        return switch (mode) {
+            case FAST -> nextFast();
+            case SHARED -> ThreadLocalRandom.current().nextLong();
+            default -> super.nextLong();
+        };
+    }
+
+    @Override
+    public double nextDouble() {
+        return switch (mode) {
+            case FAST -> (nextFast() >>> 11) * 0x1.0p-53;
+            case SHARED -> ThreadLocalRandom.current().nextDouble();
+            default -> super.nextDouble();
+        };
+    }
+
+    private long nextFast() {
+        long a = s0;
+        long b = s1;
+        long result = Long.rotateLeft(a + b, 17) + a;
+        b ^= a;
+        s0 = Long.rotateLeft(a, 49) ^ b ^ (b << 21);
+        s1 = Long.rotateLeft(b, 28);
+        return result;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
     }
 
     public String s(int length) {
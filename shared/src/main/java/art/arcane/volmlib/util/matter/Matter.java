@@ -14,7 +14,11 @@ import java.util.Set;
 import java.util.function.Function;
 
 public interface Matter {
-    int VERSION = 1;
+    int VERSION = 2;
+    /**
+     * First version that stores strings once in a {@link MatterDictionary} after the header.
+     */
+    int DICTIONARY_VERSION = 2;
 
     final class BukkitDetection {
         static final boolean PRESENT = detect();
@@ -54,36 +58,42 @@ public interface Matter {
         Matter matter = matterFactory.apply(new BlockPosition(din.readInt(), din.readInt(), din.readInt()));
         int sliceCount = Byte.toUnsignedInt(din.readByte());
         matter.getHeader().read(din);
+        MatterDictionary dictionary = matter.getHeader().getVersion() >= DICTIONARY_VERSION ? MatterDictionary.read(din) : null;
+        MatterDictionary previous = MatterDictionary.enter(dictionary);
+
+        try {
+            for (int i = 0; i < sliceCount; i++) {
+                int size = din.readInt();
+                if (size <= 0) {
+                    continue;
+                }
 
-        for (int i = 0; i < sliceCount; i++) {
-            int size = din.readInt();
-            if (size <= 0) {
-                continue;
-            }
-
-            long start = din.count();
-            long end = start + size;
+                long start = din.count();
+                long end = start + size;
 
-            try {
-                String canonicalName = din.readUTF();
-                Class<?> type = Class.forName(canonicalName);
-                MatterSlice<?> slice = matter.createSlice(type, matter);
+                try {
+                    String canonicalName = MatterDictionary.readString(din);
+                    Class<?> type = Class.forName(canonicalName);
+                    MatterSlice<?> slice = matter.createSlice(type, matter);
 
-                if (slice != null) {
-                    slice.read(din);
-                    matter.putSlice(type, slice);
+                    if (slice != null) {
+                        slice.read(din);
+                        matter.putSlice(type, slice);
+                    }
+                } catch (Throwable ignored) {
+                    // Unknown or incompatible slice payload; skip to the advertised boundary.
                 }
-            } catch (Throwable ignored) {
-                // Unknown or incompatible slice payload; skip to the advertised boundary.
-            }
 
-            if (din.count() < end) {
-                din.skipTo(end);
-            }
+                if (din.count() < end) {
+                    din.skipTo(end);
+                }
 
-            if (din.count() != end) {
-                throw new IOException("Matter slice read size mismatch");
+                if (din.count() != end) {
+                    throw new IOException("Matter slice read size mismatch");
+                }
             }
+        } finally {
+            MatterDictionary.exit(previous);
         }
 
         return matter;
@@ -226,29 +236,42 @@ public interface Matter {
 
     default void writeDos(DataOutputStream dos) throws IOException {
         trimSlices();
+        getHeader().setVersion(VERSION);
         dos.writeInt(getWidth());
         dos.writeInt(getHeight());
         dos.writeInt(getDepth());
         dos.writeByte(getSliceTypes().size());
         getHeader().write(dos);
 
+        // Slices are buffered first so the dictionary they fill can be written ahead of them.
+        MatterDictionary dictionary = new MatterDictionary();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+        DataOutputStream bodyOut = new DataOutputStream(body);
         ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
         DataOutputStream sub = new DataOutputStream(bytes);
+        MatterDictionary previous = MatterDictionary.enter(dictionary);
 
-        for (Class<?> type : getSliceTypes()) {
-            MatterSlice<?> slice = getSlice(type);
-            if (slice == null) {
-                continue;
-            }
+        try {
+            for (Class<?> type : getSliceTypes()) {
+                MatterSlice<?> slice = getSlice(type);
+                if (slice == null) {
+                    continue;
+                }
 
-            try {
-                slice.write(sub);
-                dos.writeInt(bytes.size());
-                bytes.writeTo(dos);
-            } finally {
-                bytes.reset();
+                try {
+                    slice.write(sub);
+                    bodyOut.writeInt(bytes.size());
+                    bytes.writeTo(bodyOut);
+                } finally {
+                    bytes.reset();
+                }
             }
+        } finally {
+            MatterDictionary.exit(previous);
         }
+
+        dictionary.write(dos);
+        body.writeTo(dos);
     }
 
     default int getTotalCount() {
@@ -0,0 +1,103 @@
+package art.arcane.volmlib.util.matter;
+
+import art.arcane.volmlib.util.data.Varint;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * String table shared by everything written inside one {@link Matter}. While a dictionary is active on the current
+ * thread, {@link #writeString(String, DataOutputStream)} emits a varint id and the string itself is stored once in
+ * the table. With no active dictionary strings are written inline as UTF, which is the layout of version 1 files.
+ */
+public final class MatterDictionary {
+    private static final ThreadLocal<MatterDictionary> ACTIVE = new ThreadLocal<>();
+
+    private final List<String> strings;
+    private final Map<String, Integer> ids;
+
+    public MatterDictionary() {
+        this.strings = new ArrayList<>();
+        this.ids = new HashMap<>();
+    }
+
+    public static MatterDictionary read(DataInputStream din) throws IOException {
+        MatterDictionary dictionary = new MatterDictionary();
+        int size = Varint.readUnsignedVarInt(din);
+        for (int i = 0; i < size; i++) {
+            dictionary.strings.add(din.readUTF());
+        }
+
+        return dictionary;
+    }
+
+    /**
+     * Makes {@code dictionary} the active one for this thread, or none when {@code null}.
+     *
+     * @return the previously active dictionary, to hand back to {@link #exit(MatterDictionary)}
+     */
+    public static MatterDictionary enter(MatterDictionary dictionary) {
+        MatterDictionary previous = ACTIVE.get();
+        ACTIVE.set(dictionary);
+        return previous;
+    }
+
+    public static void exit(MatterDictionary previous) {
+        if (previous == null) {
+            ACTIVE.remove();
+        } else {
+            ACTIVE.set(previous);
+        }
+    }
+
+    public static void writeString(String value, DataOutputStream dos) throws IOException {
+        MatterDictionary dictionary = ACTIVE.get();
+        if (dictionary == null) {
+            dos.writeUTF(value);
+            return;
+        }
+
+        Varint.writeUnsignedVarInt(dictionary.id(value), dos);
+    }
+
+    public static String readString(DataInputStream din) throws IOException {
+        MatterDictionary dictionary = ACTIVE.get();
+        if (dictionary == null) {
+            return din.readUTF();
+        }
+
+        int id = Varint.readUnsignedVarInt(din);
+        if (id >= dictionary.strings.size()) {
+            throw new IOException("Matter dictionary id " + id + " out of " + dictionary.strings.size() + " entries");
+        }
+
+        return dictionary.strings.get(id);
+    }
+
+    public void write(DataOutputStream dos) throws IOException {
+        Varint.writeUnsignedVarInt(strings.size(), dos);
+        for (String value : strings) {
+            dos.writeUTF(value);
+        }
+    }
+
+    public int size() {
+        return strings.size();
+    }
+
+    private int id(String value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = strings.size();
+            strings.add(value);
+            ids.put(value, id);
+        }
+
+        return id;
+    }
+}
@@ -200,7 +200,7 @@ public interface MatterSlice<T> extends HunkLike<T>, Writable<T> {
     }
 
     default void write(DataOutputStream dos) throws IOException {
-        dos.writeUTF(getType().getCanonicalName());
+        MatterDictionary.writeString(getType().getCanonicalName(), dos);
 
         if (this instanceof PaletteOrHunk<?> palette && palette.isPalette()) {
             palette.palette().writeDos(dos);
@@ -18,7 +18,9 @@
 
 package art.arcane.volmlib.util.matter.slices;
 
+import art.arcane.volmlib.util.collection.KMap;
 import art.arcane.volmlib.util.data.palette.Palette;
+import art.arcane.volmlib.util.matter.MatterDictionary;
 import art.arcane.volmlib.util.matter.Sliced;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
@@ -33,6 +35,8 @@ import java.lang.reflect.Method;
 @Sliced
 public class BlockMatter extends RawMatter<BlockData> {
     public static final BlockData AIR = Material.AIR.createBlockData();
+    private static final int PARSED_LIMIT = 65_536;
+    private static final KMap<String, BlockData> PARSED = new KMap<>();
 
     public BlockMatter() {
         this(1, 1, 1);
@@ -72,26 +76,42 @@ public class BlockMatter extends RawMatter<BlockData> {
 
     @Override
     public void writeNode(BlockData b, DataOutputStream dos) throws IOException {
-        dos.writeUTF(b.getAsString(true));
+        MatterDictionary.writeString(b.getAsString(true), dos);
     }
 
+    /**
+     * States Bukkit parses are cached process-wide by their string; each read hands out a clone, since block data is
+     * mutable. Strings it rejects are not cached and fall back to their material, or air, on every read.
+     */
     @Override
     public BlockData readNode(DataInputStream din) throws IOException {
-        String serialized = din.readUTF();
-
-        try {
-            return Bukkit.createBlockData(serialized);
-        } catch (Throwable ignored) {
-            Material material = Material.matchMaterial(serialized, false);
-            if (material == null) {
-                return AIR;
+        String serialized = MatterDictionary.readString(din);
+        BlockData parsed = PARSED.get(serialized);
+        if (parsed == null) {
+            try {
+                parsed = Bukkit.createBlockData(serialized);
+            } catch (Throwable ignored) {
+                return fallback(serialized);
             }
 
-            try {
-                return material.createBlockData();
-            } catch (Throwable ignoredToo) {
-                return AIR;
+            if (PARSED.size() < PARSED_LIMIT) {
+                PARSED.putIfAbsent(serialized, parsed);
             }
         }
+
+        return parsed.clone();
+    }
+
+    private static BlockData fallback(String serialized) {
+        Material material = Material.matchMaterial(serialized, false);
+        if (material == null) {
+            return AIR.clone();
+        }
+
+        try {
+            return material.createBlockData();
+        } catch (Throwable ignored) {
+            return AIR.clone();
+        }
     }
 }
@@ -20,14 +20,58 @@ package art.arcane.volmlib.util.nbt.mca;
 
 import art.arcane.volmlib.util.nbt.tag.CompoundTag;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.nio.file.Files;
 
 public interface MCAChunkLike {
     void deserialize(RandomAccessFile raf, long loadFlags) throws IOException;
 
     int serialize(RandomAccessFile raf, int xPos, int zPos) throws IOException;
 
+    /**
+     * Reads the chunk from a region record with the length prefix already consumed: the compression
+     * byte followed by the compressed payload. Used by the channel-based paths of
+     * {@link MCAFileSupport}. The default spools the record to a temporary file and reads it back
+     * through {@link #deserialize(RandomAccessFile, long)}; implementations should override it.
+     */
+    default void deserialize(InputStream input, long loadFlags) throws IOException {
+        File spool = File.createTempFile("mca-chunk", ".tmp");
+        try (RandomAccessFile raf = new RandomAccessFile(spool, "rw")) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) >= 0) {
+                raf.write(buffer, 0, read);
+            }
+
+            raf.seek(0L);
+            deserialize(raf, loadFlags);
+        } finally {
+            Files.deleteIfExists(spool.toPath());
+        }
+    }
+
+    /**
+     * Returns the complete region record (length, compression byte, payload), or an empty array if
+     * the chunk should not be written. The default writes through
+     * {@link #serialize(RandomAccessFile, int, int)} into a temporary file; implementations should
+     * override it, and must not implement the file form on top of this one without doing so.
+     */
+    default byte[] serialize(int xPos, int zPos) throws IOException {
+        File spool = File.createTempFile("mca-chunk", ".tmp");
+        try (RandomAccessFile raf = new RandomAccessFile(spool, "rw")) {
+            int written = serialize(raf, xPos, zPos);
+            byte[] record = new byte[Math.max(written, 0)];
+            raf.seek(0L);
+            raf.readFully(record);
+            return record;
+        } finally {
+            Files.deleteIfExists(spool.toPath());
+        }
+    }
+
     int getLastMCAUpdate();
 
     void setBiomeAt(int blockX, int blockY, int blockZ, int biomeID);
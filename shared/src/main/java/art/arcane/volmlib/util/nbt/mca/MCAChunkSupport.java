@@ -29,8 +29,10 @@ import art.arcane.volmlib.util.nbt.tag.ListTag;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.RandomAccessFile;
 import java.util.function.IntSupplier;
 import java.util.function.Supplier;
@@ -232,20 +234,31 @@ public class MCAChunkSupport<S extends MCASectionLike> implements MCAChunkLike {
     }
 
     public int serialize(RandomAccessFile raf, int xPos, int zPos) throws IOException {
+        byte[] record = serialize(xPos, zPos);
+        raf.write(record);
+        return record.length;
+    }
+
+    @Override
+    public byte[] serialize(int xPos, int zPos) throws IOException {
         if (partial) {
             throw new UnsupportedOperationException("Partially loaded chunks cannot be serialized");
         }
 
         ByteArrayOutputStream baos = new ByteArrayOutputStream(4096);
+        baos.write(new byte[5]);
         try (BufferedOutputStream nbtOut = new BufferedOutputStream(CompressionType.ZLIB.compress(baos))) {
             new NBTSerializer(false).toStream(new NamedTag(null, updateHandle(xPos, zPos)), nbtOut);
         }
 
-        byte[] rawData = baos.toByteArray();
-        raf.writeInt(rawData.length + 1);
-        raf.writeByte(CompressionType.ZLIB.getID());
-        raf.write(rawData);
-        return rawData.length + 5;
+        byte[] record = baos.toByteArray();
+        int length = record.length - 4;
+        record[0] = (byte) (length >>> 24);
+        record[1] = (byte) (length >>> 16);
+        record[2] = (byte) (length >>> 8);
+        record[3] = (byte) length;
+        record[4] = CompressionType.ZLIB.getID();
+        return record;
     }
 
     public void deserialize(RandomAccessFile raf) throws IOException {
@@ -254,11 +267,24 @@ public class MCAChunkSupport<S extends MCASectionLike> implements MCAChunkLike {
 
     public void deserialize(RandomAccessFile raf, long loadFlags) throws IOException {
         byte compressionTypeByte = raf.readByte();
+        deserialize(compressionTypeByte, new FileInputStream(raf.getFD()), loadFlags);
+    }
+
+    @Override
+    public void deserialize(InputStream input, long loadFlags) throws IOException {
+        int compressionTypeByte = input.read();
+        if (compressionTypeByte < 0) {
+            throw new EOFException("missing compression type");
+        }
+        deserialize((byte) compressionTypeByte, input, loadFlags);
+    }
+
+    private void deserialize(byte compressionTypeByte, InputStream input, long loadFlags) throws IOException {
         CompressionType compressionType = CompressionType.getFromID(compressionTypeByte);
         if (compressionType == null) {
             throw new IOException("invalid compression type " + compressionTypeByte);
         }
-        BufferedInputStream dis = new BufferedInputStream(compressionType.decompress(new FileInputStream(raf.getFD())));
+        BufferedInputStream dis = new BufferedInputStream(compressionType.decompress(input));
         NamedTag tag = new NBTDeserializer(false).fromStream(dis);
         if (tag != null && tag.getTag() instanceof CompoundTag) {
             data = (CompoundTag) tag.getTag();
@@ -21,15 +21,31 @@ package art.arcane.volmlib.util.nbt.mca;
 import art.arcane.volmlib.util.collection.KList;
 import art.arcane.volmlib.util.nbt.tag.CompoundTag;
 
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.IntFunction;
 import java.util.function.Supplier;
 
+/**
+ * Region file model. The {@link RandomAccessFile} methods are the original sequential codec; the
+ * {@link FileChannel} overloads read the header in one positional read and decode or compress
+ * chunks in parallel on an optional executor. Chunks should override the stream and buffer forms
+ * of {@link MCAChunkLike}; the defaults spool each chunk through a temporary file.
+ */
 @SuppressWarnings("ALL")
 public class MCAFileSupport<C extends MCAChunkLike> {
     private final int regionX;
@@ -71,6 +87,58 @@ public class MCAFileSupport<C extends MCAChunkLike> {
         }
     }
 
+    public void deserialize(FileChannel channel, long loadFlags, IntFunction<C> chunkFactory, ExecutorService executor) throws IOException {
+        ByteBuffer header = readHeader(channel);
+        AtomicReferenceArray<C> loaded = new AtomicReferenceArray<>(1024);
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 1024; i++) {
+            int entry = header.getInt(i * 4);
+            if ((entry & 0xFF) == 0) {
+                continue;
+            }
+
+            int index = i;
+            int sectors = entry & 0xFF;
+            long position = 4096L * (entry >>> 8);
+            int timestamp = header.getInt(4096 + i * 4);
+            tasks.add(() -> {
+                ByteBuffer length = ByteBuffer.allocate(4);
+                readFully(channel, length, position);
+                byte[] payload = new byte[recordLength(index, position, sectors, length.getInt(0))];
+                readFully(channel, ByteBuffer.wrap(payload), position + 4L);
+                C chunk = chunkFactory.apply(timestamp);
+                chunk.deserialize(new ByteArrayInputStream(payload), loadFlags);
+                loaded.set(index, chunk);
+                return null;
+            });
+        }
+
+        run(tasks, executor);
+        chunks = loaded;
+    }
+
+    public <P> KList<P> samplePositions(FileChannel channel, BiFunction<Integer, Integer, P> pointFactory) throws IOException {
+        ByteBuffer header = readHeader(channel);
+        KList<P> points = new KList<>();
+        chunks = new AtomicReferenceArray<>(1024);
+        int x = 0;
+        int z = 0;
+
+        for (int i = 0; i < 1024; i++) {
+            x++;
+            z++;
+
+            if ((header.getInt(i * 4) & 0xFF) == 0) {
+                continue;
+            }
+
+            points.add(pointFactory.apply(x & 31, (z / 31) & 31));
+        }
+
+        return points;
+    }
+
     public <P> KList<P> samplePositions(RandomAccessFile raf, BiFunction<Integer, Integer, P> pointFactory) throws IOException {
         KList<P> points = new KList<>();
         chunks = new AtomicReferenceArray<>(1024);
@@ -160,6 +228,161 @@ public class MCAFileSupport<C extends MCAChunkLike> {
         return chunksWritten;
     }
 
+    public int serialize(FileChannel channel, boolean changeLastUpdate, ExecutorService executor) throws IOException {
+        if (chunks == null) {
+            return 0;
+        }
+
+        int timestamp = (int) (System.currentTimeMillis() / 1000L);
+        int chunkXOffset = MCAUtilSupport.regionToChunk(regionX);
+        int chunkZOffset = MCAUtilSupport.regionToChunk(regionZ);
+        byte[][] records = new byte[1024][];
+        List<Callable<Void>> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 1024; i++) {
+            C chunk = chunks.get(i);
+            if (chunk == null) {
+                continue;
+            }
+
+            int index = i;
+            int cx = i & 0x1F;
+            int cz = i >> 5;
+            tasks.add(() -> {
+                records[index] = chunk.serialize(chunkXOffset + cx, chunkZOffset + cz);
+                return null;
+            });
+        }
+
+        run(tasks, executor);
+
+        ByteBuffer header = ByteBuffer.allocate(8192);
+        List<ByteBuffer> buffers = new ArrayList<>();
+        buffers.add(header);
+        int globalOffset = 2;
+        int chunksWritten = 0;
+
+        for (int cx = 0; cx < 32; cx++) {
+            for (int cz = 0; cz < 32; cz++) {
+                int index = getChunkIndex(cx, cz);
+                byte[] record = records[index];
+                if (record == null || record.length == 0) {
+                    continue;
+                }
+
+                chunksWritten++;
+                int sectors = (record.length >> 12) + (record.length % 4096 == 0 ? 0 : 1);
+                header.putInt(index * 4, globalOffset << 8 | (sectors & 0xFF));
+                header.putInt(4096 + index * 4, changeLastUpdate ? timestamp : chunks.get(index).getLastMCAUpdate());
+                buffers.add(ByteBuffer.wrap(record));
+                if (record.length % 4096 != 0) {
+                    buffers.add(ByteBuffer.allocate(4096 - record.length % 4096));
+                }
+
+                globalOffset += sectors;
+            }
+        }
+
+        ByteBuffer[] gathered = buffers.toArray(new ByteBuffer[0]);
+        long total = 4096L * globalOffset;
+        long written = 0;
+        channel.position(0);
+        while (written < total) {
+            written += channel.write(gathered);
+        }
+        channel.truncate(total);
+
+        Runnable afterSaveWork = () -> afterSave.forEach(Runnable::run);
+        if (deferredAfterSaveDispatcher != null) {
+            deferredAfterSaveDispatcher.accept(afterSaveWork);
+        } else {
+            afterSaveWork.run();
+        }
+
+        return chunksWritten;
+    }
+
+    /**
+     * Checks a chunk's length prefix against the sectors its header entry reserves, so a corrupt
+     * prefix fails the read instead of sizing the payload buffer.
+     */
+    private static int recordLength(int index, long position, int sectors, int length) throws IOException {
+        if (position < 8192L) {
+            throw new IOException("Chunk " + index + " points into the region header at sector " + (position >> 12));
+        }
+
+        if (length < 1 || length > sectors * 4096 - 4) {
+            throw new IOException("Chunk " + index + " declares " + length + " bytes but its header entry reserves " + sectors + " sectors");
+        }
+
+        return length;
+    }
+
+    private static ByteBuffer readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(8192);
+        long size = channel.size();
+        if (size > 0) {
+            header.limit((int) Math.min(size, 8192L));
+            readFully(channel, header, 0L);
+            header.clear();
+        }
+        return header;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Region file ended at " + position + " with " + buffer.remaining() + " bytes still expected");
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * Runs the tasks on the executor, or inline when there is none, surfacing the first failure
+     * as an {@link IOException}.
+     */
+    private static void run(List<Callable<Void>> tasks, ExecutorService executor) throws IOException {
+        if (executor == null) {
+            for (Callable<Void> task : tasks) {
+                try {
+                    task.call();
+                } catch (IOException | RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IOException(e);
+                }
+            }
+            return;
+        }
+
+        List<Future<Void>> futures = new ArrayList<>(tasks.size());
+        for (Callable<Void> task : tasks) {
+            futures.add(executor.submit(task));
+        }
+
+        IOException failure = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new IOException("Interrupted while processing region chunks", e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    Throwable cause = e.getCause();
+                    failure = cause instanceof IOException io ? io : new IOException(cause);
+                }
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     public void setChunk(int index, C chunk) {
         checkIndex(index);
         if (chunks == null) {
@@ -2,24 +2,40 @@ package art.arcane.volmlib.util.noise;
 
 import art.arcane.volmlib.util.collection.KList;
 import art.arcane.volmlib.util.function.NoiseInjector;
+import art.arcane.volmlib.util.function.PrimitiveNoiseInjector;
 import art.arcane.volmlib.util.math.M;
 import art.arcane.volmlib.util.math.RNG;
 
 public class CNG implements NoiseGenerator {
-    public static final NoiseInjector ADD = (src, value) -> new double[]{src + value, value};
-    public static final NoiseInjector MULTIPLY = (src, value) -> new double[]{src * value, value};
-    public static final NoiseInjector MAX = (src, value) -> new double[]{Math.max(src, value), value};
-    public static final NoiseInjector MIN = (src, value) -> new double[]{Math.min(src, value), value};
-    public static final NoiseInjector SRC_MOD = (src, value) -> new double[]{value == 0D ? src : src % value, value};
-    public static final NoiseInjector DST_MOD = (src, value) -> new double[]{src, src == 0D ? value : value % src};
-    public static final NoiseInjector SRC_SUBTRACT = (src, value) -> new double[]{src - value, value};
-    public static final NoiseInjector DST_SUBTRACT = (src, value) -> new double[]{src, value - src};
-    public static final NoiseInjector SRC_POW = (src, value) -> new double[]{Math.pow(src, value), value};
-    public static final NoiseInjector DST_POW = (src, value) -> new double[]{src, Math.pow(value, src)};
+    public static final NoiseInjector ADD = (PrimitiveNoiseInjector) (src, value, second) -> src + value;
+    public static final NoiseInjector MULTIPLY = (PrimitiveNoiseInjector) (src, value, second) -> src * value;
+    public static final NoiseInjector MAX = (PrimitiveNoiseInjector) (src, value, second) -> Math.max(src, value);
+    public static final NoiseInjector MIN = (PrimitiveNoiseInjector) (src, value, second) -> Math.min(src, value);
+    public static final NoiseInjector SRC_MOD = (PrimitiveNoiseInjector) (src, value, second) -> value == 0D ? src : src % value;
+    public static final NoiseInjector DST_MOD = (PrimitiveNoiseInjector) (src, value, second) -> {
+        if (second != null) {
+            second.value = src == 0D ? value : value % src;
+        }
+        return src;
+    };
+    public static final NoiseInjector SRC_SUBTRACT = (PrimitiveNoiseInjector) (src, value, second) -> src - value;
+    public static final NoiseInjector DST_SUBTRACT = (PrimitiveNoiseInjector) (src, value, second) -> {
+        if (second != null) {
+            second.value = value - src;
+        }
+        return src;
+    };
+    public static final NoiseInjector SRC_POW = (PrimitiveNoiseInjector) (src, value, second) -> Math.pow(src, value);
+    public static final NoiseInjector DST_POW = (PrimitiveNoiseInjector) (src, value, second) -> {
+        if (second != null) {
+            second.value = Math.pow(value, src);
+        }
+        return src;
+    };
 
     private final KList<ChildNoise> children = new KList<>();
     private NoiseGenerator base;
-    private NoiseInjector injector = ADD;
+    private PrimitiveNoiseInjector injector = (PrimitiveNoiseInjector) ADD;
     private double scale = 1D;
     private double patch = 0D;
 
@@ -42,7 +58,7 @@ public class CNG implements NoiseGenerator {
     }
 
     public CNG setInjector(NoiseInjector injector) {
-        this.injector = injector == null ? ADD : injector;
+        this.injector = PrimitiveNoiseInjector.of(injector == null ? ADD : injector);
         return this;
     }
 
@@ -65,6 +81,24 @@ public class CNG implements NoiseGenerator {
         return this;
     }
 
+    /**
+     * Flattens this tree into an immutable plan that evaluates to the same values. See {@link CNGPlan}.
+     */
+    public CNGPlan compile() {
+        return CNGPlan.of(this);
+    }
+
+    void compile(CNGPlan.Builder plan, int depth) {
+        plan.base(depth, base, scale);
+        if (!plan.discards(injector)) {
+            for (ChildNoise i : children) {
+                i.noise.compile(plan, depth + 1);
+                plan.combine(depth, injector, i.amount);
+            }
+        }
+        plan.patch(depth, patch);
+    }
+
     @Override
     public double noise(double x) {
         return noise(x, 0D);
@@ -77,8 +111,7 @@ public class CNG implements NoiseGenerator {
         double src = normalize(base.noise(sx, sz));
         for (ChildNoise i : children) {
             double child = normalize(i.noise.noise(sx, sz));
-            double[] combined = injector.combine(src, child / i.amount);
-            src = normalize(combined[0]);
+            src = normalize(injector.combine(src, child / i.amount, null));
         }
         return normalize(src + patch);
     }
@@ -91,8 +124,7 @@ public class CNG implements NoiseGenerator {
         double src = normalize(base.noise(sx, sy, sz));
         for (ChildNoise i : children) {
             double child = normalize(i.noise.noise(sx, sy, sz));
-            double[] combined = injector.combine(src, child / i.amount);
-            src = normalize(combined[0]);
+            src = normalize(injector.combine(src, child / i.amount, null));
         }
         return normalize(src + patch);
     }
@@ -0,0 +1,310 @@
+package art.arcane.volmlib.util.noise;
+
+import art.arcane.volmlib.util.function.PrimitiveNoiseInjector;
+
+import java.util.Arrays;
+
+/**
+ * A {@link CNG} tree flattened into a linear list of operations over per-depth registers. Built by
+ * {@link CNG#compile()}; immutable, so one plan can be shared by every generator thread. Later changes to the
+ * source CNG are not reflected.
+ * <p>
+ * Scales are applied one level at a time exactly like the tree does, so results are bit-identical to
+ * {@link CNG#noise(double, double)}. Children combined with an injector that discards the child value are
+ * dropped from the plan entirely.
+ */
+public final class CNGPlan implements NoiseGenerator {
+    private static final int BASE = 0;
+    private static final int PATCH = 1;
+    private static final int ADD = 2;
+    private static final int MULTIPLY = 3;
+    private static final int MAX = 4;
+    private static final int MIN = 5;
+    private static final int SRC_MOD = 6;
+    private static final int SRC_SUBTRACT = 7;
+    private static final int SRC_POW = 8;
+    private static final int CUSTOM = 9;
+
+    private final int[] ops;
+    private final int[] depths;
+    private final double[] operands;
+    private final NoiseGenerator[] generators;
+    private final PrimitiveNoiseInjector[] injectors;
+    private final int registers;
+    private final ThreadLocal<double[]> scratch;
+
+    private CNGPlan(Builder builder) {
+        this.ops = Arrays.copyOf(builder.ops, builder.size);
+        this.depths = Arrays.copyOf(builder.depths, builder.size);
+        this.operands = Arrays.copyOf(builder.operands, builder.size);
+        this.generators = Arrays.copyOf(builder.generators, builder.size);
+        this.injectors = Arrays.copyOf(builder.injectors, builder.size);
+        this.registers = builder.maxDepth + 1;
+        this.scratch = ThreadLocal.withInitial(() -> new double[registers * 4]);
+    }
+
+    static CNGPlan of(CNG root) {
+        Builder builder = new Builder();
+        root.compile(builder, 0);
+        return new CNGPlan(builder);
+    }
+
+    public int size() {
+        return ops.length;
+    }
+
+    @Override
+    public double noise(double x) {
+        return noise(x, 0D);
+    }
+
+    @Override
+    public double noise(double x, double z) {
+        double[] r = scratch.get();
+        for (int k = 0; k < ops.length; k++) {
+            int d = depths[k] * 4;
+            switch (ops[k]) {
+                case BASE -> {
+                    double s = operands[k];
+                    double px = d == 0 ? x : r[d - 4];
+                    double pz = d == 0 ? z : r[d - 2];
+                    double sx = s == 1D ? px : px * s;
+                    double sz = s == 1D ? pz : pz * s;
+                    r[d] = sx;
+                    r[d + 2] = sz;
+                    r[d + 3] = normalize(generators[k].noise(sx, sz));
+                }
+                case PATCH -> r[d + 3] = normalize(r[d + 3] + operands[k]);
+                default -> r[d + 3] = normalize(combine(ops[k], r[d + 3], normalize(r[d + 7]) / operands[k], injectors[k]));
+            }
+        }
+
+        return r[3];
+    }
+
+    @Override
+    public double noise(double x, double y, double z) {
+        double[] r = scratch.get();
+        for (int k = 0; k < ops.length; k++) {
+            int d = depths[k] * 4;
+            switch (ops[k]) {
+                case BASE -> {
+                    double s = operands[k];
+                    double px = d == 0 ? x : r[d - 4];
+                    double py = d == 0 ? y : r[d - 3];
+                    double pz = d == 0 ? z : r[d - 2];
+                    double sx = s == 1D ? px : px * s;
+                    double sy = s == 1D ? py : py * s;
+                    double sz = s == 1D ? pz : pz * s;
+                    r[d] = sx;
+                    r[d + 1] = sy;
+                    r[d + 2] = sz;
+                    r[d + 3] = normalize(generators[k].noise(sx, sy, sz));
+                }
+                case PATCH -> r[d + 3] = normalize(r[d + 3] + operands[k]);
+                default -> r[d + 3] = normalize(combine(ops[k], r[d + 3], normalize(r[d + 7]) / operands[k], injectors[k]));
+            }
+        }
+
+        return r[3];
+    }
+
+    /**
+     * Evaluates {@code out[i] = noise(xs[i], zs[i])} for the first {@code length} points, one operation at a time
+     * across all points. Generators are asked for a whole level at once, so bulk kernels are used where present.
+     */
+    @Override
+    public void noise(double[] xs, double[] zs, double[] out, int length) {
+        double[][] cx = new double[registers][];
+        double[][] cz = new double[registers][];
+        double[][] ox = new double[registers][];
+        double[][] oz = new double[registers][];
+        double[][] v = new double[registers][];
+
+        for (int k = 0; k < ops.length; k++) {
+            int d = depths[k];
+            switch (ops[k]) {
+                case BASE -> {
+                    double[] px = d == 0 ? xs : cx[d - 1];
+                    double[] pz = d == 0 ? zs : cz[d - 1];
+                    double[] vx = v[d] = d == 0 ? out : buffer(v, d, length);
+                    double s = operands[k];
+                    NoiseGenerator generator = generators[k];
+                    if (s == 1D) {
+                        cx[d] = px;
+                        cz[d] = pz;
+                    } else {
+                        cx[d] = ox[d] = scaled(px, buffer(ox, d, length), s, length);
+                        cz[d] = oz[d] = scaled(pz, buffer(oz, d, length), s, length);
+                    }
+
+                    generator.noise(cx[d], cz[d], vx, length);
+                    for (int i = 0; i < length; i++) {
+                        vx[i] = normalize(vx[i]);
+                    }
+                }
+                case PATCH -> patch(v[d], operands[k], length);
+                default -> combine(ops[k], v[d], v[d + 1], operands[k], injectors[k], length);
+            }
+        }
+    }
+
+    /**
+     * Evaluates {@code out[i] = noise(xs[i], ys[i], zs[i])} for the first {@code length} points.
+     */
+    public void noise(double[] xs, double[] ys, double[] zs, double[] out, int length) {
+        double[][] cx = new double[registers][];
+        double[][] cy = new double[registers][];
+        double[][] cz = new double[registers][];
+        double[][] ox = new double[registers][];
+        double[][] oy = new double[registers][];
+        double[][] oz = new double[registers][];
+        double[][] v = new double[registers][];
+
+        for (int k = 0; k < ops.length; k++) {
+            int d = depths[k];
+            switch (ops[k]) {
+                case BASE -> {
+                    double[] px = d == 0 ? xs : cx[d - 1];
+                    double[] py = d == 0 ? ys : cy[d - 1];
+                    double[] pz = d == 0 ? zs : cz[d - 1];
+                    double[] vx = v[d] = d == 0 ? out : buffer(v, d, length);
+                    double s = operands[k];
+                    NoiseGenerator generator = generators[k];
+                    if (s == 1D) {
+                        cx[d] = px;
+                        cy[d] = py;
+                        cz[d] = pz;
+                    } else {
+                        cx[d] = ox[d] = scaled(px, buffer(ox, d, length), s, length);
+                        cy[d] = oy[d] = scaled(py, buffer(oy, d, length), s, length);
+                        cz[d] = oz[d] = scaled(pz, buffer(oz, d, length), s, length);
+                    }
+
+                    double[] sx = cx[d];
+                    double[] sy = cy[d];
+                    double[] sz = cz[d];
+                    for (int i = 0; i < length; i++) {
+                        vx[i] = normalize(generator.noise(sx[i], sy[i], sz[i]));
+                    }
+                }
+                case PATCH -> patch(v[d], operands[k], length);
+                default -> combine(ops[k], v[d], v[d + 1], operands[k], injectors[k], length);
+            }
+        }
+    }
+
+    private static double[] buffer(double[][] registers, int depth, int length) {
+        double[] buffer = registers[depth];
+        return buffer != null && buffer.length >= length ? buffer : new double[length];
+    }
+
+    private static double[] scaled(double[] from, double[] to, double scale, int length) {
+        for (int i = 0; i < length; i++) {
+            to[i] = from[i] * scale;
+        }
+
+        return to;
+    }
+
+    private static void patch(double[] values, double patch, int length) {
+        for (int i = 0; i < length; i++) {
+            values[i] = normalize(values[i] + patch);
+        }
+    }
+
+    private static void combine(int op, double[] src, double[] child, double amount, PrimitiveNoiseInjector injector, int length) {
+        for (int i = 0; i < length; i++) {
+            src[i] = normalize(combine(op, src[i], normalize(child[i]) / amount, injector));
+        }
+    }
+
+    private static double combine(int op, double src, double value, PrimitiveNoiseInjector injector) {
+        return switch (op) {
+            case ADD -> src + value;
+            case MULTIPLY -> src * value;
+            case MAX -> Math.max(src, value);
+            case MIN -> Math.min(src, value);
+            case SRC_MOD -> value == 0D ? src : src % value;
+            case SRC_SUBTRACT -> src - value;
+            case SRC_POW -> Math.pow(src, value);
+            default -> injector.combine(src, value, null);
+        };
+    }
+
+    private static double normalize(double v) {
+        if (Double.isNaN(v) || Double.isInfinite(v)) {
+            return 0D;
+        }
+        return Math.max(0D, Math.min(1D, v));
+    }
+
+    static final class Builder {
+        private int[] ops = new int[16];
+        private int[] depths = new int[16];
+        private double[] operands = new double[16];
+        private NoiseGenerator[] generators = new NoiseGenerator[16];
+        private PrimitiveNoiseInjector[] injectors = new PrimitiveNoiseInjector[16];
+        private int size;
+        private int maxDepth;
+
+        void base(int depth, NoiseGenerator generator, double scale) {
+            int k = add(BASE, depth, scale);
+            generators[k] = generator;
+        }
+
+        void patch(int depth, double patch) {
+            if (patch != 0D) {
+                add(PATCH, depth, patch);
+            }
+        }
+
+        /**
+         * Injectors that hand back the source untouched make the child's value irrelevant.
+         */
+        boolean discards(PrimitiveNoiseInjector injector) {
+            return injector == CNG.DST_MOD || injector == CNG.DST_SUBTRACT || injector == CNG.DST_POW;
+        }
+
+        void combine(int depth, PrimitiveNoiseInjector injector, double amount) {
+            int op;
+            if (injector == CNG.ADD) {
+                op = ADD;
+            } else if (injector == CNG.MULTIPLY) {
+                op = MULTIPLY;
+            } else if (injector == CNG.MAX) {
+                op = MAX;
+            } else if (injector == CNG.MIN) {
+                op = MIN;
+            } else if (injector == CNG.SRC_MOD) {
+                op = SRC_MOD;
+            } else if (injector == CNG.SRC_SUBTRACT) {
+                op = SRC_SUBTRACT;
+            } else if (injector == CNG.SRC_POW) {
+                op = SRC_POW;
+            } else {
+                op = CUSTOM;
+            }
+
+            int k = add(op, depth, amount);
+            injectors[k] = injector;
+        }
+
+        private int add(int op, int depth, double operand) {
+            if (size == ops.length) {
+                int grown = size * 2;
+                ops = Arrays.copyOf(ops, grown);
+                depths = Arrays.copyOf(depths, grown);
+                operands = Arrays.copyOf(operands, grown);
+                generators = Arrays.copyOf(generators, grown);
+                injectors = Arrays.copyOf(injectors, grown);
+            }
+
+            ops[size] = op;
+            depths[size] = depth;
+            operands[size] = operand;
+            maxDepth = Math.max(maxDepth, depth);
+            return size++;
+        }
+    }
+}
@@ -793,6 +793,13 @@ public class FastNoise {
         return SinglePerlin(m_seed, x * m_frequency, y * m_frequency, z * m_frequency);
     }
 
+    // Fills out[i] with GetPerlin(xs[i], ys[i], zs[i]) for the first length points
+    public void GetPerlin(float[] xs, float[] ys, float[] zs, float[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = SinglePerlin(m_seed, xs[i] * m_frequency, ys[i] * m_frequency, zs[i] * m_frequency);
+        }
+    }
+
     private float SinglePerlin(int seed, float x, float y, float z) {
         int x0 = FastFloor(x);
         int y0 = FastFloor(y);
@@ -907,6 +914,13 @@ public class FastNoise {
         return SinglePerlin(m_seed, x * m_frequency, y * m_frequency);
     }
 
+    // Fills out[i] with GetPerlin(xs[i], ys[i]) for the first length points
+    public void GetPerlin(float[] xs, float[] ys, float[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = SinglePerlin(m_seed, xs[i] * m_frequency, ys[i] * m_frequency);
+        }
+    }
+
     private float SinglePerlin(int seed, float x, float y) {
         int x0 = FastFloor(x);
         int y0 = FastFloor(y);
@@ -1014,6 +1028,13 @@ public class FastNoise {
         return SingleSimplex(m_seed, x * m_frequency, y * m_frequency, z * m_frequency);
     }
 
+    // Fills out[i] with GetSimplex(xs[i], ys[i], zs[i]) for the first length points
+    public void GetSimplex(float[] xs, float[] ys, float[] zs, float[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = SingleSimplex(m_seed, xs[i] * m_frequency, ys[i] * m_frequency, zs[i] * m_frequency);
+        }
+    }
+
     private float SingleSimplex(int seed, float x, float y, float z) {
         float t = (x + y + z) * F3;
         int i = FastFloor(x + t);
@@ -1194,6 +1215,31 @@ public class FastNoise {
         return SingleSimplex(m_seed, x * m_frequency, y * m_frequency);
     }
 
+    // Fills out[i] with GetSimplex(xs[i], ys[i]) for the first length points
+    // Uses the vector kernel where the runtime provides one, results are identical either way
+    public void GetSimplex(float[] xs, float[] ys, float[] out, int length) {
+        int i = NoiseVectors.simplex(m_seed, m_frequency, xs, ys, out, length);
+        for (; i < length; i++) {
+            out[i] = SingleSimplex(m_seed, xs[i] * m_frequency, ys[i] * m_frequency);
+        }
+    }
+
+    // Fills a width * height row-major grid starting at (x, y), out[zi * width + xi] = GetSimplex(x + xi * step, y + zi * step)
+    public void GetSimplex(float[] out, float x, float y, int width, int height, float step) {
+        int length = width * height;
+        float[] xs = new float[length];
+        float[] ys = new float[length];
+        for (int zi = 0; zi < height; zi++) {
+            float row = y + zi * step;
+            for (int xi = 0; xi < width; xi++) {
+                xs[zi * width + xi] = x + xi * step;
+                ys[zi * width + xi] = row;
+            }
+        }
+
+        GetSimplex(xs, ys, out, length);
+    }
+
     private float SingleSimplex(int seed, float x, float y) {
         float t = (x + y) * F2;
         int i = FastFloor(x + t);
@@ -1552,6 +1598,13 @@ public class FastNoise {
         }
     }
 
+    // Fills out[i] with GetCellular(xs[i], ys[i], zs[i]) for the first length points
+    public void GetCellular(float[] xs, float[] ys, float[] zs, float[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = GetCellular(xs[i], ys[i], zs[i]);
+        }
+    }
+
     private float SingleCellular(float x, float y, float z) {
         int xr = FastRound(x);
         int yr = FastRound(y);
@@ -1755,6 +1808,13 @@ public class FastNoise {
         }
     }
 
+    // Fills out[i] with GetCellular(xs[i], ys[i]) for the first length points
+    public void GetCellular(float[] xs, float[] ys, float[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = GetCellular(xs[i], ys[i]);
+        }
+    }
+
     private float SingleCellular(float x, float y) {
         int xr = FastRound(x);
         int yr = FastRound(y);
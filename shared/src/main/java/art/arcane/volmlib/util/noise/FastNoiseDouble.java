@@ -725,6 +725,13 @@ public class FastNoiseDouble {
         return SinglePerlin(m_seed, x * m_frequency, y * m_frequency, z * m_frequency);
     }
 
+    // Fills out[i] with GetPerlin(xs[i], ys[i], zs[i]) for the first length points
+    public void GetPerlin(double[] xs, double[] ys, double[] zs, double[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = SinglePerlin(m_seed, xs[i] * m_frequency, ys[i] * m_frequency, zs[i] * m_frequency);
+        }
+    }
+
     private double SinglePerlin(long seed, double x, double y, double z) {
         long x0 = fastFloor(x);
         long y0 = fastFloor(y);
@@ -833,6 +840,13 @@ public class FastNoiseDouble {
         return SinglePerlin(m_seed, x * m_frequency, y * m_frequency);
     }
 
+    // Fills out[i] with GetPerlin(xs[i], ys[i]) for the first length points
+    public void GetPerlin(double[] xs, double[] ys, double[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = SinglePerlin(m_seed, xs[i] * m_frequency, ys[i] * m_frequency);
+        }
+    }
+
     private double SinglePerlin(long seed, double x, double y) {
         long x0 = fastFloor(x);
         long y0 = fastFloor(y);
@@ -934,6 +948,13 @@ public class FastNoiseDouble {
         return SingleSimplex(m_seed, x * m_frequency, y * m_frequency, z * m_frequency);
     }
 
+    // Fills out[i] with GetSimplex(xs[i], ys[i], zs[i]) for the first length points
+    public void GetSimplex(double[] xs, double[] ys, double[] zs, double[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = SingleSimplex(m_seed, xs[i] * m_frequency, ys[i] * m_frequency, zs[i] * m_frequency);
+        }
+    }
+
     private double SingleSimplex(long seed, double x, double y, double z) {
         double t = (x + y + z) * F3;
         long i = fastFloor(x + t);
@@ -1109,6 +1130,31 @@ public class FastNoiseDouble {
         return SingleSimplex(m_seed, x * m_frequency, y * m_frequency);
     }
 
+    // Fills out[i] with GetSimplex(xs[i], ys[i]) for the first length points
+    // Uses the vector kernel where the runtime provides one, results are identical either way
+    public void GetSimplex(double[] xs, double[] ys, double[] out, int length) {
+        int i = NoiseVectors.simplex(m_seed, m_frequency, xs, ys, out, length);
+        for (; i < length; i++) {
+            out[i] = SingleSimplex(m_seed, xs[i] * m_frequency, ys[i] * m_frequency);
+        }
+    }
+
+    // Fills a width * height row-major grid starting at (x, y), out[zi * width + xi] = GetSimplex(x + xi * step, y + zi * step)
+    public void GetSimplex(double[] out, double x, double y, int width, int height, double step) {
+        int length = width * height;
+        double[] xs = new double[length];
+        double[] ys = new double[length];
+        for (int zi = 0; zi < height; zi++) {
+            double row = y + zi * step;
+            for (int xi = 0; xi < width; xi++) {
+                xs[zi * width + xi] = x + xi * step;
+                ys[zi * width + xi] = row;
+            }
+        }
+
+        GetSimplex(xs, ys, out, length);
+    }
+
     private double SingleSimplex(long seed, double x, double y) {
         double t = (x + y) * F2;
         long i = fastFloor(x + t);
@@ -1453,6 +1499,13 @@ public class FastNoiseDouble {
         };
     }
 
+    // Fills out[i] with GetCellular(xs[i], ys[i], zs[i]) for the first length points
+    public void GetCellular(double[] xs, double[] ys, double[] zs, double[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = GetCellular(xs[i], ys[i], zs[i]);
+        }
+    }
+
     private double SingleCellular(double x, double y, double z) {
         long xr = fastRound(x);
         long yr = fastRound(y);
@@ -1632,6 +1685,13 @@ public class FastNoiseDouble {
         };
     }
 
+    // Fills out[i] with GetCellular(xs[i], ys[i]) for the first length points
+    public void GetCellular(double[] xs, double[] ys, double[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = GetCellular(xs[i], ys[i]);
+        }
+    }
+
     private double SingleCellular(double x, double y) {
         long xr = fastRound(x);
         long yr = fastRound(y);
@@ -18,6 +18,7 @@
 
 package art.arcane.volmlib.util.noise;
 
+import art.arcane.volmlib.util.stream.ProceduralDoubleStream;
 import art.arcane.volmlib.util.stream.ProceduralStream;
 import art.arcane.volmlib.util.stream.interpolation.Interpolated;
 
@@ -28,6 +29,16 @@ public interface NoiseGenerator {
 
     double noise(double x, double y, double z);
 
+    /**
+     * Evaluates {@code out[i] = noise(xs[i], zs[i])} for the first {@code length} points. Generators backed by a
+     * bulk kernel override this.
+     */
+    default void noise(double[] xs, double[] zs, double[] out, int length) {
+        for (int i = 0; i < length; i++) {
+            out[i] = noise(xs[i], zs[i]);
+        }
+    }
+
     default boolean isStatic() {
         return false;
     }
@@ -40,7 +51,15 @@ public interface NoiseGenerator {
         return ProceduralStream.of(this::noise, this::noise, Interpolated.DOUBLE);
     }
 
+    default ProceduralDoubleStream doubleStream() {
+        return ProceduralDoubleStream.of(this::noise, this::noise);
+    }
+
     default OffsetNoiseGenerator offset(long seed) {
         return new OffsetNoiseGenerator(this, seed);
     }
+
+    default TileCachedNoise tileCached(int maxTiles) {
+        return new TileCachedNoise(this, maxTiles);
+    }
 }
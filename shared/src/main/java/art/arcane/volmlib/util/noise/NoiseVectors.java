@@ -0,0 +1,25 @@
+package art.arcane.volmlib.util.noise;
+
+/**
+ * Vector kernels behind the bulk {@link FastNoise} and {@link FastNoiseDouble} methods. The baseline build has
+ * none: every kernel reports zero points done and the caller evaluates them one at a time. On JDK 25 the
+ * multi-release jar replaces this class with one backed by {@code jdk.incubator.vector}.
+ */
+final class NoiseVectors {
+    private NoiseVectors() {
+    }
+
+    /**
+     * Writes 2D simplex noise for a prefix of the points and returns how many were written.
+     */
+    static int simplex(int seed, float frequency, float[] xs, float[] ys, float[] out, int length) {
+        return 0;
+    }
+
+    /**
+     * Writes 2D simplex noise for a prefix of the points and returns how many were written.
+     */
+    static int simplex(long seed, double frequency, double[] xs, double[] ys, double[] out, int length) {
+        return 0;
+    }
+}
@@ -69,6 +69,19 @@ public class SimplexNoise implements NoiseGenerator, OctaveNoise {
         return f(v / m);
     }
 
+    @Override
+    public void noise(double[] xs, double[] zs, double[] out, int length) {
+        if (octaves > 1) {
+            NoiseGenerator.super.noise(xs, zs, out, length);
+            return;
+        }
+
+        n.GetSimplex(xs, zs, out, length);
+        for (int i = 0; i < length; i++) {
+            out[i] = f(out[i]);
+        }
+    }
+
     @Override
     public double noise(double x, double y, double z) {
         if (octaves <= 1) {
@@ -0,0 +1,170 @@
+package art.arcane.volmlib.util.noise;
+
+import art.arcane.volmlib.util.cache.CacheKey;
+import com.googlecode.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches 2D samples of any {@link NoiseGenerator} at integer coordinates. Samples are computed a whole square tile
+ * at a time (through the generator's bulk path) and held as primitive doubles in a bounded LRU keyed by tile
+ * coordinate, so several streams sampling the same base noise share one evaluation.
+ * <p>
+ * Non-integer coordinates and all 1D/3D calls pass straight through, so results are always exactly what the
+ * wrapped generator returns. With the front cache enabled each thread also remembers its last few tiles and skips
+ * the shared map for them.
+ */
+public class TileCachedNoise implements NoiseGenerator {
+    private static final int FRONT_SIZE = 8;
+
+    private final NoiseGenerator generator;
+    private final int shift;
+    private final int mask;
+    private final ConcurrentLinkedHashMap<Long, double[]> tiles;
+    private final ThreadLocal<Front> front;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TileCachedNoise(NoiseGenerator generator, int maxTiles) {
+        this(generator, 16, maxTiles, true);
+    }
+
+    public TileCachedNoise(NoiseGenerator generator, int tileSize, int maxTiles, boolean threadFront) {
+        if (tileSize <= 0 || (tileSize & (tileSize - 1)) != 0) {
+            throw new IllegalArgumentException("Tile size must be a power of two, got " + tileSize);
+        }
+
+        if (maxTiles <= 0) {
+            throw new IllegalArgumentException("Tile capacity must be positive, got " + maxTiles);
+        }
+
+        this.generator = generator;
+        this.shift = Integer.numberOfTrailingZeros(tileSize);
+        this.mask = tileSize - 1;
+        this.tiles = new ConcurrentLinkedHashMap.Builder<Long, double[]>()
+                .initialCapacity(maxTiles)
+                .maximumWeightedCapacity(maxTiles)
+                .concurrencyLevel(Math.max(32, Runtime.getRuntime().availableProcessors() * 4))
+                .listener((key, tile) -> evictions.increment())
+                .build();
+        this.front = threadFront ? ThreadLocal.withInitial(Front::new) : null;
+    }
+
+    @Override
+    public double noise(double x) {
+        return generator.noise(x);
+    }
+
+    @Override
+    public double noise(double x, double z) {
+        int ix = (int) x;
+        int iz = (int) z;
+        if (ix != x || iz != z) {
+            return generator.noise(x, z);
+        }
+
+        return tile(ix >> shift, iz >> shift)[((iz & mask) << shift) | (ix & mask)];
+    }
+
+    @Override
+    public double noise(double x, double y, double z) {
+        return generator.noise(x, y, z);
+    }
+
+    @Override
+    public boolean isNoScale() {
+        return generator.isNoScale();
+    }
+
+    @Override
+    public boolean isStatic() {
+        return generator.isStatic();
+    }
+
+    public NoiseGenerator getGenerator() {
+        return generator;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public long getSize() {
+        return tiles.size();
+    }
+
+    public long getMaxSize() {
+        return tiles.capacity();
+    }
+
+    /**
+     * Drops the shared tiles. Per-thread front caches still hold their last tiles, which stay valid because the
+     * wrapped generator is deterministic.
+     */
+    public void clear() {
+        tiles.clear();
+    }
+
+    private double[] tile(int tileX, int tileZ) {
+        long key = CacheKey.key(tileX, tileZ);
+        Front local = front == null ? null : front.get();
+        int slot = (int) (key ^ (key >>> 29)) & (FRONT_SIZE - 1);
+        if (local != null && local.tiles[slot] != null && local.keys[slot] == key) {
+            hits.increment();
+            return local.tiles[slot];
+        }
+
+        double[] tile = tiles.get(key);
+        if (tile == null) {
+            misses.increment();
+            tile = compute(tileX, tileZ);
+            double[] raced = tiles.putIfAbsent(key, tile);
+            if (raced != null) {
+                tile = raced;
+            }
+        } else {
+            hits.increment();
+        }
+
+        if (local != null) {
+            local.keys[slot] = key;
+            local.tiles[slot] = tile;
+        }
+
+        return tile;
+    }
+
+    private double[] compute(int tileX, int tileZ) {
+        int size = mask + 1;
+        int length = size * size;
+        double[] xs = new double[length];
+        double[] zs = new double[length];
+        double[] values = new double[length];
+        int originX = tileX << shift;
+        int originZ = tileZ << shift;
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                int index = (row << shift) | column;
+                xs[index] = originX + column;
+                zs[index] = originZ + row;
+            }
+        }
+
+        generator.noise(xs, zs, values, length);
+        return values;
+    }
+
+    private static final class Front {
+        private final long[] keys = new long[FRONT_SIZE];
+        private final double[][] tiles = new double[FRONT_SIZE][];
+    }
+}
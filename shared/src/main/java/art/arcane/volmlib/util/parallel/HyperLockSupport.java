@@ -15,8 +15,7 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 public class HyperLockSupport {
-    private final ConcurrentMap<Long, OwnedLock> locks;
-    private final Function<Long, OwnedLock> lockFactory;
+    private final LockTable locks;
     private final Consumer<String> warningHandler;
     private final Consumer<Throwable> errorHandler;
     private volatile boolean enabled = true;
@@ -34,10 +33,21 @@ public class HyperLockSupport {
     }
 
     public HyperLockSupport(int capacity, boolean fair, Consumer<String> warningHandler, Consumer<Throwable> errorHandler) {
+        this(new KeyedLockTable(capacity, fair), warningHandler, errorHandler);
+    }
+
+    /**
+     * For subclasses that keep their locks somewhere other than the default per-key map. Every
+     * lock operation, the wait diagnostics and {@link #disable()} run against {@code locks}.
+     */
+    protected HyperLockSupport(LockTable locks, Consumer<String> warningHandler, Consumer<Throwable> errorHandler) {
+        if (locks == null) {
+            throw new IllegalArgumentException("Lock table must not be null");
+        }
+
+        this.locks = locks;
         this.warningHandler = warningHandler;
         this.errorHandler = errorHandler;
-        this.lockFactory = key -> new OwnedLock(fair);
-        locks = new ConcurrentHashMap<>(Math.max(capacity, 64));
     }
 
     public void with(int x, int z, Runnable r) {
@@ -110,12 +120,22 @@ public class HyperLockSupport {
     }
 
     public boolean tryLock(int x, int z) {
-        return getLock(x, z).tryLock();
+        KeyLock lock = locks.get(x, z);
+        if (lock.tryLock()) {
+            stamp(lock);
+            return true;
+        }
+
+        return false;
     }
 
     public boolean tryLock(int x, int z, long timeout) {
+        KeyLock lock = locks.get(x, z);
         try {
-            return getLock(x, z).tryLock(timeout, TimeUnit.MILLISECONDS);
+            if (lock.tryLock(timeout)) {
+                stamp(lock);
+                return true;
+            }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             if (errorHandler != null) {
@@ -126,19 +146,26 @@ public class HyperLockSupport {
         return false;
     }
 
-    private OwnedLock getLock(int x, int z) {
-        Long key = CacheKey.key(x, z);
-        OwnedLock lock = locks.get(key);
-        return lock != null ? lock : locks.computeIfAbsent(key, lockFactory);
+    protected boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Passes a diagnostic to the warning handler, if one is installed.
+     */
+    protected void warn(String message) {
+        if (warningHandler != null) {
+            warningHandler.accept(message);
+        }
     }
 
     /**
      * Records the acquisition time for the wait diagnostics. Skipped entirely when no warning
      * handler is installed, so the uncontended path stays free of clock reads.
      */
-    private void stamp(OwnedLock lock) {
+    private void stamp(KeyLock lock) {
         if (warningHandler != null) {
-            lock.acquiredAtMs = System.currentTimeMillis();
+            lock.setAcquiredAtMs(System.currentTimeMillis());
         }
     }
 
@@ -147,7 +174,7 @@ public class HyperLockSupport {
             return;
         }
 
-        OwnedLock lock = getLock(x, z);
+        KeyLock lock = locks.get(x, z);
         if (lock.tryLock()) {
             stamp(lock);
             return;
@@ -156,11 +183,12 @@ public class HyperLockSupport {
         long started = System.currentTimeMillis();
         while (enabled) {
             try {
-                if (lock.tryLock(5, TimeUnit.SECONDS)) {
+                if (lock.tryLock(5_000L)) {
                     stamp(lock);
                     long waited = System.currentTimeMillis() - started;
                     if (warningHandler != null && waited >= 1000L) {
                         warningHandler.accept("HyperLock acquired after wait: key=" + x + "," + z
+                                + locks.describe(x, z)
                                 + " waitedMs=" + waited
                                 + " thread=" + Thread.currentThread().getName());
                     }
@@ -179,8 +207,9 @@ public class HyperLockSupport {
                 Thread owner = lock.owner();
                 String ownerSummary = owner == null
                         ? "none"
-                        : owner.getName() + " alive=" + owner.isAlive() + " heldMs=" + (System.currentTimeMillis() - lock.acquiredAtMs);
+                        : owner.getName() + " alive=" + owner.isAlive() + " heldMs=" + (System.currentTimeMillis() - lock.getAcquiredAtMs());
                 warningHandler.accept("HyperLock waiting: key=" + x + "," + z
+                        + locks.describe(x, z)
                         + " waitedMs=" + waited
                         + " thread=" + Thread.currentThread().getName()
                         + " holdCount=" + lock.getHoldCount()
@@ -202,7 +231,7 @@ public class HyperLockSupport {
         // `enabled` must still release, or disable() parks forever on a lock nobody will
         // unlock. A thread that skipped acquisition (disabled) never holds it, so this can
         // never throw IllegalMonitorStateException.
-        OwnedLock lock = getLock(x, z);
+        KeyLock lock = locks.get(x, z);
         if (lock.isHeldByCurrentThread()) {
             lock.unlock();
         }
@@ -211,9 +240,9 @@ public class HyperLockSupport {
     public void disable() {
         enabled = false;
         // Bounded: a wedged holder degrades to a loud warning instead of hanging shutdown.
-        for (OwnedLock lock : locks.values()) {
+        for (KeyLock lock : locks.all()) {
             try {
-                if (!lock.tryLock(10_000L, java.util.concurrent.TimeUnit.MILLISECONDS) && warningHandler != null) {
+                if (!lock.tryLock(10_000L) && warningHandler != null) {
                     warningHandler.accept("HyperLock disable timed out waiting for a held lock; continuing shutdown");
                 }
             } catch (InterruptedException e) {
@@ -223,12 +252,76 @@ public class HyperLockSupport {
         }
     }
 
+    /**
+     * Where a {@link HyperLockSupport} finds the lock guarding a key.
+     */
+    protected interface LockTable {
+        KeyLock get(int x, int z);
+
+        /**
+         * @return every lock created so far, for {@link #disable()}
+         */
+        Iterable<? extends KeyLock> all();
+
+        /**
+         * @return extra detail appended to the wait diagnostics for a key
+         */
+        default String describe(int x, int z) {
+            return "";
+        }
+    }
+
+    /**
+     * Exclusive, reentrant lock for one key, with the owner details the wait diagnostics print.
+     */
+    protected interface KeyLock {
+        boolean tryLock();
+
+        boolean tryLock(long timeoutMs) throws InterruptedException;
+
+        void unlock();
+
+        boolean isHeldByCurrentThread();
+
+        boolean isLocked();
+
+        int getHoldCount();
+
+        Thread owner();
+
+        long getAcquiredAtMs();
+
+        void setAcquiredAtMs(long acquiredAtMs);
+    }
+
+    private static final class KeyedLockTable implements LockTable {
+        private final ConcurrentMap<Long, OwnedLock> locks;
+        private final Function<Long, OwnedLock> lockFactory;
+
+        private KeyedLockTable(int capacity, boolean fair) {
+            this.locks = new ConcurrentHashMap<>(Math.max(capacity, 64));
+            this.lockFactory = key -> new OwnedLock(fair);
+        }
+
+        @Override
+        public KeyLock get(int x, int z) {
+            Long key = CacheKey.key(x, z);
+            OwnedLock lock = locks.get(key);
+            return lock != null ? lock : locks.computeIfAbsent(key, lockFactory);
+        }
+
+        @Override
+        public Iterable<? extends KeyLock> all() {
+            return locks.values();
+        }
+    }
+
     /**
      * Per-key lock that carries its own owner diagnostics. Keeping the acquisition stamp on the
      * lock removes the second concurrent map plus an owner allocation from every acquisition;
      * the holder thread comes straight from the AQS state.
      */
-    private static final class OwnedLock extends ReentrantLock {
+    private static final class OwnedLock extends ReentrantLock implements KeyLock {
         private static final long serialVersionUID = 1L;
 
         private volatile long acquiredAtMs;
@@ -237,8 +330,24 @@ public class HyperLockSupport {
             super(fair);
         }
 
-        private Thread owner() {
+        @Override
+        public boolean tryLock(long timeoutMs) throws InterruptedException {
+            return tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public Thread owner() {
             return getOwner();
         }
+
+        @Override
+        public long getAcquiredAtMs() {
+            return acquiredAtMs;
+        }
+
+        @Override
+        public void setAcquiredAtMs(long acquiredAtMs) {
+            this.acquiredAtMs = acquiredAtMs;
+        }
     }
 }
@@ -0,0 +1,476 @@
+package art.arcane.volmlib.util.parallel;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-size alternative to {@link HyperLockSupport}. Keys are hashed onto a power-of-two table of
+ * stripes allocated up front, so locking never boxes a key or grows a map, at the cost of unrelated
+ * keys occasionally sharing a stripe. Exclusive acquisition is reentrant in every {@link Mode};
+ * upgrading a held read lock to an exclusive one is not supported.
+ * <p>
+ * Because unrelated keys share stripes, acquiring a different key while already holding one is not
+ * supported. Two threads that nest locks on distinct keys in a consistent order can still deadlock
+ * once their keys collide across stripes. This applies to every {@code with*} entry point,
+ * inherited or not. {@link #setNestingCheck(boolean)} warns about such nesting while debugging.
+ */
+public class StripedHyperLockSupport extends HyperLockSupport {
+    private static final boolean NESTING_CHECK = Boolean.getBoolean("iris.hyperlock-nesting-check");
+
+    private final StripeTable table;
+    private final Stripe[] stripes;
+    private final Mode mode;
+    private volatile boolean nestingCheck = NESTING_CHECK;
+
+    public StripedHyperLockSupport() {
+        this(1024, Mode.EXCLUSIVE, false, null, null);
+    }
+
+    public StripedHyperLockSupport(int stripes, Mode mode) {
+        this(stripes, mode, false, null, null);
+    }
+
+    public StripedHyperLockSupport(int stripes, Mode mode, boolean fair, Consumer<String> warningHandler, Consumer<Throwable> errorHandler) {
+        this(new StripeTable(allocate(stripes, mode == null ? Mode.EXCLUSIVE : mode, fair)), mode == null ? Mode.EXCLUSIVE : mode, warningHandler, errorHandler);
+    }
+
+    private StripedHyperLockSupport(StripeTable table, Mode mode, Consumer<String> warningHandler, Consumer<Throwable> errorHandler) {
+        super(table, warningHandler, errorHandler);
+        this.table = table;
+        this.stripes = table.stripes;
+        this.mode = mode;
+    }
+
+    private static Stripe[] allocate(int stripes, Mode mode, boolean fair) {
+        if (stripes <= 0 || stripes > 1 << 24) {
+            throw new IllegalArgumentException("Stripe count must be between 1 and " + (1 << 24) + ", got " + stripes);
+        }
+
+        int size = Integer.highestOneBit(stripes);
+        size = size < stripes ? size << 1 : size;
+        Stripe[] table = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            table[i] = switch (mode) {
+                case EXCLUSIVE -> new ExclusiveStripe(fair);
+                case READ_WRITE -> new ReadWriteStripe(fair);
+                case STAMPED -> new StampedStripe();
+            };
+        }
+        return table;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    public int stripeIndex(int x, int z) {
+        return table.index(x, z);
+    }
+
+    public boolean isNestingCheck() {
+        return nestingCheck;
+    }
+
+    /**
+     * Debug aid: while on, every blocking acquisition first scans the stripe table for another
+     * stripe the calling thread already holds, and reports it through the warning handler. Holds
+     * of {@link Mode#STAMPED} read locks are not tracked per thread and go unnoticed. Off unless
+     * the {@code iris.hyperlock-nesting-check} property is set.
+     */
+    public void setNestingCheck(boolean nestingCheck) {
+        this.nestingCheck = nestingCheck;
+    }
+
+    @Override
+    public void lock(int x, int z) {
+        checkNesting(x, z);
+        super.lock(x, z);
+    }
+
+    /**
+     * Runs {@code r} under the key's read lock. Do not acquire another key from inside {@code r};
+     * see the class notes on nesting.
+     */
+    public void withRead(int x, int z, Runnable r) {
+        withReadResult(x, z, () -> {
+            r.run();
+            return null;
+        });
+    }
+
+    /**
+     * Returns the result of {@code r} under the key's read lock. Do not acquire another key from
+     * inside {@code r}.
+     */
+    public <T> T withReadResult(int x, int z, Supplier<T> r) {
+        if (!isEnabled()) {
+            return r.get();
+        }
+
+        checkNesting(x, z);
+        Stripe stripe = stripes[stripeIndex(x, z)];
+        long stamp = stripe.readLock();
+        try {
+            return r.get();
+        } finally {
+            stripe.readUnlock(stamp);
+        }
+    }
+
+    /**
+     * Runs a side-effect-free read without blocking writers when the stripe is a
+     * {@link Mode#STAMPED} one, retrying under a read lock if a writer got in. Other modes simply
+     * take the read lock. Do not acquire another key from inside {@code r}.
+     */
+    public <T> T withOptimisticRead(int x, int z, Supplier<T> r) {
+        if (!isEnabled()) {
+            return r.get();
+        }
+
+        Stripe stripe = stripes[stripeIndex(x, z)];
+        long stamp = stripe.tryOptimisticRead();
+        if (stamp != 0L) {
+            T value = r.get();
+            if (stripe.validate(stamp)) {
+                return value;
+            }
+        }
+
+        return withReadResult(x, z, r);
+    }
+
+    private void checkNesting(int x, int z) {
+        if (!nestingCheck || !isEnabled()) {
+            return;
+        }
+
+        int target = stripeIndex(x, z);
+        for (int i = 0; i < stripes.length; i++) {
+            if (i != target && stripes[i].isHeldInAnyModeByCurrentThread()) {
+                warn("HyperLock nested acquisition: key=" + x + "," + z
+                        + " stripe=" + target
+                        + " while holding stripe=" + i
+                        + " thread=" + Thread.currentThread().getName());
+                return;
+            }
+        }
+    }
+
+    public enum Mode {
+        /**
+         * One reentrant mutex per stripe; reads take it too.
+         */
+        EXCLUSIVE,
+        /**
+         * Reentrant read/write lock per stripe.
+         */
+        READ_WRITE,
+        /**
+         * {@link StampedLock} per stripe, enabling {@link #withOptimisticRead}. Exclusive holds are
+         * made reentrant by tracking the owner thread.
+         */
+        STAMPED
+    }
+
+    /**
+     * Exclusive lock lookup handed to {@link HyperLockSupport}, which runs lock, unlock, the wait
+     * diagnostics and disable against it.
+     */
+    private static final class StripeTable implements LockTable {
+        private final Stripe[] stripes;
+        private final int mask;
+
+        private StripeTable(Stripe[] stripes) {
+            this.stripes = stripes;
+            this.mask = stripes.length - 1;
+        }
+
+        private int index(int x, int z) {
+            int h = x * 0x9E3779B9 ^ z * 0x85EBCA6B;
+            h ^= h >>> 16;
+            h *= 0x7FEB352D;
+            h ^= h >>> 15;
+            return h & mask;
+        }
+
+        @Override
+        public KeyLock get(int x, int z) {
+            return stripes[index(x, z)];
+        }
+
+        @Override
+        public Iterable<? extends KeyLock> all() {
+            return Arrays.asList(stripes);
+        }
+
+        @Override
+        public String describe(int x, int z) {
+            return " stripe=" + index(x, z);
+        }
+    }
+
+    private abstract static class Stripe implements KeyLock {
+        private volatile long acquiredAtMs;
+
+        @Override
+        public long getAcquiredAtMs() {
+            return acquiredAtMs;
+        }
+
+        @Override
+        public void setAcquiredAtMs(long acquiredAtMs) {
+            this.acquiredAtMs = acquiredAtMs;
+        }
+
+        abstract long readLock();
+
+        abstract void readUnlock(long stamp);
+
+        boolean isHeldInAnyModeByCurrentThread() {
+            return isHeldByCurrentThread();
+        }
+
+        long tryOptimisticRead() {
+            return 0L;
+        }
+
+        boolean validate(long stamp) {
+            return false;
+        }
+    }
+
+    private static final class ExclusiveStripe extends Stripe {
+        private final OwnerAwareLock lock;
+
+        private ExclusiveStripe(boolean fair) {
+            lock = new OwnerAwareLock(fair);
+        }
+
+        @Override
+        public boolean tryLock() {
+            return lock.tryLock();
+        }
+
+        @Override
+        public boolean tryLock(long timeoutMs) throws InterruptedException {
+            return lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void unlock() {
+            lock.unlock();
+        }
+
+        @Override
+        public boolean isHeldByCurrentThread() {
+            return lock.isHeldByCurrentThread();
+        }
+
+        @Override
+        public Thread owner() {
+            return lock.owner();
+        }
+
+        @Override
+        public int getHoldCount() {
+            return lock.getHoldCount();
+        }
+
+        @Override
+        public boolean isLocked() {
+            return lock.isLocked();
+        }
+
+        @Override
+        long readLock() {
+            lock.lock();
+            return 0L;
+        }
+
+        @Override
+        void readUnlock(long stamp) {
+            lock.unlock();
+        }
+    }
+
+    private static final class ReadWriteStripe extends Stripe {
+        private final OwnerAwareReadWriteLock lock;
+
+        private ReadWriteStripe(boolean fair) {
+            lock = new OwnerAwareReadWriteLock(fair);
+        }
+
+        @Override
+        public boolean tryLock() {
+            return lock.writeLock().tryLock();
+        }
+
+        @Override
+        public boolean tryLock(long timeoutMs) throws InterruptedException {
+            return lock.writeLock().tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void unlock() {
+            lock.writeLock().unlock();
+        }
+
+        @Override
+        public boolean isHeldByCurrentThread() {
+            return lock.isWriteLockedByCurrentThread();
+        }
+
+        @Override
+        public Thread owner() {
+            return lock.owner();
+        }
+
+        @Override
+        public int getHoldCount() {
+            return lock.getWriteHoldCount();
+        }
+
+        @Override
+        public boolean isLocked() {
+            return lock.isWriteLocked() || lock.getReadLockCount() > 0;
+        }
+
+        @Override
+        boolean isHeldInAnyModeByCurrentThread() {
+            return lock.isWriteLockedByCurrentThread() || lock.getReadHoldCount() > 0;
+        }
+
+        @Override
+        long readLock() {
+            lock.readLock().lock();
+            return 0L;
+        }
+
+        @Override
+        void readUnlock(long stamp) {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static final class StampedStripe extends Stripe {
+        private final StampedLock lock = new StampedLock();
+        private volatile Thread owner;
+        private long writeStamp;
+        private int holds;
+
+        @Override
+        public boolean tryLock() {
+            if (owner == Thread.currentThread()) {
+                holds++;
+                return true;
+            }
+
+            long stamp = lock.tryWriteLock();
+            return stamp != 0L && acquired(stamp);
+        }
+
+        @Override
+        public boolean tryLock(long timeoutMs) throws InterruptedException {
+            if (owner == Thread.currentThread()) {
+                holds++;
+                return true;
+            }
+
+            long stamp = lock.tryWriteLock(timeoutMs, TimeUnit.MILLISECONDS);
+            return stamp != 0L && acquired(stamp);
+        }
+
+        private boolean acquired(long stamp) {
+            writeStamp = stamp;
+            holds = 1;
+            owner = Thread.currentThread();
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            if (--holds == 0) {
+                long stamp = writeStamp;
+                owner = null;
+                writeStamp = 0L;
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        @Override
+        public boolean isHeldByCurrentThread() {
+            return owner == Thread.currentThread();
+        }
+
+        @Override
+        public Thread owner() {
+            return owner;
+        }
+
+        @Override
+        public int getHoldCount() {
+            return owner == Thread.currentThread() ? holds : 0;
+        }
+
+        @Override
+        public boolean isLocked() {
+            return lock.isWriteLocked() || lock.isReadLocked();
+        }
+
+        @Override
+        long readLock() {
+            // The exclusive holder already excludes everyone else; taking a read lock would self-deadlock.
+            return owner == Thread.currentThread() ? 0L : lock.readLock();
+        }
+
+        @Override
+        void readUnlock(long stamp) {
+            if (stamp != 0L) {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        long tryOptimisticRead() {
+            return owner == Thread.currentThread() ? 0L : lock.tryOptimisticRead();
+        }
+
+        @Override
+        boolean validate(long stamp) {
+            return lock.validate(stamp);
+        }
+    }
+
+    private static final class OwnerAwareLock extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        private OwnerAwareLock(boolean fair) {
+            super(fair);
+        }
+
+        private Thread owner() {
+            return getOwner();
+        }
+    }
+
+    private static final class OwnerAwareReadWriteLock extends ReentrantReadWriteLock {
+        private static final long serialVersionUID = 1L;
+
+        private OwnerAwareReadWriteLock(boolean fair) {
+            super(fair);
+        }
+
+        private Thread owner() {
+            return getOwner();
+        }
+    }
+}
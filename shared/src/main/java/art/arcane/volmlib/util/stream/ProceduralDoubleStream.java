@@ -0,0 +1,134 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package art.arcane.volmlib.util.stream;
+
+import art.arcane.volmlib.util.function.NoiseProvider;
+import art.arcane.volmlib.util.function.NoiseProvider3;
+import art.arcane.volmlib.util.stream.arithmetic.DoubleAddingStream;
+import art.arcane.volmlib.util.stream.arithmetic.DoubleClampedStream;
+import art.arcane.volmlib.util.stream.arithmetic.DoubleFittedStream;
+import art.arcane.volmlib.util.stream.arithmetic.DoubleMultiplyingStream;
+import art.arcane.volmlib.util.stream.arithmetic.DoubleOffsetStream;
+import art.arcane.volmlib.util.stream.arithmetic.DoubleZoomStream;
+import art.arcane.volmlib.util.stream.convert.BoxedDoubleStream;
+import art.arcane.volmlib.util.stream.convert.ToDoubleStream;
+import art.arcane.volmlib.util.stream.interpolation.DoubleBicubicStream;
+import art.arcane.volmlib.util.stream.interpolation.DoubleBilinearStream;
+import art.arcane.volmlib.util.stream.interpolation.DoubleTrilinearStream;
+import art.arcane.volmlib.util.stream.sources.DoubleFunctionStream;
+
+/**
+ * A primitive double counterpart to {@link ProceduralStream}, with the numeric subset of its operators. It is a
+ * separate interface rather than a subtype, so nothing in a chain of these boxes; use {@link #of(ProceduralStream)}
+ * and {@link #boxed()} to cross over to generic streams at the edges.
+ */
+public interface ProceduralDoubleStream {
+    static ProceduralDoubleStream of(NoiseProvider f2, NoiseProvider3 f3) {
+        return new DoubleFunctionStream(f2, f3);
+    }
+
+    static ProceduralDoubleStream of(NoiseProvider3 f) {
+        return of((x, z) -> f.noise(x, 0D, z), f);
+    }
+
+    static ProceduralDoubleStream of(ProceduralStream<?> stream) {
+        return new ToDoubleStream(stream);
+    }
+
+    double getDouble(double x, double z);
+
+    double getDouble(double x, double y, double z);
+
+    default void fill2D(double[] out, double x0, double z0, int width, int depth, double step) {
+        fill2D(out, ProceduralStream.axis(x0, width, step), ProceduralStream.axis(z0, depth, step));
+    }
+
+    default void fill3D(double[] out, double x0, double y0, double z0, int width, int height, int depth, double step) {
+        fill3D(out, ProceduralStream.axis(x0, width, step), ProceduralStream.axis(y0, height, step), ProceduralStream.axis(z0, depth, step));
+    }
+
+    default void fill2D(double[] out, double[] xs, double[] zs) {
+        int i = 0;
+        for (double z : zs) {
+            for (double x : xs) {
+                out[i++] = getDouble(x, z);
+            }
+        }
+    }
+
+    default void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        int i = 0;
+        for (double z : zs) {
+            for (double y : ys) {
+                for (double x : xs) {
+                    out[i++] = getDouble(x, y, z);
+                }
+            }
+        }
+    }
+
+    default ProceduralDoubleStream fit(double min, double max) {
+        return new DoubleFittedStream(this, min, max);
+    }
+
+    default ProceduralDoubleStream fit(double inMin, double inMax, double min, double max) {
+        return new DoubleFittedStream(this, inMin, inMax, min, max);
+    }
+
+    default ProceduralDoubleStream clamp(double min, double max) {
+        return new DoubleClampedStream(this, min, max);
+    }
+
+    default ProceduralDoubleStream add(double add) {
+        return new DoubleAddingStream(this, add);
+    }
+
+    default ProceduralDoubleStream multiply(double multiply) {
+        return new DoubleMultiplyingStream(this, multiply);
+    }
+
+    default ProceduralDoubleStream zoom(double zoom) {
+        return zoom(zoom, zoom, zoom);
+    }
+
+    default ProceduralDoubleStream zoom(double x, double y, double z) {
+        return new DoubleZoomStream(this, x, y, z);
+    }
+
+    default ProceduralDoubleStream offset(double x, double y, double z) {
+        return new DoubleOffsetStream(this, x, y, z);
+    }
+
+    default ProceduralDoubleStream bilinear(int rx, int rz) {
+        return new DoubleBilinearStream(this, rx, rz);
+    }
+
+    default ProceduralDoubleStream bicubic(int rx, int rz) {
+        return new DoubleBicubicStream(this, rx, rz);
+    }
+
+    default ProceduralDoubleStream trilinear(int rx, int ry, int rz) {
+        return new DoubleTrilinearStream(this, rx, ry, rz);
+    }
+
+    default ProceduralStream<Double> boxed() {
+        return new BoxedDoubleStream(this);
+    }
+}
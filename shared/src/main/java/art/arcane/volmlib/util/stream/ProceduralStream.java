@@ -21,6 +21,15 @@ public interface ProceduralStream<T> extends ProceduralLayer, Interpolated<T> {
         return new FunctionStream<>(f2, f3, helper);
     }
 
+    static double[] axis(double origin, int count, double step) {
+        double[] axis = new double[count];
+        for (int i = 0; i < count; i++) {
+            axis[i] = origin + (i * step);
+        }
+
+        return axis;
+    }
+
     default double getDouble(double x, double z) {
         return toDouble(get(x, z));
     }
@@ -29,6 +38,48 @@ public interface ProceduralStream<T> extends ProceduralLayer, Interpolated<T> {
         return toDouble(get(x, y, z));
     }
 
+    /**
+     * Fills {@code out[z * width + x]} with {@code getDouble(x0 + x * step, z0 + z * step)}.
+     */
+    default void fill2D(double[] out, double x0, double z0, int width, int depth, double step) {
+        fill2D(out, axis(x0, width, step), axis(z0, depth, step));
+    }
+
+    /**
+     * Fills {@code out[((z * height) + y) * width + x]} with
+     * {@code getDouble(x0 + x * step, y0 + y * step, z0 + z * step)}.
+     */
+    default void fill3D(double[] out, double x0, double y0, double z0, int width, int height, int depth, double step) {
+        fill3D(out, axis(x0, width, step), axis(y0, height, step), axis(z0, depth, step));
+    }
+
+    /**
+     * Fills {@code out[zi * xs.length + xi]} with {@code getDouble(xs[xi], zs[zi])}. Streams override this to
+     * evaluate a whole grid per layer instead of walking the stack once per point; results are identical.
+     */
+    default void fill2D(double[] out, double[] xs, double[] zs) {
+        int i = 0;
+        for (double z : zs) {
+            for (double x : xs) {
+                out[i++] = getDouble(x, z);
+            }
+        }
+    }
+
+    /**
+     * Fills {@code out[((zi * ys.length) + yi) * xs.length + xi]} with {@code getDouble(xs[xi], ys[yi], zs[zi])}.
+     */
+    default void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        int i = 0;
+        for (double z : zs) {
+            for (double y : ys) {
+                for (double x : xs) {
+                    out[i++] = getDouble(x, y, z);
+                }
+            }
+        }
+    }
+
     default ProceduralStream<T> fit(double min, double max) {
         return new FittedStream<>(this, min, max);
     }
@@ -41,6 +92,10 @@ public interface ProceduralStream<T> extends ProceduralLayer, Interpolated<T> {
         return new RoundingStream(this);
     }
 
+    default ProceduralDoubleStream doubles() {
+        return ProceduralDoubleStream.of(this);
+    }
+
     ProceduralStream<T> getTypedSource();
 
     ProceduralStream<?> getSource();
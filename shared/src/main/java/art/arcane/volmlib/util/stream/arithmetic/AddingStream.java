@@ -58,4 +58,39 @@ public class AddingStream<T> extends BasicStream<T> {
     public T get(double x, double y, double z) {
         return fromDouble(add.apply(x, y, z) + getTypedSource().getDouble(x, y, z));
     }
+
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        getTypedSource().fill2D(out, xs, zs);
+        int i = 0;
+        for (double z : zs) {
+            for (double x : xs) {
+                out[i] = add.apply(x, 0D, z) + out[i];
+                i++;
+            }
+        }
+
+        quantize(out, i);
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        getTypedSource().fill3D(out, xs, ys, zs);
+        int i = 0;
+        for (double z : zs) {
+            for (double y : ys) {
+                for (double x : xs) {
+                    out[i] = add.apply(x, y, z) + out[i];
+                    i++;
+                }
+            }
+        }
+
+        quantize(out, i);
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
 }
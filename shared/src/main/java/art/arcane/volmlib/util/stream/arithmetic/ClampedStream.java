@@ -55,4 +55,28 @@ public class ClampedStream<T> extends BasicStream<T> implements ProceduralStream
         return fromDouble(clamp(getTypedSource().getDouble(x, y, z)));
     }
 
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        getTypedSource().fill2D(out, xs, zs);
+        apply(out, xs.length * zs.length);
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        getTypedSource().fill3D(out, xs, ys, zs);
+        apply(out, xs.length * ys.length * zs.length);
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
+
+    private void apply(double[] values, int length) {
+        for (int i = 0; i < length; i++) {
+            values[i] = clamp(values[i]);
+        }
+
+        quantize(values, length);
+    }
 }
@@ -49,4 +49,27 @@ public class CoordinateBitShiftLeftStream<T> extends BasicStream<T> implements P
         return getTypedSource().get((int) x << amount, (int) y << amount, (int) z << amount);
     }
 
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        getTypedSource().fill2D(out, shift(xs), shift(zs));
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        getTypedSource().fill3D(out, shift(xs), shift(ys), shift(zs));
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
+
+    private double[] shift(double[] axis) {
+        double[] shifted = new double[axis.length];
+        for (int i = 0; i < axis.length; i++) {
+            shifted[i] = (int) axis[i] << amount;
+        }
+
+        return shifted;
+    }
 }
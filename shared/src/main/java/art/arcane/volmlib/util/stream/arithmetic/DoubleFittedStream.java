@@ -0,0 +1,73 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package art.arcane.volmlib.util.stream.arithmetic;
+
+import art.arcane.volmlib.util.stream.BasicDoubleStream;
+import art.arcane.volmlib.util.stream.ProceduralDoubleStream;
+
+public class DoubleFittedStream extends BasicDoubleStream {
+    private final double min;
+    private final double max;
+    private final double inMin;
+    private final double inMax;
+
+    public DoubleFittedStream(ProceduralDoubleStream stream, double inMin, double inMax, double min, double max) {
+        super(stream);
+        this.inMin = inMin;
+        this.inMax = inMax;
+        this.min = min;
+        this.max = max;
+    }
+
+    public DoubleFittedStream(ProceduralDoubleStream stream, double min, double max) {
+        this(stream, 0, 1, min, max);
+    }
+
+
+    private double apply(double v) {
+        return min + ((max - min) * ((v - inMin) / (inMax - inMin)));
+    }
+
+    @Override
+    public double getDouble(double x, double z) {
+        return apply(getSource().getDouble(x, z));
+    }
+
+    @Override
+    public double getDouble(double x, double y, double z) {
+        return apply(getSource().getDouble(x, y, z));
+    }
+
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        getSource().fill2D(out, xs, zs);
+        for (int i = 0; i < xs.length * zs.length; i++) {
+            out[i] = apply(out[i]);
+        }
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        getSource().fill3D(out, xs, ys, zs);
+        for (int i = 0; i < xs.length * ys.length * zs.length; i++) {
+            out[i] = apply(out[i]);
+        }
+    }
+}
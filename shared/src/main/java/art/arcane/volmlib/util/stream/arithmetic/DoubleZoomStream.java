@@ -0,0 +1,65 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package art.arcane.volmlib.util.stream.arithmetic;
+
+import art.arcane.volmlib.util.stream.BasicDoubleStream;
+import art.arcane.volmlib.util.stream.ProceduralDoubleStream;
+
+public class DoubleZoomStream extends BasicDoubleStream {
+    private final double ox;
+    private final double oy;
+    private final double oz;
+
+    public DoubleZoomStream(ProceduralDoubleStream stream, double x, double y, double z) {
+        super(stream);
+        this.ox = x;
+        this.oy = y;
+        this.oz = z;
+    }
+
+    @Override
+    public double getDouble(double x, double z) {
+        return getSource().getDouble(x / ox, z / oz);
+    }
+
+    @Override
+    public double getDouble(double x, double y, double z) {
+        return getSource().getDouble(x / ox, y / oy, z / oz);
+    }
+
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        getSource().fill2D(out, zoom(xs, ox), zoom(zs, oz));
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        getSource().fill3D(out, zoom(xs, ox), zoom(ys, oy), zoom(zs, oz));
+    }
+
+    private static double[] zoom(double[] axis, double by) {
+        double[] zoomed = new double[axis.length];
+        for (int i = 0; i < axis.length; i++) {
+            zoomed[i] = axis[i] / by;
+        }
+
+        return zoomed;
+    }
+}
@@ -59,4 +59,38 @@ public class MaxingStream<T> extends BasicStream<T> {
         return fromDouble(Math.max(add.apply(x, y, z), getTypedSource().getDouble(x, y, z)));
     }
 
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        getTypedSource().fill2D(out, xs, zs);
+        int i = 0;
+        for (double z : zs) {
+            for (double x : xs) {
+                out[i] = Math.max(add.apply(x, 0D, z), out[i]);
+                i++;
+            }
+        }
+
+        quantize(out, i);
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        getTypedSource().fill3D(out, xs, ys, zs);
+        int i = 0;
+        for (double z : zs) {
+            for (double y : ys) {
+                for (double x : xs) {
+                    out[i] = Math.max(add.apply(x, y, z), out[i]);
+                    i++;
+                }
+            }
+        }
+
+        quantize(out, i);
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
 }
@@ -53,4 +53,27 @@ public class OffsetStream<T> extends BasicStream<T> implements ProceduralStream<
         return getTypedSource().get(x + ox, y + oy, z + oz);
     }
 
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        getTypedSource().fill2D(out, offset(xs, ox), offset(zs, oz));
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        getTypedSource().fill3D(out, offset(xs, ox), offset(ys, oy), offset(zs, oz));
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
+
+    private static double[] offset(double[] axis, double by) {
+        double[] offset = new double[axis.length];
+        for (int i = 0; i < axis.length; i++) {
+            offset[i] = axis[i] + by;
+        }
+
+        return offset;
+    }
 }
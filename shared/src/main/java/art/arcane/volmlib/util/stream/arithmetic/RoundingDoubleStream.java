@@ -53,4 +53,22 @@ public class RoundingDoubleStream extends BasicStream<Double> {
         return round(stream.getDouble(x, y, z));
     }
 
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        stream.fill2D(out, xs, zs);
+        quantize(out, xs.length * zs.length);
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        stream.fill3D(out, xs, ys, zs);
+        quantize(out, xs.length * ys.length * zs.length);
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        for (int i = 0; i < length; i++) {
+            values[i] = round(values[i]);
+        }
+    }
 }
@@ -58,4 +58,58 @@ public class SlopeStream<T> extends BasicStream<T> {
         return fromDouble(Math.cbrt((dx * dx) + (dy * dy) + (dz * dz)));
     }
 
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        int length = xs.length * zs.length;
+        double[] dx = new double[length];
+        double[] dz = new double[length];
+        getTypedSource().fill2D(out, xs, zs);
+        getTypedSource().fill2D(dx, shift(xs), zs);
+        getTypedSource().fill2D(dz, xs, shift(zs));
+
+        for (int i = 0; i < length; i++) {
+            double height = out[i];
+            double sx = dx[i] - height;
+            double sz = dz[i] - height;
+            out[i] = Math.sqrt(sx * sx + sz * sz);
+        }
+
+        quantize(out, length);
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        int length = xs.length * ys.length * zs.length;
+        double[] dx = new double[length];
+        double[] dy = new double[length];
+        double[] dz = new double[length];
+        getTypedSource().fill3D(out, xs, ys, zs);
+        getTypedSource().fill3D(dx, shift(xs), ys, zs);
+        getTypedSource().fill3D(dy, xs, shift(ys), zs);
+        getTypedSource().fill3D(dz, xs, ys, shift(zs));
+
+        for (int i = 0; i < length; i++) {
+            double height = out[i];
+            double sx = dx[i] - height;
+            double sy = dy[i] - height;
+            double sz = dz[i] - height;
+            out[i] = Math.cbrt((sx * sx) + (sy * sy) + (sz * sz));
+        }
+
+        quantize(out, length);
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
+
+    private double[] shift(double[] axis) {
+        double[] shifted = new double[axis.length];
+        for (int i = 0; i < axis.length; i++) {
+            shifted[i] = axis[i] + range;
+        }
+
+        return shifted;
+    }
 }
@@ -53,4 +53,27 @@ public class ZoomStream<T> extends BasicStream<T> {
         return getTypedSource().get(x / ox, y / oy, z / oz);
     }
 
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        getTypedSource().fill2D(out, zoom(xs, ox), zoom(zs, oz));
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        getTypedSource().fill3D(out, zoom(xs, ox), zoom(ys, oy), zoom(zs, oz));
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
+
+    private static double[] zoom(double[] axis, double by) {
+        double[] zoomed = new double[axis.length];
+        for (int i = 0; i < axis.length; i++) {
+            zoomed[i] = axis[i] / by;
+        }
+
+        return zoomed;
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package art.arcane.volmlib.util.stream.convert;
+
+import art.arcane.volmlib.util.stream.BasicDoubleStream;
+import art.arcane.volmlib.util.stream.ProceduralStream;
+
+public class ToDoubleStream extends BasicDoubleStream {
+    private final ProceduralStream<?> stream;
+
+    public ToDoubleStream(ProceduralStream<?> stream) {
+        super(null);
+        this.stream = stream;
+    }
+
+    @Override
+    public double getDouble(double x, double z) {
+        return stream.getDouble(x, z);
+    }
+
+    @Override
+    public double getDouble(double x, double y, double z) {
+        return stream.getDouble(x, y, z);
+    }
+
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        stream.fill2D(out, xs, zs);
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        stream.fill3D(out, xs, ys, zs);
+    }
+}
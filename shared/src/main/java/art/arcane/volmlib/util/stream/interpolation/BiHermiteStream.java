@@ -27,13 +27,23 @@ public class BiHermiteStream<T> extends BasicStream<T> implements Interpolator<T
     private final int ry;
     private final double tension;
     private final double bias;
+    private final ThreadLocal<LatticeCache> cache;
 
     public BiHermiteStream(ProceduralStream<T> stream, int rx, int ry, double tension, double bias) {
+        this(stream, rx, ry, tension, bias, false);
+    }
+
+    /**
+     * @param latticeCached reuse corner samples between point-wise calls on the same thread; see
+     *                      {@link InterpolatorFactory#latticeCached()}
+     */
+    public BiHermiteStream(ProceduralStream<T> stream, int rx, int ry, double tension, double bias, boolean latticeCached) {
         super(stream);
         this.rx = rx;
         this.ry = ry;
         this.tension = tension;
         this.bias = bias;
+        this.cache = latticeCached ? LatticeCache.local2D() : null;
     }
 
     public BiHermiteStream(ProceduralStream<T> stream, int rx, int ry) {
@@ -54,24 +64,26 @@ public class BiHermiteStream<T> extends BasicStream<T> implements Interpolator<T
         double px = IrisInterpolation.rangeScale(0, 1, x1, x2, x);
         double pz = IrisInterpolation.rangeScale(0, 1, z1, z2, y);
 
+        LatticeCache lattice = LatticeCache.current(cache);
+
         //@builder
         return getTypedSource().fromDouble(IrisInterpolation.bihermite(
-                getTypedSource().getDouble(x0, z0),
-                getTypedSource().getDouble(x0, z1),
-                getTypedSource().getDouble(x0, z2),
-                getTypedSource().getDouble(x0, z3),
-                getTypedSource().getDouble(x1, z0),
-                getTypedSource().getDouble(x1, z1),
-                getTypedSource().getDouble(x1, z2),
-                getTypedSource().getDouble(x1, z3),
-                getTypedSource().getDouble(x2, z0),
-                getTypedSource().getDouble(x2, z1),
-                getTypedSource().getDouble(x2, z2),
-                getTypedSource().getDouble(x2, z3),
-                getTypedSource().getDouble(x3, z0),
-                getTypedSource().getDouble(x3, z1),
-                getTypedSource().getDouble(x3, z2),
-                getTypedSource().getDouble(x3, z3),
+                lattice.get(getTypedSource(), x0, z0),
+                lattice.get(getTypedSource(), x0, z1),
+                lattice.get(getTypedSource(), x0, z2),
+                lattice.get(getTypedSource(), x0, z3),
+                lattice.get(getTypedSource(), x1, z0),
+                lattice.get(getTypedSource(), x1, z1),
+                lattice.get(getTypedSource(), x1, z2),
+                lattice.get(getTypedSource(), x1, z3),
+                lattice.get(getTypedSource(), x2, z0),
+                lattice.get(getTypedSource(), x2, z1),
+                lattice.get(getTypedSource(), x2, z2),
+                lattice.get(getTypedSource(), x2, z3),
+                lattice.get(getTypedSource(), x3, z0),
+                lattice.get(getTypedSource(), x3, z1),
+                lattice.get(getTypedSource(), x3, z2),
+                lattice.get(getTypedSource(), x3, z3),
                 px, pz, tension, bias));
         //@done
     }
@@ -95,4 +107,55 @@ public class BiHermiteStream<T> extends BasicStream<T> implements Interpolator<T
     public T get(double x, double y, double z) {
         return interpolate(x, z);
     }
+
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        LatticeAxis ax = LatticeAxis.of(xs, rx, 1, 2);
+        LatticeAxis az = LatticeAxis.of(zs, ry, 1, 2);
+        double[] lattice = new double[ax.size() * az.size()];
+        getTypedSource().fill2D(lattice, ax.coords, az.coords);
+        double[] px = ax.fractions(xs);
+        double[] pz = az.fractions(zs);
+        int stride = ax.size();
+        int i = 0;
+
+        for (int zi = 0; zi < zs.length; zi++) {
+            int row = (az.cells[zi] - 1) * stride;
+            for (int xi = 0; xi < xs.length; xi++) {
+                int c = row + ax.cells[xi] - 1;
+                out[i++] = IrisInterpolation.bihermite(
+                        lattice[c],
+                        lattice[c + stride],
+                        lattice[c + 2 * stride],
+                        lattice[c + 3 * stride],
+                        lattice[c + 1],
+                        lattice[c + 1 + stride],
+                        lattice[c + 1 + 2 * stride],
+                        lattice[c + 1 + 3 * stride],
+                        lattice[c + 2],
+                        lattice[c + 2 + stride],
+                        lattice[c + 2 + 2 * stride],
+                        lattice[c + 2 + 3 * stride],
+                        lattice[c + 3],
+                        lattice[c + 3 + stride],
+                        lattice[c + 3 + 2 * stride],
+                        lattice[c + 3 + 3 * stride],
+                        px[xi], pz[zi], tension, bias);
+            }
+        }
+
+        quantize(out, i);
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        double[] plane = new double[xs.length * zs.length];
+        fill2D(plane, xs, zs);
+        LatticeAxis.extrude(plane, out, xs.length, ys.length, zs.length);
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
 }
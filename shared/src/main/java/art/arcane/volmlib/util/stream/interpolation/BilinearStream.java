@@ -18,38 +18,34 @@
 
 package art.arcane.volmlib.util.stream.interpolation;
 
-import art.arcane.volmlib.util.interpolation.IrisInterpolation;
 import art.arcane.volmlib.util.stream.BasicStream;
+import art.arcane.volmlib.util.stream.ProceduralDoubleStream;
 import art.arcane.volmlib.util.stream.ProceduralStream;
 
 public class BilinearStream<T> extends BasicStream<T> implements Interpolator<T> {
     private final int rx;
     private final int ry;
+    private final ThreadLocal<LatticeCache> cache;
+    private final ProceduralDoubleStream doubles;
 
     public BilinearStream(ProceduralStream<T> stream, int rx, int ry) {
+        this(stream, rx, ry, false);
+    }
+
+    /**
+     * @param latticeCached reuse corner samples between point-wise calls on the same thread; see
+     *                      {@link InterpolatorFactory#latticeCached()}
+     */
+    public BilinearStream(ProceduralStream<T> stream, int rx, int ry, boolean latticeCached) {
         super(stream);
         this.rx = rx;
         this.ry = ry;
+        this.cache = latticeCached ? LatticeCache.local2D() : null;
+        this.doubles = ProceduralDoubleStream.of(stream);
     }
 
     public T interpolate(double x, double y) {
-        int fx = (int) Math.floor(x / rx);
-        int fz = (int) Math.floor(y / ry);
-        int x1 = Math.round(fx * rx);
-        int z1 = Math.round(fz * ry);
-        int x2 = Math.round((fx + 1) * rx);
-        int z2 = Math.round((fz + 1) * ry);
-        double px = IrisInterpolation.rangeScale(0, 1, x1, x2, x);
-        double pz = IrisInterpolation.rangeScale(0, 1, z1, z2, y);
-
-        //@builder
-        return getTypedSource().fromDouble(IrisInterpolation.blerp(
-                getTypedSource().getDouble(x1, z1),
-                getTypedSource().getDouble(x2, z1),
-                getTypedSource().getDouble(x1, z2),
-                getTypedSource().getDouble(x2, z2),
-                px, pz));
-        //@done
+        return getTypedSource().fromDouble(LatticeAxis.bilinear(doubles, LatticeCache.current(cache), rx, ry, x, y));
     }
 
     @Override
@@ -71,4 +67,22 @@ public class BilinearStream<T> extends BasicStream<T> implements Interpolator<T>
     public T get(double x, double y, double z) {
         return interpolate(x, z);
     }
+
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        LatticeAxis.fillBilinear(doubles, rx, ry, out, xs, zs);
+        quantize(out, xs.length * zs.length);
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        double[] plane = new double[xs.length * zs.length];
+        fill2D(plane, xs, zs);
+        LatticeAxis.extrude(plane, out, xs.length, ys.length, zs.length);
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package art.arcane.volmlib.util.stream.interpolation;
+
+import art.arcane.volmlib.util.stream.BasicDoubleStream;
+import art.arcane.volmlib.util.stream.ProceduralDoubleStream;
+
+public class DoubleBilinearStream extends BasicDoubleStream {
+    private final int rx;
+    private final int ry;
+    private final ThreadLocal<LatticeCache> cache;
+
+    public DoubleBilinearStream(ProceduralDoubleStream stream, int rx, int ry) {
+        this(stream, rx, ry, false);
+    }
+
+    /**
+     * @param latticeCached reuse corner samples between point-wise calls on the same thread; see
+     *                      {@link InterpolatorFactory#latticeCached()}
+     */
+    public DoubleBilinearStream(ProceduralDoubleStream stream, int rx, int ry, boolean latticeCached) {
+        super(stream);
+        this.rx = rx;
+        this.ry = ry;
+        this.cache = latticeCached ? LatticeCache.local2D() : null;
+    }
+
+    public double interpolate(double x, double y) {
+        return LatticeAxis.bilinear(getSource(), LatticeCache.current(cache), rx, ry, x, y);
+    }
+
+    @Override
+    public double getDouble(double x, double z) {
+        return interpolate(x, z);
+    }
+
+    @Override
+    public double getDouble(double x, double y, double z) {
+        return interpolate(x, z);
+    }
+
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        LatticeAxis.fillBilinear(getSource(), rx, ry, out, xs, zs);
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        double[] plane = new double[xs.length * zs.length];
+        fill2D(plane, xs, zs);
+        LatticeAxis.extrude(plane, out, xs.length, ys.length, zs.length);
+    }
+}
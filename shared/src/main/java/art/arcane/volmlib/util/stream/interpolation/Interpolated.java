@@ -11,6 +11,10 @@ public interface Interpolated<T> {
         public Double fromDouble(double d) {
             return d;
         }
+
+        @Override
+        public void quantize(double[] values, int length) {
+        }
     };
 
     Interpolated<Integer> INTEGER = new Interpolated<>() {
@@ -23,6 +27,13 @@ public interface Interpolated<T> {
         public Integer fromDouble(double d) {
             return (int) Math.round(d);
         }
+
+        @Override
+        public void quantize(double[] values, int length) {
+            for (int i = 0; i < length; i++) {
+                values[i] = (int) Math.round(values[i]);
+            }
+        }
     };
 
     Interpolated<Long> LONG = new Interpolated<>() {
@@ -35,6 +46,13 @@ public interface Interpolated<T> {
         public Long fromDouble(double d) {
             return Math.round(d);
         }
+
+        @Override
+        public void quantize(double[] values, int length) {
+            for (int i = 0; i < length; i++) {
+                values[i] = Math.round(values[i]);
+            }
+        }
     };
 
     Interpolated<Float> FLOAT = new Interpolated<>() {
@@ -88,4 +106,14 @@ public interface Interpolated<T> {
     double toDouble(T t);
 
     T fromDouble(double d);
+
+    /**
+     * Rounds the first {@code length} values through this type in place, so bulk results match what
+     * {@code toDouble(fromDouble(v))} would produce per value.
+     */
+    default void quantize(double[] values, int length) {
+        for (int i = 0; i < length; i++) {
+            values[i] = toDouble(fromDouble(values[i]));
+        }
+    }
 }
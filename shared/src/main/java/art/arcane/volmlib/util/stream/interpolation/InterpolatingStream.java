@@ -40,6 +40,41 @@ public class InterpolatingStream<T> extends BasicStream<T> implements Interpolat
         return fromDouble(IrisInterpolation.getNoise(type, (int) x, (int) y, rx, np));
     }
 
+    /**
+     * Whole blocks of consecutive integer columns go through the bulk {@link IrisInterpolation} path, which samples
+     * each distinct source point once.
+     */
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        if (!consecutive(xs) || !consecutive(zs)) {
+            super.fill2D(out, xs, zs);
+            return;
+        }
+
+        IrisInterpolation.getNoise(type, (int) xs[0], (int) zs[0], xs.length, zs.length, rx, np, out);
+        quantize(out, xs.length * zs.length);
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
+
+    private static boolean consecutive(double[] axis) {
+        if (axis.length == 0) {
+            return false;
+        }
+
+        int first = (int) axis[0];
+        for (int i = 1; i < axis.length; i++) {
+            if ((int) axis[i] != first + i) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
     @Override
     public double toDouble(T t) {
         return getTypedSource().toDouble(t);
@@ -24,9 +24,25 @@ import art.arcane.volmlib.util.stream.ProceduralStream;
 @SuppressWarnings("ClassCanBeRecord")
 public class InterpolatorFactory<T> {
     private final ProceduralStream<T> stream;
+    private final boolean latticeCached;
 
     public InterpolatorFactory(ProceduralStream<T> stream) {
+        this(stream, false);
+    }
+
+    private InterpolatorFactory(ProceduralStream<T> stream, boolean latticeCached) {
         this.stream = stream;
+        this.latticeCached = latticeCached;
+    }
+
+    /**
+     * Lattice interpolators built by the returned factory remember recently read corner samples per thread, so
+     * point-wise calls reach the source about once per corner rather than once per corner per output. Only use it
+     * when the source returns the same value for the same coordinates every time. Each stream then holds a few KB
+     * per thread that reads it.
+     */
+    public InterpolatorFactory<T> latticeCached() {
+        return new InterpolatorFactory<>(stream, true);
     }
 
     public InterpolatingStream<T> with(InterpolationMethod t, int rx) {
@@ -34,15 +50,15 @@ public class InterpolatorFactory<T> {
     }
 
     public TrilinearStream<T> trilinear(int rx, int ry, int rz) {
-        return new TrilinearStream<>(stream, rx, ry, rz);
+        return new TrilinearStream<>(stream, rx, ry, rz, latticeCached);
     }
 
     public TricubicStream<T> tricubic(int rx, int ry, int rz) {
-        return new TricubicStream<>(stream, rx, ry, rz);
+        return new TricubicStream<>(stream, rx, ry, rz, latticeCached);
     }
 
     public BicubicStream<T> bicubic(int rx, int ry) {
-        return new BicubicStream<>(stream, rx, ry);
+        return new BicubicStream<>(stream, rx, ry, latticeCached);
     }
 
     public BicubicStream<T> bicubic(int r) {
@@ -50,7 +66,7 @@ public class InterpolatorFactory<T> {
     }
 
     public BilinearStream<T> bilinear(int rx, int ry) {
-        return new BilinearStream<>(stream, rx, ry);
+        return new BilinearStream<>(stream, rx, ry, latticeCached);
     }
 
     public BilinearStream<T> bilinear(int r) {
@@ -90,11 +106,11 @@ public class InterpolatorFactory<T> {
     }
 
     public BiHermiteStream<T> bihermite(int rx, int ry, double tension, double bias) {
-        return new BiHermiteStream<>(stream, rx, ry, tension, bias);
+        return new BiHermiteStream<>(stream, rx, ry, tension, bias, latticeCached);
     }
 
     public BiHermiteStream<T> bihermite(int rx, int ry) {
-        return new BiHermiteStream<>(stream, rx, ry);
+        return bihermite(rx, ry, 0.5, 0);
     }
 
     public BiHermiteStream<T> bihermite(int r) {
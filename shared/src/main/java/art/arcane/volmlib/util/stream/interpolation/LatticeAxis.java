@@ -0,0 +1,283 @@
+/*
+ * Iris is a World Generator for Minecraft Bukkit Servers
+ * Copyright (c) 2022 Arcane Arts (Volmit Software)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package art.arcane.volmlib.util.stream.interpolation;
+
+import art.arcane.volmlib.util.interpolation.IrisInterpolation;
+import art.arcane.volmlib.util.stream.ProceduralDoubleStream;
+
+import java.util.Arrays;
+
+/**
+ * The distinct lattice coordinates an interpolator touches along one axis of a bulk fill. Each sample maps to the
+ * index of its own cell; neighbouring cells sit at adjacent indices because every cell in the kernel is present.
+ * <p>
+ * The static kernels evaluate the bilinear, bicubic and trilinear interpolators point by point and in bulk, so the
+ * generic streams and their primitive double counterparts share one implementation.
+ */
+final class LatticeAxis {
+    final double[] coords;
+    final int[] cells;
+
+    private LatticeAxis(double[] coords, int[] cells) {
+        this.coords = coords;
+        this.cells = cells;
+    }
+
+    static LatticeAxis of(double[] samples, int radius, int before, int after) {
+        int span = before + after + 1;
+        int[] floors = new int[samples.length];
+        int[] lattice = new int[samples.length * span];
+
+        for (int i = 0; i < samples.length; i++) {
+            int f = (int) Math.floor(samples[i] / radius);
+            floors[i] = f;
+            for (int k = 0; k < span; k++) {
+                lattice[(i * span) + k] = f - before + k;
+            }
+        }
+
+        Arrays.sort(lattice);
+        int count = 0;
+        for (int i = 0; i < lattice.length; i++) {
+            if (count == 0 || lattice[count - 1] != lattice[i]) {
+                lattice[count++] = lattice[i];
+            }
+        }
+
+        double[] coords = new double[count];
+        for (int i = 0; i < count; i++) {
+            coords[i] = Math.round(lattice[i] * radius);
+        }
+
+        int[] cells = new int[samples.length];
+        for (int i = 0; i < samples.length; i++) {
+            cells[i] = Arrays.binarySearch(lattice, 0, count, floors[i]);
+        }
+
+        return new LatticeAxis(coords, cells);
+    }
+
+    int size() {
+        return coords.length;
+    }
+
+    /**
+     * Each sample's position between its cell and the next one, matching {@code rangeScale(0, 1, c1, c2, v)}.
+     */
+    double[] fractions(double[] samples) {
+        double[] fractions = new double[samples.length];
+        for (int i = 0; i < samples.length; i++) {
+            int cell = cells[i];
+            fractions[i] = IrisInterpolation.rangeScale(0, 1, coords[cell], coords[cell + 1], samples[i]);
+        }
+
+        return fractions;
+    }
+
+    /**
+     * Copies an x/z plane into every y row of a 3D fill, for interpolators that ignore y.
+     */
+    static void extrude(double[] plane, double[] out, int width, int height, int depth) {
+        int i = 0;
+        for (int z = 0; z < depth; z++) {
+            for (int y = 0; y < height; y++) {
+                System.arraycopy(plane, z * width, out, i, width);
+                i += width;
+            }
+        }
+    }
+
+    static double bilinear(ProceduralDoubleStream source, LatticeCache lattice, int rx, int rz, double x, double z) {
+        int fx = (int) Math.floor(x / rx);
+        int fz = (int) Math.floor(z / rz);
+        int x1 = Math.round(fx * rx);
+        int z1 = Math.round(fz * rz);
+        int x2 = Math.round((fx + 1) * rx);
+        int z2 = Math.round((fz + 1) * rz);
+        double px = IrisInterpolation.rangeScale(0, 1, x1, x2, x);
+        double pz = IrisInterpolation.rangeScale(0, 1, z1, z2, z);
+
+        //@builder
+        return IrisInterpolation.blerp(
+                lattice.get(source, x1, z1),
+                lattice.get(source, x2, z1),
+                lattice.get(source, x1, z2),
+                lattice.get(source, x2, z2),
+                px, pz);
+        //@done
+    }
+
+    static void fillBilinear(ProceduralDoubleStream source, int rx, int rz, double[] out, double[] xs, double[] zs) {
+        LatticeAxis ax = of(xs, rx, 0, 1);
+        LatticeAxis az = of(zs, rz, 0, 1);
+        double[] lattice = new double[ax.size() * az.size()];
+        source.fill2D(lattice, ax.coords, az.coords);
+        double[] px = ax.fractions(xs);
+        double[] pz = az.fractions(zs);
+        int stride = ax.size();
+        int i = 0;
+
+        for (int zi = 0; zi < zs.length; zi++) {
+            int row = az.cells[zi] * stride;
+            for (int xi = 0; xi < xs.length; xi++) {
+                int c = row + ax.cells[xi];
+                out[i++] = IrisInterpolation.blerp(
+                        lattice[c],
+                        lattice[c + 1],
+                        lattice[c + stride],
+                        lattice[c + stride + 1],
+                        px[xi], pz[zi]);
+            }
+        }
+    }
+
+    static double bicubic(ProceduralDoubleStream source, LatticeCache lattice, int rx, int rz, double x, double z) {
+        int fx = (int) Math.floor(x / rx);
+        int fz = (int) Math.floor(z / rz);
+        int x0 = Math.round((fx - 1) * rx);
+        int z0 = Math.round((fz - 1) * rz);
+        int x1 = Math.round(fx * rx);
+        int z1 = Math.round(fz * rz);
+        int x2 = Math.round((fx + 1) * rx);
+        int z2 = Math.round((fz + 1) * rz);
+        int x3 = Math.round((fx + 2) * rx);
+        int z3 = Math.round((fz + 2) * rz);
+        double px = IrisInterpolation.rangeScale(0, 1, x1, x2, x);
+        double pz = IrisInterpolation.rangeScale(0, 1, z1, z2, z);
+
+        //@builder
+        return IrisInterpolation.bicubic(
+                lattice.get(source, x0, z0),
+                lattice.get(source, x0, z1),
+                lattice.get(source, x0, z2),
+                lattice.get(source, x0, z3),
+                lattice.get(source, x1, z0),
+                lattice.get(source, x1, z1),
+                lattice.get(source, x1, z2),
+                lattice.get(source, x1, z3),
+                lattice.get(source, x2, z0),
+                lattice.get(source, x2, z1),
+                lattice.get(source, x2, z2),
+                lattice.get(source, x2, z3),
+                lattice.get(source, x3, z0),
+                lattice.get(source, x3, z1),
+                lattice.get(source, x3, z2),
+                lattice.get(source, x3, z3),
+                px, pz);
+        //@done
+    }
+
+    static void fillBicubic(ProceduralDoubleStream source, int rx, int rz, double[] out, double[] xs, double[] zs) {
+        LatticeAxis ax = of(xs, rx, 1, 2);
+        LatticeAxis az = of(zs, rz, 1, 2);
+        double[] lattice = new double[ax.size() * az.size()];
+        source.fill2D(lattice, ax.coords, az.coords);
+        double[] px = ax.fractions(xs);
+        double[] pz = az.fractions(zs);
+        int stride = ax.size();
+        int i = 0;
+
+        for (int zi = 0; zi < zs.length; zi++) {
+            int row = (az.cells[zi] - 1) * stride;
+            for (int xi = 0; xi < xs.length; xi++) {
+                int c = row + ax.cells[xi] - 1;
+                out[i++] = IrisInterpolation.bicubic(
+                        lattice[c],
+                        lattice[c + stride],
+                        lattice[c + 2 * stride],
+                        lattice[c + 3 * stride],
+                        lattice[c + 1],
+                        lattice[c + 1 + stride],
+                        lattice[c + 1 + 2 * stride],
+                        lattice[c + 1 + 3 * stride],
+                        lattice[c + 2],
+                        lattice[c + 2 + stride],
+                        lattice[c + 2 + 2 * stride],
+                        lattice[c + 2 + 3 * stride],
+                        lattice[c + 3],
+                        lattice[c + 3 + stride],
+                        lattice[c + 3 + 2 * stride],
+                        lattice[c + 3 + 3 * stride],
+                        px[xi], pz[zi]);
+            }
+        }
+    }
+
+    static double trilinear(ProceduralDoubleStream source, LatticeCache lattice, int rx, int ry, int rz, double x, double y, double z) {
+        int fx = (int) Math.floor(x / rx);
+        int fy = (int) Math.floor(y / ry);
+        int fz = (int) Math.floor(z / rz);
+        int x1 = Math.round(fx * rx);
+        int y1 = Math.round(fy * ry);
+        int z1 = Math.round(fz * rz);
+        int x2 = Math.round((fx + 1) * rx);
+        int y2 = Math.round((fy + 1) * ry);
+        int z2 = Math.round((fz + 1) * rz);
+        double px = IrisInterpolation.rangeScale(0, 1, x1, x2, x);
+        double py = IrisInterpolation.rangeScale(0, 1, y1, y2, y);
+        double pz = IrisInterpolation.rangeScale(0, 1, z1, z2, z);
+
+        //@builder
+        return IrisInterpolation.trilerp(
+                lattice.get(source, x1, y1, z1),
+                lattice.get(source, x2, y1, z1),
+                lattice.get(source, x1, y1, z2),
+                lattice.get(source, x2, y1, z2),
+                lattice.get(source, x1, y2, z1),
+                lattice.get(source, x2, y2, z1),
+                lattice.get(source, x1, y2, z2),
+                lattice.get(source, x2, y2, z2),
+                px, pz, py);
+        //@done
+    }
+
+    static void fillTrilinear(ProceduralDoubleStream source, int rx, int ry, int rz, double[] out, double[] xs, double[] ys, double[] zs) {
+        LatticeAxis ax = of(xs, rx, 0, 1);
+        LatticeAxis ay = of(ys, ry, 0, 1);
+        LatticeAxis az = of(zs, rz, 0, 1);
+        double[] lattice = new double[ax.size() * ay.size() * az.size()];
+        source.fill3D(lattice, ax.coords, ay.coords, az.coords);
+        double[] px = ax.fractions(xs);
+        double[] py = ay.fractions(ys);
+        double[] pz = az.fractions(zs);
+        int sy = ax.size();
+        int sz = sy * ay.size();
+        int i = 0;
+
+        for (int zi = 0; zi < zs.length; zi++) {
+            for (int yi = 0; yi < ys.length; yi++) {
+                int row = (az.cells[zi] * sz) + (ay.cells[yi] * sy);
+                for (int xi = 0; xi < xs.length; xi++) {
+                    int c = row + ax.cells[xi];
+                    out[i++] = IrisInterpolation.trilerp(
+                            lattice[c],
+                            lattice[c + 1],
+                            lattice[c + sz],
+                            lattice[c + 1 + sz],
+                            lattice[c + sy],
+                            lattice[c + 1 + sy],
+                            lattice[c + sy + sz],
+                            lattice[c + 1 + sy + sz],
+                            px[xi], pz[zi], py[yi]);
+                }
+            }
+        }
+    }
+}
@@ -28,14 +28,24 @@ public class TriHermiteStream<T> extends BasicStream<T> implements Interpolator<
     private final int rz;
     private final double tension;
     private final double bias;
+    private final ThreadLocal<LatticeCache> cache;
 
     public TriHermiteStream(ProceduralStream<T> stream, int rx, int ry, int rz, double tension, double bias) {
+        this(stream, rx, ry, rz, tension, bias, false);
+    }
+
+    /**
+     * @param latticeCached reuse corner samples between point-wise calls on the same thread; see
+     *                      {@link InterpolatorFactory#latticeCached()}
+     */
+    public TriHermiteStream(ProceduralStream<T> stream, int rx, int ry, int rz, double tension, double bias, boolean latticeCached) {
         super(stream);
         this.rx = rx;
         this.ry = ry;
         this.rz = rz;
         this.tension = tension;
         this.bias = bias;
+        this.cache = latticeCached ? LatticeCache.local3D() : null;
     }
 
     public T interpolate(double x, double y, double z) {
@@ -58,72 +68,74 @@ public class TriHermiteStream<T> extends BasicStream<T> implements Interpolator<
         double py = IrisInterpolation.rangeScale(0, 1, y1, y2, y);
         double pz = IrisInterpolation.rangeScale(0, 1, z1, z2, z);
 
+        LatticeCache lattice = LatticeCache.current(cache);
+
         //@builder
         return getTypedSource().fromDouble(IrisInterpolation.trihermite(
-                getTypedSource().getDouble(x0, y0, z0),
-                getTypedSource().getDouble(x0, y0, z1),
-                getTypedSource().getDouble(x0, y0, z2),
-                getTypedSource().getDouble(x0, y0, z3),
-                getTypedSource().getDouble(x1, y0, z0),
-                getTypedSource().getDouble(x1, y0, z1),
-                getTypedSource().getDouble(x1, y0, z2),
-                getTypedSource().getDouble(x1, y0, z3),
-                getTypedSource().getDouble(x2, y0, z0),
-                getTypedSource().getDouble(x2, y0, z1),
-                getTypedSource().getDouble(x2, y0, z2),
-                getTypedSource().getDouble(x2, y0, z3),
-                getTypedSource().getDouble(x3, y0, z0),
-                getTypedSource().getDouble(x3, y0, z1),
-                getTypedSource().getDouble(x3, y0, z2),
-                getTypedSource().getDouble(x3, y0, z3),
-                getTypedSource().getDouble(x0, y1, z0),
-                getTypedSource().getDouble(x0, y1, z1),
-                getTypedSource().getDouble(x0, y1, z2),
-                getTypedSource().getDouble(x0, y1, z3),
-                getTypedSource().getDouble(x1, y1, z0),
-                getTypedSource().getDouble(x1, y1, z1),
-                getTypedSource().getDouble(x1, y1, z2),
-                getTypedSource().getDouble(x1, y1, z3),
-                getTypedSource().getDouble(x2, y1, z0),
-                getTypedSource().getDouble(x2, y1, z1),
-                getTypedSource().getDouble(x2, y1, z2),
-                getTypedSource().getDouble(x2, y1, z3),
-                getTypedSource().getDouble(x3, y1, z0),
-                getTypedSource().getDouble(x3, y1, z1),
-                getTypedSource().getDouble(x3, y1, z2),
-                getTypedSource().getDouble(x3, y1, z3),
-                getTypedSource().getDouble(x0, y2, z0),
-                getTypedSource().getDouble(x0, y2, z1),
-                getTypedSource().getDouble(x0, y2, z2),
-                getTypedSource().getDouble(x0, y2, z3),
-                getTypedSource().getDouble(x1, y2, z0),
-                getTypedSource().getDouble(x1, y2, z1),
-                getTypedSource().getDouble(x1, y2, z2),
-                getTypedSource().getDouble(x1, y2, z3),
-                getTypedSource().getDouble(x2, y2, z0),
-                getTypedSource().getDouble(x2, y2, z1),
-                getTypedSource().getDouble(x2, y2, z2),
-                getTypedSource().getDouble(x2, y2, z3),
-                getTypedSource().getDouble(x3, y2, z0),
-                getTypedSource().getDouble(x3, y2, z1),
-                getTypedSource().getDouble(x3, y2, z2),
-                getTypedSource().getDouble(x3, y2, z3),
-                getTypedSource().getDouble(x0, y3, z0),
-                getTypedSource().getDouble(x0, y3, z1),
-                getTypedSource().getDouble(x0, y3, z2),
-                getTypedSource().getDouble(x0, y3, z3),
-                getTypedSource().getDouble(x1, y3, z0),
-                getTypedSource().getDouble(x1, y3, z1),
-                getTypedSource().getDouble(x1, y3, z2),
-                getTypedSource().getDouble(x1, y3, z3),
-                getTypedSource().getDouble(x2, y3, z0),
-                getTypedSource().getDouble(x2, y3, z1),
-                getTypedSource().getDouble(x2, y3, z2),
-                getTypedSource().getDouble(x2, y3, z3),
-                getTypedSource().getDouble(x3, y3, z0),
-                getTypedSource().getDouble(x3, y3, z1),
-                getTypedSource().getDouble(x3, y3, z2),
-                getTypedSource().getDouble(x3, y3, z3),
+                lattice.get(getTypedSource(), x0, y0, z0),
+                lattice.get(getTypedSource(), x0, y0, z1),
+                lattice.get(getTypedSource(), x0, y0, z2),
+                lattice.get(getTypedSource(), x0, y0, z3),
+                lattice.get(getTypedSource(), x1, y0, z0),
+                lattice.get(getTypedSource(), x1, y0, z1),
+                lattice.get(getTypedSource(), x1, y0, z2),
+                lattice.get(getTypedSource(), x1, y0, z3),
+                lattice.get(getTypedSource(), x2, y0, z0),
+                lattice.get(getTypedSource(), x2, y0, z1),
+                lattice.get(getTypedSource(), x2, y0, z2),
+                lattice.get(getTypedSource(), x2, y0, z3),
+                lattice.get(getTypedSource(), x3, y0, z0),
+                lattice.get(getTypedSource(), x3, y0, z1),
+                lattice.get(getTypedSource(), x3, y0, z2),
+                lattice.get(getTypedSource(), x3, y0, z3),
+                lattice.get(getTypedSource(), x0, y1, z0),
+                lattice.get(getTypedSource(), x0, y1, z1),
+                lattice.get(getTypedSource(), x0, y1, z2),
+                lattice.get(getTypedSource(), x0, y1, z3),
+                lattice.get(getTypedSource(), x1, y1, z0),
+                lattice.get(getTypedSource(), x1, y1, z1),
+                lattice.get(getTypedSource(), x1, y1, z2),
+                lattice.get(getTypedSource(), x1, y1, z3),
+                lattice.get(getTypedSource(), x2, y1, z0),
+                lattice.get(getTypedSource(), x2, y1, z1),
+                lattice.get(getTypedSource(), x2, y1, z2),
+                lattice.get(getTypedSource(), x2, y1, z3),
+                lattice.get(getTypedSource(), x3, y1, z0),
+                lattice.get(getTypedSource(), x3, y1, z1),
+                lattice.get(getTypedSource(), x3, y1, z2),
+                lattice.get(getTypedSource(), x3, y1, z3),
+                lattice.get(getTypedSource(), x0, y2, z0),
+                lattice.get(getTypedSource(), x0, y2, z1),
+                lattice.get(getTypedSource(), x0, y2, z2),
+                lattice.get(getTypedSource(), x0, y2, z3),
+                lattice.get(getTypedSource(), x1, y2, z0),
+                lattice.get(getTypedSource(), x1, y2, z1),
+                lattice.get(getTypedSource(), x1, y2, z2),
+                lattice.get(getTypedSource(), x1, y2, z3),
+                lattice.get(getTypedSource(), x2, y2, z0),
+                lattice.get(getTypedSource(), x2, y2, z1),
+                lattice.get(getTypedSource(), x2, y2, z2),
+                lattice.get(getTypedSource(), x2, y2, z3),
+                lattice.get(getTypedSource(), x3, y2, z0),
+                lattice.get(getTypedSource(), x3, y2, z1),
+                lattice.get(getTypedSource(), x3, y2, z2),
+                lattice.get(getTypedSource(), x3, y2, z3),
+                lattice.get(getTypedSource(), x0, y3, z0),
+                lattice.get(getTypedSource(), x0, y3, z1),
+                lattice.get(getTypedSource(), x0, y3, z2),
+                lattice.get(getTypedSource(), x0, y3, z3),
+                lattice.get(getTypedSource(), x1, y3, z0),
+                lattice.get(getTypedSource(), x1, y3, z1),
+                lattice.get(getTypedSource(), x1, y3, z2),
+                lattice.get(getTypedSource(), x1, y3, z3),
+                lattice.get(getTypedSource(), x2, y3, z0),
+                lattice.get(getTypedSource(), x2, y3, z1),
+                lattice.get(getTypedSource(), x2, y3, z2),
+                lattice.get(getTypedSource(), x2, y3, z3),
+                lattice.get(getTypedSource(), x3, y3, z0),
+                lattice.get(getTypedSource(), x3, y3, z1),
+                lattice.get(getTypedSource(), x3, y3, z2),
+                lattice.get(getTypedSource(), x3, y3, z3),
                 px, pz, py, tension, bias));
         //@done
     }
@@ -147,4 +159,56 @@ public class TriHermiteStream<T> extends BasicStream<T> implements Interpolator<
     public T get(double x, double y, double z) {
         return interpolate(x, y, z);
     }
+
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        fill3D(out, xs, new double[]{0}, zs);
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        LatticeAxis ax = LatticeAxis.of(xs, rx, 1, 2);
+        LatticeAxis ay = LatticeAxis.of(ys, ry, 1, 2);
+        LatticeAxis az = LatticeAxis.of(zs, rz, 1, 2);
+        double[] lattice = new double[ax.size() * ay.size() * az.size()];
+        getTypedSource().fill3D(lattice, ax.coords, ay.coords, az.coords);
+        double[] px = ax.fractions(xs);
+        double[] py = ay.fractions(ys);
+        double[] pz = az.fractions(zs);
+        int sy = ax.size();
+        int sz = sy * ay.size();
+        int i = 0;
+
+        for (int zi = 0; zi < zs.length; zi++) {
+            for (int yi = 0; yi < ys.length; yi++) {
+                int row = ((az.cells[zi] - 1) * sz) + ((ay.cells[yi] - 1) * sy);
+                for (int xi = 0; xi < xs.length; xi++) {
+                    int c = row + ax.cells[xi] - 1;
+                    // Same composition as IrisInterpolation.trihermite, one y slice at a time.
+                    out[i++] = IrisInterpolation.hermite(
+                            slice(lattice, c, sz, px[xi], pz[zi]),
+                            slice(lattice, c + sy, sz, px[xi], pz[zi]),
+                            slice(lattice, c + (2 * sy), sz, px[xi], pz[zi]),
+                            slice(lattice, c + (3 * sy), sz, px[xi], pz[zi]),
+                            py[yi], tension, bias);
+                }
+            }
+        }
+
+        quantize(out, i);
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
+
+    private double slice(double[] l, int c, int sz, double px, double pz) {
+        return IrisInterpolation.bihermite(
+                l[c], l[c + sz], l[c + 2 * sz], l[c + 3 * sz],
+                l[c + 1], l[c + 1 + sz], l[c + 1 + 2 * sz], l[c + 1 + 3 * sz],
+                l[c + 2], l[c + 2 + sz], l[c + 2 + 2 * sz], l[c + 2 + 3 * sz],
+                l[c + 3], l[c + 3 + sz], l[c + 3 + 2 * sz], l[c + 3 + 3 * sz],
+                px, pz, tension, bias);
+    }
 }
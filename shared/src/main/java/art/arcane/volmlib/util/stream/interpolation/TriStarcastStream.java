@@ -21,6 +21,8 @@ package art.arcane.volmlib.util.stream.interpolation;
 import art.arcane.volmlib.util.stream.BasicStream;
 import art.arcane.volmlib.util.stream.ProceduralStream;
 
+import java.util.Arrays;
+
 public class TriStarcastStream<T> extends BasicStream<T> implements Interpolator<T> {
     private final int rad;
     private final int checks;
@@ -66,4 +68,56 @@ public class TriStarcastStream<T> extends BasicStream<T> implements Interpolator
     public T get(double x, double y, double z) {
         return interpolate(x, y, z);
     }
+
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        fill3D(out, xs, new double[]{0}, zs);
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        int length = xs.length * ys.length * zs.length;
+        double[] sample = new double[length];
+        double[] sx = new double[xs.length];
+        double[] sy = new double[ys.length];
+        double[] sz = new double[zs.length];
+        double m = (360D / checks);
+        Arrays.fill(out, 0, length, 0);
+
+        for (int i = 0; i < 360; i += m) {
+            double sin = Math.sin(Math.toRadians(i));
+            double cos = Math.cos(Math.toRadians(i));
+            double ox = ((rad * cos) - (rad * sin));
+            double oy = ((rad * sin) + (rad * cos));
+            double oz = ((rad * cos) - (rad * sin));
+
+            for (int j = 0; j < xs.length; j++) {
+                sx[j] = xs[j] + ox;
+            }
+
+            for (int j = 0; j < ys.length; j++) {
+                sy[j] = ys[j] + oy;
+            }
+
+            for (int j = 0; j < zs.length; j++) {
+                sz[j] = zs[j] + oz;
+            }
+
+            getTypedSource().fill3D(sample, sx, sy, sz);
+            for (int j = 0; j < length; j++) {
+                out[j] += sample[j];
+            }
+        }
+
+        for (int j = 0; j < length; j++) {
+            out[j] /= checks;
+        }
+
+        quantize(out, length);
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
 }
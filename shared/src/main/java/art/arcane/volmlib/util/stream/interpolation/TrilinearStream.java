@@ -18,48 +18,36 @@
 
 package art.arcane.volmlib.util.stream.interpolation;
 
-import art.arcane.volmlib.util.interpolation.IrisInterpolation;
 import art.arcane.volmlib.util.stream.BasicStream;
+import art.arcane.volmlib.util.stream.ProceduralDoubleStream;
 import art.arcane.volmlib.util.stream.ProceduralStream;
 
 public class TrilinearStream<T> extends BasicStream<T> implements Interpolator<T> {
     private final int rx;
     private final int ry;
     private final int rz;
+    private final ThreadLocal<LatticeCache> cache;
+    private final ProceduralDoubleStream doubles;
 
     public TrilinearStream(ProceduralStream<T> stream, int rx, int ry, int rz) {
+        this(stream, rx, ry, rz, false);
+    }
+
+    /**
+     * @param latticeCached reuse corner samples between point-wise calls on the same thread; see
+     *                      {@link InterpolatorFactory#latticeCached()}
+     */
+    public TrilinearStream(ProceduralStream<T> stream, int rx, int ry, int rz, boolean latticeCached) {
         super(stream);
         this.rx = rx;
         this.ry = ry;
         this.rz = rz;
+        this.cache = latticeCached ? LatticeCache.local3D() : null;
+        this.doubles = ProceduralDoubleStream.of(stream);
     }
 
     public T interpolate(double x, double y, double z) {
-        int fx = (int) Math.floor(x / rx);
-        int fy = (int) Math.floor(y / ry);
-        int fz = (int) Math.floor(z / rz);
-        int x1 = Math.round(fx * rx);
-        int y1 = Math.round(fy * ry);
-        int z1 = Math.round(fz * rz);
-        int x2 = Math.round((fx + 1) * rx);
-        int y2 = Math.round((fy + 1) * ry);
-        int z2 = Math.round((fz + 1) * rz);
-        double px = IrisInterpolation.rangeScale(0, 1, x1, x2, x);
-        double py = IrisInterpolation.rangeScale(0, 1, y1, y2, y);
-        double pz = IrisInterpolation.rangeScale(0, 1, z1, z2, z);
-
-        //@builder
-        return getTypedSource().fromDouble(IrisInterpolation.trilerp(
-                getTypedSource().getDouble(x1, y1, z1),
-                getTypedSource().getDouble(x2, y1, z1),
-                getTypedSource().getDouble(x1, y1, z2),
-                getTypedSource().getDouble(x2, y1, z2),
-                getTypedSource().getDouble(x1, y2, z1),
-                getTypedSource().getDouble(x2, y2, z1),
-                getTypedSource().getDouble(x1, y2, z2),
-                getTypedSource().getDouble(x2, y2, z2),
-                px, pz, py));
-        //@done
+        return getTypedSource().fromDouble(LatticeAxis.trilinear(doubles, LatticeCache.current(cache), rx, ry, rz, x, y, z));
     }
 
     @Override
@@ -81,4 +69,20 @@ public class TrilinearStream<T> extends BasicStream<T> implements Interpolator<T
     public T get(double x, double y, double z) {
         return interpolate(x, y, z);
     }
+
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        fill3D(out, xs, new double[]{0}, zs);
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        LatticeAxis.fillTrilinear(doubles, rx, ry, rz, out, xs, ys, zs);
+        quantize(out, xs.length * ys.length * zs.length);
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
 }
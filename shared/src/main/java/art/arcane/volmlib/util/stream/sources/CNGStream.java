@@ -69,4 +69,46 @@ public class CNGStream extends BasicLayer implements ProceduralStream<Double> {
         return cng.noise((x + getOffsetX()) / getZoom(), (y + getOffsetY()) / getZoom(), (z + getOffsetZ()) * getZoom());
     }
 
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        double[] nx = new double[xs.length];
+        for (int i = 0; i < xs.length; i++) {
+            nx[i] = (xs[i] + getOffsetX()) / getZoom();
+        }
+
+        int i = 0;
+        for (double z : zs) {
+            double nz = (z + getOffsetZ()) / getZoom();
+            for (double x : nx) {
+                out[i++] = cng.noise(x, nz);
+            }
+        }
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        double[] nx = new double[xs.length];
+        double[] ny = new double[ys.length];
+        for (int i = 0; i < xs.length; i++) {
+            nx[i] = (xs[i] + getOffsetX()) / getZoom();
+        }
+
+        for (int i = 0; i < ys.length; i++) {
+            ny[i] = (ys[i] + getOffsetY()) / getZoom();
+        }
+
+        int i = 0;
+        for (double z : zs) {
+            double nz = (z + getOffsetZ()) * getZoom();
+            for (double y : ny) {
+                for (double x : nx) {
+                    out[i++] = cng.noise(x, y, nz);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+    }
 }
@@ -54,4 +54,9 @@ public class FunctionStream<T> extends BasicStream<T> {
     public T get(double x, double y, double z) {
         return f3.apply(x, y, z);
     }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        helper.quantize(values, length);
+    }
 }
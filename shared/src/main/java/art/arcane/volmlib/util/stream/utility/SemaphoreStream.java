@@ -68,4 +68,37 @@ public class SemaphoreStream<T> extends BasicStream<T> {
 
         return null;
     }
+
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        try {
+            semaphore.acquire();
+            try {
+                getTypedSource().fill2D(out, xs, zs);
+            } finally {
+                semaphore.release();
+            }
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        try {
+            semaphore.acquire();
+            try {
+                getTypedSource().fill3D(out, xs, ys, zs);
+            } finally {
+                semaphore.release();
+            }
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
 }
@@ -49,4 +49,23 @@ public class SynchronizedStream<T> extends BasicStream<T> {
             return getTypedSource().get(x, y, z);
         }
     }
+
+    @Override
+    public void fill2D(double[] out, double[] xs, double[] zs) {
+        synchronized (getTypedSource()) {
+            getTypedSource().fill2D(out, xs, zs);
+        }
+    }
+
+    @Override
+    public void fill3D(double[] out, double[] xs, double[] ys, double[] zs) {
+        synchronized (getTypedSource()) {
+            getTypedSource().fill3D(out, xs, ys, zs);
+        }
+    }
+
+    @Override
+    public void quantize(double[] values, int length) {
+        getTypedSource().quantize(values, length);
+    }
 }
@@ -0,0 +1,157 @@
+package art.arcane.volmlib.util.noise;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Lane-wise ports of {@code FastNoise.SingleSimplex} and {@code FastNoiseDouble.SingleSimplex}. Every lane performs
+ * the same IEEE operations in the same order as the scalar code, with no fused multiply-add, so results are
+ * bit-identical and callers can finish the tail with the scalar path.
+ */
+final class NoiseVectorKernel {
+    private static final VectorSpecies<Float> FLOAT = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INT = FLOAT.withLanes(int.class);
+    private static final VectorSpecies<Double> DOUBLE = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONG = DOUBLE.withLanes(long.class);
+
+    private static final int X_PRIME = 1619;
+    private static final int Y_PRIME = 31337;
+
+    private static final float SQRT3 = (float) 1.7320508075688772935274463415059;
+    private static final float F2 = 0.5f * (SQRT3 - 1.0f);
+    private static final float G2 = (3.0f - SQRT3) / 6.0f;
+    private static final double DOUBLE_F2 = 0.5 * (Math.sqrt(3.0) - 1.0);
+    private static final double DOUBLE_G2 = (3.0 - Math.sqrt(3.0)) / 6.0;
+
+    private NoiseVectorKernel() {
+    }
+
+    static int simplex(int seed, float frequency, float[] xs, float[] ys, float[] out, int length) {
+        int bound = FLOAT.loopBound(length);
+        for (int k = 0; k < bound; k += FLOAT.length()) {
+            FloatVector x = FloatVector.fromArray(FLOAT, xs, k).mul(frequency);
+            FloatVector y = FloatVector.fromArray(FLOAT, ys, k).mul(frequency);
+
+            FloatVector t = x.add(y).mul(F2);
+            IntVector i = floor(x.add(t));
+            IntVector j = floor(y.add(t));
+
+            t = toFloat(i.add(j)).mul(G2);
+            FloatVector x0 = x.sub(toFloat(i).sub(t));
+            FloatVector y0 = y.sub(toFloat(j).sub(t));
+
+            VectorMask<Float> lower = x0.compare(VectorOperators.GT, y0);
+            VectorMask<Integer> lowerInt = lower.cast(INT);
+            IntVector i1 = IntVector.zero(INT).blend(1, lowerInt);
+            IntVector j1 = IntVector.broadcast(INT, 1).blend(0, lowerInt);
+
+            FloatVector x1 = x0.sub(toFloat(i1)).add(G2);
+            FloatVector y1 = y0.sub(toFloat(j1)).add(G2);
+            FloatVector x2 = x0.sub(1).add(2 * G2);
+            FloatVector y2 = y0.sub(1).add(2 * G2);
+
+            FloatVector n0 = corner(seed, i, j, x0, y0);
+            FloatVector n1 = corner(seed, i.add(i1), j.add(j1), x1, y1);
+            FloatVector n2 = corner(seed, i.add(1), j.add(1), x2, y2);
+
+            n0.add(n1).add(n2).mul(50).intoArray(out, k);
+        }
+
+        return bound;
+    }
+
+    static int simplex(long seed, double frequency, double[] xs, double[] ys, double[] out, int length) {
+        int bound = DOUBLE.loopBound(length);
+        for (int k = 0; k < bound; k += DOUBLE.length()) {
+            DoubleVector x = DoubleVector.fromArray(DOUBLE, xs, k).mul(frequency);
+            DoubleVector y = DoubleVector.fromArray(DOUBLE, ys, k).mul(frequency);
+
+            DoubleVector t = x.add(y).mul(DOUBLE_F2);
+            LongVector i = floor(x.add(t));
+            LongVector j = floor(y.add(t));
+
+            t = toDouble(i.add(j)).mul(DOUBLE_G2);
+            DoubleVector x0 = x.sub(toDouble(i).sub(t));
+            DoubleVector y0 = y.sub(toDouble(j).sub(t));
+
+            VectorMask<Long> lower = x0.compare(VectorOperators.GT, y0).cast(LONG);
+            LongVector i1 = LongVector.zero(LONG).blend(1, lower);
+            LongVector j1 = LongVector.broadcast(LONG, 1).blend(0, lower);
+
+            DoubleVector x1 = x0.sub(toDouble(i1)).add(DOUBLE_G2);
+            DoubleVector y1 = y0.sub(toDouble(j1)).add(DOUBLE_G2);
+            DoubleVector x2 = x0.sub(1).add(2 * DOUBLE_G2);
+            DoubleVector y2 = y0.sub(1).add(2 * DOUBLE_G2);
+
+            DoubleVector n0 = corner(seed, i, j, x0, y0);
+            DoubleVector n1 = corner(seed, i.add(i1), j.add(j1), x1, y1);
+            DoubleVector n2 = corner(seed, i.add(1), j.add(1), x2, y2);
+
+            n0.add(n1).add(n2).mul(50).intoArray(out, k);
+        }
+
+        return bound;
+    }
+
+    /**
+     * One simplex corner. The first eight {@code GRAD_2D} entries are rebuilt from the hash bits as exact -1/0/1
+     * components instead of gathered, so the products match the table lookup exactly.
+     */
+    private static FloatVector corner(int seed, IntVector i, IntVector j, FloatVector x, FloatVector y) {
+        FloatVector t = FloatVector.broadcast(FLOAT, 0.5f).sub(x.mul(x)).sub(y.mul(y));
+        VectorMask<Float> outside = t.compare(VectorOperators.LT, 0);
+        t = t.mul(t);
+
+        IntVector hash = i.mul(X_PRIME).lanewise(VectorOperators.XOR, j.mul(Y_PRIME)).lanewise(VectorOperators.XOR, seed);
+        hash = hash.mul(hash).mul(hash).mul(60493);
+        hash = hash.lanewise(VectorOperators.ASHR, 13).lanewise(VectorOperators.XOR, hash);
+        IntVector b0 = hash.lanewise(VectorOperators.AND, 1);
+        IntVector sign = hash.lanewise(VectorOperators.AND, 2).sub(1);
+        VectorMask<Integer> axis = hash.lanewise(VectorOperators.AND, 4).compare(VectorOperators.NE, 0);
+        FloatVector gx = toFloat(b0.add(b0).sub(1).blend(b0.mul(sign), axis));
+        FloatVector gy = toFloat(sign.blend(IntVector.broadcast(INT, 1).sub(b0).mul(sign), axis));
+        return t.mul(t).mul(x.mul(gx).add(y.mul(gy))).blend(0, outside);
+    }
+
+    private static DoubleVector corner(long seed, LongVector i, LongVector j, DoubleVector x, DoubleVector y) {
+        DoubleVector t = DoubleVector.broadcast(DOUBLE, 0.5).sub(x.mul(x)).sub(y.mul(y));
+        VectorMask<Double> outside = t.compare(VectorOperators.LT, 0);
+        t = t.mul(t);
+
+        LongVector hash = i.mul(X_PRIME).lanewise(VectorOperators.XOR, j.mul(Y_PRIME)).lanewise(VectorOperators.XOR, seed);
+        hash = hash.mul(hash).mul(hash).mul(60493);
+        hash = hash.lanewise(VectorOperators.ASHR, 13).lanewise(VectorOperators.XOR, hash);
+        LongVector b0 = hash.lanewise(VectorOperators.AND, 1);
+        LongVector sign = hash.lanewise(VectorOperators.AND, 2).sub(1);
+        VectorMask<Long> axis = hash.lanewise(VectorOperators.AND, 4).compare(VectorOperators.NE, 0);
+        DoubleVector gx = toDouble(b0.add(b0).sub(1).blend(b0.mul(sign), axis));
+        DoubleVector gy = toDouble(sign.blend(LongVector.broadcast(LONG, 1).sub(b0).mul(sign), axis));
+        return t.mul(t).mul(x.mul(gx).add(y.mul(gy))).blend(0, outside);
+    }
+
+    /**
+     * {@code f >= 0 ? (int) f : (int) f - 1}, including the NaN case.
+     */
+    private static IntVector floor(FloatVector f) {
+        IntVector truncated = (IntVector) f.convert(VectorOperators.F2I, 0);
+        return truncated.lanewise(VectorOperators.SUB, 1, f.compare(VectorOperators.GE, 0).not().cast(INT));
+    }
+
+    private static LongVector floor(DoubleVector f) {
+        LongVector truncated = (LongVector) f.convert(VectorOperators.D2L, 0);
+        return truncated.lanewise(VectorOperators.SUB, 1, f.compare(VectorOperators.GE, 0).not().cast(LONG));
+    }
+
+    private static FloatVector toFloat(IntVector v) {
+        return (FloatVector) v.convert(VectorOperators.I2F, 0);
+    }
+
+    private static DoubleVector toDouble(LongVector v) {
+        return (DoubleVector) v.convert(VectorOperators.L2D, 0);
+    }
+}
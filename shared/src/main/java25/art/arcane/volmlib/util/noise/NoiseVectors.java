@@ -0,0 +1,22 @@
+package art.arcane.volmlib.util.noise;
+
+/**
+ * JDK 25 entry of the multi-release jar. The incubator module is only resolved when the JVM is started with
+ * {@code --add-modules jdk.incubator.vector}; without it, or with {@code -Diris.scalar-noise=true}, this behaves
+ * like the baseline class and {@link NoiseVectorKernel} is never loaded.
+ */
+final class NoiseVectors {
+    private static final boolean ENABLED = !Boolean.getBoolean("iris.scalar-noise")
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private NoiseVectors() {
+    }
+
+    static int simplex(int seed, float frequency, float[] xs, float[] ys, float[] out, int length) {
+        return ENABLED ? NoiseVectorKernel.simplex(seed, frequency, xs, ys, out, length) : 0;
+    }
+
+    static int simplex(long seed, double frequency, double[] xs, double[] ys, double[] out, int length) {
+        return ENABLED ? NoiseVectorKernel.simplex(seed, frequency, xs, ys, out, length) : 0;
+    }
+}
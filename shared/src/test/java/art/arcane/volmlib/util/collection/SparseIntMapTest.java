@@ -0,0 +1,127 @@
+package art.arcane.volmlib.util.collection;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class SparseIntMapTest {
+    private static final int THREAD_COUNT = 8;
+
+    @Test
+    public void keySetRemovalRemovesTheKey() {
+        SparseIntMap<String> map = filled(10);
+
+        assertTrue(map.keySet().remove(Integer.valueOf(4)));
+        assertFalse(map.keySet().remove(Integer.valueOf(4)));
+        assertTrue(map.keySet().removeIf(key -> key % 2 == 1));
+
+        assertNull(map.get(4));
+        assertEquals(List.of(0, 2, 6, 8), new ArrayList<>(map.keySet()));
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    public void entrySetRemovalRemovesTheKey() {
+        SparseIntMap<String> map = filled(10);
+
+        assertTrue(map.entrySet().removeIf(entry -> entry.getKey() >= 7));
+        assertTrue(map.entrySet().remove(Map.entry(1, "v1")));
+        assertFalse(map.entrySet().remove(Map.entry(2, "other")));
+        map.values().remove("v3");
+
+        assertEquals(Map.of(0, "v0", 2, "v2", 4, "v4", 5, "v5", 6, "v6"), map);
+    }
+
+    @Test
+    public void iteratorRemovalRemovesTheKey() {
+        SparseIntMap<String> map = filled(6);
+
+        Iterator<Map.Entry<Integer, String>> iterator = map.entrySet().iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey() % 3 != 0) {
+                iterator.remove();
+            }
+        }
+        assertThrows(IllegalStateException.class, iterator::remove);
+
+        assertEquals(Map.of(0, "v0", 3, "v3"), map);
+        for (int key = 0; key < 6; key++) {
+            assertEquals(key % 3 == 0, map.containsKey(key));
+        }
+    }
+
+    @Test
+    public void entriesWriteThrough() {
+        SparseIntMap<String> map = filled(3);
+
+        for (Map.Entry<Integer, String> entry : map.entrySet()) {
+            assertEquals("v" + entry.getKey(), entry.setValue("w" + entry.getKey()));
+        }
+        map.replaceAll((key, value) -> value + "!");
+
+        assertEquals(Map.of(0, "w0!", 1, "w1!", 2, "w2!"), map);
+        assertThrows(NullPointerException.class, () -> map.entrySet().iterator().next().setValue(null));
+    }
+
+    @Test(timeout = 30_000L)
+    public void compoundOperationsAreAtomic() throws Exception {
+        SparseIntMap<Integer> counts = new SparseIntMap<>();
+        SparseIntMap<Object> created = new SparseIntMap<>();
+        AtomicInteger factoryCalls = new AtomicInteger();
+        CyclicBarrier start = new CyclicBarrier(THREAD_COUNT);
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREAD_COUNT; thread++) {
+                futures.add(executor.submit(() -> {
+                    start.await(5L, TimeUnit.SECONDS);
+                    for (int i = 0; i < 16_384; i++) {
+                        counts.merge(i & 63, 1, Integer::sum);
+                        counts.compute(64 + (i & 63), (key, value) -> value == null ? 1 : value + 1);
+                        created.computeIfAbsent(i & 255, key -> {
+                            factoryCalls.incrementAndGet();
+                            return new Object();
+                        });
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<Void> future : futures) {
+                future.get(20L, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int key = 0; key < 128; key++) {
+            assertEquals(Integer.valueOf(THREAD_COUNT * 16_384 / 64), counts.get(key));
+        }
+        assertEquals(256, created.size());
+        assertEquals(256, factoryCalls.get());
+    }
+
+    private static SparseIntMap<String> filled(int count) {
+        SparseIntMap<String> map = new SparseIntMap<>();
+        for (int key = count - 1; key >= 0; key--) {
+            map.put(key, "v" + key);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,110 @@
+package art.arcane.volmlib.util.hunk.bits;
+
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+
+public class DataBitsBulkTest {
+    private static final Writable<String> STRINGS = new Writable<>() {
+        @Override
+        public String readNodeData(DataInputStream din) throws IOException {
+            return din.readUTF();
+        }
+
+        @Override
+        public void writeNodeData(DataOutputStream dos, String value) throws IOException {
+            dos.writeUTF(value);
+        }
+    };
+
+    @Test
+    public void fillMatchesPerIndexWritesAcrossWordBoundaries() {
+        Random random = new Random(7);
+        for (int bits : new int[]{1, 3, 5, 7, 12, 32}) {
+            DataBits bulk = new DataBits(bits, 300);
+            DataBits reference = new DataBits(bits, 300);
+            long max = bits == 32 ? Integer.MAX_VALUE : (1L << bits) - 1;
+            for (int round = 0; round < 40; round++) {
+                int from = random.nextInt(300);
+                int to = from + random.nextInt(300 - from + 1);
+                int value = (int) (random.nextInt(Integer.MAX_VALUE) % (max + 1));
+                bulk.fill(from, to, value);
+                for (int i = from; i < to; i++) {
+                    reference.set(i, value);
+                }
+            }
+
+            for (int i = 0; i < 300; i++) {
+                assertEquals("bits=" + bits + " index=" + i, reference.get(i), bulk.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void repackAndRangeCopyPreserveValues() {
+        DataBits source = new DataBits(4, 1000);
+        for (int i = 0; i < 1000; i++) {
+            source.set(i, i % 16);
+        }
+
+        DataBits wide = source.setBits(11);
+        DataBits narrow = wide.setBits(4);
+        int[] values = new int[1000];
+        narrow.getRange(0, values, 0, 1000);
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 16, wide.get(i));
+            assertEquals(i % 16, values[i]);
+        }
+
+        int[] remap = new int[16];
+        for (int i = 0; i < 16; i++) {
+            remap[i] = 15 - i;
+        }
+        DataBits target = new DataBits(4, 1000);
+        target.setRange(17, values, 3, 500, remap);
+        assertEquals(0, target.get(16));
+        assertEquals(15 - 3, target.get(17));
+        assertEquals(15 - (502 % 16), target.get(516));
+        assertEquals(0, target.get(517));
+
+        source.set(5, 15);
+        assertThrows(IllegalArgumentException.class, () -> source.setBits(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> source.fill(900, 1001, 1));
+    }
+
+    @Test
+    public void containerFillAndCopyResolveThePaletteOnce() {
+        for (boolean lockFree : new boolean[]{false, true}) {
+            DataContainer<String> source = new DataContainer<>(STRINGS, 4096, lockFree);
+            for (int i = 0; i < 4096; i++) {
+                source.set(i, "block-" + (i % 40));
+            }
+            source.fill(100, 200, "air");
+            source.fill(150, 160, null);
+
+            DataContainer<String> target = new DataContainer<>(STRINGS, 4096, lockFree);
+            target.set(0, "stone");
+            target.copyFrom(source, 64, 1000, 2000);
+
+            assertEquals("air", source.get(100));
+            assertNull(source.get(155));
+            assertEquals("block-" + (200 % 40), source.get(200));
+            assertEquals("stone", target.get(0));
+            assertNull(target.get(999));
+            for (int i = 0; i < 2000; i++) {
+                assertEquals(source.get(64 + i), target.get(1000 + i));
+            }
+            assertNull(target.get(3000));
+
+            target.copyFrom(target, 1000, 1010, 100);
+            assertEquals(source.get(64), target.get(1010));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package art.arcane.volmlib.util.hunk.bits;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DataContainerLockFreeTest {
+    private static final Writable<Integer> INTS = new Writable<>() {
+        @Override
+        public Integer readNodeData(DataInputStream din) throws java.io.IOException {
+            return din.readInt();
+        }
+
+        @Override
+        public void writeNodeData(DataOutputStream dos, Integer value) throws java.io.IOException {
+            dos.writeInt(value);
+        }
+    };
+
+    private static final int THREAD_COUNT = 8;
+    private static final int LENGTH = 4096;
+
+    @Test(timeout = 30_000L)
+    public void concurrentWritersSurvivePaletteGrowth() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            DataContainer<Integer> container = new DataContainer<>(INTS, LENGTH, true);
+            CyclicBarrier start = new CyclicBarrier(THREAD_COUNT);
+            ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+            List<Future<Void>> futures = new ArrayList<>();
+
+            try {
+                for (int thread = 0; thread < THREAD_COUNT; thread++) {
+                    int offset = thread;
+                    futures.add(executor.submit(() -> {
+                        start.await(5L, TimeUnit.SECONDS);
+                        for (int position = offset; position < LENGTH; position += THREAD_COUNT) {
+                            container.set(position, value(position));
+                        }
+                        return null;
+                    }));
+                }
+
+                for (Future<Void> future : futures) {
+                    future.get(10L, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            for (int position = 0; position < LENGTH; position++) {
+                assertEquals(value(position), container.get(position));
+            }
+        }
+    }
+
+    @Test
+    public void lockFreeContainersSerializeLikeLockedOnes() throws Exception {
+        DataContainer<Integer> locked = new DataContainer<>(INTS, LENGTH, false);
+        DataContainer<Integer> lockFree = new DataContainer<>(INTS, LENGTH, true);
+        for (int position = 0; position < LENGTH; position += 3) {
+            locked.set(position, value(position));
+            lockFree.set(position, value(position));
+        }
+        locked.set(3, null);
+        lockFree.set(3, null);
+
+        byte[] written = lockFree.write();
+        assertArrayEquals(locked.write(), written);
+
+        DataContainer<Integer> read = new DataContainer<>(new DataInputStream(new ByteArrayInputStream(written)), INTS, true);
+        assertTrue(read.isLockFree());
+        assertNull(read.get(3));
+        assertNull(read.get(1));
+        assertEquals(value(6), read.get(6));
+
+        int[] present = new int[1];
+        read.iteratePresent((position, value) -> {
+            assertEquals(value(position), value);
+            present[0]++;
+        });
+        assertEquals((LENGTH + 2) / 3 - 1, present[0]);
+    }
+
+    @Test(timeout = 30_000L)
+    public void writersDoNotWaitForASlowSerialization() throws Exception {
+        DataContainer<Integer> container = new DataContainer<>(INTS, LENGTH, true);
+        for (int position = 0; position < LENGTH; position += 2) {
+            container.set(position, value(position));
+        }
+
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream slow = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                bytes.write(b);
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> save = executor.submit(() -> {
+                container.write(slow);
+                return null;
+            });
+            assertTrue(writing.await(5L, TimeUnit.SECONDS));
+
+            executor.submit(() -> {
+                container.set(1, 1000);
+                container.fill(LENGTH - 16, LENGTH, 1001);
+            }).get(5L, TimeUnit.SECONDS);
+
+            release.countDown();
+            save.get(10L, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+
+        assertEquals(Integer.valueOf(1000), container.get(1));
+        assertEquals(Integer.valueOf(1001), container.get(LENGTH - 1));
+        assertEquals(value(2), container.get(2));
+
+        DataContainer<Integer> read = new DataContainer<>(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), INTS, true);
+        assertNull(read.get(1));
+        assertEquals(value(LENGTH - 2), read.get(LENGTH - 2));
+        assertEquals(value(2), read.get(2));
+    }
+
+    private static Integer value(int position) {
+        return position % 300 + 1;
+    }
+}
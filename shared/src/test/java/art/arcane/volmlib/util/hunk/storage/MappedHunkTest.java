@@ -0,0 +1,117 @@
+package art.arcane.volmlib.util.hunk.storage;
+
+import art.arcane.volmlib.util.collection.SparseIntMap;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MappedHunkTest {
+    @Test
+    public void entriesIterateInIndexOrder() {
+        MappedHunk<String> hunk = new MappedHunk<>(4, 4, 4);
+        hunk.setRaw(3, 3, 3, "last");
+        hunk.setRaw(1, 0, 0, "second");
+        hunk.setRaw(0, 2, 1, "third");
+        hunk.setRaw(0, 0, 0, "first");
+
+        List<String> order = new ArrayList<>();
+        hunk.iterateSync((x, y, z, value) -> {
+            assertEquals(value, hunk.getRaw(x, y, z));
+            order.add(value);
+        });
+
+        assertEquals(List.of("first", "second", "third", "last"), order);
+        assertEquals(4, hunk.getEntryCount());
+    }
+
+    @Test
+    public void nullRemovesAndTombstonesAreReclaimed() {
+        MappedSyncHunk<Integer> hunk = new MappedSyncHunk<>(16, 16, 16);
+        for (int round = 0; round < 8; round++) {
+            for (int i = 0; i < 512; i++) {
+                hunk.setRaw(i & 15, (i >> 4) & 15, round, i);
+            }
+
+            for (int i = 0; i < 512; i++) {
+                hunk.setRaw(i & 15, (i >> 4) & 15, round, null);
+            }
+        }
+
+        assertTrue(hunk.isEmpty());
+        assertNull(hunk.getRaw(3, 3, 3));
+
+        hunk.setRaw(2, 5, 7, 42);
+        hunk.setRaw(2, 5, 7, 43);
+        assertEquals(Integer.valueOf(43), hunk.getRaw(2, 5, 7));
+        assertEquals(1, hunk.getEntryCount());
+
+        hunk.empty(null);
+        assertTrue(hunk.isEmpty());
+    }
+
+    @Test
+    public void mapViewMatchesThePrimitiveAccessors() {
+        SparseIntMap<String> map = new MappedHunk<String>(8, 8, 8).getSparseData();
+        map.put(Integer.valueOf(9), "a");
+        map.put(2, "b");
+
+        assertEquals("a", map.get(Integer.valueOf(9)));
+        assertTrue(map.containsKey(Integer.valueOf(2)));
+        assertFalse(map.containsKey("2"));
+        assertEquals(Map.of(2, "b", 9, "a"), map);
+        assertEquals(Integer.valueOf(2), map.entrySet().iterator().next().getKey());
+        assertEquals("b", map.remove(Integer.valueOf(2)));
+        assertEquals(1, map.size());
+    }
+
+    @Test(timeout = 10_000L)
+    public void readersNeverSeeTornEntriesWhileWritersResize() throws Exception {
+        MappedSyncHunk<Integer> hunk = new MappedSyncHunk<>(32, 32, 32);
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 3; r++) {
+                readers.add(executor.submit(() -> {
+                    while (!done.get()) {
+                        for (int i = 0; i < 32768; i += 7) {
+                            Integer value = hunk.getRaw(i & 31, (i >> 5) & 31, i >> 10);
+                            if (value != null && value != i) {
+                                throw new AssertionError("Read " + value + " at index " + i);
+                            }
+                        }
+                    }
+                }));
+            }
+
+            for (int i = 0; i < 32768; i++) {
+                hunk.setRaw(i & 31, (i >> 5) & 31, i >> 10, i);
+                if ((i & 3) == 0) {
+                    hunk.setRaw(i & 31, (i >> 5) & 31, i >> 10, null);
+                }
+            }
+
+            done.set(true);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+
+            assertEquals(24576, hunk.getEntryCount());
+            assertEquals(Integer.valueOf(32767), hunk.getRaw(31, 31, 31));
+        } finally {
+            done.set(true);
+            executor.shutdownNow();
+        }
+    }
+}
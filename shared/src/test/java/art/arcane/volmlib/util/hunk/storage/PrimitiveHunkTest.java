@@ -0,0 +1,83 @@
+package art.arcane.volmlib.util.hunk.storage;
+
+import art.arcane.volmlib.util.hunk.ByteHunk;
+import art.arcane.volmlib.util.hunk.DoubleHunk;
+import art.arcane.volmlib.util.hunk.HunkComputeSupport;
+import art.arcane.volmlib.util.hunk.HunkLike;
+import art.arcane.volmlib.util.hunk.IntHunk;
+import art.arcane.volmlib.util.hunk.view.ByteHunkView;
+import art.arcane.volmlib.util.hunk.view.IntHunkView;
+import art.arcane.volmlib.util.parallel.BurstExecutorSupport;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+
+public class PrimitiveHunkTest {
+    @Test
+    public void plainAndAtomicBackingsAgree() {
+        IntHunk[] ints = {new IntArrayHunk(5, 4, 3), new AtomicIntegerHunk(5, 4, 3)};
+        DoubleHunk[] doubles = {new DoubleArrayHunk(5, 4, 3), new AtomicDoubleHunk(5, 4, 3)};
+        ByteHunk[] bytes = {new ByteArrayHunk(5, 4, 3), new AtomicByteHunk(5, 4, 3)};
+
+        for (int i = 0; i < 2; i++) {
+            ints[i].setInt(4, 3, 2, -17);
+            doubles[i].setDouble(1, 2, 0, 0.25);
+            bytes[i].setByte(4, 3, 2, (byte) -3);
+            bytes[i].setByte(3, 3, 2, (byte) 120);
+
+            assertEquals(-17, ints[i].getInt(4, 3, 2));
+            assertEquals(0, ints[i].getInt(3, 3, 2));
+            assertEquals(0.25, doubles[i].getDouble(1, 2, 0), 0.0);
+            assertEquals(-3, bytes[i].getByte(4, 3, 2));
+            assertEquals(120, bytes[i].getByte(3, 3, 2));
+
+            HunkLike<Integer> generic = ints[i];
+            generic.setRaw(0, 0, 0, 9);
+            assertEquals(9, ints[i].getInt(0, 0, 0));
+        }
+    }
+
+    @Test
+    public void fillAndViewsStayInBounds() {
+        IntArrayHunk hunk = new IntArrayHunk(4, 4, 4);
+        hunk.fillInt(2);
+        IntHunk view = new IntHunkView(hunk, 2, 2, 2, 1, 1, 1);
+        view.fillInt(7);
+
+        assertEquals(7, hunk.getInt(1, 1, 1));
+        assertEquals(7, hunk.getInt(2, 2, 2));
+        assertEquals(2, hunk.getInt(3, 3, 3));
+        assertEquals(2, hunk.getInt(0, 1, 1));
+
+        AtomicByteHunk bytes = new AtomicByteHunk(3, 1, 1);
+        new ByteHunkView(bytes, 1, 1, 1, 1, 0, 0).setByte(0, 0, 0, (byte) 0x7F);
+        assertEquals(0, bytes.getByte(0, 0, 0));
+        assertEquals(0x7F, bytes.getByte(1, 0, 0));
+        assertEquals(0, bytes.getByte(2, 0, 0));
+    }
+
+    @Test
+    public void computeVisitsEveryCellOnce() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            AtomicByteHunk bytes = new AtomicByteHunk(16, 8, 16);
+            IntArrayHunk ints = new IntArrayHunk(16, 8, 16);
+            HunkComputeSupport.computeInt(4, p -> new BurstExecutorSupport(executor, p), ints, (x, y, z, v) -> v + x + y * 16 + z * 128);
+            HunkComputeSupport.computeByte(4, p -> new BurstExecutorSupport(executor, p), bytes, (x, y, z, v) -> (byte) (v + 1));
+
+            for (int z = 0; z < 16; z++) {
+                for (int y = 0; y < 8; y++) {
+                    for (int x = 0; x < 16; x++) {
+                        assertEquals(x + y * 16 + z * 128, ints.getInt(x, y, z));
+                        assertEquals(1, bytes.getByte(x, y, z));
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
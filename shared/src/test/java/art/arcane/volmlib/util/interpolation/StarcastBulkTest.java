@@ -0,0 +1,67 @@
+package art.arcane.volmlib.util.interpolation;
+
+import art.arcane.volmlib.util.function.NoiseProvider;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class StarcastBulkTest {
+    private static final NoiseProvider NOISE = (x, z) -> Math.sin(x * 0.37D) * Math.cos(z * 0.11D) + (x * 0.001D);
+
+    @Test
+    public void bulkMatchesEveryStarcastMethod() {
+        for (InterpolationMethod method : InterpolationMethod.values()) {
+            for (double radius : new double[]{4D, 7.5D, 16D}) {
+                double[] out = new double[19 * 13];
+                IrisInterpolation.getNoise(method, -9, 30, 19, 13, radius, NOISE, out);
+
+                for (int zi = 0; zi < 13; zi++) {
+                    for (int xi = 0; xi < 19; xi++) {
+                        double expected = IrisInterpolation.getNoise(method, -9 + xi, 30 + zi, radius, NOISE);
+                        assertEquals(method + " r=" + radius, Double.doubleToLongBits(expected), Double.doubleToLongBits(out[(zi * 19) + xi]));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void everyCompiledRayCountMatches() {
+        for (int checks = 1; checks <= 130; checks++) {
+            double[] out = new double[5 * 4];
+            Starcast.starcast(3, -2, 5, 4, 6D, checks, NOISE, out);
+
+            for (int zi = 0; zi < 4; zi++) {
+                for (int xi = 0; xi < 5; xi++) {
+                    double expected = Starcast.starcast(3 + xi, -2 + zi, 6D, checks, NOISE);
+                    assertEquals("checks=" + checks, Double.doubleToLongBits(expected), Double.doubleToLongBits(out[(zi * 5) + xi]));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sharedPointsAreSampledOnce() {
+        assertSampledOnce(InterpolationMethod.BICUBIC, 8D);
+        assertSampledOnce(InterpolationMethod.HERMITE, 5D);
+        assertSampledOnce(InterpolationMethod.STARCAST_12, 4D);
+    }
+
+    private static void assertSampledOnce(InterpolationMethod method, double radius) {
+        Set<List<Long>> distinct = new HashSet<>();
+        int[] calls = new int[1];
+        NoiseProvider counting = (x, z) -> {
+            calls[0]++;
+            distinct.add(List.of(Double.doubleToLongBits(x), Double.doubleToLongBits(z)));
+            return NOISE.noise(x, z);
+        };
+
+        IrisInterpolation.getNoise(method, 0, 0, 16, 16, radius, counting, new double[256]);
+
+        assertEquals(method.name(), distinct.size(), calls[0]);
+    }
+}
@@ -0,0 +1,148 @@
+package art.arcane.volmlib.util.mantle;
+
+import art.arcane.volmlib.util.mantle.runtime.MantleChunk;
+import art.arcane.volmlib.util.mantle.runtime.TectonicPlate;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.lang.management.MemoryUsage;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MantleHeapControllerTest {
+    private static final long MAX_HEAP = 1_000_000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void reclaimingFollowsTheWatermarksWithHysteresis() {
+        AtomicLong used = new AtomicLong(800_000L);
+        MantleHeapController controller = controller(used);
+
+        assertFalse(controller.isReclaiming());
+        assertEquals(0L, controller.getReclaimBytes());
+
+        used.set(900_000L);
+        assertTrue(controller.isReclaiming());
+        assertEquals(200_000L, controller.getReclaimBytes(), 1L);
+        assertEquals(2D / 3D, controller.getReclaimUrgency(), 1E-9);
+
+        used.set(750_000L);
+        assertTrue(controller.isReclaiming());
+
+        used.set(700_000L);
+        assertFalse(controller.isReclaiming());
+
+        used.set(800_000L);
+        assertFalse(controller.isReclaiming());
+        assertEquals(0D, controller.getReclaimUrgency(), 0D);
+    }
+
+    @Test
+    public void releasedBytesCountUntilTheNextCollection() {
+        AtomicLong used = new AtomicLong(900_000L);
+        MantleHeapController controller = controller(used);
+
+        controller.onCollection(900_000L);
+        assertTrue(controller.isReclaiming());
+        controller.released(150_000L);
+        assertEquals(50_000L, controller.getReclaimBytes(), 1L);
+
+        controller.released(100_000L);
+        assertEquals(0L, controller.getReclaimBytes());
+        assertEquals(0.65D, controller.getHeapUsage(), 1E-9);
+
+        controller.onCollection(820_000L);
+        assertEquals(0.82D, controller.getHeapUsage(), 1E-9);
+        assertFalse(controller.isReclaiming());
+    }
+
+    @Test(timeout = 5_000L)
+    public void heapPressureUnloadsTheLeastRecentlyUsedPlates() throws Exception {
+        MantleTestRuntime runtime = new MantleTestRuntime(temporaryFolder.newFolder("pressure"), 2);
+        try {
+            for (int x = 0; x < 6; x++) {
+                runtime.mantle.getChunk(x << 5, 0);
+                Thread.sleep(5L);
+            }
+
+            long plate = runtime.mantle.getEstimatedRetainedSize() / 6;
+            AtomicLong used = new AtomicLong(700_000L + (plate * 7) / 2);
+            runtime.mantle.setHeapController(controller(used));
+            runtime.mantle.trim(Long.MAX_VALUE >> 1, Integer.MAX_VALUE);
+            runtime.mantle.unloadTectonicPlate(Integer.MAX_VALUE);
+
+            assertEquals(4, runtime.mantle.getPressureUnloadCount());
+            assertEquals(2, runtime.mantle.getLoadedRegionCount());
+            assertTrue(runtime.mantle.getLoadedRegions().containsKey(Mantle.key(4, 0)));
+            assertTrue(runtime.mantle.getLoadedRegions().containsKey(Mantle.key(5, 0)));
+
+            runtime.mantle.trim(Long.MAX_VALUE >> 1, Integer.MAX_VALUE);
+            runtime.mantle.unloadTectonicPlate(Integer.MAX_VALUE);
+            assertEquals(2, runtime.mantle.getLoadedRegionCount());
+        } finally {
+            runtime.close();
+        }
+    }
+
+    @Test(timeout = 5_000L)
+    public void onlyPlatesThatActuallyUnloadAreCredited() throws Exception {
+        MantleTestRuntime runtime = new MantleTestRuntime(temporaryFolder.newFolder("credit"), 2);
+        MantleChunk<Object> held = null;
+        try {
+            for (int x = 0; x < 6; x++) {
+                MantleChunk<Object> chunk = runtime.mantle.getChunk(x << 5, 0);
+                if (x == 0) {
+                    held = chunk;
+                    held.use();
+                }
+                Thread.sleep(5L);
+            }
+
+            long plate = runtime.mantle.getEstimatedRetainedSize() / 6;
+            MantleHeapController controller = controller(new AtomicLong(700_000L + (plate * 7) / 2));
+            runtime.mantle.setHeapController(controller);
+            long reclaim = controller.getReclaimBytes();
+            runtime.mantle.trim(Long.MAX_VALUE >> 1, Integer.MAX_VALUE);
+
+            assertEquals(reclaim, controller.getReclaimBytes());
+
+            runtime.mantle.unloadTectonicPlate(Integer.MAX_VALUE);
+
+            assertEquals(4, runtime.mantle.getPressureUnloadCount());
+            assertEquals(3, runtime.mantle.getLoadedRegionCount());
+            assertTrue(runtime.mantle.getLoadedRegions().containsKey(Mantle.key(0, 0)));
+            assertEquals(reclaim - 3 * plate, controller.getReclaimBytes(), 2D);
+        } finally {
+            if (held != null) {
+                held.release();
+            }
+            runtime.close();
+        }
+    }
+
+    @Test
+    public void adaptersCanSizeTheirSections() {
+        TectonicPlate<Object> flat = new TectonicPlate<>(MantleTestRuntime.WORLD_HEIGHT, 0, 0, MantleTestRuntime.ADAPTER, null);
+        TectonicPlate<Object> sized = new TectonicPlate<>(MantleTestRuntime.WORLD_HEIGHT, 0, 0, MantleTestRuntime.adapter(1_000L), null);
+        long empty = sized.estimateRetainedSize(Mantle.DEFAULT_CHUNK_SIZE_ESTIMATE);
+
+        flat.getOrCreate(1, 1).getOrCreate(0);
+        sized.getOrCreate(1, 1);
+        long bare = sized.estimateRetainedSize(Mantle.DEFAULT_CHUNK_SIZE_ESTIMATE);
+        sized.getOrCreate(1, 1).getOrCreate(0);
+
+        assertEquals(empty + Mantle.DEFAULT_CHUNK_SIZE_ESTIMATE, flat.estimateRetainedSize(Mantle.DEFAULT_CHUNK_SIZE_ESTIMATE));
+        assertEquals(empty + 64L, bare);
+        assertEquals(bare + 1_000L, sized.estimateRetainedSize(Mantle.DEFAULT_CHUNK_SIZE_ESTIMATE));
+    }
+
+    private static MantleHeapController controller(AtomicLong used) {
+        return new MantleHeapController(0.85D, 0.70D, () -> new MemoryUsage(0L, used.get(), MAX_HEAP, MAX_HEAP));
+    }
+}
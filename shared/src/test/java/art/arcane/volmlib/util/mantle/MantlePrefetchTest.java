@@ -0,0 +1,106 @@
+package art.arcane.volmlib.util.mantle;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MantlePrefetchTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test(timeout = 5_000L)
+    public void prefetchedPlatesCountAsHitsWhenAccessed() throws Exception {
+        MantleTestRuntime runtime = new MantleTestRuntime(temporaryFolder.newFolder("hits"), 4);
+        try {
+            assertTrue(runtime.mantle.prefetch(0, 0));
+            assertFalse(runtime.mantle.prefetch(0, 0));
+            awaitLoaded(runtime, 0, 0);
+
+            runtime.mantle.getChunk(5, 5);
+            runtime.mantle.getChunk(64, 0);
+
+            assertEquals(1, runtime.mantle.getPrefetchRequestCount());
+            assertEquals(1, runtime.mantle.getPrefetchHitCount());
+            assertEquals(1, runtime.mantle.getPrefetchMissCount());
+            assertEquals(0.5D, runtime.mantle.getPrefetchHitRate(), 0D);
+        } finally {
+            runtime.close();
+        }
+    }
+
+    @Test(timeout = 5_000L)
+    public void inFlightPrefetchesStayWithinTheBudget() throws Exception {
+        MantleTestRuntime runtime = new MantleTestRuntime(temporaryFolder.newFolder("budget"), 4);
+        try {
+            runtime.regionIo.block();
+            runtime.mantle.setPrefetchBudget(2);
+            for (int x = -2; x <= 2; x++) {
+                for (int z = -2; z <= 2; z++) {
+                    runtime.storedRegion(x, z);
+                }
+            }
+
+            assertEquals(2, runtime.mantle.prefetchRadius(0, 0, 2));
+            assertEquals(2, runtime.mantle.getPrefetchInFlight());
+            assertFalse(runtime.mantle.prefetch(2, 2));
+
+            runtime.regionIo.release();
+            runtime.mantle.getChunk(0, 0);
+
+            assertEquals(1, runtime.mantle.getPrefetchHitCount() + runtime.mantle.getPrefetchLateCount());
+            assertEquals(0, runtime.mantle.getPrefetchMissCount());
+        } finally {
+            runtime.close();
+        }
+    }
+
+    @Test(timeout = 5_000L)
+    public void directionalPrefetchCoversThePathAhead() throws Exception {
+        MantleTestRuntime runtime = new MantleTestRuntime(temporaryFolder.newFolder("ahead"), 4);
+        try {
+            runtime.mantle.setPrefetchBudget(64);
+
+            assertEquals(9, runtime.mantle.prefetchAhead(0, 0, 3D, 0D, 3));
+            for (int x = 1; x <= 3; x++) {
+                for (int z = -1; z <= 1; z++) {
+                    awaitLoaded(runtime, x, z);
+                }
+            }
+            assertFalse(runtime.mantle.getLoadedRegions().containsKey(Mantle.key(-1, 0)));
+        } finally {
+            runtime.close();
+        }
+    }
+
+    @Test(timeout = 5_000L)
+    public void spiralPrefetchSkipsPositionsAlreadyVisited() throws Exception {
+        MantleTestRuntime runtime = new MantleTestRuntime(temporaryFolder.newFolder("spiral"), 4);
+        try {
+            runtime.mantle.setPrefetchBudget(64);
+
+            assertEquals(3, runtime.mantle.prefetchSpiral(10, 10, 3, 3, 1, 3));
+            awaitCompleted(runtime);
+
+            assertFalse(runtime.mantle.getLoadedRegions().containsKey(Mantle.key(10, 10)));
+            assertEquals(3, runtime.mantle.getLoadedRegionCount());
+        } finally {
+            runtime.close();
+        }
+    }
+
+    private static void awaitLoaded(MantleTestRuntime runtime, int x, int z) throws InterruptedException {
+        while (!runtime.mantle.getLoadedRegions().containsKey(Mantle.key(x, z))) {
+            Thread.sleep(1L);
+        }
+    }
+
+    private static void awaitCompleted(MantleTestRuntime runtime) throws InterruptedException {
+        while (runtime.mantle.getPrefetchInFlight() > 0) {
+            Thread.sleep(1L);
+        }
+    }
+}
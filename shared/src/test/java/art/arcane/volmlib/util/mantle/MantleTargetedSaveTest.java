@@ -22,6 +22,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -47,8 +48,8 @@ public class MantleTargetedSaveTest {
     public void requestedRegionsPersistAndUnloadWithoutTouchingOtherLoadedRegions() throws Exception {
         TestRuntime runtime = new TestRuntime(temporaryFolder.newFolder("targeted-success"));
         try {
-            runtime.mantle.getChunk(0, 0);
-            runtime.mantle.getChunk(32, 0);
+            modifiedChunk(runtime, 0, 0);
+            modifiedChunk(runtime, 32, 0);
             long requested = Mantle.key(0, 0);
             long untouched = Mantle.key(1, 0);
 
@@ -68,7 +69,7 @@ public class MantleTargetedSaveTest {
     public void writeFailurePropagatesWithoutClosingOrUnloadingTheLiveRegion() throws Exception {
         TestRuntime runtime = new TestRuntime(temporaryFolder.newFolder("targeted-failure"));
         try {
-            MantleChunk<TestSection> chunk = runtime.mantle.getChunk(0, 0);
+            MantleChunk<TestSection> chunk = modifiedChunk(runtime, 0, 0);
             long requested = Mantle.key(0, 0);
             TectonicPlate<TestSection> plate = runtime.mantle.getLoadedRegions().get(requested);
             runtime.regionIo.failWritesFor(requested);
@@ -99,7 +100,7 @@ public class MantleTargetedSaveTest {
         TestRuntime runtime = new TestRuntime(temporaryFolder.newFolder("targeted-barrier"));
         ExecutorService executor = Executors.newFixedThreadPool(2);
         try {
-            MantleChunk<TestSection> chunk = runtime.mantle.getChunk(0, 0);
+            MantleChunk<TestSection> chunk = modifiedChunk(runtime, 0, 0);
             long requested = Mantle.key(0, 0);
             runtime.regionIo.blockWritesFor(requested);
             Future<?> saving = executor.submit(
@@ -126,8 +127,8 @@ public class MantleTargetedSaveTest {
     public void idleSaveDefersBusyRegionsWithoutBlockingOtherRegions() throws Exception {
         TestRuntime runtime = new TestRuntime(temporaryFolder.newFolder("targeted-idle-save"));
         try {
-            MantleChunk<TestSection> busyChunk = runtime.mantle.getChunk(0, 0).use();
-            runtime.mantle.getChunk(32, 0);
+            MantleChunk<TestSection> busyChunk = modifiedChunk(runtime, 0, 0).use();
+            modifiedChunk(runtime, 32, 0);
             long busy = Mantle.key(0, 0);
             long idle = Mantle.key(1, 0);
             try {
@@ -162,7 +163,7 @@ public class MantleTargetedSaveTest {
         CountDownLatch releaseLock = new CountDownLatch(1);
         long requested = Mantle.key(0, 0);
         try {
-            runtime.mantle.getChunk(0, 0);
+            modifiedChunk(runtime, 0, 0);
             Future<Void> holder = executor.submit((Callable<Void>) () -> {
                 runtime.hyperLock.lock(0, 0);
                 try {
@@ -196,6 +197,140 @@ public class MantleTargetedSaveTest {
         }
     }
 
+    @Test(timeout = 2_000L)
+    public void saveAllAsyncWritesEveryLoadedRegionBehindTheCaller() throws Exception {
+        TestRuntime runtime = new TestRuntime(temporaryFolder.newFolder("write-behind"));
+        try {
+            modifiedChunk(runtime, 0, 0);
+            modifiedChunk(runtime, 32, 0);
+            modifiedChunk(runtime, 0, 32);
+            runtime.mantle.getChunk(64, 0);
+            TectonicPlate<TestSection> plate = runtime.mantle.getLoadedRegions().get(Mantle.key(0, 0));
+
+            int written = runtime.mantle.saveAllAsync().get(1L, TimeUnit.SECONDS);
+
+            assertEquals(3, written);
+            assertEquals(Set.of(Mantle.key(0, 0), Mantle.key(1, 0), Mantle.key(0, 1)),
+                    runtime.regionIo.successfulWrites);
+            assertEquals(1L, runtime.mantle.getSkippedPlateCount());
+            assertEquals(4, runtime.mantle.getLoadedRegionCount());
+            assertSame(plate, runtime.mantle.getLoadedRegions().get(Mantle.key(0, 0)));
+            assertFalse(plate.isClosed());
+            assertFalse(plate.isModified());
+            assertEquals(0, runtime.mantle.getPendingWriteCount());
+
+            assertEquals(0, (int) runtime.mantle.saveAllAsync().get(1L, TimeUnit.SECONDS));
+            modifiedChunk(runtime, 1, 1);
+            assertEquals(1, (int) runtime.mantle.saveAllAsync().get(1L, TimeUnit.SECONDS));
+            assertEquals(2, runtime.regionIo.attempts(Mantle.key(0, 0)));
+            assertEquals(1, runtime.regionIo.attempts(Mantle.key(1, 0)));
+        } finally {
+            runtime.close();
+        }
+    }
+
+    @Test(timeout = 2_000L)
+    public void writesThroughAFetchedSectionAreStillSaved() throws Exception {
+        TestRuntime runtime = new TestRuntime(temporaryFolder.newFolder("fetched-section"));
+        try {
+            TestSection section = modifiedChunk(runtime, 0, 0).get(0);
+            assertEquals(1, (int) runtime.mantle.saveAllAsync().get(1L, TimeUnit.SECONDS));
+
+            section.values.put(Integer.class, 7);
+
+            assertEquals(1, (int) runtime.mantle.saveAllAsync().get(1L, TimeUnit.SECONDS));
+            assertEquals(2, runtime.regionIo.attempts(Mantle.key(0, 0)));
+            assertEquals(0L, runtime.mantle.getSkippedPlateCount());
+        } finally {
+            runtime.close();
+        }
+    }
+
+    @Test(timeout = 5_000L)
+    public void accessDuringWriteBehindDoesNotWaitForTheWrite() throws Exception {
+        TestRuntime runtime = new TestRuntime(temporaryFolder.newFolder("write-behind-access"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            modifiedChunk(runtime, 0, 0);
+            long requested = Mantle.key(0, 0);
+            TectonicPlate<TestSection> plate = runtime.mantle.getLoadedRegions().get(requested);
+            runtime.regionIo.blockWritesFor(requested);
+
+            CompletableFuture<Integer> saving = runtime.mantle.saveAllAsync();
+            assertTrue(runtime.regionIo.writeEntered.await(1L, TimeUnit.SECONDS));
+            assertFalse(plate.isClosed());
+            assertEquals(1, runtime.mantle.getPendingWriteCount());
+            assertEquals(Set.of(requested), runtime.mantle.saveIdleTectonicPlates(List.of(requested)));
+
+            Future<MantleChunk<TestSection>> access = executor.submit(() -> {
+                runtime.mantle.set(16, 0, 16, "during");
+                return runtime.mantle.getChunk(1, 1);
+            });
+            MantleChunk<TestSection> got = access.get(1L, TimeUnit.SECONDS);
+            assertSame(plate.get(1, 1), got);
+            assertEquals("during", runtime.mantle.get(16, 0, 16, String.class));
+            assertFalse(saving.isDone());
+
+            runtime.regionIo.releaseBlockedWrite();
+
+            assertEquals(1, (int) saving.get(1L, TimeUnit.SECONDS));
+            assertSame(plate, runtime.mantle.getLoadedRegions().get(requested));
+            assertEquals(0, runtime.mantle.getPendingWriteCount());
+            assertTrue(plate.isModified());
+            assertEquals(1, (int) runtime.mantle.saveAllAsync().get(1L, TimeUnit.SECONDS));
+            assertFalse(plate.isModified());
+            assertEquals(2, runtime.regionIo.attempts(requested));
+        } finally {
+            executor.shutdownNow();
+            runtime.close();
+        }
+    }
+
+    @Test(timeout = 2_000L)
+    public void failedWriteBehindBatchKeepsRegionsLoaded() throws Exception {
+        TestRuntime runtime = new TestRuntime(temporaryFolder.newFolder("write-behind-failure"));
+        try {
+            MantleChunk<TestSection> chunk = modifiedChunk(runtime, 0, 0);
+            long requested = Mantle.key(0, 0);
+            TectonicPlate<TestSection> plate = runtime.mantle.getLoadedRegions().get(requested);
+            runtime.regionIo.failWritesFor(requested);
+
+            CompletableFuture<Integer> saving = runtime.mantle.saveAllAsync();
+
+            assertThrows(ExecutionException.class, () -> saving.get(1L, TimeUnit.SECONDS));
+            assertSame(plate, runtime.mantle.getLoadedRegions().get(requested));
+            assertFalse(plate.isClosed());
+            assertFalse(chunk.isClosed());
+            assertTrue(plate.isModified());
+            assertEquals(0, runtime.mantle.getPendingWriteCount());
+        } finally {
+            runtime.close();
+        }
+    }
+
+    @Test
+    public void unmodifiedRegionsUnloadWithoutBeingWritten() throws Exception {
+        TestRuntime runtime = new TestRuntime(temporaryFolder.newFolder("targeted-clean"));
+        try {
+            runtime.mantle.getChunk(0, 0);
+            runtime.mantle.get(0, 0, 0, String.class);
+            modifiedChunk(runtime, 32, 0);
+            long clean = Mantle.key(0, 0);
+            long modified = Mantle.key(1, 0);
+
+            assertEquals(Set.of(), runtime.mantle.saveIdleTectonicPlates(List.of(clean, modified)));
+
+            assertEquals(0, runtime.regionIo.attempts(clean));
+            assertEquals(1, runtime.regionIo.attempts(modified));
+            assertEquals(1L, runtime.mantle.getSkippedPlateCount());
+            assertEquals(1L, runtime.mantle.getWrittenPlateCount());
+            assertFalse(runtime.mantle.isChunkLoaded(0, 0));
+            assertFalse(runtime.mantle.isChunkLoaded(32, 0));
+        } finally {
+            runtime.close();
+        }
+    }
+
     @Test
     public void completedRegionLoadDoesNotRetainAClosedFuture() throws Exception {
         TestRuntime runtime = new TestRuntime(
@@ -257,6 +392,11 @@ public class MantleTargetedSaveTest {
         }
     }
 
+    private static MantleChunk<TestSection> modifiedChunk(TestRuntime runtime, int chunkX, int chunkZ) {
+        runtime.mantle.set(chunkX << 4, 0, chunkZ << 4, "modified");
+        return runtime.mantle.getChunk(chunkX, chunkZ);
+    }
+
     private static final class TestRuntime implements AutoCloseable {
         private final MultiBurstSupport burst;
         private final HyperLockSupport hyperLock;
@@ -0,0 +1,184 @@
+package art.arcane.volmlib.util.mantle;
+
+import art.arcane.volmlib.util.cache.CacheKey;
+import art.arcane.volmlib.util.function.Consumer4;
+import art.arcane.volmlib.util.io.CountingDataInputStream;
+import art.arcane.volmlib.util.mantle.runtime.MantleChunk;
+import art.arcane.volmlib.util.mantle.runtime.MantleDataAdapter;
+import art.arcane.volmlib.util.mantle.runtime.MantleHooks;
+import art.arcane.volmlib.util.mantle.runtime.TectonicPlate;
+import art.arcane.volmlib.util.parallel.HyperLockSupport;
+import art.arcane.volmlib.util.parallel.MultiBurstSupport;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runtime mantle over placeholder sections for tests that only care about plate residency. Plates
+ * are never written; reads build an empty plate and can be held back with {@link RegionIo#block()}.
+ */
+final class MantleTestRuntime implements AutoCloseable {
+    static final int WORLD_HEIGHT = 16;
+    static final MantleDataAdapter<Object> ADAPTER = new Adapter(-1L);
+
+    final File dataFolder;
+    final MultiBurstSupport burst;
+    final RegionIo regionIo;
+    final art.arcane.volmlib.util.mantle.runtime.Mantle<Object> mantle;
+
+    MantleTestRuntime(File dataFolder, int threads) {
+        this.dataFolder = dataFolder;
+        this.burst = new MultiBurstSupport(
+                "mantle-test",
+                Thread.NORM_PRIORITY,
+                () -> threads,
+                ignored -> threads,
+                System::currentTimeMillis,
+                error -> {
+                    throw new AssertionError(error);
+                },
+                ignored -> {
+                },
+                ignored -> {
+                },
+                1_000L
+        );
+        this.regionIo = new RegionIo();
+        this.mantle = new art.arcane.volmlib.util.mantle.runtime.Mantle<>(dataFolder, WORLD_HEIGHT, 32,
+                new HyperLockSupport(), burst, regionIo, ADAPTER, MantleHooks.NONE);
+    }
+
+    /**
+     * Creates an adapter that sizes every present section at {@code sectionSize} bytes on top of a
+     * 64 byte chunk, or keeps the mantle's flat estimate when {@code sectionSize} is negative.
+     */
+    static MantleDataAdapter<Object> adapter(long sectionSize) {
+        return new Adapter(sectionSize);
+    }
+
+    /**
+     * Puts a placeholder region file on disk so the mantle treats the region as stored.
+     */
+    void storedRegion(int x, int z) throws Exception {
+        File file = Mantle.fileForRegion(dataFolder, x, z);
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), new byte[]{1});
+    }
+
+    @Override
+    public void close() {
+        regionIo.release();
+        mantle.close();
+        burst.shutdownNow();
+    }
+
+    static final class RegionIo implements Mantle.RegionIO<TectonicPlate<Object>> {
+        private volatile CountDownLatch allowRead = new CountDownLatch(0);
+
+        void block() {
+            allowRead = new CountDownLatch(1);
+        }
+
+        void release() {
+            allowRead.countDown();
+        }
+
+        @Override
+        public TectonicPlate<Object> read(String name) throws Exception {
+            if (!allowRead.await(2L, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting to release read of " + name);
+            }
+
+            long key = Long.parseLong(name.split("\\.")[1]);
+            return new TectonicPlate<>(WORLD_HEIGHT, CacheKey.keyX(key), CacheKey.keyZ(key), ADAPTER, null);
+        }
+
+        @Override
+        public void write(String name, TectonicPlate<Object> region) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class Adapter implements MantleDataAdapter<Object> {
+        private final long sectionSize;
+
+        private Adapter(long sectionSize) {
+            this.sectionSize = sectionSize;
+        }
+
+        @Override
+        public Object createSection() {
+            return new Object();
+        }
+
+        @Override
+        public Object readSection(CountingDataInputStream input) {
+            return new Object();
+        }
+
+        @Override
+        public void writeSection(Object section, DataOutputStream output) {
+        }
+
+        @Override
+        public void trimSection(Object section) {
+        }
+
+        @Override
+        public boolean isSectionEmpty(Object section) {
+            return true;
+        }
+
+        @Override
+        public Class<?> classifyValue(Object value) {
+            return Object.class;
+        }
+
+        @Override
+        public <T> void set(Object section, int x, int y, int z, Class<?> type, T value) {
+        }
+
+        @Override
+        public <T> void remove(Object section, int x, int y, int z, Class<T> type) {
+        }
+
+        @Override
+        public <T> T get(Object section, int x, int y, int z, Class<T> type) {
+            return null;
+        }
+
+        @Override
+        public <T> void iterate(Object section, Class<T> type, Consumer4<Integer, Integer, Integer, T> iterator) {
+        }
+
+        @Override
+        public boolean hasSlice(Object section, Class<?> type) {
+            return false;
+        }
+
+        @Override
+        public void deleteSlice(Object section, Class<?> type) {
+        }
+
+        @Override
+        public long estimateChunkSize(MantleChunk<Object> chunk, long flatEstimate) {
+            if (sectionSize < 0L) {
+                return flatEstimate;
+            }
+
+            long size = 64L;
+            for (int i = 0; i < chunk.sectionCount(); i++) {
+                if (chunk.exists(i)) {
+                    size += sectionSize;
+                }
+            }
+            return size;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package art.arcane.volmlib.util.mantle;
+
+import art.arcane.volmlib.util.data.Varint;
+import art.arcane.volmlib.util.function.Consumer4;
+import art.arcane.volmlib.util.io.CountingDataInputStream;
+import art.arcane.volmlib.util.mantle.runtime.MantleDataAdapter;
+import art.arcane.volmlib.util.mantle.runtime.MantleHooks;
+import art.arcane.volmlib.util.mantle.runtime.TectonicPlate;
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TectonicPlateIndexedFormatTest {
+    private static final int WORLD_HEIGHT = 64;
+    private static final MantleDataAdapter<TestSection> ADAPTER = new TestAdapter();
+
+    @Test
+    public void indexedPlateDecodesChunksOnlyWhenAccessed() throws Exception {
+        byte[] written = write(populatedPlate());
+        TectonicPlate<TestSection> plate = read(written);
+
+        assertEquals(3, plate.getX());
+        assertEquals(4, plate.getZ());
+        assertEquals(11, plate.getEncodedChunkCount());
+        assertTrue(plate.exists(3, 3));
+        assertEquals(11, plate.getEncodedChunkCount());
+
+        assertEquals(10, plate.get(3, 3).get(1).value);
+        assertEquals(10, plate.getEncodedChunkCount());
+        assertFalse(plate.exists(1, 1));
+    }
+
+    @Test
+    public void untouchedChunksAreWrittenBackVerbatim() throws Exception {
+        byte[] written = write(populatedPlate());
+        TectonicPlate<TestSection> plate = read(written);
+        plate.get(6, 6);
+
+        assertArrayEquals(written, write(plate));
+    }
+
+    @Test
+    public void modifiedChunksSurviveARoundTripAlongsideEncodedOnes() throws Exception {
+        TectonicPlate<TestSection> plate = read(write(populatedPlate()));
+        plate.getOrCreate(6, 6).getOrCreate(1).value = 99;
+
+        TectonicPlate<TestSection> reread = read(write(plate));
+
+        assertEquals(99, reread.get(6, 6).get(1).value);
+        assertEquals(16, reread.get(9, 9).get(1).value);
+    }
+
+    @Test
+    public void modificationSurvivesRepeatedSavesOfAResidentPlate() throws Exception {
+        for (boolean retain : new boolean[]{false, true}) {
+            TectonicPlate<TestSection> plate = read(write(populatedPlate()));
+            plate.setRetainPayloads(retain);
+            plate.get(6, 6).getOrCreate(1).value = 99;
+
+            TectonicPlateSupport.SaveMark mark = plate.markModifications();
+            write(plate);
+            plate.markSaved(mark);
+            plate.reopen();
+            mark = plate.markModifications();
+            byte[] saved = write(plate);
+            plate.markSaved(mark);
+
+            TectonicPlate<TestSection> reread = read(saved);
+            assertEquals(99, reread.get(6, 6).get(1).value);
+            assertEquals(16, reread.get(9, 9).get(1).value);
+        }
+    }
+
+    @Test
+    public void decodedPayloadsAreOnlyRetainedWhenAskedFor() throws Exception {
+        byte[] written = write(populatedPlate());
+        TectonicPlate<TestSection> plain = read(written);
+        TectonicPlate<TestSection> retaining = read(written);
+        retaining.setRetainPayloads(true);
+        for (int i = 0; i < 32; i += 3) {
+            plain.get(i, i);
+            retaining.get(i, i);
+        }
+
+        assertFalse(plain.isRetainingPayloads());
+        assertTrue(retaining.estimateRetainedSize(0L) > plain.estimateRetainedSize(0L));
+        assertArrayEquals(written, write(plain));
+        assertArrayEquals(written, write(retaining));
+
+        retaining.setRetainPayloads(false);
+        assertEquals(plain.estimateRetainedSize(0L), retaining.estimateRetainedSize(0L));
+    }
+
+    @Test
+    public void readPlateStaysCleanUntilAChunkIsModified() throws Exception {
+        TectonicPlate<TestSection> plate = read(write(populatedPlate()));
+        assertEquals(Integer.valueOf(10), plate.get(3, 3).get(0, 16, 0, Integer.class));
+        plate.getOrCreate(4, 4);
+
+        assertFalse(plate.isModified());
+
+        plate.get(6, 6).set(0, 16, 0, 42);
+
+        assertTrue(plate.isModified());
+        assertTrue(plate.get(6, 6).isModified());
+        assertFalse(plate.get(3, 3).isModified());
+
+        plate.markSaved(plate.markModifications());
+
+        assertFalse(plate.isModified());
+    }
+
+    @Test
+    public void writesAfterTheSaveMarkStayModified() throws Exception {
+        TectonicPlate<TestSection> plate = read(write(populatedPlate()));
+        plate.get(6, 6).set(0, 16, 0, 42);
+
+        TectonicPlateSupport.SaveMark mark = plate.markModifications();
+        plate.get(9, 9).set(0, 16, 0, 43);
+        plate.markSaved(mark);
+
+        assertTrue(plate.isModified());
+        assertFalse(plate.get(6, 6).isModified());
+        assertTrue(plate.get(9, 9).isModified());
+    }
+
+    @Test
+    public void writesThroughAFetchedSectionAreNeverSkipped() throws Exception {
+        TectonicPlate<TestSection> plate = read(write(populatedPlate()));
+        TestSection section = plate.get(3, 3).get(1);
+        section.value = 70;
+
+        assertTrue(plate.isModified());
+        TectonicPlateSupport.SaveMark mark = plate.markModifications();
+        assertEquals(70, read(write(plate)).get(3, 3).get(1).value);
+        plate.markSaved(mark);
+        plate.reopen();
+
+        section.value = 71;
+
+        assertTrue(plate.isModified());
+        assertEquals(71, read(write(plate)).get(3, 3).get(1).value);
+    }
+
+    @Test
+    public void sequentialPlatesRemainReadable() throws Exception {
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        TectonicPlate<TestSection> source = new TectonicPlate<>(WORLD_HEIGHT, 0, 0, ADAPTER, null);
+        source.getOrCreate(2, 0).getOrCreate(1).value = 5;
+        source.close();
+        source.get(2, 0).write(new DataOutputStream(chunk));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(7);
+        out.writeInt(-2);
+        Varint.writeUnsignedVarInt(TectonicPlate.SEQUENTIAL, out);
+        for (int i = 0; i < 1024; i++) {
+            if (i == 2) {
+                out.writeInt(chunk.size());
+                chunk.writeTo(out);
+            } else {
+                out.writeInt(0);
+            }
+        }
+        out.flush();
+
+        TectonicPlate<TestSection> plate = read(bytes.toByteArray());
+
+        assertEquals(0, plate.getEncodedChunkCount());
+        assertEquals(5, plate.get(2, 0).get(1).value);
+    }
+
+    @Test
+    public void corruptChunkFoundOnFirstAccessIsCountedOnThePlate() throws Exception {
+        byte[] written = write(populatedPlate());
+        written[9 + 4096 + 2] = (byte) 0xFF;
+        TectonicPlate.hasError();
+
+        TectonicPlate<TestSection> plate = read(written);
+
+        assertFalse(TectonicPlate.hasError());
+        assertEquals(0, plate.getFailedChunkCount());
+
+        assertNull(plate.get(0, 0));
+        assertEquals(10, plate.get(3, 3).get(1).value);
+
+        assertEquals(1, plate.getFailedChunkCount());
+        assertFalse(TectonicPlate.hasError());
+    }
+
+    @Test
+    public void parallelDecodeContainsFailuresPerChunk() throws Exception {
+        TectonicPlate<TestSection> source = new TectonicPlate<>(WORLD_HEIGHT, 0, 0, ADAPTER, null);
+        for (int i = 0; i < 128; i++) {
+            source.getOrCreate(i & 31, i >> 5).getOrCreate(1).value = i + 1;
+        }
+
+        byte[] written = write(source);
+        written[9 + 4096 + 2] = (byte) 0xFF;
+        AtomicInteger failures = new AtomicInteger();
+        MantleHooks hooks = new MantleHooks() {
+            @Override
+            public void onReadChunkFailure(int index, long start, long end, CountingDataInputStream din, Throwable error) {
+                assertEquals(0, index);
+                failures.incrementAndGet();
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            CountingDataInputStream in = CountingDataInputStream.wrap(new BufferedInputStream(new ByteArrayInputStream(written)));
+            TectonicPlate<TestSection> plate = TectonicPlate.read(WORLD_HEIGHT, in, true, ADAPTER, hooks, executor);
+
+            assertTrue(TectonicPlate.hasError());
+            assertEquals(1, failures.get());
+            assertEquals(1, plate.getFailedChunkCount());
+            assertEquals(0, plate.getEncodedChunkCount());
+            assertNull(plate.get(0, 0));
+            for (int i = 1; i < 128; i++) {
+                assertEquals(i + 1, plate.get(i & 31, i >> 5).get(1).value);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static TectonicPlate<TestSection> populatedPlate() {
+        TectonicPlate<TestSection> plate = new TectonicPlate<>(WORLD_HEIGHT, 3, 4, ADAPTER, null);
+        for (int i = 0; i < 32; i += 3) {
+            plate.getOrCreate(i, i).getOrCreate(1).value = i + 7;
+        }
+        return plate;
+    }
+
+    private static byte[] write(TectonicPlate<TestSection> plate) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        plate.close();
+        plate.write(out);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static TectonicPlate<TestSection> read(byte[] bytes) throws IOException {
+        CountingDataInputStream in = CountingDataInputStream.wrap(new BufferedInputStream(new ByteArrayInputStream(bytes)));
+        return TectonicPlate.read(WORLD_HEIGHT, in, true, ADAPTER, null);
+    }
+
+    private static final class TestAdapter implements MantleDataAdapter<TestSection> {
+        @Override
+        public TestSection createSection() {
+            return new TestSection();
+        }
+
+        @Override
+        public TestSection readSection(CountingDataInputStream input) throws IOException {
+            TestSection section = new TestSection();
+            section.value = input.readInt();
+            return section;
+        }
+
+        @Override
+        public void writeSection(TestSection section, DataOutputStream output) throws IOException {
+            output.writeInt(section.value);
+        }
+
+        @Override
+        public void trimSection(TestSection section) {
+        }
+
+        @Override
+        public boolean isSectionEmpty(TestSection section) {
+            return section.value == 0;
+        }
+
+        @Override
+        public Class<?> classifyValue(Object value) {
+            return Integer.class;
+        }
+
+        @Override
+        public <T> void set(TestSection section, int x, int y, int z, Class<?> type, T value) {
+            section.value = (Integer) value;
+        }
+
+        @Override
+        public <T> void remove(TestSection section, int x, int y, int z, Class<T> type) {
+            section.value = 0;
+        }
+
+        @Override
+        public <T> T get(TestSection section, int x, int y, int z, Class<T> type) {
+            return type.cast(section.value);
+        }
+
+        @Override
+        public <T> void iterate(TestSection section, Class<T> type,
+                                Consumer4<Integer, Integer, Integer, T> iterator) {
+        }
+
+        @Override
+        public boolean hasSlice(TestSection section, Class<?> type) {
+            return section.value != 0;
+        }
+
+        @Override
+        public void deleteSlice(TestSection section, Class<?> type) {
+            section.value = 0;
+        }
+    }
+
+    private static final class TestSection {
+        private int value;
+    }
+}
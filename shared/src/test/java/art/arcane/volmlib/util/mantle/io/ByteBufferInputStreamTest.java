@@ -0,0 +1,77 @@
+package art.arcane.volmlib.util.mantle.io;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class ByteBufferInputStreamTest {
+    @Test
+    public void singleByteReadsAreUnsignedAndEndWithMinusOne() throws Exception {
+        ByteBufferInputStream in = new ByteBufferInputStream(ByteBuffer.wrap(new byte[]{(byte) 0xFF, 0x00, (byte) 0x80}));
+
+        assertEquals(3, in.available());
+        assertEquals(255, in.read());
+        assertEquals(0, in.read());
+        assertEquals(128, in.read());
+        assertEquals(0, in.available());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void bulkReadsStopAtTheEndOfTheBuffer() throws Exception {
+        ByteBufferInputStream in = new ByteBufferInputStream(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}));
+        byte[] target = new byte[8];
+
+        assertEquals(0, in.read(target, 0, 0));
+        assertEquals(3, in.read(target, 1, 3));
+        assertEquals(2, in.read(target, 4, 4));
+        assertEquals(-1, in.read(target, 0, 8));
+        assertArrayEquals(new byte[]{0, 1, 2, 3, 4, 5, 0, 0}, target);
+    }
+
+    @Test
+    public void skipIsClampedToTheRemainingBytes() throws Exception {
+        ByteBufferInputStream in = new ByteBufferInputStream(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}));
+
+        assertEquals(0, in.skip(-5));
+        assertEquals(1, in.skip(1));
+        assertEquals(2, in.read());
+        assertEquals(2, in.skip(10));
+        assertEquals(0, in.skip(1));
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void resetReturnsToTheMarkAndTransferCopiesTheRest() throws Exception {
+        ByteBuffer direct = ByteBuffer.allocateDirect(4).put(new byte[]{9, 8, 7, 6});
+        direct.flip();
+        ByteBufferInputStream in = new ByteBufferInputStream(direct);
+
+        assertEquals(9, in.read());
+        in.mark(16);
+        assertEquals(8, in.read());
+        in.reset();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(3, in.transferTo(out));
+        assertArrayEquals(new byte[]{8, 7, 6}, out.toByteArray());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void closedStreamRejectsReads() throws Exception {
+        ByteBufferInputStream in = new ByteBufferInputStream(ByteBuffer.wrap(new byte[]{1, 2}));
+        in.close();
+        in.close();
+
+        assertThrows(IOException.class, in::read);
+        assertThrows(IOException.class, in::available);
+        assertThrows(IOException.class, () -> in.skip(1));
+    }
+}
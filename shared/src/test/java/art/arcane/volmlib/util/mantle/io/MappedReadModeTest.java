@@ -0,0 +1,96 @@
+package art.arcane.volmlib.util.mantle.io;
+
+import art.arcane.volmlib.util.io.CountingDataInputStream;
+import art.arcane.volmlib.util.mantle.runtime.IOWorker;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+public class MappedReadModeTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void mappedReadsRoundTripEveryCodec() throws Exception {
+        for (int id : new int[]{SelfDescribingIOWorkerCodecSupport.IDENTITY, SelfDescribingIOWorkerCodecSupport.LZ4, SelfDescribingIOWorkerCodecSupport.DEFLATE}) {
+            try (IOWorker<byte[]> worker = worker("codec-" + id, new SelfDescribingIOWorkerCodecSupport(id))) {
+                byte[] payload = payload(id, 20_000);
+                worker.write("pv.0.0.ttp", "plate", ".tmp", payload, (plate, out) -> out.write(plate));
+
+                assertArrayEquals(payload, worker.read("pv.0.0.ttp", (name, in) -> in.readAllBytes()));
+            }
+        }
+    }
+
+    @Test
+    public void rewritingAfterAMappedReadTruncatesTheFile() throws Exception {
+        try (IOWorker<byte[]> worker = worker("rewrite", IOWorkerCodecSupport.identity())) {
+            worker.write("pv.0.0.ttp", "plate", ".tmp", payload(1, 50_000), (plate, out) -> out.write(plate));
+            worker.read("pv.0.0.ttp", (name, in) -> in.readAllBytes());
+
+            byte[] smaller = payload(2, 300);
+            worker.write("pv.0.0.ttp", "plate", ".tmp", smaller, (plate, out) -> out.write(plate));
+
+            assertArrayEquals(smaller, worker.read("pv.0.0.ttp", (name, in) -> in.readAllBytes()));
+        }
+    }
+
+    @Test
+    public void batchWritesReadBackThroughMappings() throws Exception {
+        try (IOWorker<byte[]> worker = worker("batch", new SelfDescribingIOWorkerCodecSupport(SelfDescribingIOWorkerCodecSupport.DEFLATE))) {
+            Map<String, byte[]> plates = new LinkedHashMap<>();
+            for (int i = 0; i < 4; i++) {
+                plates.put("pv." + i + ".0.ttp", payload(i, 1_000 + i));
+            }
+            worker.writeBatch("plate", ".tmp", plates, (plate, out) -> out.write(plate));
+
+            for (Map.Entry<String, byte[]> entry : plates.entrySet()) {
+                assertArrayEquals(entry.getValue(), worker.read(entry.getKey(), (name, in) -> in.readAllBytes()));
+            }
+        }
+    }
+
+    @Test
+    public void mappingIsReleasedWhenTheReadReturns() throws Exception {
+        try (IOWorker<byte[]> worker = worker("release", IOWorkerCodecSupport.identity())) {
+            worker.write("pv.0.0.ttp", "plate", ".tmp", payload(3, 64), (plate, out) -> out.write(plate));
+            AtomicReference<CountingDataInputStream> leaked = new AtomicReference<>();
+            worker.read("pv.0.0.ttp", (name, in) -> {
+                leaked.set(in);
+                return new byte[]{(byte) in.read()};
+            });
+
+            assertThrows(IOException.class, () -> leaked.get().read());
+        }
+    }
+
+    @Test
+    public void runtimeReportsTheModeInEffect() {
+        IOWorkerRuntimeSupport support = new IOWorkerRuntimeSupport(null, null, IOWorkerRuntimeSupport.ReadMode.MAPPED);
+
+        assertEquals(DelegateStream.canUnmap() ? IOWorkerRuntimeSupport.ReadMode.MAPPED : IOWorkerRuntimeSupport.ReadMode.STREAM,
+                support.getReadMode());
+        assertEquals(IOWorkerRuntimeSupport.ReadMode.STREAM, new IOWorkerRuntimeSupport(null, null).getReadMode());
+    }
+
+    private IOWorker<byte[]> worker(String folder, IOWorkerCodecSupport codec) throws IOException {
+        return new IOWorker<>(temporaryFolder.newFolder(folder), codec, 8, null, IOWorkerRuntimeSupport.ReadMode.MAPPED);
+    }
+
+    private static byte[] payload(int seed, int size) {
+        byte[] payload = new byte[size];
+        for (int i = 0; i < size; i++) {
+            payload[i] = (byte) ((i * 31 + seed) % 7 == 0 ? i ^ seed : i % 13);
+        }
+        return payload;
+    }
+}
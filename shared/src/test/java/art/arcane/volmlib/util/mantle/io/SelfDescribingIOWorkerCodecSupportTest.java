@@ -0,0 +1,131 @@
+package art.arcane.volmlib.util.mantle.io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class SelfDescribingIOWorkerCodecSupportTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void readerDetectsWhicheverCodecWroteTheStream() throws Exception {
+        byte[] payload = payload(7);
+        SelfDescribingIOWorkerCodecSupport reader = new SelfDescribingIOWorkerCodecSupport(SelfDescribingIOWorkerCodecSupport.LZ4);
+
+        for (int id : new int[]{SelfDescribingIOWorkerCodecSupport.IDENTITY, SelfDescribingIOWorkerCodecSupport.LZ4, SelfDescribingIOWorkerCodecSupport.DEFLATE}) {
+            byte[] encoded = encode(new SelfDescribingIOWorkerCodecSupport(id), payload);
+
+            assertEquals(id, SelfDescribingIOWorkerCodecSupport.detect(encoded, encoded.length));
+            assertArrayEquals(payload, decode(reader, encoded));
+        }
+    }
+
+    @Test
+    public void headerlessStreamsFallBackToTheLegacyCodec() throws Exception {
+        byte[] payload = payload(3);
+        byte[] legacy = encode(new DeflateIOWorkerCodecSupport(), payload);
+        SelfDescribingIOWorkerCodecSupport reader = new SelfDescribingIOWorkerCodecSupport(
+                SelfDescribingIOWorkerCodecSupport.DEFLATE, new DeflateIOWorkerCodecSupport(), null);
+
+        assertEquals(-1, SelfDescribingIOWorkerCodecSupport.detect(legacy, legacy.length));
+        assertArrayEquals(payload, decode(reader, legacy));
+    }
+
+    @Test
+    public void trainedDictionaryShrinksSmallPlatesAndMustMatchOnRead() throws Exception {
+        List<byte[]> samples = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            samples.add(payload(i));
+        }
+
+        byte[] dictionary = IOWorkerDictionaryTrainer.train(samples);
+        byte[] payload = payload(99);
+        SelfDescribingIOWorkerCodecSupport plain = new SelfDescribingIOWorkerCodecSupport(SelfDescribingIOWorkerCodecSupport.DEFLATE);
+        SelfDescribingIOWorkerCodecSupport trained = new SelfDescribingIOWorkerCodecSupport(
+                SelfDescribingIOWorkerCodecSupport.DEFLATE_DICTIONARY, null, dictionary);
+
+        byte[] encoded = encode(trained, payload);
+
+        assertTrue(dictionary.length > 0);
+        assertTrue(encoded.length < encode(plain, payload).length);
+        assertArrayEquals(payload, decode(trained, encoded));
+
+        byte[] other = dictionary.clone();
+        other[other.length - 1] ^= 1;
+        SelfDescribingIOWorkerCodecSupport mismatched = new SelfDescribingIOWorkerCodecSupport(
+                SelfDescribingIOWorkerCodecSupport.DEFLATE, null, other);
+        assertThrows(IOException.class, () -> decode(mismatched, encoded));
+        assertThrows(IOException.class, () -> decode(plain, encoded));
+    }
+
+    @Test
+    public void migrationReencodesEveryRegionFileInTheFolder() throws Exception {
+        File folder = temporaryFolder.newFolder("mantle");
+        IOWorkerCodecSupport source = new SelfDescribingIOWorkerCodecSupport(SelfDescribingIOWorkerCodecSupport.IDENTITY);
+        SelfDescribingIOWorkerCodecSupport target = new SelfDescribingIOWorkerCodecSupport(SelfDescribingIOWorkerCodecSupport.DEFLATE);
+        for (int i = 0; i < 6; i++) {
+            Files.write(new File(folder, "pv." + i + ".ttp.lz4b").toPath(), encode(source, payload(i)));
+        }
+        Files.write(new File(folder, "notes.txt").toPath(), new byte[]{1, 2, 3});
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        IOWorkerCodecMigration.Result result;
+        try {
+            result = IOWorkerCodecMigration.migrate(folder, target, target, executor);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(6, result.getMigrated());
+        assertTrue(result.getFailures().isEmpty());
+        assertTrue(result.getBytesAfter() < result.getBytesBefore());
+        assertEquals(3, new File(folder, "notes.txt").length());
+        for (int i = 0; i < 6; i++) {
+            byte[] migrated = Files.readAllBytes(new File(folder, "pv." + i + ".ttp.lz4b").toPath());
+            assertEquals(SelfDescribingIOWorkerCodecSupport.DEFLATE, SelfDescribingIOWorkerCodecSupport.detect(migrated, migrated.length));
+            assertArrayEquals(payload(i), decode(target, migrated));
+        }
+        assertEquals(7, folder.listFiles().length);
+    }
+
+    private static byte[] payload(int seed) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (int i = 0; i < 64; i++) {
+            String line = "section:" + (i % 5) + ";palette=minecraft:stone,minecraft:dirt,minecraft:air;seed=" + (seed * 31 + i % 3) + "\n";
+            bytes.writeBytes(line.getBytes());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encode(IOWorkerCodecSupport codec, byte[] payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = codec.encode(bytes)) {
+            out.write(payload);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] decode(IOWorkerCodecSupport codec, byte[] encoded) throws IOException {
+        try (InputStream in = codec.decode(new ByteArrayInputStream(encoded))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package art.arcane.volmlib.util.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RNGTest {
+    @Test
+    public void seededInstancesReproduceRandomSequences() {
+        for (long seed : new long[]{0L, 1L, -7L, 123456789L, Long.MIN_VALUE}) {
+            Random expected = new Random(seed);
+            RNG actual = new RNG(seed);
+
+            for (int i = 0; i < 256; i++) {
+                assertEquals(expected.nextInt(), actual.nextInt());
+                assertEquals(expected.nextInt(37), actual.nextInt(37));
+                assertEquals(expected.nextLong(), actual.nextLong());
+                assertEquals(expected.nextDouble(), actual.nextDouble(), 0D);
+                assertEquals(expected.nextFloat(), actual.nextFloat(), 0F);
+                assertEquals(expected.nextBoolean(), actual.nextBoolean());
+                assertEquals(expected.nextGaussian(), actual.nextGaussian(), 0D);
+            }
+        }
+    }
+
+    @Test
+    public void parallelChildrenOfSeededInstancesKeepTheirSeeds() {
+        RNG parent = new RNG(1000L);
+        RNG child = parent.nextParallelRNG(24);
+        Random expected = new Random(1024L);
+
+        assertFalse(child.isFast());
+        assertEquals(1024L, child.getSeed());
+        assertEquals(expected.nextInt(), child.nextInt());
+    }
+
+    @Test
+    public void fastInstancesAreDeterministicAndDecorrelated() {
+        RNG a = RNG.fast(7L);
+        RNG b = RNG.fast(7L);
+        RNG neighbour = RNG.fast(8L);
+
+        assertTrue(a.isFast());
+        for (int i = 0; i < 256; i++) {
+            long value = a.nextLong();
+            assertEquals(value, b.nextLong());
+            assertNotEquals(value, neighbour.nextLong());
+        }
+
+        assertTrue(a.nextParallelRNG(3).isFast());
+        assertEquals(RNG.fast(10L).nextLong(), RNG.fast(7L).nextParallelRNG(3).nextLong());
+    }
+
+    @Test
+    public void jumpHandsOutTheCurrentStreamAndAdvances() {
+        RNG source = RNG.fast(99L);
+        RNG reference = RNG.fast(99L);
+
+        RNG first = source.jump();
+
+        for (int i = 0; i < 64; i++) {
+            long value = reference.nextLong();
+            assertEquals(value, first.nextLong());
+            assertNotEquals(value, source.nextLong());
+        }
+    }
+
+    @Test
+    public void splitIsReproducibleFromTheParentSeed() {
+        assertEquals(new RNG(5L).split().nextLong(), new RNG(5L).split().nextLong());
+        assertTrue(new RNG(5L).split().isFast());
+    }
+
+    @Test
+    public void unseededInstancesSwitchToTheRandomSequenceWhenSeeded() {
+        RNG unseeded = new RNG();
+        unseeded.setSeed(42L);
+
+        assertEquals(new Random(42L).nextLong(), unseeded.nextLong());
+        assertTrue(RNG.r.i(10) >= 0);
+    }
+}
@@ -0,0 +1,161 @@
+package art.arcane.volmlib.util.matter;
+
+import art.arcane.volmlib.util.io.CountingDataInputStream;
+import art.arcane.volmlib.util.matter.slices.IntMatter;
+import art.arcane.volmlib.util.matter.slices.LongMatter;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class MatterDictionaryTest {
+    @Test
+    public void stringsAreStoredOnceAndReferencedById() throws IOException {
+        MatterDictionary dictionary = new MatterDictionary();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        MatterDictionary previous = MatterDictionary.enter(dictionary);
+        try {
+            DataOutputStream out = new DataOutputStream(body);
+            MatterDictionary.writeString("minecraft:stone", out);
+            MatterDictionary.writeString("minecraft:dirt", out);
+            MatterDictionary.writeString("minecraft:stone", out);
+        } finally {
+            MatterDictionary.exit(previous);
+        }
+
+        assertEquals(2, dictionary.size());
+        assertArrayEquals(new byte[]{0, 1, 0}, body.toByteArray());
+
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        dictionary.write(new DataOutputStream(table));
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(table.toByteArray()));
+        DataInputStream ids = new DataInputStream(new ByteArrayInputStream(body.toByteArray()));
+        previous = MatterDictionary.enter(MatterDictionary.read(in));
+        try {
+            assertEquals("minecraft:stone", MatterDictionary.readString(ids));
+            assertEquals("minecraft:dirt", MatterDictionary.readString(ids));
+            assertEquals("minecraft:stone", MatterDictionary.readString(ids));
+        } finally {
+            MatterDictionary.exit(previous);
+        }
+    }
+
+    @Test
+    public void matterRoundTripsThroughTheDictionary() throws IOException {
+        TestMatter matter = populated();
+        matter.getHeader().setVersion(1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        matter.writeDos(new DataOutputStream(bytes));
+
+        Matter read = read(bytes.toByteArray());
+
+        assertEquals(Matter.VERSION, read.getHeader().getVersion());
+        assertPopulated(read);
+    }
+
+    @Test
+    public void versionOneMatterIsStillReadable() throws IOException {
+        TestMatter matter = populated();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(matter.getWidth());
+        out.writeInt(matter.getHeight());
+        out.writeInt(matter.getDepth());
+        out.writeByte(matter.getSliceTypes().size());
+        matter.getHeader().setVersion(1);
+        matter.getHeader().write(out);
+        for (MatterSlice<?> slice : matter.getSliceMap().values()) {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream();
+            slice.write(new DataOutputStream(payload));
+            out.writeInt(payload.size());
+            payload.writeTo(out);
+        }
+
+        Matter read = read(bytes.toByteArray());
+
+        assertEquals(1, read.getHeader().getVersion());
+        assertPopulated(read);
+    }
+
+    private static TestMatter populated() {
+        TestMatter matter = new TestMatter(4, 4, 4);
+        for (int i = 0; i < 4; i++) {
+            matter.slice(Integer.class).set(i, i, 0, i * 3);
+            matter.slice(Long.class).set(0, i, i, i * 7L);
+        }
+        return matter;
+    }
+
+    private static void assertPopulated(Matter matter) {
+        for (int i = 0; i < 4; i++) {
+            assertEquals(Integer.valueOf(i * 3), matter.getSlice(Integer.class).get(i, i, 0));
+            assertEquals(Long.valueOf(i * 7L), matter.getSlice(Long.class).get(0, i, i));
+        }
+    }
+
+    private static Matter read(byte[] bytes) throws IOException {
+        return Matter.readDin(CountingDataInputStream.wrap(new ByteArrayInputStream(bytes)),
+                size -> new TestMatter(size.getX(), size.getY(), size.getZ()));
+    }
+
+    private static final class TestMatter implements Matter {
+        private final MatterHeader header = new MatterHeader();
+        private final Map<Class<?>, MatterSlice<?>> slices = new ConcurrentHashMap<>();
+        private final int width;
+        private final int height;
+        private final int depth;
+
+        private TestMatter(int width, int height, int depth) {
+            this.width = width;
+            this.height = height;
+            this.depth = depth;
+        }
+
+        @Override
+        public MatterHeader getHeader() {
+            return header;
+        }
+
+        @Override
+        public int getWidth() {
+            return width;
+        }
+
+        @Override
+        public int getHeight() {
+            return height;
+        }
+
+        @Override
+        public int getDepth() {
+            return depth;
+        }
+
+        @Override
+        public Map<Class<?>, MatterSlice<?>> getSliceMap() {
+            return slices;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> MatterSlice<T> createSlice(Class<T> type, Matter matter) {
+            if (type == Integer.class) {
+                return (MatterSlice<T>) new IntMatter(width, height, depth);
+            }
+
+            if (type == Long.class) {
+                return (MatterSlice<T>) new LongMatter(width, height, depth);
+            }
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package art.arcane.volmlib.util.nbt.mca;
+
+import art.arcane.volmlib.util.nbt.tag.CompoundTag;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+public class MCAFileChannelTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void channelReaderDecodesFilesWrittenSequentially() throws Exception {
+        File file = temporaryFolder.newFile("r.0.0.mca");
+        MCAFileSupport<TestChunk> written = populated();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            assertEquals(40, written.serialize(raf, false));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MCAFileSupport<TestChunk> read = new MCAFileSupport<>(0, 0, TestChunk::new, null);
+            read.deserialize(channel, LoadFlags.ALL_DATA, TestChunk::new, executor);
+            assertPopulated(read);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void channelWriterProducesFilesTheSequentialReaderAccepts() throws Exception {
+        File file = temporaryFolder.newFile("r.0.0.mca");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(4096L * 500);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            assertEquals(40, populated().serialize(channel, false, executor));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, file.length() % 4096);
+        assertTrue(file.length() < 4096L * 500);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            MCAFileSupport<TestChunk> read = new MCAFileSupport<>(0, 0, TestChunk::new, null);
+            read.deserialize(raf, LoadFlags.ALL_DATA, TestChunk::new);
+            assertPopulated(read);
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MCAFileSupport<TestChunk> read = new MCAFileSupport<>(0, 0, TestChunk::new, null);
+            read.deserialize(channel, LoadFlags.ALL_DATA, TestChunk::new, null);
+            assertPopulated(read);
+        }
+    }
+
+    @Test
+    public void chunkFailuresSurfaceAsIOExceptions() throws Exception {
+        File file = temporaryFolder.newFile("r.0.0.mca");
+        MCAFileSupport<TestChunk> written = populated();
+        written.getChunk(75).value = -1;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            written.serialize(channel, false, null);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MCAFileSupport<TestChunk> read = new MCAFileSupport<>(0, 0, TestChunk::new, null);
+            assertThrows(IOException.class, () -> read.deserialize(channel, LoadFlags.ALL_DATA, TestChunk::new, executor));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void corruptLengthPrefixesAreRejectedBeforeAllocating() throws Exception {
+        for (int corrupt : new int[]{0, -7, 4096 - 3, Integer.MAX_VALUE}) {
+            File file = temporaryFolder.newFile("r." + corrupt + ".0.mca");
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                populated().serialize(channel, false, null);
+            }
+
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.seek(0L);
+                int entry = raf.readInt();
+                assertEquals(1, entry & 0xFF);
+                raf.seek(4096L * (entry >>> 8));
+                raf.writeInt(corrupt);
+            }
+
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                MCAFileSupport<TestChunk> read = new MCAFileSupport<>(0, 0, TestChunk::new, null);
+                IOException error = assertThrows(IOException.class, () -> read.deserialize(channel, LoadFlags.ALL_DATA, TestChunk::new, null));
+                assertTrue(error.getMessage(), error.getMessage().contains("Chunk 0 declares " + corrupt + " bytes"));
+            }
+        }
+    }
+
+    @Test
+    public void chunksWithOnlyFileCodecsUseTheDefaultStreamForms() throws Exception {
+        File file = temporaryFolder.newFile("r.0.0.mca");
+        MCAFileSupport<FileOnlyChunk> written = new MCAFileSupport<>(0, 0, FileOnlyChunk::new, null);
+        for (int i = 0; i < 8; i++) {
+            FileOnlyChunk chunk = new FileOnlyChunk();
+            chunk.value = i * 11 + 1;
+            written.setChunk(i * 100, chunk);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            assertEquals(8, written.serialize(channel, false, executor));
+
+            MCAFileSupport<FileOnlyChunk> read = new MCAFileSupport<>(0, 0, FileOnlyChunk::new, null);
+            read.deserialize(channel, LoadFlags.ALL_DATA, timestamp -> new FileOnlyChunk(), executor);
+            for (int i = 0; i < 8; i++) {
+                assertEquals(i * 11 + 1, read.getChunk(i * 100).value);
+            }
+            assertNull(read.getChunk(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static MCAFileSupport<TestChunk> populated() {
+        MCAFileSupport<TestChunk> file = new MCAFileSupport<>(0, 0, TestChunk::new, null);
+        for (int i = 0; i < 40; i++) {
+            TestChunk chunk = new TestChunk(1000 + i);
+            chunk.value = i * 7;
+            chunk.padding = i * 300;
+            file.setChunk(i * 25, chunk);
+        }
+        return file;
+    }
+
+    private static void assertPopulated(MCAFileSupport<TestChunk> file) {
+        for (int i = 0; i < 1024; i++) {
+            TestChunk chunk = file.getChunk(i);
+            if (i % 25 != 0 || i / 25 >= 40) {
+                assertNull(chunk);
+                continue;
+            }
+
+            assertEquals(i / 25 * 7, chunk.value);
+            assertEquals(1000 + i / 25, chunk.getLastMCAUpdate());
+        }
+    }
+
+    private static final class TestChunk implements MCAChunkLike {
+        private final int lastUpdate;
+        private int value;
+        private int padding;
+
+        private TestChunk() {
+            this(0);
+        }
+
+        private TestChunk(int lastUpdate) {
+            this.lastUpdate = lastUpdate;
+        }
+
+        @Override
+        public void deserialize(RandomAccessFile raf, long loadFlags) throws IOException {
+            raf.readByte();
+            read(raf.readInt());
+        }
+
+        @Override
+        public void deserialize(InputStream input, long loadFlags) throws IOException {
+            DataInputStream in = new DataInputStream(input);
+            in.readByte();
+            read(in.readInt());
+        }
+
+        private void read(int value) throws IOException {
+            if (value < 0) {
+                throw new IOException("corrupt chunk");
+            }
+            this.value = value;
+        }
+
+        @Override
+        public int serialize(RandomAccessFile raf, int xPos, int zPos) throws IOException {
+            byte[] record = serialize(xPos, zPos);
+            raf.write(record);
+            return record.length;
+        }
+
+        @Override
+        public byte[] serialize(int xPos, int zPos) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(5 + padding);
+            out.writeByte(CompressionType.NONE.getID());
+            out.writeInt(value);
+            out.write(new byte[padding]);
+            return bytes.toByteArray();
+        }
+
+        @Override
+        public int getLastMCAUpdate() {
+            return lastUpdate;
+        }
+
+        @Override
+        public void setBiomeAt(int blockX, int blockY, int blockZ, int biomeID) {
+        }
+
+        @Override
+        public int getBiomeAt(int blockX, int blockY, int blockZ) {
+            return 0;
+        }
+
+        @Override
+        public void setBlockStateAt(int blockX, int blockY, int blockZ, CompoundTag state, boolean cleanup) {
+        }
+
+        @Override
+        public CompoundTag getBlockStateAt(int blockX, int blockY, int blockZ) {
+            return null;
+        }
+    }
+
+    private static final class FileOnlyChunk implements MCAChunkLike {
+        private int value;
+
+        @Override
+        public void deserialize(RandomAccessFile raf, long loadFlags) throws IOException {
+            raf.readByte();
+            value = raf.readInt();
+        }
+
+        @Override
+        public int serialize(RandomAccessFile raf, int xPos, int zPos) throws IOException {
+            raf.writeInt(5);
+            raf.writeByte(CompressionType.NONE.getID());
+            raf.writeInt(value);
+            return 9;
+        }
+
+        @Override
+        public int getLastMCAUpdate() {
+            return 0;
+        }
+
+        @Override
+        public void setBiomeAt(int blockX, int blockY, int blockZ, int biomeID) {
+        }
+
+        @Override
+        public int getBiomeAt(int blockX, int blockY, int blockZ) {
+            return 0;
+        }
+
+        @Override
+        public void setBlockStateAt(int blockX, int blockY, int blockZ, CompoundTag state, boolean cleanup) {
+        }
+
+        @Override
+        public CompoundTag getBlockStateAt(int blockX, int blockY, int blockZ) {
+            return null;
+        }
+    }
+}
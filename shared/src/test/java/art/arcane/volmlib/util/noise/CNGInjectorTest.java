@@ -0,0 +1,65 @@
+package art.arcane.volmlib.util.noise;
+
+import art.arcane.volmlib.util.function.NoiseInjector;
+import art.arcane.volmlib.util.function.PrimitiveNoiseInjector;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class CNGInjectorTest {
+    @Test
+    public void builtInsKeepTheirArrayResults() {
+        double src = 0.6D;
+        double value = 0.25D;
+
+        assertArrayEquals(new double[]{src + value, value}, CNG.ADD.combine(src, value), 0D);
+        assertArrayEquals(new double[]{src % value, value}, CNG.SRC_MOD.combine(src, value), 0D);
+        assertArrayEquals(new double[]{src, value % src}, CNG.DST_MOD.combine(src, value), 0D);
+        assertArrayEquals(new double[]{src, value - src}, CNG.DST_SUBTRACT.combine(src, value), 0D);
+        assertArrayEquals(new double[]{src, Math.pow(value, src)}, CNG.DST_POW.combine(src, value), 0D);
+        assertArrayEquals(new double[]{Math.pow(src, value), value}, CNG.SRC_POW.combine(src, value), 0D);
+    }
+
+    @Test
+    public void builtInsCombineWithoutAHolder() {
+        PrimitiveNoiseInjector multiply = PrimitiveNoiseInjector.of(CNG.MULTIPLY);
+        PrimitiveNoiseInjector.Second second = new PrimitiveNoiseInjector.Second();
+
+        assertSame(CNG.MULTIPLY, multiply);
+        assertEquals(0.15D, multiply.combine(0.6D, 0.25D, null), 1e-12D);
+        assertEquals(0.6D, ((PrimitiveNoiseInjector) CNG.DST_SUBTRACT).combine(0.6D, 0.25D, second), 0D);
+        assertEquals(0.25D - 0.6D, second.value, 0D);
+    }
+
+    @Test
+    public void customInjectorsAreAdapted() {
+        NoiseInjector custom = (src, value) -> new double[]{src * 0.5D + value, value * 2D};
+        PrimitiveNoiseInjector adapted = PrimitiveNoiseInjector.of(custom);
+        PrimitiveNoiseInjector.Second second = new PrimitiveNoiseInjector.Second();
+
+        assertEquals(0.55D, adapted.combine(0.6D, 0.25D, second), 1e-12D);
+        assertEquals(0.5D, second.value, 0D);
+
+        CNG legacy = new CNG(new ConstantNoise(0.4D)).child(new CNG(new ConstantNoise(0.2D))).setInjector(custom);
+        assertEquals(0.4D, legacy.noise(3D, 7D), 1e-12D);
+    }
+
+    private record ConstantNoise(double value) implements NoiseGenerator {
+        @Override
+        public double noise(double x) {
+            return value;
+        }
+
+        @Override
+        public double noise(double x, double z) {
+            return value;
+        }
+
+        @Override
+        public double noise(double x, double y, double z) {
+            return value;
+        }
+    }
+}
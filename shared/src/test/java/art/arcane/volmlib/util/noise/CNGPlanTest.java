@@ -0,0 +1,76 @@
+package art.arcane.volmlib.util.noise;
+
+import art.arcane.volmlib.util.function.NoiseInjector;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class CNGPlanTest {
+    private static CNG tree() {
+        CNG leaf = new CNG(new CubicNoise(7)).scale(3.3D).patch(0.05D);
+        CNG fracture = new CNG(new SimplexNoise(5)).scale(0.71D).setInjector(CNG.MAX).child(leaf);
+        CNG ignored = new CNG(new WhiteNoise(11)).scale(9D);
+        CNG branch = new CNG(new PerlinNoise(3)).scale(0.013D).setInjector(CNG.SRC_POW)
+                .child(fracture)
+                .fractureWith(new CNG(new SimplexNoise(9)).setInjector(CNG.DST_SUBTRACT).child(ignored), 0.4D);
+        NoiseInjector custom = (src, value) -> new double[]{(src * 0.75D) + (value * 0.25D), value};
+
+        return new CNG(new SimplexNoise(1)).scale(0.037D)
+                .fractureWith(branch, 4D)
+                .fractureWith(new CNG(new PerlinNoise(13)).scale(1.9D).setInjector(custom).child(leaf), 5D)
+                .fractureWith(new CNG(new CubicNoise(17)).setInjector(CNG.SRC_MOD).child(fracture), 6D)
+                .fractureWith(new CNG(new WhiteNoise(19)).setInjector(CNG.MULTIPLY).child(leaf), 8D)
+                .patch(-0.1D);
+    }
+
+    @Test
+    public void planMatchesTheTreeAtSinglePoints() {
+        CNG tree = tree();
+        CNGPlan plan = tree.compile();
+
+        for (int i = 0; i < 200; i++) {
+            double x = (i * 13.37D) - 900D;
+            double y = i * 0.61D;
+            double z = (i * -7.11D) + 41D;
+            assertEquals(tree.noise(x, z), plan.noise(x, z), 0D);
+            assertEquals(tree.noise(x, y, z), plan.noise(x, y, z), 0D);
+            assertEquals(tree.noise(x), plan.noise(x), 0D);
+        }
+    }
+
+    @Test
+    public void bulkEvaluationMatchesTheTree() {
+        CNG tree = tree();
+        CNGPlan plan = tree.compile();
+        int length = 300;
+        double[] xs = new double[length];
+        double[] ys = new double[length];
+        double[] zs = new double[length];
+        double[] expected2 = new double[length];
+        double[] expected3 = new double[length];
+        for (int i = 0; i < length; i++) {
+            xs[i] = (i % 17) * 3.1D - 20D;
+            ys[i] = (i % 5) * 11D;
+            zs[i] = (i / 17) * 2.9D + 100D;
+            expected2[i] = tree.noise(xs[i], zs[i]);
+            expected3[i] = tree.noise(xs[i], ys[i], zs[i]);
+        }
+
+        double[] out = new double[length];
+        plan.noise(xs, zs, out, length);
+        assertArrayEquals(expected2, out, 0D);
+        plan.noise(xs, ys, zs, out, length);
+        assertArrayEquals(expected3, out, 0D);
+    }
+
+    @Test
+    public void discardedChildrenAreNotCompiled() {
+        CNG tree = new CNG(new PerlinNoise(1)).setInjector(CNG.DST_POW)
+                .child(new CNG(new PerlinNoise(2)))
+                .child(new CNG(new PerlinNoise(3)));
+
+        assertEquals(1, tree.compile().size());
+        assertEquals(tree.noise(4D, 5D), tree.compile().noise(4D, 5D), 0D);
+    }
+}
@@ -0,0 +1,104 @@
+package art.arcane.volmlib.util.noise;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class FastNoiseBulkTest {
+    private static final int LENGTH = 67;
+
+    @Test
+    public void floatBulkMatchesPointwise() {
+        FastNoise noise = new FastNoise(-77);
+        noise.SetFrequency(0.37f);
+        float[] xs = new float[LENGTH];
+        float[] ys = new float[LENGTH];
+        float[] zs = new float[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            xs[i] = (i * 13.7f) - 400f;
+            ys[i] = (i * -5.3f) + 91f;
+            zs[i] = i * 0.61f;
+        }
+
+        float[] out = new float[LENGTH];
+        noise.GetSimplex(xs, ys, out, LENGTH);
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(noise.GetSimplex(xs[i], ys[i]), out[i], 0f);
+        }
+
+        noise.GetSimplex(xs, ys, zs, out, LENGTH);
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(noise.GetSimplex(xs[i], ys[i], zs[i]), out[i], 0f);
+        }
+
+        noise.GetPerlin(xs, ys, out, LENGTH);
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(noise.GetPerlin(xs[i], ys[i]), out[i], 0f);
+        }
+
+        noise.GetCellular(xs, ys, zs, out, LENGTH);
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(noise.GetCellular(xs[i], ys[i], zs[i]), out[i], 0f);
+        }
+    }
+
+    @Test
+    public void doubleBulkMatchesPointwise() {
+        FastNoiseDouble noise = new FastNoiseDouble(123456789012L);
+        noise.setFrequency(0.013D);
+        double[] xs = new double[LENGTH];
+        double[] ys = new double[LENGTH];
+        double[] zs = new double[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            xs[i] = (i * 137.1D) - 4000D;
+            ys[i] = (i * -53.9D) + 910D;
+            zs[i] = i * 6.1D;
+        }
+
+        double[] out = new double[LENGTH];
+        noise.GetSimplex(xs, ys, out, LENGTH);
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(noise.GetSimplex(xs[i], ys[i]), out[i], 0D);
+        }
+
+        noise.GetPerlin(xs, ys, zs, out, LENGTH);
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(noise.GetPerlin(xs[i], ys[i], zs[i]), out[i], 0D);
+        }
+
+        noise.GetCellular(xs, ys, out, LENGTH);
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(noise.GetCellular(xs[i], ys[i]), out[i], 0D);
+        }
+    }
+
+    @Test
+    public void gridFillIsRowMajor() {
+        FastNoiseDouble noise = new FastNoiseDouble(42);
+        double[] out = new double[5 * 3];
+        noise.GetSimplex(out, -20D, 7D, 5, 3, 2.5D);
+
+        for (int zi = 0; zi < 3; zi++) {
+            for (int xi = 0; xi < 5; xi++) {
+                assertEquals(noise.GetSimplex(-20D + (xi * 2.5D), 7D + (zi * 2.5D)), out[(zi * 5) + xi], 0D);
+            }
+        }
+    }
+
+    @Test
+    public void simplexGeneratorBulkMatchesPointwise() {
+        SimplexNoise noise = new SimplexNoise(9);
+        double[] xs = new double[LENGTH];
+        double[] zs = new double[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            xs[i] = i * 0.173D;
+            zs[i] = i * -0.291D;
+        }
+
+        double[] out = new double[LENGTH];
+        noise.noise(xs, zs, out, LENGTH);
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(noise.noise(xs[i], zs[i]), out[i], 0D);
+        }
+    }
+}
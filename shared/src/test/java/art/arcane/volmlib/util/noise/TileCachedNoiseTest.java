@@ -0,0 +1,79 @@
+package art.arcane.volmlib.util.noise;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class TileCachedNoiseTest {
+    @Test
+    public void integerSamplesComeFromWholeTiles() {
+        CountingNoise source = new CountingNoise();
+        TileCachedNoise cached = new TileCachedNoise(source, 16, 64, true);
+
+        for (int z = -20; z < 12; z++) {
+            for (int x = -3; x < 29; x++) {
+                assertEquals(source.value(x, z), cached.noise(x, z), 0D);
+            }
+        }
+
+        assertEquals(3 * 3 * 256, source.samples.get());
+        assertEquals(9, cached.getMisses());
+        assertEquals((32 * 32) - 9, cached.getHits());
+        assertEquals(9, cached.getSize());
+    }
+
+    @Test
+    public void nonIntegerAndThreeDimensionalCallsPassThrough() {
+        CountingNoise source = new CountingNoise();
+        TileCachedNoise cached = new TileCachedNoise(source, 8);
+
+        assertEquals(source.value(1.5D, 2D), cached.noise(1.5D, 2D), 0D);
+        assertEquals(source.noise(3D, 4D, 5D), cached.noise(3D, 4D, 5D), 0D);
+        assertEquals(0, cached.getHits() + cached.getMisses());
+    }
+
+    @Test
+    public void leastRecentlyUsedTilesAreEvicted() {
+        CountingNoise source = new CountingNoise();
+        TileCachedNoise cached = new TileCachedNoise(source, 4, 2, false);
+
+        cached.noise(0, 0);
+        cached.noise(4, 0);
+        cached.noise(0, 0);
+        cached.noise(8, 0);
+        cached.noise(0, 0);
+        cached.noise(4, 0);
+
+        assertEquals(4, cached.getMisses());
+        assertEquals(2, cached.getHits());
+        assertEquals(2, cached.getEvictions());
+        assertEquals(2, cached.getSize());
+        assertEquals(4 * 16, source.samples.get());
+    }
+
+    private static final class CountingNoise implements NoiseGenerator {
+        private final AtomicInteger samples = new AtomicInteger();
+
+        private double value(double x, double z) {
+            return (x * 0.31D) - (z * 1.7D);
+        }
+
+        @Override
+        public double noise(double x) {
+            return noise(x, 0D);
+        }
+
+        @Override
+        public double noise(double x, double z) {
+            samples.incrementAndGet();
+            return value(x, z);
+        }
+
+        @Override
+        public double noise(double x, double y, double z) {
+            return value(x, z) + y;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package art.arcane.volmlib.util.parallel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StripedHyperLockSupportTest {
+    @Test
+    public void stripeCountRoundsUpToAPowerOfTwo() {
+        StripedHyperLockSupport locks = new StripedHyperLockSupport(100, StripedHyperLockSupport.Mode.EXCLUSIVE);
+
+        assertEquals(128, locks.getStripeCount());
+        for (int x = -50; x < 50; x++) {
+            int index = locks.stripeIndex(x, x * 7);
+            assertTrue(index >= 0 && index < 128);
+        }
+    }
+
+    @Test
+    public void exclusiveAcquisitionIsReentrantInEveryMode() {
+        for (StripedHyperLockSupport.Mode mode : StripedHyperLockSupport.Mode.values()) {
+            StripedHyperLockSupport locks = new StripedHyperLockSupport(1, mode);
+            int value = locks.withResult(1, 2, () -> locks.withResult(3, 4, () -> locks.withReadResult(5, 6, () -> 7)));
+
+            assertEquals(7, value);
+            assertTrue(mode.name(), locks.tryLock(1, 2));
+            locks.unlock(1, 2);
+        }
+    }
+
+    @Test
+    public void nestingCheckWarnsWhenAnotherStripeIsHeld() {
+        for (StripedHyperLockSupport.Mode mode : StripedHyperLockSupport.Mode.values()) {
+            List<String> warnings = new ArrayList<>();
+            StripedHyperLockSupport locks = new StripedHyperLockSupport(64, mode, false, warnings::add, null);
+            int x = 1;
+            while (locks.stripeIndex(x, 0) == locks.stripeIndex(0, 0)) {
+                x++;
+            }
+            int other = x;
+
+            locks.with(0, 0, () -> locks.with(other, 0, () -> {
+            }));
+            assertTrue(mode.name(), warnings.isEmpty());
+
+            locks.setNestingCheck(true);
+            locks.with(0, 0, () -> locks.with(0, 0, () -> {
+            }));
+            assertTrue(mode.name(), warnings.isEmpty());
+
+            locks.with(0, 0, () -> locks.with(other, 0, () -> {
+            }));
+            assertEquals(mode.name(), 1, warnings.size());
+            assertTrue(warnings.get(0), warnings.get(0).startsWith("HyperLock nested acquisition: key=" + other + ",0"));
+        }
+    }
+
+    @Test
+    public void heldStripeExcludesOtherThreads() throws Exception {
+        for (StripedHyperLockSupport.Mode mode : StripedHyperLockSupport.Mode.values()) {
+            StripedHyperLockSupport locks = new StripedHyperLockSupport(16, mode);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                locks.lock(8, 9);
+                assertFalse(mode.name(), executor.submit(() -> locks.tryLock(8, 9)).get());
+                locks.unlock(8, 9);
+
+                Future<Boolean> acquired = executor.submit(() -> {
+                    boolean locked = locks.tryLock(8, 9, 1000L);
+                    locks.unlock(8, 9);
+                    return locked;
+                });
+                assertTrue(mode.name(), acquired.get());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    public void concurrentWritersNeverInterleaveOnAKey() throws Exception {
+        for (StripedHyperLockSupport.Mode mode : StripedHyperLockSupport.Mode.values()) {
+            StripedHyperLockSupport locks = new StripedHyperLockSupport(4, mode);
+            int[] counter = new int[1];
+            int threads = 4;
+            int iterations = 2000;
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                for (int t = 0; t < threads; t++) {
+                    executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < iterations; i++) {
+                            locks.with(3, 3, () -> counter[0]++);
+                            locks.withOptimisticRead(3, 3, () -> counter[0]);
+                        }
+                        return null;
+                    });
+                }
+                start.countDown();
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(mode.name(), threads * iterations, locks.withOptimisticRead(3, 3, () -> counter[0]).intValue());
+        }
+    }
+}
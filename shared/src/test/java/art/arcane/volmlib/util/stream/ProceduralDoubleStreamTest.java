@@ -0,0 +1,72 @@
+package art.arcane.volmlib.util.stream;
+
+import art.arcane.volmlib.util.stream.arithmetic.AddingStream;
+import art.arcane.volmlib.util.stream.arithmetic.ClampedStream;
+import art.arcane.volmlib.util.stream.arithmetic.MultiplyingStream;
+import art.arcane.volmlib.util.stream.arithmetic.OffsetStream;
+import art.arcane.volmlib.util.stream.arithmetic.ZoomStream;
+import art.arcane.volmlib.util.stream.interpolation.BicubicStream;
+import art.arcane.volmlib.util.stream.interpolation.BilinearStream;
+import art.arcane.volmlib.util.stream.interpolation.Interpolated;
+import art.arcane.volmlib.util.stream.interpolation.TrilinearStream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ProceduralDoubleStreamTest {
+    private static double noise(double x, double y, double z) {
+        return Math.sin(x * 0.31D) * Math.cos(z * 0.17D) + Math.sin(y * 0.07D);
+    }
+
+    @Test
+    public void primitiveChainMatchesTheGenericChain() {
+        ProceduralStream<Double> generic = new BicubicStream<>(new BilinearStream<>(
+                new ClampedStream<>(new AddingStream<>(new MultiplyingStream<>(
+                        new OffsetStream<>(new ZoomStream<>(ProceduralStream.of(ProceduralDoubleStreamTest::noise, Interpolated.DOUBLE),
+                                2D, 3D, 1.5D), 5D, -2D, 11D), 3D), 0.25D), -1.5D, 1.5D), 4, 3), 5, 5).fit(-1D, 1D, 0D, 64D);
+        ProceduralDoubleStream primitive = ProceduralDoubleStream.of(ProceduralDoubleStreamTest::noise)
+                .zoom(2D, 3D, 1.5D)
+                .offset(5D, -2D, 11D)
+                .multiply(3D)
+                .add(0.25D)
+                .clamp(-1.5D, 1.5D)
+                .bilinear(4, 3)
+                .bicubic(5, 5)
+                .fit(-1D, 1D, 0D, 64D);
+
+        double[] expected = new double[24 * 24];
+        double[] actual = new double[24 * 24];
+        generic.fill2D(expected, -30D, 7D, 24, 24, 1D);
+        primitive.fill2D(actual, -30D, 7D, 24, 24, 1D);
+        assertArrayEquals(expected, actual, 0D);
+
+        for (int i = 0; i < 24; i++) {
+            assertEquals(generic.getDouble(i * 1.7D, -i), primitive.getDouble(i * 1.7D, -i), 0D);
+        }
+    }
+
+    @Test
+    public void primitiveTrilinearMatchesTheGenericTrilinear() {
+        ProceduralStream<Double> generic = new TrilinearStream<>(ProceduralStream.of(ProceduralDoubleStreamTest::noise, Interpolated.DOUBLE), 4, 2, 3);
+        ProceduralDoubleStream primitive = ProceduralDoubleStream.of(ProceduralDoubleStreamTest::noise).trilinear(4, 2, 3);
+
+        double[] expected = new double[8 * 6 * 7];
+        double[] actual = new double[8 * 6 * 7];
+        generic.fill3D(expected, 3D, -4D, 12D, 8, 6, 7, 1D);
+        primitive.fill3D(actual, 3D, -4D, 12D, 8, 6, 7, 1D);
+        assertArrayEquals(expected, actual, 0D);
+        assertEquals(generic.getDouble(1.5D, 2.5D, -3.5D), primitive.getDouble(1.5D, 2.5D, -3.5D), 0D);
+    }
+
+    @Test
+    public void bridgesOnlyConvertAtTheEdges() {
+        ProceduralStream<Integer> rounded = ProceduralStream.of(ProceduralDoubleStreamTest::noise, Interpolated.DOUBLE).fit(0D, 10D).round();
+        ProceduralDoubleStream unboxed = rounded.doubles().add(0.5D);
+        ProceduralStream<Double> boxed = unboxed.boxed();
+
+        assertEquals(rounded.getDouble(3D, 4D) + 0.5D, unboxed.getDouble(3D, 4D), 0D);
+        assertEquals(unboxed.getDouble(3D, 4D), boxed.get(3D, 4D), 0D);
+        assertEquals(unboxed.getDouble(3D, 1D, 4D), boxed.getDouble(3D, 1D, 4D), 0D);
+    }
+}
@@ -0,0 +1,112 @@
+package art.arcane.volmlib.util.stream;
+
+import art.arcane.volmlib.util.stream.arithmetic.AddingStream;
+import art.arcane.volmlib.util.stream.arithmetic.ClampedStream;
+import art.arcane.volmlib.util.stream.arithmetic.CoordinateBitShiftRightStream;
+import art.arcane.volmlib.util.stream.arithmetic.DividingStream;
+import art.arcane.volmlib.util.stream.arithmetic.MaxingStream;
+import art.arcane.volmlib.util.stream.arithmetic.ModuloStream;
+import art.arcane.volmlib.util.stream.arithmetic.MultiplyingStream;
+import art.arcane.volmlib.util.stream.arithmetic.OffsetStream;
+import art.arcane.volmlib.util.stream.arithmetic.RadialStream;
+import art.arcane.volmlib.util.stream.arithmetic.RoundingDoubleStream;
+import art.arcane.volmlib.util.stream.arithmetic.SlopeStream;
+import art.arcane.volmlib.util.stream.arithmetic.SubtractingStream;
+import art.arcane.volmlib.util.stream.arithmetic.ZoomStream;
+import art.arcane.volmlib.util.interpolation.InterpolationMethod;
+import art.arcane.volmlib.util.stream.interpolation.BiHermiteStream;
+import art.arcane.volmlib.util.stream.interpolation.BiStarcastStream;
+import art.arcane.volmlib.util.stream.interpolation.BicubicStream;
+import art.arcane.volmlib.util.stream.interpolation.BilinearStream;
+import art.arcane.volmlib.util.stream.interpolation.Interpolated;
+import art.arcane.volmlib.util.stream.interpolation.InterpolatingStream;
+import art.arcane.volmlib.util.stream.interpolation.TriHermiteStream;
+import art.arcane.volmlib.util.stream.interpolation.TriStarcastStream;
+import art.arcane.volmlib.util.stream.interpolation.TricubicStream;
+import art.arcane.volmlib.util.stream.interpolation.TrilinearStream;
+import art.arcane.volmlib.util.stream.utility.SynchronizedStream;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class ProceduralStreamFillTest {
+    private static final ProceduralStream<Double> SOURCE = ProceduralStream.of(
+            (x, y, z) -> Math.sin(x * 0.37D) + Math.cos(z * 0.21D) * Math.sin(y * 0.13D + x * 0.01D),
+            Interpolated.DOUBLE);
+    private static final ProceduralStream<Integer> INTEGERS = ProceduralStream.of(
+            (x, y, z) -> (int) Math.round((x * 3D) - (y * 2D) + (z * 0.7D)),
+            Interpolated.INTEGER);
+
+    @Test
+    public void interpolatorStackMatchesPointwiseIn2D() {
+        ProceduralStream<Double> stream = new BicubicStream<>(
+                new BilinearStream<>(new ZoomStream<>(SOURCE, 2.5D, 1D, 1.5D), 3, 5), 4, 4);
+
+        assertFill2D(stream, -23.5D, 41D, 16, 16, 1D);
+        assertFill2D(new BiHermiteStream<>(new OffsetStream<>(stream, 7D, 0D, -3D), 6, 2, 0.3D, 0.1D), -8D, -8D, 9, 13, 0.75D);
+        assertFill2D(new BiStarcastStream<>(stream, 3, 6), 100D, -100D, 8, 8, 2D);
+        assertFill2D(new InterpolatingStream<>(stream, 8, InterpolationMethod.BILINEAR_STARCAST_12), -40D, 16D, 16, 16, 1D);
+        assertFill2D(new InterpolatingStream<>(INTEGERS, 5, InterpolationMethod.STARCAST_9), 3D, -7D, 12, 9, 1D);
+        assertFill2D(new InterpolatingStream<>(stream, 4, InterpolationMethod.BICUBIC), 0.5D, 2D, 6, 6, 1.5D);
+    }
+
+    @Test
+    public void interpolatorStackMatchesPointwiseIn3D() {
+        ProceduralStream<Double> stream = new TricubicStream<>(new TrilinearStream<>(SOURCE, 4, 3, 5), 3, 4, 3);
+
+        assertFill3D(stream, -5D, -2D, 17D, 7, 6, 5, 1D);
+        assertFill3D(new TriHermiteStream<>(stream, 5, 2, 4, 0.5D, 0D), 31D, 4D, -9D, 6, 5, 7, 1.5D);
+        assertFill3D(new TriStarcastStream<>(stream, 2, 5), 0D, 0D, 0D, 4, 4, 4, 1D);
+        assertFill3D(new BilinearStream<>(stream, 4, 4), -3D, 10D, 3D, 5, 3, 4, 1D);
+        assertFill2D(new TrilinearStream<>(SOURCE, 3, 3, 3), -12D, 8D, 10, 10, 1D);
+    }
+
+    @Test
+    public void arithmeticStackMatchesPointwise() {
+        ProceduralStream<Double> stream = new SlopeStream<>(new ClampedStream<>(new RadialStream<>(new MultiplyingStream<>(
+                new AddingStream<>(new SubtractingStream<>(new DividingStream<>(SOURCE, (x, z) -> 1.5D + Math.abs(x * 0.01D)),
+                        0.25D), (x, y, z) -> y * 0.1D), 720D), 0.5D), -0.8D, 0.8D), 2);
+
+        assertFill2D(stream, -40D, 12D, 16, 16, 1D);
+        assertFill3D(stream, -40D, 12D, 5D, 8, 6, 8, 1.25D);
+        assertFill2D(new MaxingStream<>(new ModuloStream<>(stream.fit(-3D, 7D), 2.25D), 0.5D), 3D, 3D, 12, 9, 0.5D);
+        assertFill2D(new RoundingDoubleStream(new SynchronizedStream<>(stream.fit(-30D, 30D))), 0D, -7D, 11, 11, 1D);
+    }
+
+    @Test
+    public void typedStreamsQuantizeLikeThePointwisePath() {
+        ProceduralStream<Integer> stream = new BicubicStream<>(new CoordinateBitShiftRightStream<>(
+                new AddingStream<>(INTEGERS, 0.4D), 1), 3, 3).fit(0D, 1D, -10D, 10D);
+
+        assertFill2D(stream, -17D, 5D, 16, 16, 1D);
+        assertFill3D(new TrilinearStream<>(stream, 2, 3, 2), 4D, -6D, 9D, 6, 6, 6, 1D);
+    }
+
+    private static void assertFill2D(ProceduralStream<?> stream, double x0, double z0, int width, int depth, double step) {
+        double[] expected = new double[width * depth];
+        for (int z = 0; z < depth; z++) {
+            for (int x = 0; x < width; x++) {
+                expected[(z * width) + x] = stream.getDouble(x0 + (x * step), z0 + (z * step));
+            }
+        }
+
+        double[] actual = new double[width * depth];
+        stream.fill2D(actual, x0, z0, width, depth, step);
+        assertArrayEquals(expected, actual, 0D);
+    }
+
+    private static void assertFill3D(ProceduralStream<?> stream, double x0, double y0, double z0, int width, int height, int depth, double step) {
+        double[] expected = new double[width * height * depth];
+        for (int z = 0; z < depth; z++) {
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    expected[(((z * height) + y) * width) + x] = stream.getDouble(x0 + (x * step), y0 + (y * step), z0 + (z * step));
+                }
+            }
+        }
+
+        double[] actual = new double[width * height * depth];
+        stream.fill3D(actual, x0, y0, z0, width, height, depth, step);
+        assertArrayEquals(expected, actual, 0D);
+    }
+}
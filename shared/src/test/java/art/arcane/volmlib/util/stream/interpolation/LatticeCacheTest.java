@@ -0,0 +1,83 @@
+package art.arcane.volmlib.util.stream.interpolation;
+
+import art.arcane.volmlib.util.stream.ProceduralStream;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class LatticeCacheTest {
+    @Test
+    public void pointwiseBicubicSamplesEachCornerOnce() {
+        AtomicInteger samples = new AtomicInteger();
+        BicubicStream<Double> stream = new BicubicStream<>(counting(samples), 8, 8, true);
+        double[] expected = new double[16 * 16];
+        stream.fill2D(expected, 0D, 0D, 16, 16, 1D);
+        samples.set(0);
+
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                assertEquals(expected[(z * 16) + x], stream.getDouble(x, z), 0D);
+            }
+        }
+
+        assertEquals(25, samples.get());
+    }
+
+    @Test
+    public void pointwiseBilinearSamplesEachCornerOnce() {
+        AtomicInteger samples = new AtomicInteger();
+        BilinearStream<Double> stream = new BilinearStream<>(counting(samples), 8, 8, true);
+
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                stream.getDouble(x, z);
+            }
+        }
+
+        assertEquals(9, samples.get());
+    }
+
+    @Test
+    public void pointwiseTrilinearSamplesEachCornerOnce() {
+        AtomicInteger samples = new AtomicInteger();
+        TrilinearStream<Double> stream = new TrilinearStream<>(counting(samples), 8, 8, 8, true);
+
+        for (int z = 0; z < 16; z++) {
+            for (int y = 0; y < 16; y++) {
+                for (int x = 0; x < 16; x++) {
+                    stream.getDouble(x, y, z);
+                }
+            }
+        }
+
+        assertEquals(27, samples.get());
+    }
+
+    @Test
+    public void interpolatorsOnlyCacheWhenAskedTo() {
+        AtomicInteger samples = new AtomicInteger();
+        BilinearStream<Double> plain = new BilinearStream<>(counting(samples), 8, 8);
+        for (int x = 0; x < 16; x++) {
+            plain.getDouble(x, 0);
+        }
+
+        assertEquals(16 * 4, samples.get());
+
+        samples.set(0);
+        BilinearStream<Double> cached = new InterpolatorFactory<>(counting(samples)).latticeCached().bilinear(8);
+        for (int x = 0; x < 16; x++) {
+            cached.getDouble(x, 0);
+        }
+
+        assertEquals(6, samples.get());
+    }
+
+    private static ProceduralStream<Double> counting(AtomicInteger samples) {
+        return ProceduralStream.of((x, y, z) -> {
+            samples.incrementAndGet();
+            return Math.sin(x * 0.3D) + Math.cos(y * 0.2D) * Math.sin(z * 0.1D);
+        }, Interpolated.DOUBLE);
+    }
+}
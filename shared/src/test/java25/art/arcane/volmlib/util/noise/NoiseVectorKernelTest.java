@@ -0,0 +1,111 @@
+package art.arcane.volmlib.util.noise;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class NoiseVectorKernelTest {
+    private static final int LENGTH = 4099;
+
+    @Test
+    public void floatKernelIsBitIdenticalToSingleSimplex() {
+        float[] xs = new float[LENGTH];
+        float[] ys = new float[LENGTH];
+        Random random = new Random(1);
+        fill(random, xs, ys);
+
+        for (int seed : new int[]{0, 1337, -77, Integer.MIN_VALUE}) {
+            for (float frequency : new float[]{1f, 0.01f, 0.37f}) {
+                FastNoise noise = new FastNoise(seed);
+                noise.SetFrequency(frequency);
+                float[] out = new float[LENGTH];
+                int done = NoiseVectorKernel.simplex(seed, frequency, xs, ys, out, LENGTH);
+
+                assertTrue(done > 0 && done <= LENGTH);
+                for (int i = 0; i < done; i++) {
+                    assertEquals("seed=" + seed + " frequency=" + frequency + " x=" + xs[i] + " y=" + ys[i],
+                            Float.floatToRawIntBits(noise.GetSimplex(xs[i], ys[i])), Float.floatToRawIntBits(out[i]));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void doubleKernelIsBitIdenticalToSingleSimplex() {
+        double[] xs = new double[LENGTH];
+        double[] ys = new double[LENGTH];
+        Random random = new Random(2);
+        for (int i = 0; i < LENGTH; i++) {
+            xs[i] = coordinate(random, i);
+            ys[i] = coordinate(random, i + 1);
+        }
+
+        for (long seed : new long[]{0L, 123456789012L, -1L, Long.MIN_VALUE}) {
+            for (double frequency : new double[]{1D, 0.013D, 0.37D}) {
+                FastNoiseDouble noise = new FastNoiseDouble(seed);
+                noise.setFrequency(frequency);
+                double[] out = new double[LENGTH];
+                int done = NoiseVectorKernel.simplex(seed, frequency, xs, ys, out, LENGTH);
+
+                assertTrue(done > 0 && done <= LENGTH);
+                for (int i = 0; i < done; i++) {
+                    assertEquals("seed=" + seed + " frequency=" + frequency + " x=" + xs[i] + " y=" + ys[i],
+                            Double.doubleToRawLongBits(noise.GetSimplex(xs[i], ys[i])), Double.doubleToRawLongBits(out[i]));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void bulkMethodsUseTheKernelAndMatchPointwise() {
+        float[] xs = new float[LENGTH];
+        float[] ys = new float[LENGTH];
+        fill(new Random(3), xs, ys);
+        float[] out = new float[LENGTH];
+
+        assertTrue(NoiseVectors.simplex(9, 0.5f, xs, ys, out, LENGTH) > 0);
+
+        FastNoise noise = new FastNoise(9);
+        noise.SetFrequency(0.5f);
+        noise.GetSimplex(xs, ys, out, LENGTH);
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(Float.floatToRawIntBits(noise.GetSimplex(xs[i], ys[i])), Float.floatToRawIntBits(out[i]));
+        }
+
+        double[] dxs = new double[LENGTH];
+        double[] dys = new double[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            dxs[i] = xs[i];
+            dys[i] = ys[i];
+        }
+        double[] dout = new double[LENGTH];
+        FastNoiseDouble doubleNoise = new FastNoiseDouble(9L);
+        doubleNoise.GetSimplex(dxs, dys, dout, LENGTH);
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(Double.doubleToRawLongBits(doubleNoise.GetSimplex(dxs[i], dys[i])), Double.doubleToRawLongBits(dout[i]));
+        }
+    }
+
+    /**
+     * Mixes random points with lattice points and x == y diagonals, where the simplex corner
+     * selection and floor rounding are easiest to get subtly wrong.
+     */
+    private static void fill(Random random, float[] xs, float[] ys) {
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = (float) coordinate(random, i);
+            ys[i] = (float) coordinate(random, i + 1);
+        }
+    }
+
+    private static double coordinate(Random random, int i) {
+        return switch (i % 4) {
+            case 0 -> (random.nextDouble() - 0.5D) * 2_000_000D;
+            case 1 -> (random.nextDouble() - 0.5D) * 64D;
+            case 2 -> random.nextInt(200) - 100;
+            default -> -(random.nextInt(50)) - 0.5D;
+        };
+    }
+}